@@ -0,0 +1,89 @@
+package com.starfleet.gamifier.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Synthetic organizations for benchmarks, sized by the number of configured action types,
+ * mission types and ranks.
+ */
+public final class BenchmarkOrganizations {
+
+    /**
+     * Action types required by each mission; every action type is required by this many missions.
+     */
+    public static final int ACTIONS_PER_MISSION = 3;
+
+    public static final int POINTS_PER_RANK = 100;
+
+    private BenchmarkOrganizations() {
+    }
+
+    /**
+     * Organization with {@code size} action types, mission types and ranks. Mission {@code i}
+     * requires action types {@code i} to {@code i + ACTIONS_PER_MISSION - 1} (wrapping), and rank
+     * {@code i} starts at {@code i * POINTS_PER_RANK} points.
+     */
+    public static Organization organization(int size) {
+        List<Organization.ActionType> actionTypes = new ArrayList<>(size);
+        List<Organization.MissionType> missionTypes = new ArrayList<>(size);
+        List<Organization.RankConfiguration> ranks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            actionTypes.add(Organization.ActionType.builder()
+                    .id(actionTypeId(i))
+                    .name(actionTypeName(i))
+                    .points(10 + i % 90)
+                    .captureMethods(Set.of(CaptureMethod.UI, CaptureMethod.IMPORT))
+                    .allowedReporters(Set.of(ReporterType.SELF, ReporterType.MANAGER))
+                    .category("Benchmark")
+                    .build());
+
+            List<String> required = new ArrayList<>(ACTIONS_PER_MISSION);
+            for (int a = 0; a < Math.min(ACTIONS_PER_MISSION, size); a++) {
+                required.add(actionTypeId((i + a) % size));
+            }
+            missionTypes.add(Organization.MissionType.builder()
+                    .id(missionTypeId(i))
+                    .name("Mission " + i)
+                    .requiredActionTypeIds(required)
+                    .bonusPoints(50)
+                    .build());
+
+            ranks.add(Organization.RankConfiguration.builder()
+                    .id(rankId(i))
+                    .name("Rank " + i)
+                    .pointsThreshold(i * POINTS_PER_RANK)
+                    .insignia("*")
+                    .order(i + 1)
+                    .build());
+        }
+
+        Organization organization = Organization.builder()
+                .id("benchmark-org")
+                .name("Benchmark Organization " + size)
+                .federationId("BENCH-" + size)
+                .actionTypes(actionTypes)
+                .missionTypes(missionTypes)
+                .rankConfigurations(ranks)
+                .build();
+        organization.assignProgressBits();
+        return organization;
+    }
+
+    public static String actionTypeId(int i) {
+        return "action-" + i;
+    }
+
+    public static String actionTypeName(int i) {
+        return "Action Type " + i;
+    }
+
+    public static String missionTypeId(int i) {
+        return "mission-" + i;
+    }
+
+    public static String rankId(int i) {
+        return "rank-" + i;
+    }
+}
@@ -0,0 +1,67 @@
+package com.starfleet.gamifier.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration lookups made for every captured or approved action.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrganizationBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    /**
+     * Number of action types, mission types and ranks.
+     */
+    @Param({"10", "100", "1000", "10000"})
+    public int configSize;
+
+    private Organization organization;
+    private int[] points;
+    private String[] actionTypeIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        organization = BenchmarkOrganizations.organization(configSize);
+        SplittableRandom random = new SplittableRandom(42);
+        points = new int[LOOKUPS];
+        actionTypeIds = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            points[i] = random.nextInt(configSize * BenchmarkOrganizations.POINTS_PER_RANK);
+            actionTypeIds[i] = BenchmarkOrganizations.actionTypeId(random.nextInt(configSize));
+        }
+        // Build the lookup index outside the measurement
+        organization.getEligibleRank(0);
+    }
+
+    @Benchmark
+    public Optional<Organization.RankConfiguration> getEligibleRank() {
+        return organization.getEligibleRank(points[next++ & (LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    public List<Organization.MissionType> getMissionTypesWithActionType() {
+        return organization.getMissionTypesWithActionType(actionTypeIds[next++ & (LOOKUPS - 1)]);
+    }
+}
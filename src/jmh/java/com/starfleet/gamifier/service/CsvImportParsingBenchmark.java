@@ -0,0 +1,95 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.domain.BenchmarkOrganizations;
+import com.starfleet.gamifier.domain.Organization;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and parsing whole user and action CSV files held in memory, without the database
+ * lookups and writes of an import.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvImportParsingBenchmark {
+
+    /**
+     * Number of action types, mission types and ranks; action rows are resolved against the action types.
+     */
+    @Param({"10", "100", "1000", "10000"})
+    public int configSize;
+
+    /**
+     * Data rows per file.
+     */
+    @Param({"100", "10000"})
+    public int userCount;
+
+    private Organization organization;
+    private byte[] usersCsv;
+    private byte[] actionsCsv;
+
+    @Setup
+    public void setUp() {
+        organization = BenchmarkOrganizations.organization(configSize);
+        SplittableRandom random = new SplittableRandom(42);
+
+        StringBuilder users = new StringBuilder("employee_id,name,surname,manager_employee_id,role\n");
+        StringBuilder actions = new StringBuilder("employee_id,action_type,date,evidence,notes\n");
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < userCount; i++) {
+            users.append("EMP").append(i).append(",Name").append(i).append(",\"Surname, ").append(i).append('"')
+                    .append(',').append(i == 0 ? "" : "EMP" + (i - 1) / 10)
+                    .append(',').append(i % 50 == 0 ? "admin" : "user").append('\n');
+            actions.append("EMP").append(random.nextInt(userCount))
+                    .append(',').append(BenchmarkOrganizations.actionTypeName(random.nextInt(configSize)))
+                    .append(',').append(start.plusDays(random.nextInt(365)))
+                    .append(",https://evidence.example/").append(i)
+                    .append(",\"Imported, row ").append(i).append("\"\n");
+        }
+        usersCsv = users.toString().getBytes(StandardCharsets.UTF_8);
+        actionsCsv = actions.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void parseUsers(Blackhole blackhole) throws IOException {
+        try (CsvReader reader = new CsvReader(new ByteArrayInputStream(usersCsv))) {
+            reader.next();
+            while (reader.next()) {
+                blackhole.consume(UserService.userFromCsvRecord(reader, organization.getId()));
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseActions(Blackhole blackhole) throws IOException {
+        try (CsvReader reader = new CsvReader(new ByteArrayInputStream(actionsCsv))) {
+            reader.next();
+            long lineNumber = 1;
+            while (reader.next()) {
+                blackhole.consume(ActionImportEngine.parseRow(reader, ++lineNumber, organization));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.controller.dto.LeaderboardResponses.LeaderboardEntry;
+import com.starfleet.gamifier.domain.BenchmarkOrganizations;
+import com.starfleet.gamifier.domain.Organization;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the entries of one leaderboard page from indexed standings, as done for every
+ * leaderboard page that is not served from the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaderboardEntryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * Number of action types, mission types and ranks.
+     */
+    @Param({"10", "100", "1000", "10000"})
+    public int configSize;
+
+    @Param({"100", "10000"})
+    public int userCount;
+
+    private OrganizationSnapshot organization;
+    private LeaderboardIndex.Standing[] standings;
+    private int[] monthlyPoints;
+    private int nextPage;
+
+    @Setup
+    public void setUp() {
+        organization = OrganizationSnapshot.of(BenchmarkOrganizations.organization(configSize));
+        SplittableRandom random = new SplittableRandom(42);
+        standings = new LeaderboardIndex.Standing[userCount];
+        monthlyPoints = new int[userCount];
+        for (int i = 0; i < userCount; i++) {
+            int points = random.nextInt(configSize * BenchmarkOrganizations.POINTS_PER_RANK);
+            String rankId = organization.getOrganization().getEligibleRank(points)
+                    .map(Organization.RankConfiguration::getId)
+                    .orElse(null);
+            standings[i] = new LeaderboardIndex.Standing("user-" + i, points, "Name" + i, "Surname" + i, "EMP" + i, rankId);
+            monthlyPoints[i] = random.nextInt(500);
+        }
+    }
+
+    @Benchmark
+    public void createPage(Blackhole blackhole) {
+        int pages = Math.max(1, userCount / PAGE_SIZE);
+        int first = (nextPage++ % pages) * PAGE_SIZE;
+        for (int i = first; i < Math.min(userCount, first + PAGE_SIZE); i++) {
+            LeaderboardEntry entry = LeaderboardService.createLeaderboardEntry(standings[i], monthlyPoints[i], organization, i + 1);
+            blackhole.consume(entry);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.domain.BenchmarkOrganizations;
+import com.starfleet.gamifier.domain.Organization;
+import com.starfleet.gamifier.domain.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording one action against every mission that requires it, as done for each approved
+ * action before the progress is written back.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MissionProgressBenchmark {
+
+    private static final int ACTIONS = 4096;
+
+    /**
+     * Number of action types, mission types and ranks.
+     */
+    @Param({"10", "100", "1000", "10000"})
+    public int configSize;
+
+    @Param({"100", "10000"})
+    public int userCount;
+
+    private Organization organization;
+    private String[] actionTypeIds;
+    private int[] actionBits;
+    private int[] actionUsers;
+    private User[] users;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        organization = BenchmarkOrganizations.organization(configSize);
+        SplittableRandom random = new SplittableRandom(42);
+        actionTypeIds = new String[ACTIONS];
+        actionBits = new int[ACTIONS];
+        actionUsers = new int[ACTIONS];
+        for (int i = 0; i < ACTIONS; i++) {
+            actionTypeIds[i] = BenchmarkOrganizations.actionTypeId(random.nextInt(configSize));
+            actionBits[i] = organization.getActionTypeBit(actionTypeIds[i]);
+            actionUsers[i] = random.nextInt(userCount);
+        }
+    }
+
+    /**
+     * Fresh users each iteration, so missions do not all end up completed and skipped.
+     */
+    @Setup(Level.Iteration)
+    public void resetUsers() {
+        users = new User[userCount];
+        for (int i = 0; i < userCount; i++) {
+            users[i] = User.builder()
+                    .id("user-" + i)
+                    .organizationId(organization.getId())
+                    .missionProgress(new ArrayList<>())
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public int recordAction() {
+        int i = next++ & (ACTIONS - 1);
+        User user = users[actionUsers[i]];
+        int completed = 0;
+        List<Organization.MissionType> missions = organization.getMissionTypesWithActionType(actionTypeIds[i]);
+        for (Organization.MissionType missionType : missions) {
+            if (UserService.advanceMissionProgress(user, organization, missionType, actionBits[i])) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+}
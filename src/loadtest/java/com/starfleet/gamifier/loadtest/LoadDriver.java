@@ -0,0 +1,229 @@
+package com.starfleet.gamifier.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starfleet.gamifier.loadtest.LoadTestOptions.Operation;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays a weighted mix of calls against a running instance from a fixed number of
+ * concurrent clients, each sending its next request as soon as the previous one answered.
+ * Requests act as the placeholder current user, the admin at the root of the synthetic
+ * organization: captures target its direct reports, and captures left pending approval are
+ * approved later. Latencies of the warmup period are discarded.
+ */
+@Slf4j
+public class LoadDriver {
+
+    private static final int LEADERBOARD_PAGES = 5;
+    private static final int LEADERBOARD_PAGE_SIZE = 20;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String target;
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+    private final Operation[] weightedOperations;
+    private final int directReports;
+
+    private final ConcurrentLinkedQueue<String> pendingApprovals = new ConcurrentLinkedQueue<>();
+    private final AtomicLong captures = new AtomicLong();
+    private final long captureDaysAgo;
+
+    public LoadDriver(String target, LoadTestOptions options, ObjectMapper objectMapper) {
+        this.target = target.endsWith("/") ? target.substring(0, target.length() - 1) : target;
+        this.options = options;
+        this.objectMapper = objectMapper;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        List<Operation> operations = new ArrayList<>();
+        options.getMix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        this.weightedOperations = operations.toArray(new Operation[0]);
+        this.directReports = Math.min(options.getSpan(), options.getUsers() - 1);
+        // Captures go on days before the seeded history, at an offset per run so reruns do not collide
+        this.captureDaysAgo = options.getHistoryDays() + 1 + new SplittableRandom().nextInt(36_500);
+    }
+
+    public LoadReport run() throws InterruptedException {
+        long started = System.nanoTime();
+        long measureFrom = started + options.getWarmup().toNanos();
+        long until = measureFrom + options.getDuration().toNanos();
+        log.info("Driving {} with {} clients: {} warmup, {} measured", target, options.getConcurrency(),
+                options.getWarmup(), options.getDuration());
+
+        List<Client> clients = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < options.getConcurrency(); i++) {
+            Client client = new Client(new SplittableRandom(options.getRandomSeed() + i), measureFrom, until);
+            Thread thread = new Thread(client, "load-client-" + i);
+            clients.add(client);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<Operation, LoadReport.OperationResult> results = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            Histogram latencies = new Histogram(3);
+            long errors = 0;
+            for (Client client : clients) {
+                latencies.add(client.latencies.get(operation));
+                errors += client.errors.get(operation);
+            }
+            if (latencies.getTotalCount() > 0) {
+                results.put(operation, new LoadReport.OperationResult(latencies, errors));
+            }
+        }
+        return new LoadReport(options.getDuration(), results);
+    }
+
+    /**
+     * Send one request; {@code pendingActionId} is the action to approve.
+     *
+     * @return whether it succeeded
+     */
+    private boolean execute(Operation operation, String pendingActionId, SplittableRandom random)
+            throws IOException, InterruptedException {
+        String organizationId = SyntheticOrganizationGenerator.ORGANIZATION_ID;
+        return switch (operation) {
+            case CAPTURE -> capture();
+            case APPROVE -> approve(pendingActionId);
+            case LEADERBOARD -> get("/api/leaderboards/all-time?organizationId=" + organizationId
+                    + "&page=" + random.nextInt(LEADERBOARD_PAGES) + "&size=" + LEADERBOARD_PAGE_SIZE);
+            case FEED -> get("/api/events/feed?organizationId=" + organizationId
+                    + "&userId=" + randomUserId(random));
+            case DASHBOARD -> get("/api/users/dashboard?userId=" + randomUserId(random));
+        };
+    }
+
+    /**
+     * Capture an action for a direct report on a date not used before, so it never
+     * trips the duplicate check. Captures that need approval are queued for {@code approve}.
+     */
+    private boolean capture() throws IOException, InterruptedException {
+        long sequence = captures.getAndIncrement();
+        int targetIndex = directReports > 0 ? 1 + (int) (sequence % directReports) : 0;
+        long combination = sequence / Math.max(1, directReports);
+        String actionTypeId = SyntheticOrganizationGenerator.actionTypeId((int) (combination % options.getActionTypes()));
+        LocalDate actionDate = LocalDate.now(ZoneOffset.UTC)
+                .minusDays(captureDaysAgo + combination / options.getActionTypes());
+
+        String body = objectMapper.writeValueAsString(Map.of(
+                "actionTypeId", actionTypeId,
+                "actionDate", actionDate.toString(),
+                "targetUserId", SyntheticOrganizationGenerator.userId(targetIndex)));
+        HttpResponse<String> response = client.send(request("/api/actions")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (!succeeded(response)) {
+            return false;
+        }
+
+        JsonNode action = objectMapper.readTree(response.body());
+        if (targetIndex > 0 && "PENDING_APPROVAL".equals(action.path("status").asText())) {
+            pendingApprovals.add(action.path("id").asText());
+        }
+        return true;
+    }
+
+    private boolean approve(String actionId) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request("/api/actions/" + actionId + "/approve")
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.ofString());
+        return succeeded(response);
+    }
+
+    private boolean get(String path) throws IOException, InterruptedException {
+        return succeeded(client.send(request(path).GET().build(), HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(target + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private String randomUserId(SplittableRandom random) {
+        return SyntheticOrganizationGenerator.userId(random.nextInt(options.getUsers()));
+    }
+
+    private static boolean succeeded(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    /**
+     * One simulated client with its own latency histograms, merged once the run ends.
+     */
+    private final class Client implements Runnable {
+        private final SplittableRandom random;
+        private final long measureFrom;
+        private final long until;
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+        Client(SplittableRandom random, long measureFrom, long until) {
+            this.random = random;
+            this.measureFrom = measureFrom;
+            this.until = until;
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new Histogram(3));
+                errors.put(operation, 0L);
+            }
+        }
+
+        @Override
+        public void run() {
+            long started;
+            while ((started = System.nanoTime()) < until) {
+                Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+                String pendingActionId = operation == Operation.APPROVE ? pendingApprovals.poll() : null;
+                if (operation == Operation.APPROVE && pendingActionId == null) {
+                    operation = Operation.CAPTURE; // nothing to approve yet
+                }
+
+                boolean succeeded;
+                try {
+                    succeeded = execute(operation, pendingActionId, random);
+                } catch (IOException e) {
+                    log.debug("{} failed: {}", operation, e.getMessage());
+                    succeeded = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                if (started >= measureFrom) {
+                    latencies.get(operation).recordValue(System.nanoTime() - started);
+                    if (!succeeded) {
+                        errors.merge(operation, 1L, Long::sum);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.starfleet.gamifier.loadtest;
+
+import com.starfleet.gamifier.loadtest.LoadTestOptions.Operation;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per operation over the measured period. Latencies are
+ * recorded in nanoseconds and reported in milliseconds.
+ */
+@Value
+public class LoadReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    Duration measured;
+    Map<Operation, OperationResult> results;
+
+    public void print(PrintStream out) {
+        out.printf("%-12s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        for (Map.Entry<Operation, OperationResult> entry : results.entrySet()) {
+            printRow(out, entry.getKey().name().toLowerCase(Locale.ROOT), entry.getValue().latencies, entry.getValue().errors);
+            all.add(entry.getValue().latencies);
+            errors += entry.getValue().errors;
+        }
+        printRow(out, "total", all, errors);
+    }
+
+    /**
+     * Write the summary table and one HdrHistogram percentile distribution per operation
+     * ({@code <operation>.hgrm}), which can be plotted with the HdrHistogram tools.
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")), true,
+                StandardCharsets.UTF_8)) {
+            print(summary);
+        }
+        for (Map.Entry<Operation, OperationResult> entry : results.entrySet()) {
+            Path file = directory.resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, StandardCharsets.UTF_8)) {
+                entry.getValue().latencies.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+
+    private void printRow(PrintStream out, String name, Histogram latencies, long errors) {
+        double seconds = Math.max(1, measured.toMillis()) / 1000.0;
+        out.printf(Locale.ROOT, "%-12s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                name, latencies.getTotalCount(), errors, latencies.getTotalCount() / seconds,
+                latencies.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                latencies.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                latencies.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                latencies.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    @Value
+    public static class OperationResult {
+        Histogram latencies;
+        long errors;
+    }
+}
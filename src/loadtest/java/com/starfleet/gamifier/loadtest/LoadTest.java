@@ -0,0 +1,90 @@
+package com.starfleet.gamifier.loadtest;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.starfleet.gamifier.GamifierApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+
+/**
+ * Load test entry point: seeds a synthetic organization, starts the application against it
+ * and drives a weighted mix of calls, then prints and writes the latency report.
+ * <p>
+ * Without {@code --mongo-uri} the database is a Testcontainers Mongo, and without
+ * {@code --target} the application runs in this JVM on a random port, so a run needs nothing
+ * but Docker. Run through the {@code loadtest} Maven profile, for example:
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec@loadtest -Dloadtest.args="--users=1000000 --duration=5m"
+ * </pre>
+ */
+@Slf4j
+public final class LoadTest {
+
+    private static final String MONGO_IMAGE = "mongo:7.0";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        if (options.getTarget() != null && options.isSeed() && options.getMongoUri() == null) {
+            throw new IllegalArgumentException("--mongo-uri of the target's database is required to seed it; or pass --seed=false");
+        }
+
+        MongoDBContainer mongo = null;
+        ConfigurableApplicationContext application = null;
+        try {
+            String mongoUri = options.getMongoUri();
+            if (mongoUri == null && options.getTarget() == null) {
+                mongo = new MongoDBContainer(MONGO_IMAGE);
+                mongo.start();
+                mongoUri = mongo.getReplicaSetUrl(options.getDatabase());
+            }
+
+            if (options.isSeed()) {
+                try (MongoClient client = MongoClients.create(mongoUri)) {
+                    new SyntheticOrganizationGenerator(new MongoTemplate(client, options.getDatabase()), options).generate();
+                }
+            }
+
+            String target = options.getTarget();
+            if (target == null) {
+                application = startApplication(mongoUri, options.getDatabase());
+                target = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+            }
+
+            LoadReport report = new LoadDriver(target, options, new ObjectMapper()).run();
+            report.print(System.out);
+            report.write(options.getReportDirectory());
+            log.info("Report written to {}", options.getReportDirectory().toAbsolutePath());
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+            if (mongo != null) {
+                mongo.stop();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(String mongoUri, String database) {
+        return new SpringApplicationBuilder(GamifierApplication.class)
+                .properties(
+                        "spring.data.mongodb.uri=" + mongoUri,
+                        "spring.data.mongodb.database=" + database,
+                        "server.port=0",
+                        "starfleet.gamifier.data-initialization.enabled=false",
+                        // The DEBUG levels of application.yml would dominate the measured latency
+                        "logging.level.com.starfleet=INFO",
+                        "logging.level.org.springframework.data.mongodb=INFO")
+                .run();
+    }
+}
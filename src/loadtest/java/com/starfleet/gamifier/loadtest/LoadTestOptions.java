@@ -0,0 +1,136 @@
+package com.starfleet.gamifier.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from {@code --name=value} arguments.
+ */
+@Value
+@Builder(toBuilder = true)
+public class LoadTestOptions {
+
+    // Synthetic organization
+    @Builder.Default
+    int users = 10_000;
+    @Builder.Default
+    int span = 8; // direct reports per manager
+    @Builder.Default
+    int actionTypes = 20;
+    @Builder.Default
+    int missions = 10;
+    @Builder.Default
+    int ranks = 10;
+    @Builder.Default
+    int actionsPerUser = 10;
+    @Builder.Default
+    int historyDays = 90;
+    @Builder.Default
+    int batchSize = 5_000; // users generated and bulk inserted per chunk
+    @Builder.Default
+    boolean seed = true;
+    @Builder.Default
+    long randomSeed = 42;
+
+    // Where to run; a Testcontainers Mongo and an in-process application when not given
+    String mongoUri;
+    @Builder.Default
+    String database = "starfleet_gamifier";
+    String target;
+
+    // Driver
+    @Builder.Default
+    int concurrency = 16;
+    @Builder.Default
+    Duration warmup = Duration.ofSeconds(10);
+    @Builder.Default
+    Duration duration = Duration.ofSeconds(60);
+    @Builder.Default
+    Map<Operation, Integer> mix = defaultMix();
+    @Builder.Default
+    Path reportDirectory = Path.of("target", "loadtest");
+
+    public static LoadTestOptions parse(String... args) {
+        LoadTestOptionsBuilder options = LoadTestOptions.builder();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "users" -> options.users(Integer.parseInt(value));
+                case "span" -> options.span(Integer.parseInt(value));
+                case "action-types" -> options.actionTypes(Integer.parseInt(value));
+                case "missions" -> options.missions(Integer.parseInt(value));
+                case "ranks" -> options.ranks(Integer.parseInt(value));
+                case "actions-per-user" -> options.actionsPerUser(Integer.parseInt(value));
+                case "history-days" -> options.historyDays(Integer.parseInt(value));
+                case "batch-size" -> options.batchSize(Integer.parseInt(value));
+                case "seed" -> options.seed(Boolean.parseBoolean(value));
+                case "random-seed" -> options.randomSeed(Long.parseLong(value));
+                case "mongo-uri" -> options.mongoUri(value);
+                case "database" -> options.database(value);
+                case "target" -> options.target(value);
+                case "concurrency" -> options.concurrency(Integer.parseInt(value));
+                case "warmup" -> options.warmup(Duration.parse("PT" + value));
+                case "duration" -> options.duration(Duration.parse("PT" + value));
+                case "mix" -> options.mix(parseMix(value));
+                case "report-directory" -> options.reportDirectory(Path.of(value));
+                default -> throw new IllegalArgumentException("Unknown load test option: --" + name);
+            }
+        }
+        LoadTestOptions parsed = options.build();
+        if (parsed.users < 1 || parsed.span < 1 || parsed.actionTypes < 1 || parsed.ranks < 1) {
+            throw new IllegalArgumentException("users, span, action-types and ranks must be at least 1");
+        }
+        if (parsed.actionsPerUser > parsed.actionTypes * parsed.historyDays) {
+            throw new IllegalArgumentException("actions-per-user cannot exceed action-types * history-days");
+        }
+        return parsed;
+    }
+
+    /**
+     * Weights as {@code capture=20,approve=10,...}; operations not listed are not run.
+     */
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight but got: " + entry);
+            }
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The operation mix needs a positive weight");
+        }
+        return mix;
+    }
+
+    private static Map<Operation, Integer> defaultMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        mix.put(Operation.CAPTURE, 20);
+        mix.put(Operation.APPROVE, 10);
+        mix.put(Operation.LEADERBOARD, 30);
+        mix.put(Operation.FEED, 25);
+        mix.put(Operation.DASHBOARD, 15);
+        return mix;
+    }
+
+    /**
+     * Calls the driver replays.
+     */
+    public enum Operation {
+        CAPTURE, APPROVE, LEADERBOARD, FEED, DASHBOARD
+    }
+}
@@ -0,0 +1,315 @@
+package com.starfleet.gamifier.loadtest;
+
+import com.starfleet.gamifier.domain.Action;
+import com.starfleet.gamifier.domain.CaptureMethod;
+import com.starfleet.gamifier.domain.CaptureStatus;
+import com.starfleet.gamifier.domain.Event;
+import com.starfleet.gamifier.domain.EventType;
+import com.starfleet.gamifier.domain.MonthlyPoints;
+import com.starfleet.gamifier.domain.Organization;
+import com.starfleet.gamifier.domain.PointsLedgerEntry;
+import com.starfleet.gamifier.domain.ReporterType;
+import com.starfleet.gamifier.domain.User;
+import com.starfleet.gamifier.domain.UserRole;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Seeds a synthetic organization for load tests: its configuration, users in a manager tree,
+ * and for every user an approved action history with the points ledger, monthly points,
+ * feed events and mission progress it would have produced. Users are generated in chunks
+ * in parallel and each chunk is written with unordered bulk inserts.
+ * <p>
+ * User 0 is the placeholder current user of {@code AuthenticationService}, made the admin
+ * at the root of the tree so the driver can capture for and approve its direct reports.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticOrganizationGenerator {
+
+    public static final String ORGANIZATION_ID = "load-test-org";
+    public static final String ADMIN_USER_ID = "dev-user-001";
+
+    private static final String[] NAMES = {"Jean-Luc", "William", "Beverly", "Geordi", "Deanna", "Worf", "Data", "Tasha"};
+    private static final String[] SURNAMES = {"Picard", "Riker", "Crusher", "La Forge", "Troi", "Rozhenko", "Soong", "Yar"};
+
+    private final MongoTemplate mongoTemplate;
+    private final LoadTestOptions options;
+
+    public Organization generate() {
+        long started = System.nanoTime();
+        Organization organization = organization(options);
+        mongoTemplate.save(organization);
+
+        int chunks = (options.getUsers() + options.getBatchSize() - 1) / options.getBatchSize();
+        AtomicLong documents = new AtomicLong();
+        AtomicLong usersDone = new AtomicLong();
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            documents.addAndGet(insertChunk(organization, chunk));
+            long done = usersDone.addAndGet(Math.min(options.getBatchSize(), options.getUsers() - chunk * options.getBatchSize()));
+            log.info("Seeded {} of {} users", done, options.getUsers());
+        });
+
+        log.info("Seeded organization {} with {} users and {} documents in {}s", ORGANIZATION_ID,
+                options.getUsers(), documents.get(), Duration.ofNanos(System.nanoTime() - started).toSeconds());
+        return organization;
+    }
+
+    /**
+     * Organization with the requested numbers of action types, missions and ranks. Even action
+     * types need manager approval; mission {@code i} requires three consecutive action types.
+     */
+    static Organization organization(LoadTestOptions options) {
+        List<Organization.ActionType> actionTypes = new ArrayList<>();
+        for (int i = 0; i < options.getActionTypes(); i++) {
+            actionTypes.add(Organization.ActionType.builder()
+                    .id(actionTypeId(i))
+                    .name("Load Action " + i)
+                    .description("Synthetic action type " + i)
+                    .points(10 * (1 + i % 5))
+                    .captureMethods(Set.of(CaptureMethod.UI, CaptureMethod.IMPORT))
+                    .allowedReporters(Set.of(ReporterType.SELF, ReporterType.MANAGER))
+                    .requiresManagerApproval(i % 2 == 0)
+                    .category("Load Test")
+                    .build());
+        }
+
+        List<Organization.MissionType> missionTypes = new ArrayList<>();
+        for (int i = 0; i < options.getMissions(); i++) {
+            List<String> required = new ArrayList<>();
+            for (int a = 0; a < Math.min(3, options.getActionTypes()); a++) {
+                required.add(actionTypeId((i + a) % options.getActionTypes()));
+            }
+            missionTypes.add(Organization.MissionType.builder()
+                    .id("load-mission-" + i)
+                    .name("Load Mission " + i)
+                    .badge("*")
+                    .requiredActionTypeIds(required)
+                    .bonusPoints(100)
+                    .category("Load Test")
+                    .build());
+        }
+
+        List<Organization.RankConfiguration> ranks = new ArrayList<>();
+        for (int i = 0; i < options.getRanks(); i++) {
+            ranks.add(Organization.RankConfiguration.builder()
+                    .id("load-rank-" + i)
+                    .name("Load Rank " + i)
+                    .pointsThreshold(i * i * 50)
+                    .insignia("*")
+                    .order(i + 1)
+                    .build());
+        }
+
+        Organization organization = Organization.builder()
+                .id(ORGANIZATION_ID)
+                .name("Load Test Organization")
+                .federationId("LOAD-001")
+                .description("Synthetic organization with " + options.getUsers() + " users")
+                .actionTypes(actionTypes)
+                .missionTypes(missionTypes)
+                .rankConfigurations(ranks)
+                .build();
+        organization.assignProgressBits();
+        return organization;
+    }
+
+    public static String userId(int index) {
+        return index == 0 ? ADMIN_USER_ID : "load-user-" + index;
+    }
+
+    public static String employeeId(int index) {
+        return String.format("LT%07d", index);
+    }
+
+    public static String actionTypeId(int index) {
+        return "load-action-" + index;
+    }
+
+    /**
+     * Index of the user's manager in the tree, or -1 for the root.
+     */
+    static int managerIndex(int index, int span) {
+        return index == 0 ? -1 : (index - 1) / span;
+    }
+
+    private long insertChunk(Organization organization, int chunk) {
+        SplittableRandom random = new SplittableRandom(options.getRandomSeed() * 31 + chunk);
+        int from = chunk * options.getBatchSize();
+        int to = Math.min(options.getUsers(), from + options.getBatchSize());
+        Chunk documents = new Chunk();
+
+        for (int index = from; index < to; index++) {
+            generateUser(organization, index, random, documents);
+        }
+
+        insert(documents.users, User.class);
+        insert(documents.actions, Action.class);
+        insert(documents.ledger, PointsLedgerEntry.class);
+        insert(documents.events, Event.class);
+        insert(documents.monthly, MonthlyPoints.class);
+        return documents.size();
+    }
+
+    private void generateUser(Organization organization, int index, SplittableRandom random, Chunk documents) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        int managerIndex = managerIndex(index, options.getSpan());
+        String managerId = managerIndex < 0 ? null : userId(managerIndex);
+
+        User user = User.builder()
+                .id(userId(index))
+                .version(0L)
+                .organizationId(ORGANIZATION_ID)
+                .employeeId(employeeId(index))
+                .name(NAMES[random.nextInt(NAMES.length)])
+                .surname(SURNAMES[random.nextInt(SURNAMES.length)] + " " + index)
+                .managerEmployeeId(managerIndex < 0 ? null : employeeId(managerIndex))
+                .role(index == 0 ? UserRole.ADMIN : UserRole.USER)
+                .lastLogin(today.minusDays(random.nextInt(Math.max(1, options.getHistoryDays() / 3)))
+                        .atStartOfDay().toInstant(ZoneOffset.UTC))
+                .createdAt(today.minusDays(options.getHistoryDays() + 1).atStartOfDay().toInstant(ZoneOffset.UTC))
+                .build();
+        Map<YearMonth, Integer> monthlyPoints = new HashMap<>();
+
+        for (HistoricAction historic : history(random)) {
+            Organization.ActionType actionType = organization.getActionTypes().get(historic.actionType);
+            LocalDate date = today.minusDays(historic.daysAgo);
+            Instant at = date.atTime(8 + random.nextInt(10), random.nextInt(60)).toInstant(ZoneOffset.UTC);
+
+            Action action = Action.builder()
+                    .id(new ObjectId().toHexString())
+                    .organizationId(ORGANIZATION_ID)
+                    .userId(user.getId())
+                    .actionTypeId(actionType.getId())
+                    .actionDate(date)
+                    .captureMethod(CaptureMethod.IMPORT)
+                    .status(CaptureStatus.APPROVED)
+                    .reporterUserId(managerId != null ? managerId : user.getId())
+                    .approvedAt(at)
+                    .approvedBy(managerId)
+                    .createdAt(at)
+                    .updatedAt(at)
+                    .build();
+            documents.actions.add(action);
+            documents.events.add(event(user, EventType.ACTION_APPROVED, at, String.format(
+                    "Action '%s' approved (%d points awarded)", actionType.getName(), actionType.getPoints())));
+            award(user, actionType.getPoints(), "Action approved", action.getId(), at, monthlyPoints, documents);
+
+            int bit = organization.getActionTypeBit(actionType.getId());
+            for (Organization.MissionType missionType : organization.getMissionTypesWithActionType(actionType.getId())) {
+                User.MissionProgress progress = user.startMissionProgress(missionType.getId());
+                if (progress.getCompleted() || !progress.recordAction(bit)) {
+                    continue;
+                }
+                progress.setUpdatedAt(at);
+                if (progress.covers(organization.getMissionMask(missionType.getId()))) {
+                    progress.setCompleted(true);
+                    progress.setCompletionDate(LocalDateTime.ofInstant(at, ZoneOffset.UTC));
+                    documents.events.add(event(user, EventType.MISSION_COMPLETED, at, String.format(
+                            "Mission '%s' completed! Earned badge: %s (+%d bonus points)",
+                            missionType.getName(), missionType.getBadge(), missionType.getBonusPoints())));
+                    award(user, missionType.getBonusPoints(), "Mission completed: " + missionType.getName(),
+                            null, at, monthlyPoints, documents);
+                }
+            }
+        }
+
+        organization.getEligibleRank(user.getTotalPoints())
+                .ifPresent(rank -> user.setCurrentRankId(rank.getId()));
+        user.setUpdatedAt(Instant.now());
+        documents.users.add(user);
+        monthlyPoints.forEach((month, points) -> documents.monthly.add(MonthlyPoints.builder()
+                .id(MonthlyPoints.idFor(user.getId(), month))
+                .organizationId(ORGANIZATION_ID)
+                .userId(user.getId())
+                .month(month.toString())
+                .points(points)
+                .build()));
+    }
+
+    /**
+     * Distinct action type and day pairs for one user, oldest first.
+     */
+    private List<HistoricAction> history(SplittableRandom random) {
+        Set<Long> taken = new HashSet<>();
+        List<HistoricAction> history = new ArrayList<>(options.getActionsPerUser());
+        while (history.size() < options.getActionsPerUser()) {
+            int actionType = random.nextInt(options.getActionTypes());
+            int daysAgo = 1 + random.nextInt(options.getHistoryDays());
+            if (taken.add((long) actionType * options.getHistoryDays() + daysAgo)) {
+                history.add(new HistoricAction(actionType, daysAgo));
+            }
+        }
+        history.sort(Comparator.comparingInt(HistoricAction::daysAgo).reversed());
+        return history;
+    }
+
+    private static void award(User user, int points, String reason, String sourceActionId, Instant at,
+                              Map<YearMonth, Integer> monthlyPoints, Chunk documents) {
+        if (points <= 0) {
+            return;
+        }
+        user.setTotalPoints(user.getTotalPoints() + points);
+        monthlyPoints.merge(YearMonth.from(at.atZone(ZoneOffset.UTC)), points, Integer::sum);
+        documents.ledger.add(PointsLedgerEntry.builder()
+                .organizationId(ORGANIZATION_ID)
+                .userId(user.getId())
+                .delta(points)
+                .reason(reason)
+                .sourceActionId(sourceActionId)
+                .timestamp(at)
+                .build());
+        documents.events.add(event(user, EventType.POINTS_AWARDED, at, String.format("Awarded %d points - %s", points, reason)));
+    }
+
+    private static Event event(User user, EventType type, Instant at, String data) {
+        return Event.builder()
+                .organizationId(ORGANIZATION_ID)
+                .userId(user.getId())
+                .eventType(type)
+                .data(data)
+                .timestamp(at)
+                .build();
+    }
+
+    private <T> void insert(List<T> documents, Class<T> type) {
+        if (!documents.isEmpty()) {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(documents).execute();
+        }
+    }
+
+    private record HistoricAction(int actionType, int daysAgo) {
+    }
+
+    private static final class Chunk {
+        private final List<User> users = new ArrayList<>();
+        private final List<Action> actions = new ArrayList<>();
+        private final List<PointsLedgerEntry> ledger = new ArrayList<>();
+        private final List<Event> events = new ArrayList<>();
+        private final List<MonthlyPoints> monthly = new ArrayList<>();
+
+        long size() {
+            return users.size() + actions.size() + ledger.size() + events.size() + monthly.size();
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.starfleet.gamifier.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.List;
 
 /**
  * Configuration for Spring Cache abstraction.
@@ -16,33 +21,89 @@ import org.springframework.web.context.annotation.RequestScope;
 @EnableCaching
 public class CacheConfig {
 
+    static final List<String> APPLICATION_CACHES = List.of(
+        "monthlyLeaderboard",
+        "allTimeLeaderboard",
+        "leaderboardStats",
+        "userRankings",
+        "eventStatistics",
+        "organizationSnapshots"
+    );
+
     /**
-     * Request-scoped cache manager that creates a new cache for each HTTP request.
-     * The cache is automatically cleared when the request completes.
+     * Request-scoped cache manager that keeps a separate cache for each HTTP request.
+     * The cache is discarded when the request completes; outside a request nothing is cached.
      *
      * @return CacheManager scoped to the current request
      */
     @Bean
-    @RequestScope
     public CacheManager requestScopedCacheManager() {
-        return new ConcurrentMapCacheManager("organizationById");
+        return new RequestScopedCacheManager("organizationById");
     }
 
     /**
      * Application-level cache manager for long-lived data like leaderboards.
-     * These caches persist across requests and provide better performance for expensive operations.
+     * Each cache is a bounded Caffeine cache with its own policy from {@link CachePolicyProperties}
+     * and records statistics, which actuator exports as {@code cache.*} metrics.
+     * Caches with a refresh-after-write policy reload stale entries in the background through
+     * the {@link CacheReloader} registered for them, so reads keep returning the current value.
      *
      * @return Primary CacheManager for application-level caching
      */
     @Bean
     @Primary
-    public CacheManager applicationCacheManager() {
-        return new ConcurrentMapCacheManager(
-            "monthlyLeaderboard",
-            "allTimeLeaderboard",
-            "leaderboardStats",
-            "userRankings",
-            "eventStatistics"
-        );
+    public CacheManager applicationCacheManager(CachePolicyProperties properties,
+                                                ObjectProvider<CacheReloader> reloaders) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(builder(properties.getDefaults()));
+        for (String name : APPLICATION_CACHES) {
+            cacheManager.registerCustomCache(name, buildCache(name, properties.policyFor(name), reloaders));
+        }
+        return cacheManager;
+    }
+
+    static Cache<Object, Object> buildCache(String name, CachePolicyProperties.Policy policy,
+                                            ObjectProvider<CacheReloader> reloaders) {
+        Caffeine<Object, Object> builder = builder(policy);
+        if (policy.getRefreshAfterWrite() == null) {
+            return builder.build();
+        }
+        if (policy.getExpireAfterWrite() != null && policy.getRefreshAfterWrite().compareTo(policy.getExpireAfterWrite()) >= 0) {
+            throw new IllegalArgumentException("Cache " + name + ": refresh-after-write must be shorter than expire-after-write");
+        }
+        return builder.refreshAfterWrite(policy.getRefreshAfterWrite()).build(new BackgroundReloader(name, reloaders));
+    }
+
+    private static Caffeine<Object, Object> builder(CachePolicyProperties.Policy policy) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .maximumSize(policy.getMaximumSize())
+            .recordStats();
+        if (policy.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(policy.getExpireAfterWrite());
+        }
+        return builder;
+    }
+
+    /**
+     * Loader behind refreshable caches. Misses are left to the cached method itself;
+     * only refreshes of existing entries are delegated to the cache's {@link CacheReloader},
+     * which is looked up lazily because reloaders are usually the cached services themselves.
+     */
+    private record BackgroundReloader(String cacheName, ObjectProvider<CacheReloader> reloaders)
+        implements CacheLoader<Object, Object> {
+
+        @Override
+        public Object load(Object key) {
+            return null;
+        }
+
+        @Override
+        public Object reload(Object key, Object oldValue) {
+            return reloaders.orderedStream()
+                .filter(reloader -> reloader.reloadableCaches().contains(cacheName))
+                .findFirst()
+                .map(reloader -> reloader.reload(cacheName, key))
+                .orElse(oldValue);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package com.starfleet.gamifier.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size and expiry policies for the application-level caches.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "starfleet.gamifier.cache")
+public class CachePolicyProperties {
+
+    /**
+     * Policy for caches without an entry in {@link #caches}.
+     */
+    private Policy defaults = new Policy();
+
+    /**
+     * Per-cache policies keyed by cache name.
+     */
+    private Map<String, Policy> caches = new LinkedHashMap<>();
+
+    public Policy policyFor(String cacheName) {
+        return caches.getOrDefault(cacheName, defaults);
+    }
+
+    @Data
+    public static class Policy {
+
+        /**
+         * Entries kept before the least valuable ones are evicted.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Age at which an entry is dropped; unset keeps entries until they are evicted for size.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+        /**
+         * Age at which a read triggers a background reload while still returning the current value.
+         * Only honoured for caches with a {@link CacheReloader}; must be shorter than expire-after-write.
+         */
+        private Duration refreshAfterWrite;
+    }
+}
@@ -0,0 +1,20 @@
+package com.starfleet.gamifier.config;
+
+import java.util.Collection;
+
+/**
+ * Recomputes application cache entries from their keys, so caches with a
+ * refresh-after-write policy can reload stale entries in the background.
+ */
+public interface CacheReloader {
+
+    /**
+     * Caches whose entries this reloader can recompute.
+     */
+    Collection<String> reloadableCaches();
+
+    /**
+     * Recompute the value cached under {@code key}; returning null drops the entry.
+     */
+    Object reload(String cacheName, Object key);
+}
@@ -0,0 +1,22 @@
+package com.starfleet.gamifier.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tuning for the materialized event counters behind event statistics.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "starfleet.gamifier.event-counters")
+public class EventCounterProperties {
+
+    /**
+     * How often counts recorded on this node are added to the event_counters collection.
+     * Statistics served by other nodes lag by at most this long.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,52 @@
+package com.starfleet.gamifier.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tuning for the background writer that batches event inserts off the request path.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "starfleet.gamifier.event-sink")
+public class EventSinkProperties {
+
+    public enum Durability {
+        /** Events are queued in memory; ones still queued when the process dies are lost. */
+        FIRE_AND_FORGET,
+        /** Publishing waits until the writer has inserted the events, sharing batches with concurrent requests. */
+        FLUSH_BEFORE_RESPONSE,
+        /** Events are appended and synced to a local log before being queued, and replayed from it on startup. */
+        WRITE_AHEAD
+    }
+
+    private Durability durability = Durability.FLUSH_BEFORE_RESPONSE;
+
+    /**
+     * Events that may wait for the writer. When full, publishers insert their events themselves.
+     */
+    private int capacity = 8192;
+
+    /**
+     * Events inserted per insertMany.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest a queued event waits for a batch to fill before it is written.
+     */
+    private Duration flushInterval = Duration.ofMillis(50);
+
+    /**
+     * Longest a FLUSH_BEFORE_RESPONSE publisher waits for its events to be written.
+     */
+    private Duration flushTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Local file WRITE_AHEAD appends events to until they are inserted.
+     */
+    private String appendLogPath = System.getProperty("java.io.tmpdir") + "/gamifier-events.log";
+}
@@ -0,0 +1,193 @@
+package com.starfleet.gamifier.config;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Starts, stops and downloads JDK Flight Recorder recordings, including the application's own
+ * events of the capture, award, mission and import pipelines:
+ * <ul>
+ *   <li>{@code GET /actuator/flightrecorder} lists the recordings started here</li>
+ *   <li>{@code POST /actuator/flightrecorder} starts one, optionally with {@code settings} and {@code duration}</li>
+ *   <li>{@code POST /actuator/flightrecorder/{id}} stops it, keeping its data for download</li>
+ *   <li>{@code GET /actuator/flightrecorder/{id}} downloads it as a .jfr file, also while it is running</li>
+ *   <li>{@code DELETE /actuator/flightrecorder/{id}} discards it</li>
+ * </ul>
+ * One recording runs at a time, and only the most recent stopped recordings are kept; both are
+ * capped by {@link FlightRecorderProperties}. The endpoint is not exposed by default, see the
+ * README for serving it on a separate management port. Open the downloaded file in JDK Mission
+ * Control or read it with {@code jfr print}.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "flightrecorder")
+@RequiredArgsConstructor
+public class FlightRecorderEndpoint {
+
+    private static final int STATUS_CONFLICT = 409;
+
+    private final FlightRecorderProperties properties;
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+
+    @ReadOperation
+    public List<RecordingInfo> recordings() {
+        return recordings.values().stream().map(RecordingInfo::of).toList();
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<RecordingInfo> start(@Nullable String settings, @Nullable Duration duration)
+            throws IOException, ParseException {
+        if (recordings.values().stream().anyMatch(recording -> recording.getState() != RecordingState.STOPPED
+                && recording.getState() != RecordingState.CLOSED)) {
+            return new WebEndpointResponse<>(STATUS_CONFLICT);
+        }
+        String settingsName = settings != null ? settings : properties.getSettings();
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (NoSuchFileException e) {
+            throw new InvalidEndpointRequestException("Unknown JFR settings: " + settingsName, "Unknown JFR settings");
+        }
+        Duration maxDuration = properties.getMaxDuration();
+        discardOldestStopped();
+
+        Recording recording = new Recording(configuration);
+        recording.setName("gamifier-" + Instant.now());
+        recording.setToDisk(true);
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        recording.setDuration(duration != null && duration.compareTo(maxDuration) < 0 ? duration : maxDuration);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+
+        log.info("Started flight recording {} with {} settings for {}",
+                recording.getId(), configuration.getName(), recording.getDuration());
+        return new WebEndpointResponse<>(RecordingInfo.of(recording));
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<RecordingInfo> stop(@Selector long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped flight recording {}", id);
+        }
+        return new WebEndpointResponse<>(RecordingInfo.of(recording));
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id) throws IOException {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile("gamifier-recording-" + id + "-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new WebEndpointResponse<>(new TemporaryFileResource(file));
+    }
+
+    @DeleteOperation
+    public void close(@Selector long id) {
+        Recording recording = recordings.remove(id);
+        if (recording != null) {
+            recording.close();
+            log.info("Discarded flight recording {}", id);
+        }
+    }
+
+    /**
+     * Make room for a new recording among the kept ones by closing the oldest stopped recordings.
+     */
+    private void discardOldestStopped() {
+        int excess = recordings.size() - (properties.getMaxRecordings() - 1);
+        recordings.values().stream()
+                .sorted(Comparator.comparing(Recording::getId))
+                .limit(Math.max(0, excess))
+                .map(Recording::getId)
+                .toList()
+                .forEach(this::close);
+    }
+
+    @Value
+    public static class RecordingInfo {
+        long id;
+        String name;
+        String state;
+        Instant startTime;
+        Instant stopTime;
+        Duration duration;
+        long size;
+
+        static RecordingInfo of(Recording recording) {
+            return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                    recording.getStartTime(), recording.getStopTime(), recording.getDuration(), recording.getSize());
+        }
+    }
+
+    /**
+     * A dumped recording that is deleted once it has been streamed to the client.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public boolean isFile() {
+            // Served through getInputStream rather than straight from the file, so it can be deleted
+            return false;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            Path file = getFile().toPath();
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            };
+        }
+    }
+}
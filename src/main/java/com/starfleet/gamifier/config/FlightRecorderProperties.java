@@ -0,0 +1,39 @@
+package com.starfleet.gamifier.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Limits for JDK Flight Recorder recordings started through the flightrecorder actuator endpoint.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "starfleet.gamifier.flight-recorder")
+public class FlightRecorderProperties {
+
+    /**
+     * JFR settings used when a start request names none: {@code default} for continuous
+     * recording at about 1% overhead, {@code profile} for more detail at about 2%.
+     */
+    private String settings = "default";
+
+    /**
+     * Recordings stop on their own after this long, whatever duration was asked for.
+     */
+    private Duration maxDuration = Duration.ofMinutes(30);
+
+    /**
+     * Disk space a recording may use before its oldest data is dropped.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(250);
+
+    /**
+     * Recordings kept for download, including the running one; starting a new recording
+     * discards the oldest stopped ones beyond this.
+     */
+    private int maxRecordings = 3;
+}
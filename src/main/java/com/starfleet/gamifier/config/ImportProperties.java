@@ -0,0 +1,45 @@
+package com.starfleet.gamifier.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tuning for bulk CSV imports.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "starfleet.gamifier.import")
+public class ImportProperties {
+
+    /**
+     * Rows resolved, de-duplicated and written per round of batched database calls.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Errors returned in an import result; further errors are counted but not listed.
+     */
+    private int maxReportedErrors = 1000;
+
+    /**
+     * Local directory uploads are spooled to before an import job processes them.
+     */
+    private String spoolDirectory = System.getProperty("java.io.tmpdir") + "/gamifier-imports";
+
+    /**
+     * Import jobs processed concurrently on this node.
+     */
+    private int workerThreads = 2;
+
+    /**
+     * Import jobs that may wait for a worker; further uploads are rejected until one frees up.
+     */
+    private int queueCapacity = 20;
+
+    /**
+     * Identifies this node on import jobs, so only the node holding a spooled file resumes it.
+     * Defaults to the host name.
+     */
+    private String nodeId;
+}
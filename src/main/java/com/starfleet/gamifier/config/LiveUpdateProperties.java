@@ -0,0 +1,48 @@
+package com.starfleet.gamifier.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tuning for the server-sent event stream of feed events and leaderboard changes.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "starfleet.gamifier.live")
+public class LiveUpdateProperties {
+
+    /**
+     * Feed events buffered per connection while it is being written to. When full, the oldest
+     * are dropped and the client is told to refetch its feed.
+     */
+    private int bufferSize = 256;
+
+    /**
+     * Changed users coalesced into one leaderboard delta per connection. Beyond this, the
+     * client is told to refetch the leaderboard instead.
+     */
+    private int maxLeaderboardChanges = 200;
+
+    /**
+     * How often leaderboard changes of an organization are collected and pushed.
+     */
+    private Duration leaderboardInterval = Duration.ofSeconds(1);
+
+    /**
+     * Idle connections get a comment this often, so dead ones are detected and proxies keep them open.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+    /**
+     * Connections are closed after this long; clients reconnect.
+     */
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Threads writing to connections.
+     */
+    private int senderThreads = 2;
+}
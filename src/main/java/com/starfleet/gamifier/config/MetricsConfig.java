@@ -0,0 +1,30 @@
+package com.starfleet.gamifier.config;
+
+import com.mongodb.event.CommandEvent;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoCommandTagsProvider;
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adds the organization tag to the {@code mongodb.driver.commands} timers Spring Boot registers
+ * per command and collection. The synchronous driver reports a command on the thread that
+ * issued it, so the tag is the organization of the timed operation running on that thread.
+ * Connection pool gauges ({@code mongodb.driver.pool.*}) are kept per server: the pool is
+ * shared by all organizations.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MongoCommandTagsProvider mongoCommandTagsProvider(OrganizationTags organizationTags) {
+        return new DefaultMongoCommandTagsProvider() {
+            @Override
+            public Iterable<Tag> commandTags(CommandEvent event) {
+                return Tags.of(super.commandTags(event)).and("organization", organizationTags.current());
+            }
+        };
+    }
+}
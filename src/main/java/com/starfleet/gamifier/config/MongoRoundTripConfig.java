@@ -0,0 +1,34 @@
+package com.starfleet.gamifier.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the per-thread MongoDB command recorder with the driver and the filter that
+ * checks each request's round trips against {@link MongoRoundTripProperties}.
+ * Off unless enabled, as in development, load tests and the Spring Boot tests.
+ */
+@Configuration
+@ConditionalOnProperty(name = "starfleet.gamifier.mongo-round-trips.enabled", havingValue = "true")
+public class MongoRoundTripConfig {
+
+    @Bean
+    public MongoRoundTrips mongoRoundTrips(MongoRoundTripProperties properties) {
+        return new MongoRoundTrips(properties.getMaxBytes() != null);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoRoundTripListener(MongoRoundTrips mongoRoundTrips) {
+        return settings -> settings.addCommandListener(mongoRoundTrips);
+    }
+
+    @Bean
+    public FilterRegistrationBean<MongoRoundTripFilter> mongoRoundTripFilter(MongoRoundTripProperties properties) {
+        FilterRegistrationBean<MongoRoundTripFilter> registration = new FilterRegistrationBean<>(new MongoRoundTripFilter(properties));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,63 @@
+package com.starfleet.gamifier.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the MongoDB commands of each request and logs a warning for requests over their
+ * round-trip budget or repeating one command shape, with the counts per collection.
+ * Work handed to other threads, such as streamed responses, is not counted.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class MongoRoundTripFilter extends OncePerRequestFilter {
+
+    private final MongoRoundTripProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        MongoRoundTrips.Stats stats;
+        try (MongoRoundTrips.Recording recording = MongoRoundTrips.start()) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                stats = recording.stats();
+            }
+        }
+        report(request, stats);
+    }
+
+    private void report(HttpServletRequest request, MongoRoundTrips.Stats stats) {
+        MongoRoundTrips.Totals totals = stats.getTotals();
+        List<String> exceeded = new ArrayList<>();
+        if (totals.getCommands() > properties.getMaxCommands()) {
+            exceeded.add("commands > " + properties.getMaxCommands());
+        }
+        if (totals.getTime().compareTo(properties.getMaxTime()) > 0) {
+            exceeded.add("time > " + properties.getMaxTime().toMillis() + " ms");
+        }
+        if (properties.getMaxBytes() != null && totals.getBytes() > properties.getMaxBytes().toBytes()) {
+            exceeded.add("bytes > " + properties.getMaxBytes());
+        }
+        Map<String, Long> repeated = stats.getRepeated(properties.getMaxRepeats());
+        repeated.forEach((shape, count) -> exceeded.add("likely N+1: " + count + " x " + shape));
+
+        if (!exceeded.isEmpty()) {
+            log.warn("{} {} went over its MongoDB budget ({}): {}",
+                    request.getMethod(), request.getRequestURI(), String.join("; ", exceeded), stats);
+        } else if (log.isDebugEnabled() && totals.getCommands() > 0) {
+            log.debug("{} {} MongoDB round trips: {}", request.getMethod(), request.getRequestURI(), stats);
+        }
+    }
+}
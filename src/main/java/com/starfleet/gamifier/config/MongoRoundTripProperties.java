@@ -0,0 +1,43 @@
+package com.starfleet.gamifier.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Per-request budget of MongoDB round trips; requests going over it are logged.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "starfleet.gamifier.mongo-round-trips")
+public class MongoRoundTripProperties {
+
+    /**
+     * Record the MongoDB commands of every HTTP request.
+     */
+    private boolean enabled;
+
+    /**
+     * Commands a request may issue.
+     */
+    private int maxCommands = 20;
+
+    /**
+     * Time a request may spend waiting on MongoDB commands.
+     */
+    private Duration maxTime = Duration.ofMillis(200);
+
+    /**
+     * Bytes a request may send to and receive from MongoDB; unset skips measuring them.
+     */
+    private DataSize maxBytes;
+
+    /**
+     * Times a request may repeat the same command shape (command, collection and fields
+     * filtered on) before it is reported as a likely N+1 query.
+     */
+    private int maxRepeats = 5;
+}
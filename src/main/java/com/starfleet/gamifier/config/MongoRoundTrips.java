@@ -0,0 +1,276 @@
+package com.starfleet.gamifier.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import lombok.Value;
+import org.bson.BsonArray;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the MongoDB commands issued on the current thread while a recording is open, with
+ * the time they took and the bytes sent and received, per collection. The synchronous driver
+ * reports a command on the thread that issued it, so a recording opened around a request sees
+ * exactly that request's round trips; background writers and other threads are not counted.
+ * <p>
+ * Commands are also grouped by shape (command, collection and the fields filtered on), so one
+ * lookup repeated for every element of a list, an N+1 query, shows up as a repeated shape.
+ * <p>
+ * Byte counts are optional. Replies and most commands are sized from the buffers the driver
+ * read or wrote, but commands it passes on as in-memory documents, such as batched inserts,
+ * have to be encoded again to be sized.
+ */
+public class MongoRoundTrips implements CommandListener {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    private final boolean measureBytes;
+
+    public MongoRoundTrips() {
+        this(true);
+    }
+
+    /**
+     * @param measureBytes whether to count the bytes sent and received; recorded as 0 otherwise
+     */
+    public MongoRoundTrips(boolean measureBytes) {
+        this.measureBytes = measureBytes;
+    }
+
+    /**
+     * Record the commands issued on this thread until the returned recording is closed.
+     * Recordings nest; a command counts towards every open recording.
+     */
+    public static Recording start() {
+        Recording recording = new Recording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    /**
+     * Run the work and return the commands it issued on this thread.
+     */
+    public static Stats record(Runnable work) {
+        try (Recording recording = start()) {
+            work.run();
+            return recording.stats();
+        }
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        Recording recording = CURRENT.get();
+        if (recording != null) {
+            BsonDocument command = event.getCommand();
+            String collection = collectionOf(event.getCommandName(), command);
+            recording.inFlight.put(event.getRequestId(), new Command(event.getCommandName(), collection,
+                    shapeOf(event.getCommandName(), collection, command), 0, measureBytes ? sizeOf(command) : 0));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finished(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS),
+                measureBytes && CURRENT.get() != null ? sizeOf(event.getResponse()) : 0);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finished(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS), 0);
+    }
+
+    private static void finished(int requestId, long nanos, long responseBytes) {
+        Recording recording = CURRENT.get();
+        Command started = recording == null ? null : recording.inFlight.remove(requestId);
+        if (started == null) {
+            return;
+        }
+        Command command = new Command(started.name, started.collection, started.shape, nanos, started.bytes + responseBytes);
+        for (Recording open = recording; open != null; open = open.parent) {
+            open.commands.add(command);
+        }
+    }
+
+    private static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue target = command.get(commandName);
+        if (target != null && target.isString()) {
+            return target.asString().getValue();
+        }
+        BsonValue collection = command.get("collection"); // getMore
+        return collection != null && collection.isString() ? collection.asString().getValue() : "";
+    }
+
+    private static String shapeOf(String commandName, String collection, BsonDocument command) {
+        BsonDocument filter = filterOf(commandName, command);
+        String fields = filter == null ? "" : " " + filter.keySet().stream().collect(Collectors.joining(", ", "{", "}"));
+        return commandName + " " + collection + fields;
+    }
+
+    private static BsonDocument filterOf(String commandName, BsonDocument command) {
+        return switch (commandName) {
+            case "find", "count", "distinct" -> documentOrNull(command.get(commandName.equals("find") ? "filter" : "query"));
+            case "findAndModify" -> documentOrNull(command.get("query"));
+            case "update" -> firstStatementFilter(command.get("updates"));
+            case "delete" -> firstStatementFilter(command.get("deletes"));
+            case "aggregate" -> {
+                BsonValue pipeline = command.get("pipeline");
+                BsonValue first = pipeline != null && pipeline.isArray() && !pipeline.asArray().isEmpty()
+                        ? pipeline.asArray().get(0) : null;
+                yield first != null && first.isDocument() ? documentOrNull(first.asDocument().get("$match")) : null;
+            }
+            default -> null;
+        };
+    }
+
+    private static BsonDocument firstStatementFilter(BsonValue statements) {
+        if (statements == null || !statements.isArray()) {
+            return null;
+        }
+        BsonArray array = statements.asArray();
+        return !array.isEmpty() && array.get(0).isDocument() ? documentOrNull(array.get(0).asDocument().get("q")) : null;
+    }
+
+    private static BsonDocument documentOrNull(BsonValue value) {
+        return value != null && value.isDocument() ? value.asDocument() : null;
+    }
+
+    static long sizeOf(BsonDocument document) {
+        if (document == null) {
+            return 0;
+        }
+        if (document instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        try (BsonReader reader = document.asBsonReader()) {
+            if (reader instanceof BsonBinaryReader binary) {
+                // Backed by the encoded bytes, which start with the document's length
+                return binary.getBsonInput().readInt32();
+            }
+        }
+        return new RawBsonDocument(document, CODEC).getByteBuffer().remaining();
+    }
+
+    /**
+     * Commands recorded on one thread; close it to stop recording.
+     */
+    public static final class Recording implements AutoCloseable {
+        private final Recording parent;
+        private final Map<Integer, Command> inFlight = new HashMap<>();
+        private final List<Command> commands = new ArrayList<>();
+
+        private Recording(Recording parent) {
+            this.parent = parent;
+        }
+
+        public Stats stats() {
+            return new Stats(List.copyOf(commands));
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+
+    /**
+     * One command: its name, collection, shape, time taken and bytes sent plus received.
+     */
+    @Value
+    public static class Command {
+        String name;
+        String collection;
+        String shape;
+        long nanos;
+        long bytes;
+    }
+
+    /**
+     * Totals of a group of commands.
+     */
+    @Value
+    public static class Totals {
+        int commands;
+        Duration time;
+        long bytes;
+
+        static Totals of(List<Command> commands) {
+            return new Totals(commands.size(),
+                    Duration.ofNanos(commands.stream().mapToLong(Command::getNanos).sum()),
+                    commands.stream().mapToLong(Command::getBytes).sum());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d commands, %d ms, %.1f KB", commands, time.toMillis(), bytes / 1024.0);
+        }
+    }
+
+    /**
+     * The commands of a recording, in the order they completed.
+     */
+    @Value
+    public static class Stats {
+        List<Command> commands;
+
+        public Totals getTotals() {
+            return Totals.of(commands);
+        }
+
+        public int getCommandCount() {
+            return commands.size();
+        }
+
+        public int getCommandCount(String collection) {
+            return (int) commands.stream().filter(command -> command.getCollection().equals(collection)).count();
+        }
+
+        public Map<String, Totals> getByCollection() {
+            Map<String, List<Command>> grouped = commands.stream()
+                    .collect(Collectors.groupingBy(Command::getCollection, LinkedHashMap::new, Collectors.toList()));
+            Map<String, Totals> totals = new LinkedHashMap<>();
+            grouped.forEach((collection, group) -> totals.put(collection, Totals.of(group)));
+            return totals;
+        }
+
+        /**
+         * Command shapes issued more than {@code maxRepeats} times, most repeated first; each is
+         * likely one query per element of a list that could have been a single query.
+         */
+        public Map<String, Long> getRepeated(int maxRepeats) {
+            return commands.stream()
+                    .collect(Collectors.groupingBy(Command::getShape, Collectors.counting()))
+                    .entrySet().stream()
+                    .filter(entry -> entry.getValue() > maxRepeats)
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+        }
+
+        @Override
+        public String toString() {
+            String byCollection = getByCollection().entrySet().stream()
+                    .map(entry -> (entry.getKey().isEmpty() ? "(database)" : entry.getKey()) + ": " + entry.getValue())
+                    .collect(Collectors.joining("; "));
+            return getTotals() + (byCollection.isEmpty() ? "" : " [" + byCollection + "]");
+        }
+    }
+}
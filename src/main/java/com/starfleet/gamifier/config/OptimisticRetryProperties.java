@@ -0,0 +1,26 @@
+package com.starfleet.gamifier.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Retry policy for writes that lose an optimistic version check on the User aggregate.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "starfleet.gamifier.optimistic-retry")
+public class OptimisticRetryProperties {
+
+    /**
+     * Attempts per operation, including the first; the conflict is rethrown after the last.
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * Pause before the first retry, doubled for each further retry and jittered by up to half.
+     */
+    private Duration backoff = Duration.ofMillis(5);
+}
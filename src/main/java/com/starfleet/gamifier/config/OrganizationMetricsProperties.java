@@ -0,0 +1,20 @@
+package com.starfleet.gamifier.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounds the organization tag on service timers and MongoDB command metrics.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "starfleet.gamifier.metrics")
+public class OrganizationMetricsProperties {
+
+    /**
+     * Organizations that get their own tag value; later ones are tagged {@code other}.
+     * Every tagged organization multiplies the histogram series of each timer.
+     */
+    private int maxOrganizations = 100;
+}
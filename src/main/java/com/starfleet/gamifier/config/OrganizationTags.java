@@ -0,0 +1,106 @@
+package com.starfleet.gamifier.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Organization tag values for metrics, with bounded cardinality: the first
+ * {@link OrganizationMetricsProperties#getMaxOrganizations()} organizations admitted keep their
+ * id, every other one is tagged {@value #OTHER}. Only organizations of operations that succeeded
+ * are admitted, so requests for made-up organization ids cannot use up the tag values.
+ * Also tracks the organization the current thread is working for, so MongoDB commands issued
+ * by a timed operation can be tagged with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrganizationTags {
+
+    public static final String NONE = "none";
+    public static final String OTHER = "other";
+
+    private final OrganizationMetricsProperties properties;
+    private final Set<String> admitted = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    /**
+     * Tag value of an organization, without admitting it.
+     */
+    public String tag(String organizationId) {
+        if (organizationId == null || organizationId.isBlank()) {
+            return NONE;
+        }
+        return admitted.contains(organizationId) ? organizationId : OTHER;
+    }
+
+    /**
+     * Tag value of an organization, admitting it while there is room.
+     */
+    public String admit(String organizationId) {
+        if (organizationId == null || organizationId.isBlank() || admitted.contains(organizationId)) {
+            return tag(organizationId);
+        }
+        synchronized (admitted) {
+            if (admitted.size() < properties.getMaxOrganizations()) {
+                admitted.add(organizationId);
+            }
+        }
+        return tag(organizationId);
+    }
+
+    /**
+     * Tag value of the organization the current thread is working for.
+     */
+    public String current() {
+        Scope scope = current.get();
+        return tag(scope != null ? scope.organizationId : null);
+    }
+
+    /**
+     * Start working for an organization on the current thread until the scope is closed.
+     * A scope opened without one takes its enclosing scope's organization.
+     */
+    public Scope open(String organizationId) {
+        Scope parent = current.get();
+        Scope scope = new Scope(parent, organizationId != null || parent == null ? organizationId : parent.organizationId);
+        current.set(scope);
+        return scope;
+    }
+
+    /**
+     * Set the organization of the innermost open scope, once an operation that did not know it
+     * up front has loaded it. Ignored outside a scope or when the scope already has one.
+     */
+    public void identify(String organizationId) {
+        Scope scope = current.get();
+        if (scope != null && scope.organizationId == null) {
+            scope.organizationId = organizationId;
+        }
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private String organizationId;
+
+        private Scope(Scope parent, String organizationId) {
+            this.parent = parent;
+            this.organizationId = organizationId;
+        }
+
+        public String getOrganizationId() {
+            return organizationId;
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                current.remove();
+            } else {
+                current.set(parent);
+            }
+        }
+    }
+}
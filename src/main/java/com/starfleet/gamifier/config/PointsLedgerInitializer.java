@@ -0,0 +1,109 @@
+package com.starfleet.gamifier.config;
+
+import com.starfleet.gamifier.domain.PointsLedgerEntry;
+import com.starfleet.gamifier.domain.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Opens the points ledger of users whose points predate it, such as the seeded development
+ * users, with one opening balance entry: the stored total less whatever the ledger already
+ * holds for them. Without it, recomputing such a user's total from the ledger would drop the
+ * points they held before. Runs after the other initializers so their users are included, and
+ * skips users whose balance is already open, so restarts only read the entry IDs.
+ * <p>
+ * Awards that are in flight while a balance is opened can leave it off by their points;
+ * {@code UserService.recomputeTotalPoints} then reports the user instead of overwriting the total.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class PointsLedgerInitializer implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Query query = new Query();
+        query.fields().include("organizationId", "totalPoints");
+        List<User> batch = new ArrayList<>(BATCH_SIZE);
+        int opened = 0;
+        try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+            for (User user : (Iterable<User>) users::iterator) {
+                batch.add(user);
+                if (batch.size() == BATCH_SIZE) {
+                    opened += openBalances(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            opened += openBalances(batch);
+        }
+        if (opened > 0) {
+            log.info("Opened the points ledger balance of {} users", opened);
+        }
+    }
+
+    private int openBalances(List<User> users) {
+        Map<String, User> unopened = new HashMap<>();
+        users.forEach(user -> unopened.put(PointsLedgerEntry.openingBalanceId(user.getId()), user));
+        Query opened = new Query(Criteria.where("_id").in(unopened.keySet()));
+        opened.fields().include("_id");
+        mongoTemplate.find(opened, PointsLedgerEntry.class).forEach(entry -> unopened.remove(entry.getId()));
+        if (unopened.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Integer> ledgerTotals = ledgerTotals(unopened.values().stream().map(User::getId).toList());
+        BulkOperations inserts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PointsLedgerEntry.class);
+        unopened.forEach((id, user) -> inserts.insert(PointsLedgerEntry.builder()
+                .id(id)
+                .organizationId(user.getOrganizationId())
+                .userId(user.getId())
+                .delta((user.getTotalPoints() != null ? user.getTotalPoints() : 0)
+                        - ledgerTotals.getOrDefault(user.getId(), 0))
+                .reason(PointsLedgerEntry.OPENING_BALANCE)
+                .build()));
+        try {
+            inserts.execute();
+            return unopened.size();
+        } catch (DuplicateKeyException | BulkOperationException e) {
+            // Another instance opened some of the same balances first; the rest were inserted
+            log.debug("Some points ledger balances were opened concurrently: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private Map<String, Integer> ledgerTotals(List<String> userIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").in(userIds)),
+                Aggregation.group("userId").sum("delta").as("total"));
+        Map<String, Integer> totals = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, PointsLedgerEntry.class, Document.class)
+                .forEach(result -> totals.put(result.getString("_id"), ((Number) result.get("total")).intValue()));
+        return totals;
+    }
+}
@@ -0,0 +1,46 @@
+package com.starfleet.gamifier.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cache manager whose caches live for the duration of the current HTTP request.
+ * Outside a request (background cache refreshes, import jobs, startup) it hands out
+ * no-op caches, so lookups go straight to the database instead of failing.
+ */
+public class RequestScopedCacheManager implements CacheManager {
+
+    private static final String ATTRIBUTE = RequestScopedCacheManager.class.getName();
+
+    private final List<String> cacheNames;
+
+    public RequestScopedCacheManager(String... cacheNames) {
+        this.cacheNames = List.of(cacheNames);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new NoOpCache(name);
+        }
+        CacheManager requestCaches = (CacheManager) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (requestCaches == null) {
+            requestCaches = new ConcurrentMapCacheManager(cacheNames.toArray(String[]::new));
+            attributes.setAttribute(ATTRIBUTE, requestCaches, RequestAttributes.SCOPE_REQUEST);
+        }
+        return requestCaches.getCache(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return cacheNames;
+    }
+}
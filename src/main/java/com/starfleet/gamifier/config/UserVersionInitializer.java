@@ -0,0 +1,33 @@
+package com.starfleet.gamifier.config;
+
+import com.starfleet.gamifier.domain.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives users stored before User was versioned an initial version. Without one, saving such
+ * a user would be treated as an insert of a new document and fail on the existing ID.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserVersionInitializer implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long updated = mongoTemplate.updateMulti(new Query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L), User.class).getModifiedCount();
+        if (updated > 0) {
+            log.info("Initialized version on {} users", updated);
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.starfleet.gamifier.controller;
 
+import com.starfleet.gamifier.controller.dto.ActionRequests.BulkDecisionRequest;
+import com.starfleet.gamifier.controller.dto.ActionRequests.BulkDecisionResult;
 import com.starfleet.gamifier.controller.dto.ActionRequests.CaptureActionRequest;
-import com.starfleet.gamifier.controller.dto.ActionRequests.ImportResult;
 import com.starfleet.gamifier.controller.dto.ActionRequests.RejectActionRequest;
+import com.starfleet.gamifier.controller.dto.CursorPage;
+import com.starfleet.gamifier.controller.dto.ImportResponses.ImportJobProgress;
 import com.starfleet.gamifier.domain.Action;
+import com.starfleet.gamifier.domain.ImportJob;
 import com.starfleet.gamifier.service.ActionService;
 import com.starfleet.gamifier.service.AuthenticationService;
+import com.starfleet.gamifier.service.ImportJobService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -26,6 +31,7 @@ public class ActionController {
 
     private final ActionService actionService;
     private final AuthenticationService authenticationService;
+    private final ImportJobService importJobService;
 
     @GetMapping
     public ResponseEntity<Page<Action>> getAllActions(
@@ -38,6 +44,16 @@ public class ActionController {
         return ResponseEntity.ok(actions);
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<Action>> scrollActions(
+            @RequestParam(required = false) String organizationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        String orgId = organizationId != null ? organizationId : authenticationService.getCurrentOrganizationId();
+        authenticationService.requireAdminAccess(orgId);
+        return ResponseEntity.ok(actionService.scrollOrganizationActions(orgId, cursor, size));
+    }
+
     @PostMapping
     public ResponseEntity<Action> captureAction(@Valid @RequestBody CaptureActionRequest request) {
         Action action = actionService.captureAction(request);
@@ -52,12 +68,20 @@ public class ActionController {
         return ResponseEntity.ok(history);
     }
 
+    @GetMapping("/history/{userId}/scroll")
+    public ResponseEntity<CursorPage<Action>> scrollUserActionHistory(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(actionService.scrollUserActionHistory(userId, cursor, size));
+    }
+
     @PostMapping("/import")
-    public ResponseEntity<ImportResult> importActions(
+    public ResponseEntity<ImportJobProgress> importActions(
             @RequestParam("file") MultipartFile file,
             @RequestParam String organizationId) {
-        ImportResult result = actionService.importActionsFromCsv(file, organizationId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        ImportJob job = importJobService.submit(file, organizationId, ImportJob.Type.ACTIONS);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ImportJobProgress.of(job));
     }
 
     @GetMapping("/pending/{managerId}")
@@ -74,6 +98,12 @@ public class ActionController {
         return ResponseEntity.ok(action);
     }
 
+    @PostMapping("/decisions")
+    public ResponseEntity<BulkDecisionResult> decideActions(@Valid @RequestBody BulkDecisionRequest request) {
+        BulkDecisionResult result = actionService.decideActions(request);
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{actionCaptureId}/reject")
     public ResponseEntity<Action> rejectAction(
             @PathVariable String actionCaptureId,
@@ -1,17 +1,25 @@
 package com.starfleet.gamifier.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starfleet.gamifier.controller.dto.CursorPage;
 import com.starfleet.gamifier.domain.Event;
 import com.starfleet.gamifier.domain.EventType;
 import com.starfleet.gamifier.service.EventService;
+import com.starfleet.gamifier.service.LiveUpdates;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.List;
 
@@ -25,6 +33,8 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final ObjectMapper objectMapper;
+    private final LiveUpdates liveUpdates;
 
     @GetMapping
     public ResponseEntity<Page<Event>> getUserEvents(
@@ -38,6 +48,28 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    /**
+     * Every event of the user since the timestamp, oldest first, as newline-delimited JSON
+     * written while the events are read.
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamUserEvents(
+            @RequestParam String userId,
+            @RequestParam String organizationId,
+            @RequestParam String since) { // ISO timestamp
+
+        Instant sinceTimestamp = Instant.parse(since);
+        StreamingResponseBody body = output -> eventService.streamUserEvents(userId, organizationId, sinceTimestamp, event -> {
+            try {
+                objectMapper.writeValue(output, event);
+                output.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
     @GetMapping("/admin")
     public ResponseEntity<Page<Event>> getAdminEvents(
             @RequestParam String organizationId,
@@ -56,6 +88,26 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping("/admin/scroll")
+    public ResponseEntity<CursorPage<Event>> scrollAdminEvents(
+            @RequestParam String organizationId,
+            @RequestParam(required = false) String eventType,
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) String until,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        EventType type = eventType != null ? EventType.valueOf(eventType) : null;
+        Instant sinceTimestamp = since != null ? Instant.parse(since) : null;
+        Instant untilTimestamp = until != null ? Instant.parse(until) : null;
+
+        CursorPage<Event> events = eventService.scrollAdminEvents(
+                organizationId, type, userId, sinceTimestamp, untilTimestamp, cursor, size, includeTotal);
+        return ResponseEntity.ok(events);
+    }
+
     @GetMapping("/feed")
     public ResponseEntity<List<Event>> getUserFeedSinceLastLogin(
             @RequestParam String userId,
@@ -64,6 +116,18 @@ public class EventController {
         return ResponseEntity.ok(feedEvents);
     }
 
+    /**
+     * Server-sent events: {@code feed} for each new event of the user, {@code leaderboard} with
+     * the organization's changed standings, and {@code resync} naming a stream whose updates
+     * were dropped and should be refetched.
+     */
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter live(
+            @RequestParam String userId,
+            @RequestParam String organizationId) {
+        return liveUpdates.subscribe(organizationId, userId);
+    }
+
     @GetMapping("/statistics")
     public ResponseEntity<EventStatistics> getEventStatistics(
             @RequestParam String organizationId) {
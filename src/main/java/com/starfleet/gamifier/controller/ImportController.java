@@ -0,0 +1,45 @@
+package com.starfleet.gamifier.controller;
+
+import com.starfleet.gamifier.controller.dto.ImportResponses.ImportJobProgress;
+import com.starfleet.gamifier.service.ImportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for asynchronous import jobs
+ * Reports progress of user and action CSV imports started from their upload endpoints.
+ */
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final ImportJobService importJobService;
+
+    @GetMapping
+    public ResponseEntity<Page<ImportJobProgress>> getImportJobs(
+            @RequestParam String organizationId,
+            Pageable pageable) {
+        Page<ImportJobProgress> jobs = importJobService.getJobs(organizationId, pageable).map(ImportJobProgress::of);
+        return ResponseEntity.ok(jobs);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobProgress> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(ImportJobProgress.of(importJobService.getJob(jobId)));
+    }
+
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable String jobId) {
+        Resource errors = new FileSystemResource(importJobService.getErrorFile(jobId));
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(errors);
+    }
+}
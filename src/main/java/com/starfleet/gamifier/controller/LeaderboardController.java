@@ -73,15 +73,22 @@ public class LeaderboardController {
             @RequestParam String organizationId,
             @RequestParam String userId,
             @RequestParam(defaultValue = "all-time") String period,
-            @RequestParam(required = false) String yearMonth) {
+            @RequestParam(required = false) String yearMonth,
+            @RequestParam(defaultValue = "5") int range) {
+
+        if (range > 50) {
+            range = 50; // Cap the neighbourhood to keep responses small
+        } else if (range < 0) {
+            range = 0; // A negative neighbourhood means just the user's own position
+        }
 
         YearMonth month = yearMonth != null ? YearMonth.parse(yearMonth) : YearMonth.now();
         UserLeaderboardPosition position;
 
         if ("monthly".equals(period)) {
-            position = leaderboardService.getUserMonthlyPosition(organizationId, userId, month);
+            position = leaderboardService.getUserMonthlyPosition(organizationId, userId, month, range);
         } else {
-            position = leaderboardService.getUserAllTimePosition(organizationId, userId);
+            position = leaderboardService.getUserAllTimePosition(organizationId, userId, range);
         }
 
         return ResponseEntity.ok(position);
@@ -1,11 +1,13 @@
 package com.starfleet.gamifier.controller;
 
-import com.starfleet.gamifier.controller.dto.UserRequests.ImportResult;
+import com.starfleet.gamifier.controller.dto.ImportResponses.ImportJobProgress;
 import com.starfleet.gamifier.controller.dto.UserRequests.MissionProgressResponse;
 import com.starfleet.gamifier.controller.dto.UserRequests.UpdateUserRequest;
 import com.starfleet.gamifier.controller.dto.UserRequests.UserDashboardResponse;
+import com.starfleet.gamifier.domain.ImportJob;
 import com.starfleet.gamifier.domain.User;
 import com.starfleet.gamifier.service.AuthenticationService;
+import com.starfleet.gamifier.service.ImportJobService;
 import com.starfleet.gamifier.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +29,7 @@ public class UserController {
 
     private final UserService userService;
     private final AuthenticationService authenticationService;
+    private final ImportJobService importJobService;
 
     @GetMapping("/me")
     public ResponseEntity<UserDashboardResponse> getCurrentUserDashboard() {
@@ -83,12 +86,23 @@ public class UserController {
     }
 
     @PostMapping
-    public ResponseEntity<ImportResult> importUsers(
+    public ResponseEntity<ImportJobProgress> importUsers(
             @RequestParam("file") MultipartFile file,
             @RequestParam String organizationId) {
-        authenticationService.requireAdminAccess(organizationId);
-        ImportResult result = userService.importUsersFromCsv(file, organizationId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        ImportJob job = importJobService.submit(file, organizationId, ImportJob.Type.USERS);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ImportJobProgress.of(job));
+    }
+
+    /**
+     * Repair a user's total points from the points ledger. A total that differs from the
+     * ledger is only overwritten with {@code force=true}.
+     */
+    @PostMapping("/{userId}/recompute-points")
+    public ResponseEntity<User> recomputeTotalPoints(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "false") boolean force) {
+        authenticationService.requireAdminAccess(userService.getUser(userId).getOrganizationId());
+        return ResponseEntity.ok(userService.recomputeTotalPoints(userId, force));
     }
 
     // Leaderboard methods moved to LeaderboardController
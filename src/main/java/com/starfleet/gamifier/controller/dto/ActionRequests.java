@@ -1,6 +1,8 @@
 package com.starfleet.gamifier.controller.dto;
 
+import com.starfleet.gamifier.domain.CaptureStatus;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
@@ -45,6 +47,41 @@ public class ActionRequests {
         private String rejectionReason;
     }
 
+    public enum Decision {
+        APPROVE, REJECT
+    }
+
+    @Data
+    public static class BulkDecisionRequest {
+        @NotEmpty(message = "At least one action ID is required")
+        @Size(max = 500, message = "At most 500 actions can be decided at once")
+        private List<String> actionIds;
+
+        @NotNull(message = "Decision is required")
+        private Decision decision;
+
+        @Size(max = 200, message = "Rejection reason must not exceed 200 characters")
+        private String rejectionReason; // Required when rejecting
+    }
+
+    @Data
+    @Builder
+    public static class BulkDecisionResult {
+        private Integer approved;
+        private Integer rejected;
+        private Integer failed;
+        private List<BulkDecisionItem> results;
+    }
+
+    @Data
+    @Builder
+    public static class BulkDecisionItem {
+        private String actionId;
+        private Boolean success;
+        private CaptureStatus status; // Status after the request, or null if unknown
+        private String error;
+    }
+
     @Data
     @Builder
     public static class ImportResult {
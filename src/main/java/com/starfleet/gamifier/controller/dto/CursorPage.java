@@ -0,0 +1,17 @@
+package com.starfleet.gamifier.controller.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ */
+@Data
+@Builder(toBuilder = true)
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor; // Pass back to fetch the following page; null on the last page
+    private Long totalElements; // Only when requested, as counting costs a scan of every match
+}
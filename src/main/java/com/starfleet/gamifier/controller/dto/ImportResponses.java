@@ -0,0 +1,67 @@
+package com.starfleet.gamifier.controller.dto;
+
+import com.starfleet.gamifier.domain.ImportJob;
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Response DTOs for asynchronous import jobs
+ */
+public class ImportResponses {
+
+    @Data
+    public static class ImportJobProgress {
+        private String jobId;
+        private String organizationId;
+        private ImportJob.Type type;
+        private ImportJob.Status status;
+        private String fileName;
+        private Long fileSize;
+        private Long bytesProcessed;
+        private Double percentComplete;
+        private Integer rowsRead;
+        private Integer imported;
+        private Integer failed;
+        private Double rowsPerSecond;
+        private List<String> errors;
+        private String failureReason;
+        private Instant createdAt;
+        private Instant startedAt;
+        private Instant finishedAt;
+
+        public static ImportJobProgress of(ImportJob job) {
+            ImportJobProgress progress = new ImportJobProgress();
+            progress.setJobId(job.getId());
+            progress.setOrganizationId(job.getOrganizationId());
+            progress.setType(job.getType());
+            progress.setStatus(job.getStatus());
+            progress.setFileName(job.getFileName());
+            progress.setFileSize(job.getFileSize());
+            progress.setBytesProcessed(job.getOffset());
+            progress.setRowsRead(job.getRowsRead());
+            progress.setImported(job.getImported());
+            progress.setFailed(job.getFailed());
+            progress.setErrors(job.getErrors());
+            progress.setFailureReason(job.getFailureReason());
+            progress.setCreatedAt(job.getCreatedAt());
+            progress.setStartedAt(job.getStartedAt());
+            progress.setFinishedAt(job.getFinishedAt());
+
+            if (job.getStatus() == ImportJob.Status.COMPLETED) {
+                progress.setPercentComplete(100.0);
+            } else if (job.getFileSize() != null && job.getFileSize() > 0) {
+                progress.setPercentComplete(Math.min(100.0, 100.0 * job.getOffset() / job.getFileSize()));
+            }
+
+            if (job.getStartedAt() != null) {
+                Instant end = job.getFinishedAt() != null ? job.getFinishedAt() : Instant.now();
+                long millis = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+                progress.setRowsPerSecond(job.getRowsRead() * 1000.0 / millis);
+            }
+            return progress;
+        }
+    }
+}
@@ -92,6 +92,7 @@ public class UserRequests {
         private String surname;
         private String employeeId;
         private Integer totalPoints;
+        private Integer monthlyPoints;
         private String currentRank;
         private String insignia;
         private Integer position;
@@ -21,6 +21,8 @@ import java.time.LocalDate;
 @Builder
 @Document(collection = "actions")
 @CompoundIndex(def = "{'organizationId': 1, 'userId': 1, 'actionTypeId': 1, 'actionDate': 1}", unique = true)
+@CompoundIndex(def = "{'organizationId': 1, 'actionDate': -1, '_id': -1}")
+@CompoundIndex(def = "{'userId': 1, 'actionDate': -1, '_id': -1}")
 public class Action {
 
     @Id
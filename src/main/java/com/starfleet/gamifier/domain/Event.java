@@ -19,9 +19,9 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder
 @Document(collection = "events")
-@CompoundIndex(def = "{'organizationId': 1, 'userId': 1, 'timestamp': -1}")
-@CompoundIndex(def = "{'organizationId': 1, 'eventType': 1, 'timestamp': -1}")
-@CompoundIndex(def = "{'organizationId': 1, 'timestamp': -1}")
+@CompoundIndex(def = "{'organizationId': 1, 'userId': 1, 'timestamp': -1, '_id': -1}")
+@CompoundIndex(def = "{'organizationId': 1, 'eventType': 1, 'timestamp': -1, '_id': -1}")
+@CompoundIndex(def = "{'organizationId': 1, 'timestamp': -1, '_id': -1}")
 public class Event {
 
     @Id
@@ -0,0 +1,45 @@
+package com.starfleet.gamifier.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+/**
+ * Number of events of one type recorded for an organization on one UTC day, or over all
+ * time when the day is {@link #ALL_TIME}. Maintained with atomic $inc upserts so event
+ * statistics never need to count the events collection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "event_counters")
+@CompoundIndex(def = "{'organizationId': 1, 'day': 1}")
+public class EventCounter {
+
+    public static final String ALL_TIME = "all";
+
+    @Id
+    private String id; // "<organizationId>:<yyyy-MM-dd or all>:<eventType>"
+
+    private String organizationId;
+    private String day; // yyyy-MM-dd, or ALL_TIME
+    private EventType eventType;
+
+    @Builder.Default
+    private Long count = 0L;
+
+    public static String dayOf(LocalDate day) {
+        return day == null ? ALL_TIME : day.toString();
+    }
+
+    public static String idFor(String organizationId, String day, EventType eventType) {
+        return organizationId + ":" + day + ":" + eventType;
+    }
+}
@@ -0,0 +1,84 @@
+package com.starfleet.gamifier.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Asynchronous CSV import of users or actions.
+ * The upload is spooled to the disk of the node that accepted it and processed in batches;
+ * after each batch the job records the byte offset of the next unprocessed record, so an
+ * interrupted job resumes from there instead of starting over.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "import_jobs")
+@CompoundIndex(def = "{'organizationId': 1, 'createdAt': -1}")
+@CompoundIndex(def = "{'nodeId': 1, 'status': 1}")
+public class ImportJob {
+
+    @Id
+    private String id;
+
+    private String organizationId;
+    private Type type;
+
+    @Builder.Default
+    private Status status = Status.QUEUED;
+
+    private String fileName;
+    private Long fileSize;
+    private String nodeId;
+    private String spoolPath;
+    private String requestedBy;
+
+    // Checkpoint: byte offset of the next unprocessed record and the counters up to it
+    @Builder.Default
+    private Long offset = 0L;
+
+    @Builder.Default
+    private Integer rowsRead = 0;
+
+    @Builder.Default
+    private Integer imported = 0;
+
+    @Builder.Default
+    private Integer failed = 0;
+
+    private List<String> errors; // first errors, once the job has finished
+    private String failureReason;
+
+    @Builder.Default
+    private Instant createdAt = Instant.now();
+
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    @Builder.Default
+    private Instant updatedAt = Instant.now();
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public enum Type {
+        USERS,
+        ACTIONS
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,43 @@
+package com.starfleet.gamifier.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.YearMonth;
+
+/**
+ * Points earned by a user within a single calendar month.
+ * One compact document per user and month, maintained with an atomic $inc upsert
+ * so monthly leaderboards never need to scan the actions collection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "monthly_points")
+@CompoundIndex(def = "{'organizationId': 1, 'month': 1, 'points': -1}")
+public class MonthlyPoints {
+
+    @Id
+    private String id; // "<userId>:<yyyy-MM>"
+
+    private String organizationId;
+    private String userId;
+    private String month; // yyyy-MM
+
+    @Builder.Default
+    private Integer points = 0;
+
+    @Builder.Default
+    private Instant updatedAt = Instant.now();
+
+    public static String idFor(String userId, YearMonth month) {
+        return userId + ":" + month;
+    }
+}
@@ -1,17 +1,20 @@
 package com.starfleet.gamifier.domain;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Organization aggregate root containing all configuration data.
@@ -42,6 +45,17 @@ public class Organization {
     @Builder.Default
     private Instant updatedAt = Instant.now();
 
+    /**
+     * Incremented on every configuration change, so cached snapshots can tell which version they hold.
+     */
+    @Builder.Default
+    private Long configVersion = 0L;
+
+    /**
+     * Next unused action type progress bit; bits of deleted action types are never reused.
+     */
+    private Integer nextProgressBit;
+
     // Embedded configuration data
     @Builder.Default
     private List<ActionType> actionTypes = List.of();
@@ -52,21 +66,49 @@ public class Organization {
     @Builder.Default
     private List<RankConfiguration> rankConfigurations = List.of();
 
+    // Lookup index over the embedded configuration, built on first use
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final transient AtomicReference<ConfigurationIndex> index = new AtomicReference<>();
+
     // Business methods for Organization
     public void updateDetails(String name, String description) {
         this.name = name;
         this.description = description;
-        this.updatedAt = Instant.now();
+        markConfigurationChanged();
     }
 
     public void activate() {
         this.active = true;
-        this.updatedAt = Instant.now();
+        markConfigurationChanged();
     }
 
     public void deactivate() {
         this.active = false;
+        markConfigurationChanged();
+    }
+
+    public void markConfigurationChanged() {
+        this.configVersion = (configVersion != null ? configVersion : 0L) + 1;
         this.updatedAt = Instant.now();
+        assignProgressBits();
+        index.set(null);
+    }
+
+    /**
+     * Give every action type without one a permanent progress bit, in configuration order.
+     * Must run before action types are removed or reordered, so bits already held in users'
+     * mission progress keep their meaning.
+     */
+    public void assignProgressBits() {
+        int next = ConfigurationIndex.firstFreeProgressBit(this);
+        for (ActionType actionType : ConfigurationIndex.orEmpty(actionTypes)) {
+            if (actionType.getProgressBit() == null) {
+                actionType.setProgressBit(next++);
+            }
+        }
+        this.nextProgressBit = next;
     }
 
     public boolean isActive() {
@@ -74,9 +116,7 @@ public class Organization {
     }
 
     public Optional<MissionType> getMissionType(String missionId) {
-        return missionTypes.stream()
-                .filter(mt -> mt.getId().equals(missionId))
-                .findFirst();
+        return Optional.ofNullable(index().missionTypesById.get(missionId));
     }
 
     public List<MissionType> getActiveMissionTypes() {
@@ -86,24 +126,36 @@ public class Organization {
     }
 
     public List<MissionType> getMissionTypesWithActionType(String actionTypeId) {
-        return missionTypes.stream()
-                .filter(MissionType::getActive)
-                .filter(mission -> mission.getRequiredActionTypeIds().contains(actionTypeId))
-                .collect(java.util.stream.Collectors.toList());
+        return index().activeMissionsByActionTypeId.getOrDefault(actionTypeId, List.of());
+    }
+
+    /**
+     * Progress bit of the action type, or -1 if it is not configured.
+     */
+    public int getActionTypeBit(String actionTypeId) {
+        Integer bit = index().actionTypeBits.get(actionTypeId);
+        return bit != null ? bit : -1;
+    }
+
+    /**
+     * Progress bits of the mission's required action types, or null if the mission is unknown,
+     * has no required actions or requires an action type that is not configured.
+     * The array is shared; callers must not modify it.
+     */
+    public long[] getMissionMask(String missionTypeId) {
+        return index().missionMasks.get(missionTypeId);
     }
 
     // Query methods for collections
 
     public Optional<ActionType> getActionType(String actionTypeId) {
-        return actionTypes.stream()
-                .filter(at -> at.getId().equals(actionTypeId))
-                .findFirst();
+        return Optional.ofNullable(index().actionTypesById.get(actionTypeId));
     }
 
     public Optional<ActionType> getActionTypeByName(String name) {
-        return actionTypes.stream()
-                .filter(at -> at.getName().equalsIgnoreCase(name))
-                .findFirst();
+        return name != null
+                ? Optional.ofNullable(index().actionTypesByName.get(name.toLowerCase(Locale.ROOT)))
+                : Optional.empty();
     }
 
     public List<ActionType> getActiveActionTypes() {
@@ -113,9 +165,7 @@ public class Organization {
     }
 
     public Optional<RankConfiguration> getRankConfiguration(String rankId) {
-        return rankConfigurations.stream()
-                .filter(rank -> rank.getId().equals(rankId))
-                .findFirst();
+        return Optional.ofNullable(index().ranksById.get(rankId));
     }
 
     public List<RankConfiguration> getActiveRankConfigurations() {
@@ -131,17 +181,178 @@ public class Organization {
                 .collect(java.util.stream.Collectors.toList());
     }
 
+    /**
+     * Highest active rank whose threshold the points reach; among equal thresholds the first configured wins.
+     */
     public Optional<RankConfiguration> getEligibleRank(Integer userPoints) {
-        return rankConfigurations.stream()
-                .filter(rank -> rank.isEligibleForPoints(userPoints) && rank.getActive())
-                .max((r1, r2) -> Integer.compare(r1.getPointsThreshold(), r2.getPointsThreshold()));
+        if (userPoints == null) {
+            return Optional.empty();
+        }
+        ConfigurationIndex current = index();
+        int last = current.firstAbove(userPoints) - 1;
+        if (last < 0) {
+            return Optional.empty();
+        }
+        int first = last;
+        while (first > 0 && current.thresholds[first - 1] == current.thresholds[last]) {
+            first--;
+        }
+        return Optional.of(current.activeRanks[first]);
     }
 
+    /**
+     * Lowest active rank whose threshold lies above the points.
+     */
     public Optional<RankConfiguration> getNextRank(Integer currentPoints) {
-        return rankConfigurations.stream()
-                .filter(RankConfiguration::getActive)
-                .filter(rank -> rank.getPointsThreshold() > currentPoints)
-                .min((r1, r2) -> Integer.compare(r1.getPointsThreshold(), r2.getPointsThreshold()));
+        ConfigurationIndex current = index();
+        int next = current.firstAbove(currentPoints);
+        return next < current.activeRanks.length ? Optional.of(current.activeRanks[next]) : Optional.empty();
+    }
+
+    /**
+     * Index for the current configuration. Rebuilt when the config version changes or a
+     * configuration list is replaced or resized; in-place edits of embedded entries must be
+     * followed by {@link #markConfigurationChanged()}.
+     */
+    private ConfigurationIndex index() {
+        ConfigurationIndex current = index.get();
+        if (current == null || !current.matches(this)) {
+            current = new ConfigurationIndex(this);
+            index.set(current);
+        }
+        return current;
+    }
+
+    /**
+     * Immutable lookup tables over an organization's embedded configuration: hash maps by ID and
+     * lower-cased name, an action type to active missions inverted index, action type progress
+     * bits with per-mission required masks, and active ranks sorted by threshold for binary search.
+     */
+    private static final class ConfigurationIndex {
+        private final Long configVersion;
+        private final List<ActionType> actionTypes;
+        private final List<MissionType> missionTypes;
+        private final List<RankConfiguration> rankConfigurations;
+        private final int actionTypeCount;
+        private final int missionTypeCount;
+        private final int rankCount;
+
+        private final Map<String, ActionType> actionTypesById = new HashMap<>();
+        private final Map<String, ActionType> actionTypesByName = new HashMap<>();
+        private final Map<String, MissionType> missionTypesById = new HashMap<>();
+        private final Map<String, List<MissionType>> activeMissionsByActionTypeId = new HashMap<>();
+        private final Map<String, Integer> actionTypeBits = new HashMap<>();
+        private final Map<String, long[]> missionMasks = new HashMap<>();
+        private final Map<String, RankConfiguration> ranksById = new HashMap<>();
+        private final RankConfiguration[] activeRanks;
+        private final int[] thresholds;
+
+        private ConfigurationIndex(Organization organization) {
+            configVersion = organization.configVersion;
+            actionTypes = organization.actionTypes;
+            missionTypes = organization.missionTypes;
+            rankConfigurations = organization.rankConfigurations;
+            actionTypeCount = size(actionTypes);
+            missionTypeCount = size(missionTypes);
+            rankCount = size(rankConfigurations);
+
+            // Unassigned bits are numbered as assignProgressBits() would persist them
+            int nextBit = firstFreeProgressBit(organization);
+            for (ActionType actionType : orEmpty(actionTypes)) {
+                actionTypesById.putIfAbsent(actionType.getId(), actionType);
+                if (actionType.getName() != null) {
+                    actionTypesByName.putIfAbsent(actionType.getName().toLowerCase(Locale.ROOT), actionType);
+                }
+                actionTypeBits.putIfAbsent(actionType.getId(),
+                        actionType.getProgressBit() != null ? actionType.getProgressBit() : nextBit++);
+            }
+            for (MissionType missionType : orEmpty(missionTypes)) {
+                missionTypesById.putIfAbsent(missionType.getId(), missionType);
+                long[] mask = requiredMask(missionType);
+                if (mask != null) {
+                    missionMasks.putIfAbsent(missionType.getId(), mask);
+                }
+                if (missionType.getActive() && missionType.hasRequiredActions()) {
+                    for (String actionTypeId : new LinkedHashSet<>(missionType.getRequiredActionTypeIds())) {
+                        activeMissionsByActionTypeId.computeIfAbsent(actionTypeId, id -> new ArrayList<>()).add(missionType);
+                    }
+                }
+            }
+            activeMissionsByActionTypeId.replaceAll((id, missions) -> List.copyOf(missions));
+            for (RankConfiguration rank : orEmpty(rankConfigurations)) {
+                ranksById.putIfAbsent(rank.getId(), rank);
+            }
+
+            // Stable sort keeps configuration order among equal thresholds
+            activeRanks = orEmpty(rankConfigurations).stream()
+                    .filter(rank -> rank.getActive() && rank.getPointsThreshold() != null)
+                    .sorted(Comparator.comparing(RankConfiguration::getPointsThreshold))
+                    .toArray(RankConfiguration[]::new);
+            thresholds = new int[activeRanks.length];
+            for (int i = 0; i < activeRanks.length; i++) {
+                thresholds[i] = activeRanks[i].getPointsThreshold();
+            }
+        }
+
+        private boolean matches(Organization organization) {
+            return Objects.equals(configVersion, organization.configVersion)
+                    && actionTypes == organization.actionTypes && actionTypeCount == size(organization.actionTypes)
+                    && missionTypes == organization.missionTypes && missionTypeCount == size(organization.missionTypes)
+                    && rankConfigurations == organization.rankConfigurations && rankCount == size(organization.rankConfigurations);
+        }
+
+        private long[] requiredMask(MissionType missionType) {
+            if (!missionType.hasRequiredActions()) {
+                return null;
+            }
+            long[] mask = new long[0];
+            for (String actionTypeId : missionType.getRequiredActionTypeIds()) {
+                Integer bit = actionTypeBits.get(actionTypeId);
+                if (bit == null) {
+                    return null;
+                }
+                if (bit >>> 6 >= mask.length) {
+                    mask = Arrays.copyOf(mask, (bit >>> 6) + 1);
+                }
+                mask[bit >>> 6] |= 1L << bit;
+            }
+            return mask;
+        }
+
+        private static int firstFreeProgressBit(Organization organization) {
+            int next = organization.nextProgressBit != null ? organization.nextProgressBit : 0;
+            for (ActionType actionType : orEmpty(organization.actionTypes)) {
+                if (actionType.getProgressBit() != null) {
+                    next = Math.max(next, actionType.getProgressBit() + 1);
+                }
+            }
+            return next;
+        }
+
+        /**
+         * Index of the first active rank with a threshold above the points.
+         */
+        private int firstAbove(int points) {
+            int low = 0;
+            int high = thresholds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (thresholds[mid] <= points) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static int size(List<?> list) {
+            return list != null ? list.size() : 0;
+        }
+
+        private static <T> List<T> orEmpty(List<T> list) {
+            return list != null ? list : List.of();
+        }
     }
 
     /**
@@ -167,6 +378,8 @@ public class Organization {
 
         private String category; // e.g., "Exploration", "Diplomacy", "Engineering"
 
+        private Integer progressBit; // Position in users' mission progress bitsets, stable for the org
+
         @Builder.Default
         private Instant createdAt = Instant.now();
 
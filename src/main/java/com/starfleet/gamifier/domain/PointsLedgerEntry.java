@@ -0,0 +1,48 @@
+package com.starfleet.gamifier.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Immutable record of a single points award.
+ * The ledger is append-only; User.totalPoints is the running sum of its deltas. Points a user
+ * held before the ledger existed are carried in one opening balance entry per user.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "points_ledger")
+@CompoundIndex(def = "{'userId': 1, 'timestamp': -1}")
+@CompoundIndex(def = "{'organizationId': 1, 'timestamp': -1}")
+@CompoundIndex(def = "{'sourceActionId': 1}", sparse = true, unique = true)
+public class PointsLedgerEntry {
+
+    public static final String OPENING_BALANCE = "Opening balance";
+
+    @Id
+    private String id;
+
+    private String organizationId;
+    private String userId;
+    private Integer delta;
+    private String reason;
+    private String sourceActionId; // null for awards not tied to an action (e.g. mission bonuses); an action is awarded once
+
+    @Builder.Default
+    private Instant timestamp = Instant.now();
+
+    /**
+     * ID of the user's opening balance entry; fixed, so each user gets at most one.
+     */
+    public static String openingBalanceId(String userId) {
+        return "opening-" + userId;
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -29,6 +30,10 @@ public class User {
     @Id
     private String id;
 
+    // Optimistic lock; every write to a user moves it, so stale read-modify-writes are rejected
+    @Version
+    private Long version;
+
     private String organizationId;
     private String employeeId;
     private String name;
@@ -88,9 +93,28 @@ public class User {
     }
 
     public Optional<MissionProgress> getMissionProgress(String missionTypeId) {
-        return missionProgress.stream()
-                .filter(mp -> mp.getMissionTypeId().equals(missionTypeId))
-                .findFirst();
+        return Optional.ofNullable(findMissionProgress(missionTypeId));
+    }
+
+    /**
+     * Progress for the mission, started on first use.
+     */
+    public MissionProgress startMissionProgress(String missionTypeId) {
+        MissionProgress progress = findMissionProgress(missionTypeId);
+        if (progress == null) {
+            progress = MissionProgress.builder().missionTypeId(missionTypeId).build();
+            missionProgress.add(progress);
+        }
+        return progress;
+    }
+
+    private MissionProgress findMissionProgress(String missionTypeId) {
+        for (MissionProgress progress : missionProgress) {
+            if (progress.getMissionTypeId().equals(missionTypeId)) {
+                return progress;
+            }
+        }
+        return null;
     }
 
     // Query methods for mission progress
@@ -102,7 +126,9 @@ public class User {
     }
 
     /**
-     * Embedded MissionProgress within User
+     * Embedded MissionProgress within User.
+     * Completed actions are a bitset over the organization's action type progress bits
+     * (see {@link Organization#getActionTypeBit(String)}), stored as an array of longs.
      */
     @Data
     @NoArgsConstructor
@@ -111,8 +137,10 @@ public class User {
     public static class MissionProgress {
         private String missionTypeId;
 
-        @Builder.Default
-        private java.util.Set<String> completedActionTypeIds = new java.util.HashSet<>();
+        private long[] completedActions;
+
+        // Legacy representation, folded into completedActions when the progress is next updated
+        private java.util.Set<String> completedActionTypeIds;
 
         @Builder.Default
         private Boolean completed = false;
@@ -121,5 +149,56 @@ public class User {
 
         @Builder.Default
         private Instant updatedAt = Instant.now();
+
+        public boolean hasAction(int bit) {
+            return bit >= 0 && completedActions != null && bit >>> 6 < completedActions.length
+                    && (completedActions[bit >>> 6] & 1L << bit) != 0;
+        }
+
+        /**
+         * @return true if the action was not recorded before
+         */
+        public boolean recordAction(int bit) {
+            if (bit < 0 || hasAction(bit)) {
+                return false;
+            }
+            int word = bit >>> 6;
+            if (completedActions == null || word >= completedActions.length) {
+                completedActions = completedActions != null
+                        ? java.util.Arrays.copyOf(completedActions, word + 1) : new long[word + 1];
+            }
+            completedActions[word] |= 1L << bit;
+            return true;
+        }
+
+        /**
+         * Whether every action in the mask is recorded; a null mask is never covered.
+         */
+        public boolean covers(long[] mask) {
+            if (mask == null) {
+                return false;
+            }
+            for (int word = 0; word < mask.length; word++) {
+                long recorded = completedActions != null && word < completedActions.length ? completedActions[word] : 0L;
+                if ((recorded & mask[word]) != mask[word]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public boolean hasLegacyActions() {
+            return completedActionTypeIds != null;
+        }
+
+        /**
+         * Convert legacy action type IDs to bits; IDs without a bit are dropped.
+         */
+        public void foldLegacyActions(java.util.function.ToIntFunction<String> bitOf) {
+            if (completedActionTypeIds != null) {
+                completedActionTypeIds.forEach(actionTypeId -> recordAction(bitOf.applyAsInt(actionTypeId)));
+                completedActionTypeIds = null;
+            }
+        }
     }
 }
\ No newline at end of file
@@ -22,6 +22,8 @@ public interface EventRepository extends MongoRepository<Event, String> {
 
     List<Event> findByOrganizationIdAndUserIdAndTimestampAfter(String organizationId, String userId, Instant timestamp);
 
+    Page<Event> findByOrganizationIdAndUserIdAndTimestampAfter(String organizationId, String userId, Instant timestamp, Pageable pageable);
+
     List<Event> findByOrganizationId(String organizationId);
 
     Page<Event> findByOrganizationId(String organizationId, Pageable pageable);
@@ -0,0 +1,21 @@
+package com.starfleet.gamifier.repository;
+
+import com.starfleet.gamifier.domain.ImportJob;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for asynchronous import jobs.
+ */
+@Repository
+public interface ImportJobRepository extends MongoRepository<ImportJob, String> {
+
+    Page<ImportJob> findByOrganizationIdOrderByCreatedAtDesc(String organizationId, Pageable pageable);
+
+    List<ImportJob> findByNodeIdAndStatusIn(String nodeId, Collection<ImportJob.Status> statuses);
+}
@@ -0,0 +1,17 @@
+package com.starfleet.gamifier.repository;
+
+import com.starfleet.gamifier.domain.PointsLedgerEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the append-only points ledger.
+ */
+@Repository
+public interface PointsLedgerRepository extends MongoRepository<PointsLedgerEntry, String> {
+
+    List<PointsLedgerEntry> findBySourceActionIdIn(Collection<String> sourceActionIds);
+}
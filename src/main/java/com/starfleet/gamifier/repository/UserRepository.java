@@ -2,11 +2,13 @@ package com.starfleet.gamifier.repository;
 
 import com.starfleet.gamifier.domain.User;
 import com.starfleet.gamifier.domain.UserRole;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +28,8 @@ public interface UserRepository extends MongoRepository<User, String> {
 
     List<User> findByOrganizationIdAndManagerEmployeeId(String organizationId, String managerEmployeeId);
 
+    List<User> findByIdInAndOrganizationIdAndManagerEmployeeId(Collection<String> ids, String organizationId, String managerEmployeeId);
+
     boolean existsByOrganizationIdAndEmployeeId(String organizationId, String employeeId);
 
     void deleteByOrganizationId(String organizationId);
@@ -37,5 +41,7 @@ public interface UserRepository extends MongoRepository<User, String> {
 
     Page<User> findByOrganizationIdOrderByTotalPointsDesc(String organizationId, Pageable pageable);
 
+    List<User> findByOrganizationIdOrderByTotalPointsDesc(String organizationId, Limit limit);
+
     long countByOrganizationIdAndTotalPointsGreaterThan(String organizationId, Integer totalPoints);
 }
\ No newline at end of file
@@ -0,0 +1,355 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.config.ImportProperties;
+import com.starfleet.gamifier.controller.dto.ActionRequests.ImportResult;
+import com.starfleet.gamifier.domain.*;
+import com.mongodb.ErrorCategory;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Staged CSV action import.
+ * Rows are processed in batches: each batch resolves its employee IDs with one $in query,
+ * checks duplicates against keys pre-fetched for the batch, inserts the accepted actions in
+ * one unordered bulk insert and awards points per user through
+ * {@link UserService#awardPointsForActions}. A batch costs a handful of round trips
+ * instead of several per row. Rows matching actions an earlier import stored are awarded
+ * too when they never were, so a job resumed after its actions were stored but before
+ * they were awarded still awards them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActionImportEngine {
+
+    static final String IMPORT_REASON = "CSV import";
+
+    private final MongoTemplate mongoTemplate;
+    private final UserService userService;
+    private final ImportProperties importProperties;
+
+    /**
+     * Import actions from a CSV stream with the header
+     * {@code employee_id,action_type,date[,evidence[,notes]]}.
+     */
+    public ImportResult importActions(InputStream input, Organization organization) throws IOException {
+        try (CsvReader reader = new CsvReader(input)) {
+            return importActions(reader, organization,
+                    ImportErrors.capped(importProperties.getMaxReportedErrors()), ImportProgress.start());
+        }
+    }
+
+    /**
+     * Import actions from a reader positioned either at the start of the file or at a
+     * checkpoint offset, in which case the header has already been validated.
+     * {@code progress} is checkpointed after every batch written.
+     */
+    public ImportResult importActions(CsvReader reader, Organization organization,
+                                      ImportErrors errors, ImportProgress progress) throws IOException {
+        ImportRun run = new ImportRun(organization, errors, progress);
+
+        if (reader.offset() == 0) {
+            if (!reader.next()) {
+                return run.result();
+            }
+            validateCsvHeader(reader);
+        }
+
+        int batchSize = Math.max(1, importProperties.getBatchSize());
+        List<ParsedRow> batch = new ArrayList<>(batchSize);
+        int rowsInBatch = 0;
+        FlightRecorderEvents.ImportBatch flightEvent = FlightRecorderEvents.ImportBatch.start(organization.getId(), "actions", progress);
+        while (reader.next()) {
+            long lineNumber = progress.nextRecord();
+            try {
+                batch.add(parseRow(reader, lineNumber, organization));
+            } catch (IllegalArgumentException e) {
+                run.reject(lineNumber, e.getMessage());
+            }
+            if (++rowsInBatch == batchSize) {
+                run.process(batch);
+                progress.checkpoint(reader.offset());
+                flightEvent.finish(progress);
+                flightEvent = FlightRecorderEvents.ImportBatch.start(organization.getId(), "actions", progress);
+                batch.clear();
+                rowsInBatch = 0;
+            }
+        }
+        run.process(batch);
+        progress.checkpoint(reader.offset());
+        flightEvent.finish(progress);
+
+        log.info("Imported {} out of {} actions from CSV for organization {}",
+                progress.getSuccessfulImports(), progress.getTotalRecords(), organization.getId());
+        return run.result();
+    }
+
+    private void validateCsvHeader(CsvReader header) {
+        header.requireWellFormed();
+        if (header.fieldCount() < 3) {
+            throw new IllegalArgumentException("CSV must have at least 3 columns: employee_id, action_type, date");
+        }
+    }
+
+    /**
+     * State of a single import: running totals, errors and the employee ID to user ID
+     * mappings resolved so far.
+     */
+    private class ImportRun {
+
+        private final Organization organization;
+        private final ImportErrors errors;
+        private final Map<String, String> userIdsByEmployeeId = new HashMap<>();
+        // Errors of the current batch, reported in line order once the batch is written
+        private final SortedMap<Long, String> batchErrors = new TreeMap<>();
+        private final ImportProgress progress;
+
+        ImportRun(Organization organization, ImportErrors errors, ImportProgress progress) {
+            this.organization = organization;
+            this.errors = errors;
+            this.progress = progress;
+        }
+
+        void reject(long lineNumber, String message) {
+            batchErrors.put(lineNumber, message);
+        }
+
+        void process(List<ParsedRow> parsed) {
+            // Stage 1 (parsing and validation) happens as rows are read
+
+            // Stage 2: resolve all new employee IDs with one $in query
+            resolveEmployees(parsed);
+
+            // Stage 3: duplicate checks against actions pre-fetched for the batch
+            Map<String, Action> existing = existingActions(parsed);
+            Set<String> seenKeys = new HashSet<>();
+            List<Action> accepted = new ArrayList<>(parsed.size());
+            List<Long> acceptedLines = new ArrayList<>(parsed.size());
+            List<Action> stored = new ArrayList<>();
+            Map<String, ParsedRow> storedRows = new HashMap<>();
+            for (ParsedRow row : parsed) {
+                String userId = userIdsByEmployeeId.get(row.getEmployeeId());
+                String key = userId == null ? null : key(userId, row.getActionType().getId(), row.getActionDate());
+                Action match = key == null ? null : existing.get(key);
+                if (userId == null) {
+                    reject(row.getLineNumber(), "User not found with employee ID: " + row.getEmployeeId()
+                            + " in organization: " + organization.getId());
+                } else if (!seenKeys.add(key)) {
+                    reject(row.getLineNumber(), duplicateMessage(row));
+                } else if (match != null && match.getCaptureMethod() == CaptureMethod.IMPORT) {
+                    stored.add(match);
+                    storedRows.put(match.getId(), row);
+                } else if (match != null) {
+                    reject(row.getLineNumber(), duplicateMessage(row));
+                } else {
+                    accepted.add(toAction(row, userId));
+                    acceptedLines.add(row.getLineNumber());
+                }
+            }
+
+            // Stage 4: insert accepted actions and award points per user, along with imported
+            // actions already stored that were never awarded
+            List<Action> inserted = insert(accepted, acceptedLines, parsed);
+            List<Action> toAward = new ArrayList<>(inserted);
+            toAward.addAll(stored);
+            if (!toAward.isEmpty()) {
+                Set<String> awarded = new HashSet<>();
+                userService.awardPointsForActions(organization, toAward, IMPORT_REASON)
+                        .forEach(action -> awarded.add(action.getId()));
+                int resumed = 0;
+                for (Map.Entry<String, ParsedRow> entry : storedRows.entrySet()) {
+                    if (awarded.contains(entry.getKey())) {
+                        resumed++;
+                    } else {
+                        reject(entry.getValue().getLineNumber(), duplicateMessage(entry.getValue()));
+                    }
+                }
+                progress.imported(inserted.size() + resumed);
+            }
+
+            batchErrors.forEach((lineNumber, message) -> {
+                errors.add(lineNumber, message);
+                log.warn("Failed to import action on line {}: {}", lineNumber, message);
+            });
+            batchErrors.clear();
+        }
+
+        private void resolveEmployees(List<ParsedRow> parsed) {
+            Set<String> unresolved = new HashSet<>();
+            for (ParsedRow row : parsed) {
+                if (!userIdsByEmployeeId.containsKey(row.getEmployeeId())) {
+                    unresolved.add(row.getEmployeeId());
+                }
+            }
+            if (unresolved.isEmpty()) {
+                return;
+            }
+
+            Query query = new Query(Criteria.where("organizationId").is(organization.getId())
+                    .and("employeeId").in(unresolved));
+            query.fields().include("employeeId");
+            for (User user : mongoTemplate.find(query, User.class)) {
+                userIdsByEmployeeId.put(user.getEmployeeId(), user.getId());
+            }
+        }
+
+        /**
+         * Stored actions of the batch's users within its date range, by duplicate key.
+         */
+        private Map<String, Action> existingActions(List<ParsedRow> parsed) {
+            Set<String> userIds = new HashSet<>();
+            LocalDate from = null;
+            LocalDate to = null;
+            for (ParsedRow row : parsed) {
+                String userId = userIdsByEmployeeId.get(row.getEmployeeId());
+                if (userId == null) {
+                    continue;
+                }
+                userIds.add(userId);
+                from = from == null || row.getActionDate().isBefore(from) ? row.getActionDate() : from;
+                to = to == null || row.getActionDate().isAfter(to) ? row.getActionDate() : to;
+            }
+
+            Map<String, Action> existing = new HashMap<>();
+            if (userIds.isEmpty()) {
+                return existing;
+            }
+
+            Query query = new Query(Criteria.where("organizationId").is(organization.getId())
+                    .and("userId").in(userIds)
+                    .and("actionDate").gte(from).lte(to));
+            query.fields().include("organizationId", "userId", "actionTypeId", "actionDate", "captureMethod");
+            for (Action action : mongoTemplate.find(query, Action.class)) {
+                existing.put(key(action.getUserId(), action.getActionTypeId(), action.getActionDate()), action);
+            }
+            return existing;
+        }
+
+        /**
+         * Unordered bulk insert; rows rejected by the unique index (e.g. a concurrent capture
+         * of the same action) are reported as duplicates while the rest of the batch is kept.
+         */
+        private List<Action> insert(List<Action> accepted, List<Long> acceptedLines, List<ParsedRow> parsed) {
+            if (accepted.isEmpty()) {
+                return accepted;
+            }
+
+            BulkOperations inserts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Action.class);
+            inserts.insert(accepted);
+            try {
+                inserts.execute();
+                return accepted;
+            } catch (BulkOperationException e) {
+                Map<Long, ParsedRow> rowsByLine = new HashMap<>();
+                parsed.forEach(row -> rowsByLine.put(row.getLineNumber(), row));
+
+                Set<Integer> failed = new HashSet<>();
+                e.getErrors().forEach(error -> {
+                    long lineNumber = acceptedLines.get(error.getIndex());
+                    failed.add(error.getIndex());
+                    reject(lineNumber, error.getCategory() == ErrorCategory.DUPLICATE_KEY
+                            ? duplicateMessage(rowsByLine.get(lineNumber))
+                            : error.getMessage());
+                });
+
+                List<Action> inserted = new ArrayList<>(accepted.size() - failed.size());
+                for (int i = 0; i < accepted.size(); i++) {
+                    if (!failed.contains(i)) {
+                        inserted.add(accepted.get(i));
+                    }
+                }
+                return inserted;
+            }
+        }
+
+        private Action toAction(ParsedRow row, String userId) {
+            return Action.builder()
+                    .id(new ObjectId().toHexString())
+                    .organizationId(organization.getId())
+                    .userId(userId)
+                    .actionTypeId(row.getActionType().getId())
+                    .actionDate(row.getActionDate())
+                    .captureMethod(CaptureMethod.IMPORT)
+                    .status(CaptureStatus.APPROVED) // Auto-approve imports
+                    .reporterUserId("SYSTEM")
+                    .evidence(row.getEvidence())
+                    .notes(row.getNotes())
+                    .build();
+        }
+
+        private String duplicateMessage(ParsedRow row) {
+            return "Duplicate action for employee " + row.getEmployeeId() + " on " + row.getDateText();
+        }
+
+        ImportResult result() {
+            return ImportResult.builder()
+                    .totalRecords(progress.getTotalRecords())
+                    .successfulImports(progress.getSuccessfulImports())
+                    .failedImports(progress.getFailedImports())
+                    .errors(errors.messages())
+                    .build();
+        }
+    }
+
+    /**
+     * Parse and validate one CSV record against the organization's action types.
+     */
+    static ParsedRow parseRow(CsvReader reader, long lineNumber, Organization organization) {
+        reader.requireWellFormed();
+        if (reader.fieldCount() < 3) {
+            throw new IllegalArgumentException("Invalid CSV line format");
+        }
+
+        String employeeId = reader.field(0).trim();
+        String actionTypeName = reader.field(1).trim();
+        String dateStr = reader.field(2).trim();
+        String evidence = reader.fieldCount() > 3 ? reader.field(3).trim() : null;
+        String notes = reader.fieldCount() > 4 ? reader.field(4).trim() : null;
+
+        Organization.ActionType actionType = organization.getActionTypeByName(actionTypeName)
+                .orElseThrow(() -> new IllegalArgumentException("Action type not found: " + actionTypeName));
+
+        if (!actionType.supportsImportCapture()) {
+            throw new IllegalArgumentException("Action type does not support import: " + actionTypeName);
+        }
+
+        LocalDate actionDate;
+        try {
+            actionDate = LocalDate.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date format. Expected YYYY-MM-DD: " + dateStr);
+        }
+
+        return new ParsedRow(lineNumber, employeeId, actionType, actionDate, dateStr, evidence, notes);
+    }
+
+    private static String key(String userId, String actionTypeId, LocalDate actionDate) {
+        return userId + '|' + actionTypeId + '|' + actionDate;
+    }
+
+    @Value
+    static class ParsedRow {
+        long lineNumber;
+        String employeeId;
+        Organization.ActionType actionType;
+        LocalDate actionDate;
+        String dateText;
+        String evidence;
+        String notes;
+    }
+}
@@ -1,26 +1,36 @@
 package com.starfleet.gamifier.service;
 
+import com.starfleet.gamifier.controller.dto.ActionRequests.BulkDecisionItem;
+import com.starfleet.gamifier.controller.dto.ActionRequests.BulkDecisionRequest;
+import com.starfleet.gamifier.controller.dto.ActionRequests.BulkDecisionResult;
 import com.starfleet.gamifier.controller.dto.ActionRequests.CaptureActionRequest;
+import com.starfleet.gamifier.controller.dto.ActionRequests.Decision;
+import com.starfleet.gamifier.controller.dto.CursorPage;
 import com.starfleet.gamifier.controller.dto.ActionRequests.ImportResult;
+import com.starfleet.gamifier.config.OrganizationTags;
 import com.starfleet.gamifier.domain.*;
 import com.starfleet.gamifier.repository.ActionCaptureRepository;
-import com.starfleet.gamifier.repository.EventRepository;
-import com.starfleet.gamifier.repository.OrganizationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -33,20 +43,30 @@ import java.util.stream.Collectors;
 public class ActionService {
 
     private final ActionCaptureRepository actionCaptureRepository;
-    private final EventRepository eventRepository;
-    private final OrganizationRepository organizationRepository;
+    private final EventSink eventSink;
+    private final OrganizationSnapshotCache organizationSnapshots;
     private final UserService userService;
     private final AuthenticationService authenticationService;
+    private final ActionImportEngine actionImportEngine;
+    private final MongoTemplate mongoTemplate;
+    private final OrganizationTags organizationTags;
+
+    private static final KeysetPager<Action> ACTION_PAGER =
+            new KeysetPager<>(Action.class, "actionDate", LocalDate::parse, Action::getActionDate, Action::getId);
 
     /**
      * Capture an action manually through the UI.
      */
+    @TimedOperation
     public Action captureAction(CaptureActionRequest request) {
+        FlightRecorderEvents.ActionCapture flightEvent = new FlightRecorderEvents.ActionCapture();
+        flightEvent.begin();
         String currentUserId = authenticationService.getCurrentUserId();
         User currentUser = userService.getUser(currentUserId);
+        organizationTags.identify(currentUser.getOrganizationId());
 
         // Validate action type exists and supports UI capture
-        Organization organization = getOrganization(currentUser.getOrganizationId());
+        OrganizationSnapshot organization = organizationSnapshots.get(currentUser.getOrganizationId());
         Organization.ActionType actionType = getActionType(organization, request.getActionTypeId());
 
         if (!actionType.supportsUICapture()) {
@@ -76,25 +96,33 @@ public class ActionService {
 
         action = actionCaptureRepository.save(action);
 
-        // Generate event
-        generateActionCaptureEvent(action, actionType, currentUser);
+        Event captureEvent = actionCaptureEvent(action, actionType, currentUser);
 
-        // If auto-approved, award points immediately and update mission progress
+        // If auto-approved, award points and update mission progress in one pass over the target user
         if (status == CaptureStatus.APPROVED) {
-            userService.awardPoints(targetUserId, actionType.getPoints(),
-                    String.format("Action completed: %s", actionType.getName()));
-            userService.updateMissionProgress(targetUserId, request.getActionTypeId());
+            User targetUser = targetUserId.equals(currentUserId) ? currentUser : userService.getUser(targetUserId);
+            userService.applyApprovedAction(targetUser, organization.getOrganization(), action,
+                    "Action completed", List.of(captureEvent));
+        } else {
+            eventSink.publish(captureEvent);
         }
 
         log.info("Action captured: {} for user {} by user {}",
                 request.getActionTypeId(), targetUserId, currentUserId);
 
+        flightEvent.organizationId = action.getOrganizationId();
+        flightEvent.userId = targetUserId;
+        flightEvent.reporterUserId = currentUserId;
+        flightEvent.actionTypeId = action.getActionTypeId();
+        flightEvent.status = status.name();
+        flightEvent.commit();
         return action;
     }
 
     /**
      * Import actions from CSV file.
      */
+    @TimedOperation
     public ImportResult importActionsFromCsv(MultipartFile file, String organizationId) {
         authenticationService.requireAdminAccess(organizationId);
 
@@ -102,52 +130,13 @@ public class ActionService {
             throw new IllegalArgumentException("CSV file is empty");
         }
 
-        Organization organization = getOrganization(organizationId);
-        List<String> errors = new ArrayList<>();
-        int totalRecords = 0;
-        int successfulImports = 0;
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-            String line;
-            boolean isHeader = true;
-
-            while ((line = reader.readLine()) != null) {
-                if (isHeader) {
-                    isHeader = false;
-                    validateCsvHeader(line);
-                    continue;
-                }
-
-                totalRecords++;
-                try {
-                    Action action = parseCsvLineToActionCapture(line, organizationId, organization);
-                    actionCaptureRepository.save(action);
-
-                    // Auto-approve imported actions, award points, and update mission progress
-                    Organization.ActionType actionType = getActionType(organization, action.getActionTypeId());
-                    userService.awardPoints(action.getUserId(), actionType.getPoints(),
-                            String.format("CSV import: %s", actionType.getName()));
-                    userService.updateMissionProgress(action.getUserId(), action.getActionTypeId());
-
-                    successfulImports++;
-                } catch (Exception e) {
-                    errors.add("Line " + totalRecords + ": " + e.getMessage());
-                    log.warn("Failed to import action on line {}: {}", totalRecords, e.getMessage());
-                }
-            }
+        Organization organization = organizationSnapshots.get(organizationId).getOrganization();
+
+        try {
+            return actionImportEngine.importActions(file.getInputStream(), organization);
         } catch (Exception e) {
             throw new RuntimeException("Failed to process CSV file: " + e.getMessage(), e);
         }
-
-        log.info("Imported {} out of {} actions from CSV for organization {}",
-                successfulImports, totalRecords, organizationId);
-
-        return ImportResult.builder()
-                .totalRecords(totalRecords)
-                .successfulImports(successfulImports)
-                .failedImports(totalRecords - successfulImports)
-                .errors(errors)
-                .build();
     }
 
     /**
@@ -166,6 +155,26 @@ public class ActionService {
         return actionCaptureRepository.findByUserIdOrderByActionDateDesc(userId, pageable);
     }
 
+    /**
+     * Scroll an organization's actions, most recent action date first, with a continuation cursor.
+     */
+    public CursorPage<Action> scrollOrganizationActions(String organizationId, String cursor, Integer size) {
+        authenticationService.requireOrganizationAccess(organizationId);
+        return ACTION_PAGER.find(mongoTemplate,
+                new Query(Criteria.where("organizationId").is(organizationId)), cursor, size);
+    }
+
+    /**
+     * Scroll a user's action history, most recent action date first, with a continuation cursor.
+     * Only actions in the caller's own organization are returned.
+     */
+    public CursorPage<Action> scrollUserActionHistory(String userId, String cursor, Integer size) {
+        String organizationId = authenticationService.getCurrentOrganizationId();
+        authenticationService.requireOrganizationAccess(organizationId);
+        return ACTION_PAGER.find(mongoTemplate,
+                new Query(Criteria.where("userId").is(userId).and("organizationId").is(organizationId)), cursor, size);
+    }
+
     /**
      * Get pending approvals for a manager.
      * Only returns actions from users who report directly to this manager.
@@ -191,10 +200,16 @@ public class ActionService {
 
     /**
      * Approve an action capture.
-     * Only the direct manager of the user can approve their actions.
+     * Only the direct manager of the user can approve their actions. The approval is only
+     * written while the action is still pending, so an action approved concurrently, here or
+     * through {@link #decideActions}, is awarded once.
      */
+    @TimedOperation
     public Action approveAction(String actionCaptureId) {
+        FlightRecorderEvents.ActionApproval flightEvent = new FlightRecorderEvents.ActionApproval();
+        flightEvent.begin();
         Action action = getActionCapture(actionCaptureId);
+        organizationTags.identify(action.getOrganizationId());
 
         if (action.getStatus() != CaptureStatus.PENDING_APPROVAL) {
             throw new IllegalStateException("Action is not pending approval");
@@ -208,26 +223,27 @@ public class ActionService {
         }
 
         action.approve(currentUserId);
-        action = actionCaptureRepository.save(action);
+        writeDecision(action);
 
-        // Award points for approved action and update mission progress
-        Organization organization = getOrganization(action.getOrganizationId());
+        // Award points for approved action and update mission progress, together with the approval event
+        OrganizationSnapshot organization = organizationSnapshots.get(action.getOrganizationId());
         Organization.ActionType actionType = getActionType(organization, action.getActionTypeId());
-        userService.awardPoints(action.getUserId(), actionType.getPoints(),
-                String.format("Action approved: %s", actionType.getName()));
-        userService.updateMissionProgress(action.getUserId(), action.getActionTypeId());
-
-        // Generate approval event
-        generateActionApprovalEvent(action, actionType);
+        userService.applyApprovedAction(userService.getUser(action.getUserId()), organization.getOrganization(),
+                action, "Action approved", List.of(actionApprovalEvent(action, actionType)));
 
         log.info("Action approved: {} for user {}", actionCaptureId, action.getUserId());
 
+        flightEvent.organizationId = action.getOrganizationId();
+        flightEvent.userId = action.getUserId();
+        flightEvent.approverUserId = currentUserId;
+        flightEvent.actionTypeId = action.getActionTypeId();
+        flightEvent.commit();
         return action;
     }
 
     /**
      * Reject an action capture.
-     * Only the direct manager of the user can reject their actions.
+     * Only the direct manager of the user can reject their actions, and only while it is pending.
      */
     public Action rejectAction(String actionCaptureId, String rejectionReason) {
         Action action = getActionCapture(actionCaptureId);
@@ -244,10 +260,10 @@ public class ActionService {
         }
 
         action.reject(currentUserId, rejectionReason);
-        action = actionCaptureRepository.save(action);
+        writeDecision(action);
 
         // Generate rejection event
-        generateActionRejectionEvent(action);
+        eventSink.publish(actionRejectionEvent(action));
 
         log.info("Action rejected: {} for user {} - {}",
                 actionCaptureId, action.getUserId(), rejectionReason);
@@ -255,15 +271,170 @@ public class ActionService {
         return action;
     }
 
-    // Helper Methods
+    /**
+     * Approve or reject many pending actions at once, e.g. a manager clearing their queue.
+     * Actions are loaded with one query, the current user's management of their users is
+     * checked with one query, and the decision is written with one updateMulti that only
+     * applies to actions still pending. Approved actions are awarded through
+     * {@link UserService#awardPointsForActions}, which folds each user's points and mission
+     * progress into one update. Every requested action gets its own result.
+     */
+    @TimedOperation
+    public BulkDecisionResult decideActions(BulkDecisionRequest request) {
+        FlightRecorderEvents.ActionDecision flightEvent = new FlightRecorderEvents.ActionDecision();
+        flightEvent.begin();
+        boolean approve = request.getDecision() == Decision.APPROVE;
+        if (!approve && (request.getRejectionReason() == null || request.getRejectionReason().isBlank())) {
+            throw new IllegalArgumentException("Rejection reason is required");
+        }
+
+        String currentUserId = authenticationService.getCurrentUserId();
+        User manager = userService.getUser(currentUserId);
+        organizationTags.identify(manager.getOrganizationId());
+        Set<String> actionIds = new LinkedHashSet<>(request.getActionIds());
+
+        Map<String, Action> actions = new HashMap<>();
+        actionCaptureRepository.findAllById(actionIds).forEach(action -> actions.put(action.getId(), action));
+        Set<String> pendingUserIds = actions.values().stream()
+                .filter(Action::isPending)
+                .map(Action::getUserId)
+                .collect(Collectors.toSet());
+        Set<String> directReportIds = pendingUserIds.isEmpty() ? Set.of()
+                : userService.getDirectReports(manager, pendingUserIds).stream().map(User::getId).collect(Collectors.toSet());
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        List<String> decidableIds = new ArrayList<>();
+        for (String actionId : actionIds) {
+            Action action = actions.get(actionId);
+            if (action == null) {
+                errors.put(actionId, "Action capture not found: " + actionId);
+            } else if (!action.isPending()) {
+                errors.put(actionId, "Action is not pending approval");
+            } else if (!action.getOrganizationId().equals(manager.getOrganizationId()) || !directReportIds.contains(action.getUserId())) {
+                errors.put(actionId, "Only the direct manager can " + (approve ? "approve" : "reject") + " this action");
+            } else {
+                decidableIds.add(actionId);
+            }
+        }
+
+        List<Action> decided = decidableIds.isEmpty() ? List.of()
+                : applyDecision(decidableIds, actions, approve, currentUserId, request.getRejectionReason(), errors);
+
+        if (!decided.isEmpty()) {
+            if (approve) {
+                OrganizationSnapshot organization = organizationSnapshots.get(manager.getOrganizationId());
+                userService.awardPointsForActions(organization.getOrganization(), decided, "Action approved");
+                eventSink.publishAll(decided.stream()
+                        .map(action -> actionApprovalEvent(action, getActionType(organization, action.getActionTypeId())))
+                        .toList());
+            } else {
+                eventSink.publishAll(decided.stream().map(this::actionRejectionEvent).toList());
+            }
+        }
+
+        List<BulkDecisionItem> results = new ArrayList<>(actionIds.size());
+        for (String actionId : actionIds) {
+            Action action = actions.get(actionId);
+            String error = errors.get(actionId);
+            results.add(BulkDecisionItem.builder()
+                    .actionId(actionId)
+                    .success(error == null)
+                    .status(action != null ? action.getStatus() : null)
+                    .error(error)
+                    .build());
+        }
 
-    private Organization getOrganization(String organizationId) {
-        return organizationRepository.findById(organizationId)
-                .orElseThrow(() -> new IllegalArgumentException("Organization not found: " + organizationId));
+        log.info("Manager {} {} {} of {} actions", currentUserId, approve ? "approved" : "rejected",
+                decided.size(), actionIds.size());
+
+        flightEvent.organizationId = manager.getOrganizationId();
+        flightEvent.userId = currentUserId;
+        flightEvent.approve = approve;
+        flightEvent.requested = actionIds.size();
+        flightEvent.decided = decided.size();
+        flightEvent.commit();
+
+        return BulkDecisionResult.builder()
+                .approved(approve ? decided.size() : 0)
+                .rejected(approve ? 0 : decided.size())
+                .failed(errors.size())
+                .results(results)
+                .build();
     }
 
-    private Organization.ActionType getActionType(Organization organization, String actionTypeId) {
-        return organization.getActionType(actionTypeId)
+    /**
+     * Write the decision to every still-pending action in one updateMulti. If some were decided
+     * concurrently, the ones this call changed are identified by its decision timestamp.
+     *
+     * @return the actions this call decided, updated in memory
+     */
+    private List<Action> applyDecision(List<String> actionIds, Map<String, Action> actions, boolean approve,
+                                       String deciderId, String rejectionReason, Map<String, String> errors) {
+        Instant decidedAt = Instant.now();
+        Update update = new Update()
+                .set("status", approve ? CaptureStatus.APPROVED : CaptureStatus.REJECTED)
+                .set("approvedBy", deciderId)
+                .set("updatedAt", decidedAt);
+        if (approve) {
+            update.set("approvedAt", decidedAt);
+        } else {
+            update.set("rejectionReason", rejectionReason);
+        }
+        long modified = mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(actionIds)
+                        .and("status").is(CaptureStatus.PENDING_APPROVAL)), update, Action.class).getModifiedCount();
+
+        Set<String> decidedIds = new HashSet<>(actionIds);
+        if (modified < actionIds.size()) {
+            Query ours = new Query(Criteria.where("_id").in(actionIds)
+                    .and("approvedBy").is(deciderId).and("updatedAt").is(decidedAt));
+            ours.fields().include("_id");
+            decidedIds = mongoTemplate.find(ours, Action.class).stream().map(Action::getId).collect(Collectors.toSet());
+        }
+
+        List<Action> decided = new ArrayList<>(decidedIds.size());
+        for (String actionId : actionIds) {
+            Action action = actions.get(actionId);
+            if (!decidedIds.contains(actionId)) {
+                // Decided by someone else since it was loaded; its current status is unknown
+                errors.put(actionId, "Action is not pending approval");
+                actions.remove(actionId);
+                continue;
+            }
+            if (approve) {
+                action.approve(deciderId);
+                action.setApprovedAt(decidedAt);
+            } else {
+                action.reject(deciderId, rejectionReason);
+            }
+            action.setUpdatedAt(decidedAt);
+            decided.add(action);
+        }
+        return decided;
+    }
+
+    /**
+     * Write a single decision made in memory, only if the action is still pending.
+     */
+    private void writeDecision(Action action) {
+        Update update = new Update()
+                .set("status", action.getStatus())
+                .set("approvedBy", action.getApprovedBy())
+                .set("updatedAt", action.getUpdatedAt());
+        if (action.isApproved()) {
+            update.set("approvedAt", action.getApprovedAt());
+        } else {
+            update.set("rejectionReason", action.getRejectionReason());
+        }
+        if (mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(action.getId())
+                .and("status").is(CaptureStatus.PENDING_APPROVAL)), update, Action.class).getModifiedCount() == 0) {
+            throw new IllegalStateException("Action is not pending approval");
+        }
+    }
+
+    // Helper Methods
+
+    private Organization.ActionType getActionType(OrganizationSnapshot organization, String actionTypeId) {
+        return organization.actionType(actionTypeId)
                 .orElseThrow(() -> new IllegalArgumentException("Action type not found: " + actionTypeId));
     }
 
@@ -277,102 +448,32 @@ public class ActionService {
     }
 
 
-    private void generateActionCaptureEvent(Action action, Organization.ActionType actionType, User reporter) {
-        Event event = Event.builder()
+    private Event actionCaptureEvent(Action action, Organization.ActionType actionType, User reporter) {
+        return Event.builder()
                 .organizationId(action.getOrganizationId())
                 .userId(action.getUserId())
                 .eventType(EventType.ACTION_CAPTURED)
                 .data(String.format("Action '%s' captured by %s %s (%d points)",
                         actionType.getName(), reporter.getName(), reporter.getSurname(), actionType.getPoints()))
                 .build();
-
-        eventRepository.save(event);
     }
 
-    private void generateActionApprovalEvent(Action action, Organization.ActionType actionType) {
-        Event event = Event.builder()
+    private Event actionApprovalEvent(Action action, Organization.ActionType actionType) {
+        return Event.builder()
                 .organizationId(action.getOrganizationId())
                 .userId(action.getUserId())
                 .eventType(EventType.ACTION_APPROVED)
                 .data(String.format("Action '%s' approved (%d points awarded)",
                         actionType.getName(), actionType.getPoints()))
                 .build();
-
-        eventRepository.save(event);
     }
 
-    private void generateActionRejectionEvent(Action action) {
-        Event event = Event.builder()
+    private Event actionRejectionEvent(Action action) {
+        return Event.builder()
                 .organizationId(action.getOrganizationId())
                 .userId(action.getUserId())
                 .eventType(EventType.ACTION_REJECTED)
                 .data(String.format("Action rejected: %s", action.getRejectionReason()))
                 .build();
-
-        eventRepository.save(event);
-    }
-
-    private void validateCsvHeader(String headerLine) {
-        String[] expectedHeaders = {"employee_id", "action_type", "date", "evidence", "notes"};
-        String[] actualHeaders = headerLine.toLowerCase().split(",");
-
-        if (actualHeaders.length < 3) {
-            throw new IllegalArgumentException("CSV must have at least 3 columns: employee_id, action_type, date");
-        }
-    }
-
-    private Action parseCsvLineToActionCapture(String line, String organizationId, Organization organization) {
-        String[] values = line.split(",");
-
-        if (values.length < 3) {
-            throw new IllegalArgumentException("Invalid CSV line format");
-        }
-
-        String employeeId = values[0].trim();
-        String actionTypeName = values[1].trim();
-        String dateStr = values[2].trim();
-        String evidence = values.length > 3 ? values[3].trim() : null;
-        String notes = values.length > 4 ? values[4].trim() : null;
-
-        // Find user by employee ID
-        User user = userService.getUserByEmployeeId(organizationId, employeeId);
-
-        // Find action type by name
-        Optional<Organization.ActionType> actionTypeOpt = organization.getActionTypeByName(actionTypeName);
-
-        if (actionTypeOpt.isEmpty()) {
-            throw new IllegalArgumentException("Action type not found: " + actionTypeName);
-        }
-
-        Organization.ActionType actionType = actionTypeOpt.get();
-
-        if (!actionType.supportsImportCapture()) {
-            throw new IllegalArgumentException("Action type does not support import: " + actionTypeName);
-        }
-
-        // Parse date
-        LocalDate actionDate;
-        try {
-            actionDate = LocalDate.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE);
-        } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException("Invalid date format. Expected YYYY-MM-DD: " + dateStr);
-        }
-
-        // Check for duplicates
-        if (isDuplicateAction(user.getId(), actionType.getId(), actionDate)) {
-            throw new IllegalArgumentException("Duplicate action for employee " + employeeId + " on " + dateStr);
-        }
-
-        return Action.builder()
-                .organizationId(organizationId)
-                .userId(user.getId())
-                .actionTypeId(actionType.getId())
-                .actionDate(actionDate)
-                .captureMethod(CaptureMethod.IMPORT)
-                .status(CaptureStatus.APPROVED) // Auto-approve imports
-                .reporterUserId("SYSTEM")
-                .evidence(evidence)
-                .notes(notes)
-                .build();
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,8 @@ import com.starfleet.gamifier.domain.UserRole;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * Authentication service for managing user context and Azure AD integration.
@@ -15,13 +17,30 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class AuthenticationService {
 
+    private static final String CURRENT_USER_ATTRIBUTE = AuthenticationService.class.getName() + ".currentUser";
+
     private final UserService userService;
 
     /**
      * Get the current authenticated user from security context.
      * Placeholder implementation - returns mock user for development.
+     * Loaded once per HTTP request, as the access checks of a request only read its ID,
+     * organization and role; callers that change the user should load it themselves.
      */
     public User getCurrentUser() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return loadCurrentUser();
+        }
+        User currentUser = (User) attributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (currentUser == null) {
+            currentUser = loadCurrentUser();
+            attributes.setAttribute(CURRENT_USER_ATTRIBUTE, currentUser, RequestAttributes.SCOPE_REQUEST);
+        }
+        return currentUser;
+    }
+
+    private User loadCurrentUser() {
         // TODO: Replace with actual Azure AD token parsing
         String currentUserId = getCurrentUserId();
         return userService.getUser(currentUserId);
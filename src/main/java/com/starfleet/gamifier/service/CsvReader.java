@@ -0,0 +1,253 @@
+package com.starfleet.gamifier.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming RFC 4180 CSV reader.
+ * Records are tokenized straight from the input stream into one reusable byte buffer, so
+ * memory is bounded by the longest record rather than the file size. All delimiters are
+ * ASCII, which lets UTF-8 input be split at the byte level and decoded only when a field
+ * is read. Quoted fields may contain commas, doubled quotes and line breaks.
+ * A malformed record does not stop the reader: it is returned with a reason instead of
+ * fields, see {@link #malformedReason()}.
+ */
+public class CsvReader implements Closeable {
+
+    public static final int DEFAULT_MAX_RECORD_BYTES = 1 << 20;
+
+    private static final int EOF = -1;
+
+    private final InputStream in;
+    private final int maxRecordBytes;
+    private final byte[] buffer = new byte[64 * 1024];
+    private int bufferPosition;
+    private int bufferLimit;
+
+    private byte[] record = new byte[1024];
+    private int recordLength;
+    private int[] fieldEnds = new int[16];
+    private int fieldCount;
+    private String malformedReason;
+
+    private long offset;
+    private long recordNumber;
+    private boolean atStart;
+
+    public CsvReader(InputStream in) {
+        this(in, 0, DEFAULT_MAX_RECORD_BYTES);
+    }
+
+    /**
+     * @param startOffset byte offset of {@code in} within the underlying file, so that
+     *                    {@link #offset()} stays absolute when resuming part-way through
+     */
+    public CsvReader(InputStream in, long startOffset, int maxRecordBytes) {
+        this.in = in;
+        this.offset = startOffset;
+        this.maxRecordBytes = maxRecordBytes;
+        this.atStart = startOffset == 0;
+    }
+
+    /**
+     * Advance to the next record, skipping blank lines.
+     *
+     * @return false once the input is exhausted
+     */
+    public boolean next() throws IOException {
+        if (atStart) {
+            skipByteOrderMark();
+            atStart = false;
+        }
+        while (true) {
+            int first = read();
+            if (first == EOF) {
+                fieldCount = 0;
+                return false;
+            }
+            boolean blank = parseRecord(first);
+            recordNumber++;
+            if (!blank) {
+                return true;
+            }
+        }
+    }
+
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Decoded value of a field in the current record, or null if the record has fewer fields.
+     */
+    public String field(int index) {
+        if (index < 0 || index >= fieldCount) {
+            return null;
+        }
+        int start = index == 0 ? 0 : fieldEnds[index - 1];
+        return new String(record, start, fieldEnds[index] - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Why the current record could not be read, or null if it is well formed. A record over
+     * the size limit is skipped up to its end, so the next record is read normally; an
+     * unterminated quote runs to the end of the input, so it is the last record.
+     */
+    public String malformedReason() {
+        return malformedReason;
+    }
+
+    /**
+     * @throws IllegalArgumentException with the reason if the current record is malformed
+     */
+    public void requireWellFormed() {
+        if (malformedReason != null) {
+            throw new IllegalArgumentException(malformedReason);
+        }
+    }
+
+    /**
+     * One-based number of the current record, counting blank lines and the header.
+     */
+    public long recordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * Byte offset just past the current record; a reader started there resumes with the next record.
+     */
+    public long offset() {
+        return offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Parse one record whose first byte has already been read.
+     *
+     * @return true if the record was an empty line
+     */
+    private boolean parseRecord(int first) throws IOException {
+        recordLength = 0;
+        fieldCount = 0;
+        malformedReason = null;
+        boolean quotedAny = false;
+        int b = first;
+
+        while (true) {
+            // Start of a field
+            if (b == '"') {
+                quotedAny = true;
+                b = readQuoted();
+            }
+            while (b != ',' && b != '\n' && b != '\r' && b != EOF) {
+                append(b);
+                b = read();
+            }
+            endField();
+
+            if (b == ',') {
+                b = read();
+                continue;
+            }
+            if (b == '\r' && peek() == '\n') {
+                read();
+            }
+            if (malformedReason != null) {
+                fieldCount = 0;
+                return false;
+            }
+            return !quotedAny && fieldCount == 1 && recordLength == 0;
+        }
+    }
+
+    /**
+     * Read a quoted section after its opening quote.
+     *
+     * @return the first byte after the closing quote, or EOF if the quote is never closed
+     */
+    private int readQuoted() throws IOException {
+        while (true) {
+            int b = read();
+            if (b == EOF) {
+                malformed("Unterminated quoted field in CSV record " + (recordNumber + 1));
+                return EOF;
+            }
+            if (b == '"') {
+                if (peek() != '"') {
+                    return read();
+                }
+                read();
+            }
+            append(b);
+        }
+    }
+
+    /**
+     * Add a byte to the current field; past the size limit the rest of the record is only scanned.
+     */
+    private void append(int b) {
+        if (recordLength >= maxRecordBytes) {
+            malformed("CSV record " + (recordNumber + 1) + " exceeds " + maxRecordBytes + " bytes");
+            return;
+        }
+        if (recordLength == record.length) {
+            record = Arrays.copyOf(record, Math.min(maxRecordBytes, record.length * 2));
+        }
+        record[recordLength++] = (byte) b;
+    }
+
+    private void endField() {
+        if (malformedReason != null) {
+            return;
+        }
+        if (fieldCount == fieldEnds.length) {
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldEnds.length * 2);
+        }
+        fieldEnds[fieldCount++] = recordLength;
+    }
+
+    private void malformed(String reason) {
+        if (malformedReason == null) {
+            malformedReason = reason;
+        }
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        if (fill() && bufferLimit - bufferPosition >= 3
+                && (buffer[bufferPosition] & 0xFF) == 0xEF
+                && (buffer[bufferPosition + 1] & 0xFF) == 0xBB
+                && (buffer[bufferPosition + 2] & 0xFF) == 0xBF) {
+            bufferPosition += 3;
+            offset += 3;
+        }
+    }
+
+    private int read() throws IOException {
+        if (!fill()) {
+            return EOF;
+        }
+        offset++;
+        return buffer[bufferPosition++] & 0xFF;
+    }
+
+    private int peek() throws IOException {
+        return fill() ? buffer[bufferPosition] & 0xFF : EOF;
+    }
+
+    private boolean fill() throws IOException {
+        if (bufferPosition < bufferLimit) {
+            return true;
+        }
+        int n = in.readNBytes(buffer, 0, buffer.length);
+        bufferPosition = 0;
+        bufferLimit = Math.max(n, 0);
+        return bufferLimit > 0;
+    }
+}
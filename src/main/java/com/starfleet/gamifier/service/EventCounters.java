@@ -0,0 +1,261 @@
+package com.starfleet.gamifier.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.starfleet.gamifier.config.EventCounterProperties;
+import com.starfleet.gamifier.domain.Event;
+import com.starfleet.gamifier.domain.EventCounter;
+import com.starfleet.gamifier.domain.EventType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-organization, per-day and per-type event counts, kept so event statistics are read
+ * from a handful of counter documents instead of counting the events collection.
+ * Every saved event is counted in memory and the counts are added to the event_counters
+ * collection on a short interval; reads add the counts not yet flushed by this node.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventCounters extends AbstractMongoEventListener<Event> {
+
+    private final MongoTemplate mongoTemplate;
+    private final EventCounterProperties properties;
+
+    private final Map<Key, Counter> counters = new ConcurrentHashMap<>();
+    private volatile Instant backfillingBefore;
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void start() {
+        backfillIfEmpty();
+
+        long interval = Math.max(1, properties.getFlushInterval().toMillis());
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-counter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdown();
+        flushQuietly();
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Event> event) {
+        record(event.getSource());
+    }
+
+    /**
+     * Count an event under its UTC day and under the organization's all-time total.
+     */
+    public void record(Event event) {
+        if (event.getOrganizationId() == null || event.getEventType() == null || event.getTimestamp() == null) {
+            return;
+        }
+        Instant backfilledBefore = backfillingBefore;
+        if (backfilledBefore != null && event.getTimestamp().isBefore(backfilledBefore)) {
+            return; // Counted by the running backfill
+        }
+        LocalDate day = LocalDate.ofInstant(event.getTimestamp(), ZoneOffset.UTC);
+        counterFor(new Key(event.getOrganizationId(), EventCounter.dayOf(day), event.getEventType())).increment();
+        counterFor(new Key(event.getOrganizationId(), EventCounter.ALL_TIME, event.getEventType())).increment();
+    }
+
+    /**
+     * Number of events of an organization per day (as yyyy-MM-dd, or {@link EventCounter#ALL_TIME})
+     * for the requested days, summed over event types. Days without events are absent.
+     */
+    public Map<String, Long> countsByDay(String organizationId, Collection<String> days) {
+        Query query = new Query(Criteria.where("organizationId").is(organizationId).and("day").in(days));
+        Map<String, Long> counts = new HashMap<>();
+        for (EventCounter counter : mongoTemplate.find(query, EventCounter.class)) {
+            counts.merge(counter.getDay(), counter.getCount(), Long::sum);
+        }
+        counters.forEach((key, counter) -> {
+            if (key.organizationId().equals(organizationId) && days.contains(key.day())) {
+                long pending = counter.pending();
+                if (pending != 0) {
+                    counts.merge(key.day(), pending, Long::sum);
+                }
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Add the counts recorded since the last flush to the event_counters collection.
+     * Counts whose write fails stay pending and are retried by the next flush.
+     */
+    public synchronized void flush() {
+        List<Map.Entry<Key, Counter>> batch = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        BulkOperations upserts = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, EventCounter.class);
+
+        for (Map.Entry<Key, Counter> entry : counters.entrySet()) {
+            long delta = entry.getValue().pending();
+            if (delta == 0) {
+                continue;
+            }
+            Key key = entry.getKey();
+            upserts.upsert(new Query(Criteria.where("_id").is(EventCounter.idFor(key.organizationId(), key.day(), key.eventType()))),
+                    new Update()
+                            .setOnInsert("organizationId", key.organizationId())
+                            .setOnInsert("day", key.day())
+                            .setOnInsert("eventType", key.eventType())
+                            .inc("count", delta));
+            batch.add(entry);
+            deltas.add(delta);
+        }
+
+        int applied = batch.size();
+        if (!batch.isEmpty()) {
+            try {
+                upserts.execute();
+            } catch (BulkOperationException e) {
+                // Ordered, so everything before the first failed write was applied
+                applied = e.getErrors().stream().mapToInt(BulkWriteError::getIndex).min().orElse(0);
+                log.warn("Flushed {} of {} event counters: {}", applied, batch.size(), e.getMessage());
+            }
+        }
+        for (int i = 0; i < applied; i++) {
+            batch.get(i).getValue().flushed += deltas.get(i);
+        }
+
+        evictPastDays();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush event counters, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drop fully flushed counters of days before yesterday; no new events are stamped with them.
+     */
+    private void evictPastDays() {
+        String oldestLive = LocalDate.now(ZoneOffset.UTC).minusDays(1).toString();
+        counters.entrySet().removeIf(entry -> !EventCounter.ALL_TIME.equals(entry.getKey().day())
+                && entry.getKey().day().compareTo(oldestLive) < 0
+                && entry.getValue().pending() == 0);
+    }
+
+    /**
+     * Build the counters from the events collection the first time they are used, so
+     * statistics include events stored before the counters existed. The backfill counts the
+     * events stamped before it started and {@link #record} the rest, so an event saved while
+     * the backfill runs is counted once.
+     */
+    private void backfillIfEmpty() {
+        if (mongoTemplate.exists(new Query(), EventCounter.class)) {
+            return;
+        }
+        Instant startedAt = Instant.now();
+        backfillingBefore = startedAt;
+        try {
+            backfill(startedAt);
+        } finally {
+            backfillingBefore = null;
+        }
+    }
+
+    private void backfill(Instant before) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("organizationId").ne(null).and("eventType").ne(null)
+                        .and("timestamp").lt(before)),
+                Aggregation.project("organizationId", "eventType")
+                        .and(DateOperators.DateToString.dateOf("timestamp").toString("%Y-%m-%d")).as("day"),
+                Aggregation.group("organizationId", "day", "eventType").count().as("count"));
+
+        Map<Key, Long> counts = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Event.class, Document.class)) {
+            Document group = row.get("_id", Document.class);
+            String organizationId = group.getString("organizationId");
+            EventType eventType = EventType.valueOf(group.getString("eventType"));
+            long count = ((Number) row.get("count")).longValue();
+            counts.merge(new Key(organizationId, group.getString("day"), eventType), count, Long::sum);
+            counts.merge(new Key(organizationId, EventCounter.ALL_TIME, eventType), count, Long::sum);
+        }
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        List<EventCounter> documents = counts.entrySet().stream()
+                .map(entry -> EventCounter.builder()
+                        .id(EventCounter.idFor(entry.getKey().organizationId(), entry.getKey().day(), entry.getKey().eventType()))
+                        .organizationId(entry.getKey().organizationId())
+                        .day(entry.getKey().day())
+                        .eventType(entry.getKey().eventType())
+                        .count(entry.getValue())
+                        .build())
+                .toList();
+        try {
+            mongoTemplate.insert(documents, EventCounter.class);
+            log.info("Backfilled {} event counters from existing events", documents.size());
+        } catch (DuplicateKeyException e) {
+            log.info("Event counters were backfilled by another node");
+        }
+    }
+
+    private LongAdder counterFor(Key key) {
+        return counters.computeIfAbsent(key, k -> new Counter()).added;
+    }
+
+    private record Key(String organizationId, String day, EventType eventType) {
+        Key {
+            Objects.requireNonNull(organizationId);
+            Objects.requireNonNull(day);
+            Objects.requireNonNull(eventType);
+        }
+    }
+
+    /**
+     * Events recorded by this node, and how many of them are already in the collection.
+     * Only ever growing, so recording never races with a flush resetting the adder.
+     */
+    private static final class Counter {
+        private final LongAdder added = new LongAdder();
+        private volatile long flushed; // written only under the flush lock
+
+        long pending() {
+            return added.sum() - flushed;
+        }
+    }
+}
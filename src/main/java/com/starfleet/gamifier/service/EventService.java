@@ -1,7 +1,9 @@
 package com.starfleet.gamifier.service;
 
 import com.starfleet.gamifier.controller.EventController.EventStatistics;
+import com.starfleet.gamifier.controller.dto.CursorPage;
 import com.starfleet.gamifier.domain.Event;
+import com.starfleet.gamifier.domain.EventCounter;
 import com.starfleet.gamifier.domain.EventType;
 import com.starfleet.gamifier.domain.User;
 import com.starfleet.gamifier.repository.EventRepository;
@@ -9,7 +11,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -19,7 +23,11 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service for Event feed and monitoring operations.
@@ -33,30 +41,86 @@ public class EventService {
     private final EventRepository eventRepository;
     private final UserService userService;
     private final MongoTemplate mongoTemplate;
+    private final EventCounters eventCounters;
+
+    private static final int STATISTICS_WEEK_DAYS = 7;
+    private static final int STATISTICS_MONTH_DAYS = 30;
+
+    private static final KeysetPager<Event> EVENT_PAGER =
+            new KeysetPager<>(Event.class, "timestamp", Instant::parse, Event::getTimestamp, Event::getId);
 
     /**
      * Get paginated events for a specific user.
+     * With a since timestamp, only that page of the newer events is read, newest first, and
+     * the page size is capped; clients that want every event since then should stream them.
      */
+    @TimedOperation
     public Page<Event> getUserEvents(String userId, String organizationId, Instant sinceTimestamp, Pageable pageable) {
         log.debug("Getting events for user {} in organization {} since {}", userId, organizationId, sinceTimestamp);
 
         if (sinceTimestamp != null) {
-            List<Event> events = eventRepository.findByOrganizationIdAndUserIdAndTimestampAfter(
-                organizationId, userId, sinceTimestamp);
-            return new PageImpl<>(events, pageable, events.size());
+            Pageable bounded = pageable.isPaged()
+                    ? PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), KeysetPager.MAX_SIZE),
+                            Sort.by(Sort.Direction.DESC, "timestamp"))
+                    : PageRequest.of(0, KeysetPager.MAX_SIZE, Sort.by(Sort.Direction.DESC, "timestamp"));
+            return eventRepository.findByOrganizationIdAndUserIdAndTimestampAfter(
+                organizationId, userId, sinceTimestamp, bounded);
         } else {
             return eventRepository.findByOrganizationIdAndUserId(organizationId, userId, pageable);
         }
     }
 
+    /**
+     * Hand every event of the user after the timestamp to {@code sink}, oldest first.
+     * Events are read through a cursor, so memory use does not grow with the number of events.
+     */
+    public void streamUserEvents(String userId, String organizationId, Instant sinceTimestamp, Consumer<Event> sink) {
+        Query query = new Query(Criteria.where("organizationId").is(organizationId)
+                .and("userId").is(userId)
+                .and("timestamp").gt(sinceTimestamp))
+                .with(Sort.by(Sort.Direction.ASC, "timestamp", "_id"));
+
+        try (Stream<Event> events = mongoTemplate.stream(query, Event.class)) {
+            events.forEach(sink);
+        }
+    }
+
     /**
      * Get admin events with comprehensive filtering options.
      */
+    @TimedOperation
     public Page<Event> getAdminEvents(String organizationId, EventType type, String userId,
                                       Instant sinceTimestamp, Instant untilTimestamp, Pageable pageable) {
         log.debug("Getting admin events for organization {} with filters: type={}, userId={}, since={}, until={}",
                  organizationId, type, userId, sinceTimestamp, untilTimestamp);
 
+        Query query = adminEventsQuery(organizationId, type, userId, sinceTimestamp, untilTimestamp);
+        query.with(pageable);
+
+        List<Event> events = mongoTemplate.find(query, Event.class);
+        long totalCount = mongoTemplate.count(query.skip(0).limit(0), Event.class);
+
+        return new PageImpl<>(events, pageable, totalCount);
+    }
+
+    /**
+     * Scroll admin events newest first with a continuation cursor, so each page costs the same
+     * however deep the monitor has scrolled. The total is only counted when asked for.
+     */
+    @TimedOperation
+    public CursorPage<Event> scrollAdminEvents(String organizationId, EventType type, String userId,
+                                               Instant sinceTimestamp, Instant untilTimestamp,
+                                               String cursor, Integer size, boolean includeTotal) {
+        Query query = adminEventsQuery(organizationId, type, userId, sinceTimestamp, untilTimestamp);
+        Long total = includeTotal ? mongoTemplate.count(Query.of(query), Event.class) : null;
+
+        CursorPage<Event> page = EVENT_PAGER.find(mongoTemplate, query, cursor, size);
+        page.setTotalElements(total);
+        return page;
+    }
+
+    private Query adminEventsQuery(String organizationId, EventType type, String userId,
+                                   Instant sinceTimestamp, Instant untilTimestamp) {
         Query query = new Query();
         query.addCriteria(Criteria.where("organizationId").is(organizationId));
 
@@ -78,18 +142,13 @@ public class EventService {
             }
             query.addCriteria(timeCriteria);
         }
-
-        query.with(pageable);
-
-        List<Event> events = mongoTemplate.find(query, Event.class);
-        long totalCount = mongoTemplate.count(query.skip(0).limit(0), Event.class);
-
-        return new PageImpl<>(events, pageable, totalCount);
+        return query;
     }
 
     /**
      * Get user feed events since their last login.
      */
+    @TimedOperation
     public List<Event> getUserFeedSinceLastLogin(String userId, String organizationId) {
         log.debug("Getting feed events for user {} since last login", userId);
 
@@ -107,54 +166,42 @@ public class EventService {
 
     /**
      * Get comprehensive event statistics for an organization.
+     * Read from the materialized event counters: at most 30 daily buckets and the all-time
+     * bucket per event type, however many events the organization has. Windows are whole UTC
+     * days ending today: today, the last 7 days and the last 30 days.
      */
+    @TimedOperation
     public EventStatistics getEventStatistics(String organizationId) {
         log.debug("Calculating event statistics for organization {}", organizationId);
 
-        Instant now = Instant.now();
-        Instant startOfToday = LocalDate.now().atStartOfDay().toInstant(ZoneOffset.UTC);
-        Instant startOfWeek = now.minus(7, ChronoUnit.DAYS);
-        Instant startOfMonth = now.minus(30, ChronoUnit.DAYS);
-
-        // Count total events
-        long totalEvents = countEventsByOrganizationAndTimeRange(organizationId, null, null);
-
-        // Count today's events
-        long todayEvents = countEventsByOrganizationAndTimeRange(organizationId, startOfToday, null);
-
-        // Count week events
-        long weekEvents = countEventsByOrganizationAndTimeRange(organizationId, startOfWeek, null);
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<String> days = new ArrayList<>(STATISTICS_MONTH_DAYS + 1);
+        for (int i = 0; i < STATISTICS_MONTH_DAYS; i++) {
+            days.add(EventCounter.dayOf(today.minusDays(i)));
+        }
+        days.add(EventCounter.ALL_TIME);
 
-        // Count month events
-        long monthEvents = countEventsByOrganizationAndTimeRange(organizationId, startOfMonth, null);
+        Map<String, Long> counts = eventCounters.countsByDay(organizationId, days);
+        long todayEvents = sumDays(counts, days, 1);
+        long weekEvents = sumDays(counts, days, STATISTICS_WEEK_DAYS);
+        long monthEvents = sumDays(counts, days, STATISTICS_MONTH_DAYS);
+        long totalEvents = counts.getOrDefault(EventCounter.ALL_TIME, 0L);
 
         return new EventStatistics(totalEvents, todayEvents, weekEvents, monthEvents);
     }
 
-    /**
-     * Helper method to count events by time range.
-     */
-    private long countEventsByOrganizationAndTimeRange(String organizationId, Instant since, Instant until) {
-        Query query = new Query();
-        query.addCriteria(Criteria.where("organizationId").is(organizationId));
-
-        if (since != null || until != null) {
-            Criteria timeCriteria = Criteria.where("timestamp");
-            if (since != null) {
-                timeCriteria = timeCriteria.gte(since);
-            }
-            if (until != null) {
-                timeCriteria = timeCriteria.lte(until);
-            }
-            query.addCriteria(timeCriteria);
+    private static long sumDays(Map<String, Long> counts, List<String> newestFirst, int dayCount) {
+        long sum = 0;
+        for (int i = 0; i < dayCount; i++) {
+            sum += counts.getOrDefault(newestFirst.get(i), 0L);
         }
-
-        return mongoTemplate.count(query, Event.class);
+        return sum;
     }
 
     /**
      * Get events by type for analytics.
      */
+    @TimedOperation
     public List<Event> getEventsByType(String organizationId, EventType eventType) {
         return eventRepository.findByOrganizationIdAndEventType(organizationId, eventType);
     }
@@ -162,6 +209,7 @@ public class EventService {
     /**
      * Get events within time range for reporting.
      */
+    @TimedOperation
     public List<Event> getEventsByTimeRange(String organizationId, Instant start, Instant end) {
         return eventRepository.findByOrganizationIdAndTimestampBetween(organizationId, start, end);
     }
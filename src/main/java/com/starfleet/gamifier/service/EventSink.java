@@ -0,0 +1,311 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.config.EventSinkProperties;
+import com.starfleet.gamifier.config.EventSinkProperties.Durability;
+import com.starfleet.gamifier.domain.Event;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.json.JsonParseException;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Takes events off the request path. Published events get their ID up front and are queued
+ * in a bounded ring buffer; a background writer inserts them with insertMany once a batch
+ * fills or the flush interval passes. How long publishing waits, and whether queued events
+ * survive a crash, depends on the configured {@link Durability}. When the buffer is full,
+ * publishers insert their events themselves rather than dropping them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventSink {
+
+    private final MongoTemplate mongoTemplate;
+    private final EventSinkProperties properties;
+
+    private RingBuffer<Event> queue;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile long writtenThrough; // every event queued with a lower sequence is inserted; the rest are pending
+    private final Object writtenMonitor = new Object();
+
+    private final Object appendLock = new Object();
+    private FileChannel appendLog;
+    private MongoConverter converter;
+
+    @PostConstruct
+    void start() {
+        queue = new RingBuffer<>(properties.getCapacity());
+        if (properties.getDurability() == Durability.WRITE_AHEAD) {
+            converter = mongoTemplate.getConverter();
+            replayAppendLog();
+            appendLog = openAppendLog();
+        }
+
+        running = true;
+        writer = new Thread(this::writeLoop, "event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(properties.getFlushTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (appendLog != null) {
+            appendLog.close();
+        }
+    }
+
+    public void publish(Event event) {
+        publishAll(List.of(event));
+    }
+
+    public void publishAll(Collection<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        for (Event event : events) {
+            if (event.getId() == null) {
+                event.setId(new ObjectId().toHexString());
+            }
+        }
+
+        long lastQueued;
+        if (properties.getDurability() == Durability.WRITE_AHEAD) {
+            synchronized (appendLock) {
+                List<Event> queued = new ArrayList<>(events.size());
+                lastQueued = enqueue(events, queued);
+                append(queued);
+            }
+        } else {
+            lastQueued = enqueue(events, null);
+        }
+        if (lastQueued < 0) {
+            return;
+        }
+
+        if (properties.getDurability() == Durability.FLUSH_BEFORE_RESPONSE) {
+            LockSupport.unpark(writer);
+            awaitWritten(lastQueued);
+        } else if (lastQueued + 1 - writtenThrough >= properties.getBatchSize()) {
+            // Counts the events the writer has already taken into its partial batch, not just the queued ones
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Queue the events; once the buffer is full, insert the rest directly.
+     *
+     * @return sequence of the last queued event, or -1 if none was queued
+     */
+    private long enqueue(Collection<Event> events, List<Event> queued) {
+        long lastQueued = -1;
+        List<Event> overflow = new ArrayList<>();
+        for (Event event : events) {
+            long sequence = overflow.isEmpty() ? queue.offer(event) : -1;
+            if (sequence < 0) {
+                overflow.add(event);
+            } else {
+                lastQueued = sequence;
+                if (queued != null) {
+                    queued.add(event);
+                }
+            }
+        }
+        if (!overflow.isEmpty()) {
+            log.debug("Event queue is full, inserting {} events on the caller thread", overflow.size());
+            insert(overflow);
+        }
+        return lastQueued;
+    }
+
+    private void awaitWritten(long sequence) {
+        long deadline = System.nanoTime() + properties.getFlushTimeout().toNanos();
+        synchronized (writtenMonitor) {
+            long remaining;
+            while (writtenThrough <= sequence && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(writtenMonitor, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        if (writtenThrough <= sequence) {
+            log.warn("Events not written within {}, responding without waiting further", properties.getFlushTimeout());
+        }
+    }
+
+    private void writeLoop() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long intervalNanos = Math.max(1, properties.getFlushInterval().toNanos());
+        List<Event> batch = new ArrayList<>(batchSize);
+        long next = 0;
+        long batchStarted = 0;
+
+        while (running || queue.size() > 0 || !batch.isEmpty()) {
+            next = queue.drainTo(batch, batchSize - batch.size());
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, intervalNanos);
+                continue;
+            }
+            if (batchStarted == 0) {
+                batchStarted = System.nanoTime();
+            }
+            long waited = System.nanoTime() - batchStarted;
+            boolean due = batch.size() >= batchSize || waited >= intervalNanos || !running
+                    || properties.getDurability() == Durability.FLUSH_BEFORE_RESPONSE;
+            if (!due) {
+                LockSupport.parkNanos(this, intervalNanos - waited);
+                continue;
+            }
+
+            try {
+                insert(batch);
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.error("Dropping {} queued events on shutdown: {}", batch.size(), e.getMessage());
+                    break;
+                }
+                log.warn("Failed to write {} events, will retry: {}", batch.size(), e.getMessage());
+                LockSupport.parkNanos(this, intervalNanos);
+                continue;
+            }
+            batch.clear();
+            batchStarted = 0;
+            markWritten(next);
+        }
+    }
+
+    private void markWritten(long next) {
+        writtenThrough = next;
+        if (appendLog != null) {
+            synchronized (appendLock) {
+                // Publishers queue and append under this lock, so an unchanged tail means every logged event is stored
+                if (queue.tail() == next) {
+                    try {
+                        appendLog.truncate(0);
+                    } catch (IOException e) {
+                        log.warn("Failed to truncate event append log: {}", e.getMessage());
+                    }
+                }
+            }
+        }
+        synchronized (writtenMonitor) {
+            writtenMonitor.notifyAll();
+        }
+    }
+
+    /**
+     * Insert events whose IDs are already assigned. A batch that was partly stored before,
+     * by a replay or a retry after an ambiguous failure, is inserted one event at a time.
+     */
+    private void insert(List<Event> events) {
+        try {
+            mongoTemplate.insert(new ArrayList<>(events), Event.class);
+        } catch (DuplicateKeyException e) {
+            for (Event event : events) {
+                try {
+                    mongoTemplate.insert(event);
+                } catch (DuplicateKeyException alreadyStored) {
+                    // Inserted before
+                }
+            }
+        }
+    }
+
+    private void append(List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder();
+        for (Event event : events) {
+            Document document = new Document();
+            converter.write(event, document);
+            lines.append(document.toJson()).append('\n');
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                appendLog.write(buffer);
+            }
+            appendLog.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append events to " + properties.getAppendLogPath(), e);
+        }
+    }
+
+    private FileChannel openAppendLog() {
+        try {
+            Path path = Path.of(properties.getAppendLogPath());
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open event append log " + properties.getAppendLogPath(), e);
+        }
+    }
+
+    /**
+     * Insert events a previous run appended but may not have stored, then empty the log.
+     */
+    private void replayAppendLog() {
+        Path path = Path.of(properties.getAppendLogPath());
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        List<Event> events = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    events.add(converter.read(Event.class, Document.parse(line)));
+                } catch (JsonParseException e) {
+                    log.warn("Skipping unreadable event in append log, likely a write cut short by a crash");
+                }
+            }
+            int batchSize = Math.max(1, properties.getBatchSize());
+            for (int from = 0; from < events.size(); from += batchSize) {
+                insert(events.subList(from, Math.min(events.size(), from + batchSize)));
+            }
+            Files.write(path, new byte[0]);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replay event append log " + path, e);
+        }
+        if (!events.isEmpty()) {
+            log.info("Replayed {} events from append log {}", events.size(), path);
+        }
+    }
+}
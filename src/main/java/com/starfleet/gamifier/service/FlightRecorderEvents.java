@@ -0,0 +1,150 @@
+package com.starfleet.gamifier.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events of the capture, award, mission and import pipelines, listed under
+ * "Starfleet Gamifier" in JDK Mission Control. Each event covers one operation, from
+ * {@code begin()} to {@code commit()}, so its duration is the operation's latency. While no
+ * recording is running, committing an event costs a flag check. Stack traces are left out to
+ * keep enabled events cheap. Recordings are started, stopped and downloaded through the
+ * {@code flightrecorder} actuator endpoint.
+ */
+final class FlightRecorderEvents {
+
+    private static final String CATEGORY = "Starfleet Gamifier";
+
+    private FlightRecorderEvents() {
+    }
+
+    @Name("com.starfleet.gamifier.ActionCapture")
+    @Label("Action Capture")
+    @Description("An action captured through the UI, including points awarded when it needs no approval")
+    @Category({CATEGORY, "Actions"})
+    @StackTrace(false)
+    static class ActionCapture extends jdk.jfr.Event {
+        @Label("Organization")
+        String organizationId;
+        @Label("User")
+        String userId;
+        @Label("Reporter")
+        String reporterUserId;
+        @Label("Action Type")
+        String actionTypeId;
+        @Label("Status")
+        String status;
+    }
+
+    @Name("com.starfleet.gamifier.ActionApproval")
+    @Label("Action Approval")
+    @Description("A manager approving one pending action, including the points awarded for it")
+    @Category({CATEGORY, "Actions"})
+    @StackTrace(false)
+    static class ActionApproval extends jdk.jfr.Event {
+        @Label("Organization")
+        String organizationId;
+        @Label("User")
+        String userId;
+        @Label("Approver")
+        String approverUserId;
+        @Label("Action Type")
+        String actionTypeId;
+    }
+
+    @Name("com.starfleet.gamifier.ActionDecision")
+    @Label("Bulk Action Decision")
+    @Description("A manager approving or rejecting many pending actions at once")
+    @Category({CATEGORY, "Actions"})
+    @StackTrace(false)
+    static class ActionDecision extends jdk.jfr.Event {
+        @Label("Organization")
+        String organizationId;
+        @Label("Manager")
+        String userId;
+        @Label("Approve")
+        boolean approve;
+        @Label("Requested")
+        int requested;
+        @Label("Decided")
+        int decided;
+    }
+
+    @Name("com.starfleet.gamifier.PointsAward")
+    @Label("Points Award")
+    @Description("Points written to a user's total, ledger and monthly points, with any rank promotion")
+    @Category({CATEGORY, "Points"})
+    @StackTrace(false)
+    static class PointsAward extends jdk.jfr.Event {
+        @Label("Organization")
+        String organizationId;
+        @Label("User")
+        String userId;
+        @Label("Points")
+        int points;
+        @Label("Source Action")
+        String sourceActionId;
+    }
+
+    @Name("com.starfleet.gamifier.MissionCompletion")
+    @Label("Mission Completion")
+    @Category({CATEGORY, "Points"})
+    @StackTrace(false)
+    static class MissionCompletion extends jdk.jfr.Event {
+        @Label("Organization")
+        String organizationId;
+        @Label("User")
+        String userId;
+        @Label("Mission")
+        String missionId;
+        @Label("Bonus Points")
+        int bonusPoints;
+    }
+
+    @Name("com.starfleet.gamifier.ImportBatch")
+    @Label("CSV Import Batch")
+    @Description("One batch of CSV rows read, validated and written")
+    @Category({CATEGORY, "Import"})
+    @StackTrace(false)
+    static class ImportBatch extends jdk.jfr.Event {
+        @Label("Organization")
+        String organizationId;
+        @Label("Kind")
+        String kind;
+        @Label("Rows")
+        int rows;
+        @Label("Imported")
+        int imported;
+        @Label("Rejected")
+        int rejected;
+
+        // Counters of the import when the batch started; transient fields are not recorded
+        private transient int recordsBefore;
+        private transient int importedBefore;
+
+        static ImportBatch start(String organizationId, String kind, ImportProgress progress) {
+            ImportBatch event = new ImportBatch();
+            event.organizationId = organizationId;
+            event.kind = kind;
+            event.recordsBefore = progress.getTotalRecords();
+            event.importedBefore = progress.getSuccessfulImports();
+            event.begin();
+            return event;
+        }
+
+        /**
+         * Commit the rows counted by {@code progress} since the batch started, if there were any.
+         */
+        void finish(ImportProgress progress) {
+            rows = progress.getTotalRecords() - recordsBefore;
+            imported = progress.getSuccessfulImports() - importedBefore;
+            rejected = rows - imported;
+            if (rows > 0) {
+                commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.starfleet.gamifier.service;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bounded error collector for imports.
+ * Only the first {@code limit} messages are held in memory for the import response; later
+ * ones are counted, and every message is also written to the spill file when one is used.
+ */
+public class ImportErrors implements Closeable {
+
+    private final int limit;
+    private final List<String> messages = new ArrayList<>();
+    private final Path spillFile;
+    private final BufferedWriter spill;
+    private long count;
+
+    private ImportErrors(int limit, Path spillFile, boolean append) throws IOException {
+        this.limit = Math.max(0, limit);
+        this.spillFile = spillFile;
+        this.spill = spillFile == null ? null : append
+                ? Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                : Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Keep at most {@code limit} messages; the rest are only counted.
+     */
+    public static ImportErrors capped(int limit) {
+        try {
+            return new ImportErrors(limit, null, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Keep at most {@code limit} messages and write all of them to {@code spillFile},
+     * appending when a resumed import continues an earlier file.
+     */
+    public static ImportErrors spilling(int limit, Path spillFile, boolean append) throws IOException {
+        return new ImportErrors(limit, spillFile, append);
+    }
+
+    public void add(long lineNumber, String message) {
+        String error = "Line " + lineNumber + ": " + message;
+        count++;
+        if (messages.size() < limit) {
+            messages.add(error);
+        }
+        if (spill != null) {
+            try {
+                spill.write(error);
+                spill.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Write buffered messages through to the spill file, so a checkpoint never moves past
+     * rows whose errors are not yet on disk.
+     */
+    public void flush() {
+        if (spill != null) {
+            try {
+                spill.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Retained messages, followed by a summary line when some were dropped.
+     */
+    public List<String> messages() {
+        List<String> result = new ArrayList<>(messages);
+        if (count > messages.size()) {
+            result.add(String.format("... %d more errors not shown%s", count - messages.size(),
+                    spillFile != null ? " (full list in " + spillFile.getFileName() + ")" : ""));
+        }
+        return result;
+    }
+
+    public Optional<Path> spillFile() {
+        return Optional.ofNullable(spillFile);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (spill != null) {
+            spill.close();
+        }
+    }
+}
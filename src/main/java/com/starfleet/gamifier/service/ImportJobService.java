@@ -0,0 +1,305 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.config.ImportProperties;
+import com.starfleet.gamifier.domain.ImportJob;
+import com.starfleet.gamifier.domain.Organization;
+import com.starfleet.gamifier.repository.ImportJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs CSV imports as background jobs.
+ * Uploads are spooled to local disk and processed by a bounded worker pool, so HTTP
+ * threads return as soon as the file is stored. Each job checkpoints its byte offset and
+ * counters after every batch; jobs interrupted by a restart are resumed by the node that
+ * holds their spooled file.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportJobService {
+
+    private final ImportJobRepository importJobRepository;
+    private final ActionImportEngine actionImportEngine;
+    private final UserService userService;
+    private final AuthenticationService authenticationService;
+    private final OrganizationSnapshotCache organizationSnapshots;
+    private final MongoTemplate mongoTemplate;
+    private final ImportProperties importProperties;
+
+    private ThreadPoolTaskExecutor importExecutor;
+    private String nodeId;
+    private volatile boolean stopping;
+
+    @PostConstruct
+    void start() {
+        nodeId = importProperties.getNodeId() != null ? importProperties.getNodeId() : hostName();
+
+        importExecutor = new ThreadPoolTaskExecutor();
+        importExecutor.setCorePoolSize(Math.max(1, importProperties.getWorkerThreads()));
+        importExecutor.setMaxPoolSize(Math.max(1, importProperties.getWorkerThreads()));
+        importExecutor.setQueueCapacity(Math.max(0, importProperties.getQueueCapacity()));
+        importExecutor.setThreadNamePrefix("import-");
+        // Interrupted jobs resume from their last checkpoint, so shutdown does not wait for them
+        importExecutor.setWaitForTasksToCompleteOnShutdown(false);
+        importExecutor.initialize();
+    }
+
+    @PreDestroy
+    void stop() {
+        stopping = true;
+        importExecutor.shutdown();
+    }
+
+    /**
+     * Spool an uploaded CSV file and queue it for import.
+     */
+    public ImportJob submit(MultipartFile file, String organizationId, ImportJob.Type type) {
+        authenticationService.requireAdminAccess(organizationId);
+
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        getOrganization(organizationId);
+
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .organizationId(organizationId)
+                .type(type)
+                .fileName(file.getOriginalFilename())
+                .nodeId(nodeId)
+                .requestedBy(authenticationService.getCurrentUserId())
+                .build());
+
+        try {
+            Path spoolFile = spoolDirectory().resolve(job.getId() + ".csv");
+            file.transferTo(spoolFile);
+            job.setSpoolPath(spoolFile.toString());
+            job.setFileSize(Files.size(spoolFile));
+        } catch (IOException e) {
+            fail(job, "Failed to spool upload: " + e.getMessage());
+            throw new RuntimeException("Failed to store CSV file: " + e.getMessage(), e);
+        }
+        job = importJobRepository.save(job);
+
+        try {
+            dispatch(job);
+        } catch (TaskRejectedException e) {
+            fail(job, "Import queue is full");
+            throw new IllegalStateException("Import queue is full, please retry later");
+        }
+
+        log.info("Queued {} import job {} for organization {} ({} bytes)",
+                type, job.getId(), organizationId, job.getFileSize());
+        return job;
+    }
+
+    public ImportJob getJob(String jobId) {
+        ImportJob job = importJobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Import job not found: " + jobId));
+        authenticationService.requireAdminAccess(job.getOrganizationId());
+        return job;
+    }
+
+    public Page<ImportJob> getJobs(String organizationId, Pageable pageable) {
+        authenticationService.requireAdminAccess(organizationId);
+        return importJobRepository.findByOrganizationIdOrderByCreatedAtDesc(organizationId, pageable);
+    }
+
+    /**
+     * Full error report of a job, one "Line N: message" entry per line.
+     */
+    public Path getErrorFile(String jobId) {
+        ImportJob job = getJob(jobId);
+        Path errorFile = errorFile(job.getId());
+        if (!Files.exists(errorFile)) {
+            throw new IllegalArgumentException("No error report for import job: " + jobId);
+        }
+        return errorFile;
+    }
+
+    /**
+     * Re-queue jobs this node accepted but did not finish before it stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (ImportJob job : importJobRepository.findByNodeIdAndStatusIn(nodeId,
+                List.of(ImportJob.Status.QUEUED, ImportJob.Status.RUNNING))) {
+            if (job.getSpoolPath() == null || !Files.exists(Path.of(job.getSpoolPath()))) {
+                fail(job, "Spooled file is no longer available");
+                continue;
+            }
+            try {
+                dispatch(job);
+                log.info("Resuming import job {} at byte offset {}", job.getId(), job.getOffset());
+            } catch (TaskRejectedException e) {
+                fail(job, "Import queue is full");
+            }
+        }
+    }
+
+    private void dispatch(ImportJob job) {
+        String jobId = job.getId();
+        importExecutor.execute(() -> run(jobId));
+    }
+
+    void run(String jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.isFinished()) {
+            return;
+        }
+
+        try {
+            markRunning(job);
+            Organization organization = getOrganization(job.getOrganizationId());
+            boolean resuming = job.getOffset() > 0;
+            ImportProgress progress;
+
+            try (InputStream input = Files.newInputStream(Path.of(job.getSpoolPath()));
+                 ImportErrors errors = ImportErrors.spilling(importProperties.getMaxReportedErrors(),
+                         errorFile(jobId), resuming)) {
+                progress = ImportProgress.resume(job.getRowsRead(), job.getImported(), (current, offset) -> {
+                    errors.flush();
+                    checkpoint(jobId, current, offset);
+                });
+                input.skipNBytes(job.getOffset());
+                CsvReader reader = new CsvReader(input, job.getOffset(), CsvReader.DEFAULT_MAX_RECORD_BYTES);
+
+                if (job.getType() == ImportJob.Type.ACTIONS) {
+                    actionImportEngine.importActions(reader, organization, errors, progress);
+                } else {
+                    userService.importUsers(reader, organization.getId(), errors, progress);
+                }
+            }
+
+            complete(jobId, progress);
+            deleteQuietly(job.getSpoolPath());
+            log.info("Import job {} completed: {} of {} rows imported",
+                    jobId, progress.getSuccessfulImports(), progress.getTotalRecords());
+        } catch (Exception e) {
+            if (stopping) {
+                // Keep the spooled file and checkpoint; the job resumes when the node restarts
+                log.warn("Import job {} interrupted by shutdown: {}", jobId, e.getMessage());
+                return;
+            }
+            log.error("Import job {} failed", jobId, e);
+            fail(job, e.getMessage());
+        }
+    }
+
+    private void markRunning(ImportJob job) {
+        Update update = new Update()
+                .set("status", ImportJob.Status.RUNNING)
+                .set("updatedAt", Instant.now());
+        if (job.getStartedAt() == null) {
+            update.set("startedAt", Instant.now());
+        }
+        mongoTemplate.updateFirst(byId(job.getId()), update, ImportJob.class);
+    }
+
+    private void checkpoint(String jobId, ImportProgress progress, long offset) {
+        mongoTemplate.updateFirst(byId(jobId), new Update()
+                .set("offset", offset)
+                .set("rowsRead", progress.getTotalRecords())
+                .set("imported", progress.getSuccessfulImports())
+                .set("failed", progress.getFailedImports())
+                .set("updatedAt", Instant.now()), ImportJob.class);
+    }
+
+    private void complete(String jobId, ImportProgress progress) throws IOException {
+        mongoTemplate.updateFirst(byId(jobId), new Update()
+                .set("status", ImportJob.Status.COMPLETED)
+                .set("rowsRead", progress.getTotalRecords())
+                .set("imported", progress.getSuccessfulImports())
+                .set("failed", progress.getFailedImports())
+                .set("errors", firstErrors(jobId))
+                .set("finishedAt", Instant.now())
+                .set("updatedAt", Instant.now()), ImportJob.class);
+    }
+
+    private void fail(ImportJob job, String reason) {
+        mongoTemplate.updateFirst(byId(job.getId()), new Update()
+                .set("status", ImportJob.Status.FAILED)
+                .set("failureReason", reason)
+                .set("finishedAt", Instant.now())
+                .set("updatedAt", Instant.now()), ImportJob.class);
+        deleteQuietly(job.getSpoolPath());
+    }
+
+    /**
+     * The first reported errors, read back from the error file so they survive a resume.
+     */
+    private List<String> firstErrors(String jobId) throws IOException {
+        List<String> errors = new ArrayList<>();
+        Path errorFile = errorFile(jobId);
+        if (!Files.exists(errorFile)) {
+            return errors;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(errorFile, StandardCharsets.UTF_8)) {
+            String line;
+            while (errors.size() < importProperties.getMaxReportedErrors() && (line = reader.readLine()) != null) {
+                errors.add(line);
+            }
+        }
+        return errors;
+    }
+
+    private Organization getOrganization(String organizationId) {
+        return organizationSnapshots.get(organizationId).getOrganization();
+    }
+
+    private Path spoolDirectory() throws IOException {
+        return Files.createDirectories(Path.of(importProperties.getSpoolDirectory()));
+    }
+
+    private Path errorFile(String jobId) {
+        return Path.of(importProperties.getSpoolDirectory()).resolve(jobId + ".errors.txt");
+    }
+
+    private static Query byId(String jobId) {
+        return new Query(Criteria.where("_id").is(jobId));
+    }
+
+    private static void deleteQuietly(String path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Path.of(path));
+        } catch (IOException e) {
+            log.warn("Could not delete spooled import file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "local";
+        }
+    }
+}
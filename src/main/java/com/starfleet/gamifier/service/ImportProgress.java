@@ -0,0 +1,54 @@
+package com.starfleet.gamifier.service;
+
+import lombok.Getter;
+
+/**
+ * Running counters of an import.
+ * A resumed import starts from the counters saved with its last checkpoint; the listener
+ * is told after each batch is written, with the byte offset at which the next batch starts.
+ */
+@Getter
+public class ImportProgress {
+
+    @FunctionalInterface
+    public interface Listener {
+        void checkpoint(ImportProgress progress, long offset);
+    }
+
+    private int totalRecords;
+    private int successfulImports;
+    private final Listener listener;
+
+    private ImportProgress(int totalRecords, int successfulImports, Listener listener) {
+        this.totalRecords = totalRecords;
+        this.successfulImports = successfulImports;
+        this.listener = listener;
+    }
+
+    public static ImportProgress start() {
+        return new ImportProgress(0, 0, (progress, offset) -> { });
+    }
+
+    public static ImportProgress resume(int totalRecords, int successfulImports, Listener listener) {
+        return new ImportProgress(totalRecords, successfulImports, listener);
+    }
+
+    public int getFailedImports() {
+        return totalRecords - successfulImports;
+    }
+
+    /**
+     * Count a new record and return its one-based number.
+     */
+    int nextRecord() {
+        return ++totalRecords;
+    }
+
+    void imported(int count) {
+        successfulImports += count;
+    }
+
+    void checkpoint(long offset) {
+        listener.checkpoint(this, offset);
+    }
+}
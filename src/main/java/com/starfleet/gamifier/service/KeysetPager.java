@@ -0,0 +1,85 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.controller.dto.CursorPage;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination over a descending (sort key, _id) order. Instead of skipping an offset,
+ * each page continues strictly after the last row of the previous one, which the client
+ * passes back as an opaque cursor, so every page costs the same index range scan however
+ * deep the client has scrolled. Queries should be backed by an index ending in the sort key
+ * and _id, both descending.
+ */
+final class KeysetPager<T> {
+
+    static final int DEFAULT_SIZE = 20;
+    static final int MAX_SIZE = 200;
+
+    private static final char SEPARATOR = '|';
+
+    private final Class<T> type;
+    private final String keyField;
+    private final Function<String, ?> keyParser;
+    private final Function<T, ?> keyOf;
+    private final Function<T, String> idOf;
+
+    /**
+     * @param keyParser reads a sort key back from its {@code toString()} form
+     */
+    KeysetPager(Class<T> type, String keyField, Function<String, ?> keyParser,
+                Function<T, ?> keyOf, Function<T, String> idOf) {
+        this.type = type;
+        this.keyField = keyField;
+        this.keyParser = keyParser;
+        this.keyOf = keyOf;
+        this.idOf = idOf;
+    }
+
+    /**
+     * The page of {@code query}'s matches following the cursor, or the first page if it is null.
+     */
+    CursorPage<T> find(MongoTemplate mongoTemplate, Query query, String cursor, Integer size) {
+        int limit = size == null ? DEFAULT_SIZE : Math.max(1, Math.min(size, MAX_SIZE));
+        if (cursor != null && !cursor.isBlank()) {
+            query.addCriteria(after(cursor));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, keyField, "_id")).limit(limit + 1);
+
+        List<T> rows = mongoTemplate.find(query, type);
+        boolean more = rows.size() > limit;
+        List<T> items = more ? rows.subList(0, limit) : rows;
+        return CursorPage.<T>builder()
+                .items(items)
+                .nextCursor(more ? encode(items.get(items.size() - 1)) : null)
+                .build();
+    }
+
+    String encode(T row) {
+        String token = keyOf.apply(row) + String.valueOf(SEPARATOR) + idOf.apply(row);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Criteria after(String cursor) {
+        Object key;
+        String id;
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = token.lastIndexOf(SEPARATOR);
+            key = keyParser.apply(token.substring(0, separator));
+            id = token.substring(separator + 1);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return new Criteria().orOperator(
+                Criteria.where(keyField).lt(key),
+                Criteria.where(keyField).is(key).and("_id").lt(id));
+    }
+}
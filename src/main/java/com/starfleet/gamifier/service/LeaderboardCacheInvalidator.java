@@ -0,0 +1,89 @@
+package com.starfleet.gamifier.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Selective eviction of cached leaderboard pages.
+ * A points change only reorders the ranks between a user's old and new position, so only
+ * the pages covering that range are evicted; pages above and below stay cached.
+ * Changes that alter the number of ranked users (a user entering a leaderboard) evict every
+ * page of that leaderboard, since each page carries the total.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaderboardCacheInvalidator {
+
+    static final String ALL_TIME = "allTimeLeaderboard";
+    static final String MONTHLY = "monthlyLeaderboard";
+    static final String STATISTICS = "leaderboardStats";
+
+    private final CacheManager cacheManager;
+
+    /**
+     * A user moved from zero-based rank {@code oldIndex} to {@code newIndex} on the all-time
+     * leaderboard; {@code oldIndex} is negative if the user was not ranked before.
+     */
+    public void allTimeRankChanged(String organizationId, int oldIndex, int newIndex) {
+        evictPages(ALL_TIME, pagesAffected(organizationId, null, oldIndex, newIndex));
+        evictStatistics(organizationId);
+    }
+
+    /**
+     * Monthly counterpart of {@link #allTimeRankChanged}.
+     */
+    public void monthlyRankChanged(String organizationId, YearMonth month, int oldIndex, int newIndex) {
+        evictPages(MONTHLY, pagesAffected(organizationId, month, oldIndex, newIndex));
+    }
+
+    public void evictMonth(String organizationId, YearMonth month) {
+        evictPages(MONTHLY, key -> key.getOrganizationId().equals(organizationId) && month.equals(key.getPeriod()));
+    }
+
+    public void evictOrganization(String organizationId) {
+        evictPages(ALL_TIME, key -> key.getOrganizationId().equals(organizationId));
+        evictPages(MONTHLY, key -> key.getOrganizationId().equals(organizationId));
+        evictStatistics(organizationId);
+    }
+
+    public void evictStatistics(String organizationId) {
+        Cache cache = cacheManager.getCache(STATISTICS);
+        if (cache != null) {
+            cache.evict(organizationId);
+        }
+    }
+
+    private static Predicate<LeaderboardCacheKey> pagesAffected(String organizationId, YearMonth period,
+                                                                int oldIndex, int newIndex) {
+        Predicate<LeaderboardCacheKey> leaderboard = key -> key.getOrganizationId().equals(organizationId)
+                && Objects.equals(period, key.getPeriod());
+        if (oldIndex < 0 || newIndex < 0) {
+            return leaderboard;
+        }
+        int from = Math.min(oldIndex, newIndex);
+        int to = Math.max(oldIndex, newIndex);
+        // Department pages rank a subset of users, so their ranges do not line up with the organization's
+        return leaderboard.and(key -> key.getDepartment() != null || key.covers(from, to));
+    }
+
+    private void evictPages(String cacheName, Predicate<LeaderboardCacheKey> affected) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            nativeCache.asMap().keySet().removeIf(key -> key instanceof LeaderboardCacheKey page && affected.test(page));
+        } else {
+            log.debug("Cache {} cannot be evicted selectively; clearing it", cacheName);
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.starfleet.gamifier.service;
+
+import lombok.Value;
+import lombok.With;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.YearMonth;
+
+/**
+ * Key of a cached leaderboard page: organization, period, department, page number and page size.
+ * Carries everything needed to recompute the page, so stale entries can be refreshed in the background,
+ * and the rank range the page covers, so a points change only evicts the pages it reorders.
+ */
+@Value
+public class LeaderboardCacheKey {
+    String organizationId;
+    YearMonth period; // null for the all-time leaderboard
+    @With
+    String department; // null for the whole organization
+    int page;
+    int size;
+
+    public static LeaderboardCacheKey allTime(String organizationId, Pageable pageable) {
+        return new LeaderboardCacheKey(organizationId, null, null, pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    public static LeaderboardCacheKey monthly(String organizationId, YearMonth month, Pageable pageable) {
+        return new LeaderboardCacheKey(organizationId, month, null, pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    public Pageable pageable() {
+        return PageRequest.of(page, size);
+    }
+
+    /**
+     * Whether the page shows any of the zero-based leaderboard ranks {@code from} to {@code to}, inclusive.
+     */
+    public boolean covers(int from, int to) {
+        long first = (long) page * size;
+        return first <= to && first + size - 1 >= from;
+    }
+}
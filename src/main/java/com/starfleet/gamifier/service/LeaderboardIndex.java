@@ -0,0 +1,505 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.config.CachePolicyProperties;
+import com.starfleet.gamifier.domain.MonthlyPoints;
+import com.starfleet.gamifier.domain.User;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * In-memory leaderboard index.
+ * Keeps one order-statistic tree per organization, ordered by total points (descending)
+ * and user ID, so page reads, rank-of-user and count-above queries never touch MongoDB.
+ * Organizations are loaded lazily on first access and {@link UserService} keeps the index
+ * current on every write made by this node. Writes made by other nodes are picked up by
+ * reloading each organization once it is older than the {@code leaderboardIndex}
+ * expire-after-write policy.
+ * Monthly rankings are kept the same way per organization and month, loaded on demand
+ * from the monthly_points collection. Only the current and previous month are kept;
+ * older months are read through from MongoDB.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaderboardIndex {
+
+    static final Comparator<Standing> BY_POINTS_DESC = Comparator
+            .comparingInt(Standing::getTotalPoints).reversed()
+            .thenComparing(Standing::getUserId);
+
+    static final String POLICY_NAME = "leaderboardIndex";
+
+    private final MongoTemplate mongoTemplate;
+    private final CachePolicyProperties cachePolicies;
+    private final Map<String, OrganizationRanking> rankings = new ConcurrentHashMap<>();
+    private final Map<MonthKey, OrganizationRanking> monthlyRankings = new ConcurrentHashMap<>();
+
+    /**
+     * Insert or refresh a user's standing after their points or profile changed.
+     * Writers finishing out of order must not put an older copy back over a newer one,
+     * so a standing read at a lower version than the indexed one is ignored.
+     */
+    public void update(User user) {
+        if (user.getId() == null || user.getOrganizationId() == null) {
+            return;
+        }
+        Standing standing = Standing.of(user);
+        while (!ranking(user.getOrganizationId()).put(standing, version(user))) {
+            // Retired by a reload in the meantime; the reloaded ranking is registered by now
+        }
+    }
+
+    /**
+     * Drop an organization so it is reloaded from MongoDB on next access.
+     */
+    public void evict(String organizationId) {
+        rankings.remove(organizationId);
+        monthlyRankings.keySet().removeIf(key -> key.getOrganizationId().equals(organizationId));
+    }
+
+    /**
+     * Drop one month of an organization so it is reloaded from MongoDB on next access.
+     */
+    public void evictMonthly(String organizationId, YearMonth month) {
+        monthlyRankings.remove(new MonthKey(organizationId, month));
+    }
+
+    public int size(String organizationId) {
+        return ranking(organizationId).size();
+    }
+
+    /**
+     * Standings in leaderboard order starting at a zero-based offset.
+     */
+    public List<Standing> page(String organizationId, long offset, int limit) {
+        if (offset > Integer.MAX_VALUE) {
+            return List.of();
+        }
+        return ranking(organizationId).range((int) offset, limit);
+    }
+
+    public Optional<Standing> get(String organizationId, String userId) {
+        return ranking(organizationId).get(userId);
+    }
+
+    /**
+     * Zero-based index of the user in leaderboard order, or -1 if not indexed.
+     */
+    public int indexOf(String organizationId, String userId) {
+        return ranking(organizationId).indexOf(userId);
+    }
+
+    /**
+     * Number of users with strictly more points than the given value.
+     */
+    public int countAbove(String organizationId, int points) {
+        return ranking(organizationId).countAbove(points);
+    }
+
+    /**
+     * Position, total count and the users within {@code range} places of the given user,
+     * read under a single lock so all three are mutually consistent.
+     */
+    public Optional<Neighbourhood<Standing>> neighbourhood(String organizationId, String userId, int range) {
+        return ranking(organizationId).neighbourhood(userId, Math.max(0, range));
+    }
+
+    /**
+     * Record a user's authoritative points total for a month.
+     */
+    public void updateMonthly(String organizationId, YearMonth month, String userId, int monthlyPoints) {
+        Standing standing = Standing.points(userId, monthlyPoints);
+        while (!monthlyRanking(organizationId, month).put(standing)) {
+            // Retired by a reload in the meantime; the reloaded ranking is registered by now
+        }
+    }
+
+    /**
+     * Number of users who earned points in the given month.
+     */
+    public int monthlySize(String organizationId, YearMonth month) {
+        return monthlyRanking(organizationId, month).size();
+    }
+
+    /**
+     * Zero-based index of the user in the month's leaderboard order, or -1 if they earned no points in it.
+     */
+    public int monthlyIndexOf(String organizationId, YearMonth month, String userId) {
+        return monthlyRanking(organizationId, month).indexOf(userId);
+    }
+
+    public int monthlyPoints(String organizationId, YearMonth month, String userId) {
+        return monthlyRanking(organizationId, month).get(userId).map(Standing::getTotalPoints).orElse(0);
+    }
+
+    /**
+     * Monthly standings in leaderboard order starting at a zero-based offset,
+     * joined with each user's all-time standing for display fields.
+     */
+    public List<MonthlyStanding> monthlyPage(String organizationId, YearMonth month, long offset, int limit) {
+        if (offset > Integer.MAX_VALUE) {
+            return List.of();
+        }
+        return join(organizationId, monthlyRanking(organizationId, month).range((int) offset, limit));
+    }
+
+    /**
+     * Monthly counterpart of {@link #neighbourhood}. Users without points in the month
+     * are placed after every participant, next to the bottom of the monthly leaderboard;
+     * {@code totalUsers} counts every user in the organization.
+     */
+    public Optional<Neighbourhood<MonthlyStanding>> monthlyNeighbourhood(String organizationId, YearMonth month,
+                                                                         String userId, int range) {
+        OrganizationRanking ranking = monthlyRanking(organizationId, month);
+        Optional<Neighbourhood<Standing>> found = ranking.neighbourhood(userId, Math.max(0, range));
+        if (found.isPresent()) {
+            Neighbourhood<Standing> raw = found.get();
+            return Optional.of(new Neighbourhood<>(join(organizationId, raw.getStanding()), raw.getPosition(),
+                    size(organizationId), raw.getFirstIndex(), join(organizationId, raw.getNeighbours())));
+        }
+        return get(organizationId, userId).map(standing -> {
+            int participants = ranking.size();
+            int firstIndex = Math.max(0, participants - Math.max(0, range));
+            return new Neighbourhood<>(new MonthlyStanding(standing, 0), participants + 1, size(organizationId),
+                    firstIndex, join(organizationId, ranking.range(firstIndex, participants - firstIndex)));
+        });
+    }
+
+    private List<MonthlyStanding> join(String organizationId, List<Standing> monthly) {
+        List<MonthlyStanding> joined = new ArrayList<>(monthly.size());
+        for (Standing standing : monthly) {
+            joined.add(join(organizationId, standing));
+        }
+        return joined;
+    }
+
+    private MonthlyStanding join(String organizationId, Standing monthly) {
+        Standing standing = get(organizationId, monthly.getUserId())
+                .orElseGet(() -> Standing.points(monthly.getUserId(), 0));
+        return new MonthlyStanding(standing, monthly.getTotalPoints());
+    }
+
+    /**
+     * The organization's ranking, loaded on first access. Empty rankings are kept too, so an
+     * organization or month without users is read once rather than on every lookup; users
+     * written later are added through {@link #update}, and deleted organizations are dropped
+     * by {@link #evict}.
+     */
+    private OrganizationRanking ranking(String organizationId) {
+        return fresh(rankings, organizationId, rankings.computeIfAbsent(organizationId, this::load), this::load);
+    }
+
+    private OrganizationRanking monthlyRanking(String organizationId, YearMonth month) {
+        MonthKey key = new MonthKey(organizationId, month);
+        YearMonth oldestKept = YearMonth.now().minusMonths(1);
+        if (month.isBefore(oldestKept)) {
+            return loadMonth(key);
+        }
+        if (!monthlyRankings.containsKey(key)) {
+            // A month not yet kept may be a new one, so drop those that fell out of range
+            monthlyRankings.keySet().removeIf(kept -> kept.getMonth().isBefore(oldestKept));
+        }
+        return fresh(monthlyRankings, key, monthlyRankings.computeIfAbsent(key, this::loadMonth), this::loadMonth);
+    }
+
+    /**
+     * The ranking, or its reload once it has expired. One caller reloads while the others keep
+     * reading the expired ranking; the reload replaces it and takes over the writes made to it
+     * meanwhile, so a concurrent update is not lost. A failed reload keeps the expired ranking.
+     */
+    private <K> OrganizationRanking fresh(Map<K, OrganizationRanking> kept, K key, OrganizationRanking ranking,
+                                          Function<K, OrganizationRanking> loader) {
+        if (!ranking.isExpired(cachePolicies.policyFor(POLICY_NAME).getExpireAfterWrite()) || !ranking.claimReload()) {
+            return ranking;
+        }
+        OrganizationRanking reloaded;
+        try {
+            reloaded = loader.apply(key);
+        } catch (RuntimeException e) {
+            log.warn("Reloading leaderboard index {} failed, keeping the loaded one: {}", key, e.getMessage());
+            ranking.releaseReload();
+            return ranking;
+        }
+        boolean replaced = kept.replace(key, ranking, reloaded);
+        ranking.retireInto(reloaded);
+        // Not replaced when it was evicted meanwhile, so the reload may already be out of date
+        return replaced ? reloaded : kept.computeIfAbsent(key, loader);
+    }
+
+    private OrganizationRanking loadMonth(MonthKey key) {
+        OrganizationRanking ranking = new OrganizationRanking();
+        Query query = new Query(Criteria.where("organizationId").is(key.getOrganizationId())
+                .and("month").is(key.getMonth().toString()));
+        query.fields().include("userId", "points");
+        try (Stream<MonthlyPoints> entries = mongoTemplate.stream(query, MonthlyPoints.class)) {
+            entries.forEach(entry -> ranking.put(Standing.points(entry.getUserId(), entry.getPoints())));
+        }
+        log.debug("Loaded monthly leaderboard index for organization {} and month {} ({} users)",
+                key.getOrganizationId(), key.getMonth(), ranking.size());
+        return ranking;
+    }
+
+    private OrganizationRanking load(String organizationId) {
+        OrganizationRanking ranking = new OrganizationRanking();
+        Query query = standingQuery(new Query(Criteria.where("organizationId").is(organizationId)));
+        try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+            users.forEach(user -> ranking.put(Standing.of(user), version(user)));
+        }
+        log.debug("Loaded leaderboard index for organization {} ({} users)", organizationId, ranking.size());
+        return ranking;
+    }
+
+    private static Query standingQuery(Query query) {
+        query.fields().include("organizationId", "employeeId", "name", "surname", "totalPoints", "currentRankId", "version");
+        return query;
+    }
+
+    private static long version(User user) {
+        return user.getVersion() != null ? user.getVersion() : 0L;
+    }
+
+    /**
+     * Lightweight, immutable view of a user's leaderboard-relevant fields.
+     */
+    @Value
+    public static class Standing {
+        String userId;
+        int totalPoints;
+        String name;
+        String surname;
+        String employeeId;
+        String currentRankId;
+
+        static Standing of(User user) {
+            return new Standing(user.getId(),
+                    user.getTotalPoints() != null ? user.getTotalPoints() : 0,
+                    user.getName(), user.getSurname(), user.getEmployeeId(), user.getCurrentRankId());
+        }
+
+        static Standing points(String userId, Integer points) {
+            return new Standing(userId, points != null ? points : 0, null, null, null, null);
+        }
+
+        static Standing probe(int totalPoints) {
+            return points("", totalPoints);
+        }
+    }
+
+    /**
+     * A user's all-time standing paired with the points earned in one month.
+     */
+    @Value
+    public static class MonthlyStanding {
+        Standing standing;
+        int monthlyPoints;
+    }
+
+    /**
+     * A user's standing together with its surrounding window in leaderboard order.
+     * {@code position} is competition-ranked (ties share a position); {@code firstIndex}
+     * is the zero-based leaderboard index of the first neighbour.
+     */
+    @Value
+    public static class Neighbourhood<T> {
+        T standing;
+        int position;
+        int totalUsers;
+        int firstIndex;
+        List<T> neighbours;
+    }
+
+    @Value
+    private static class MonthKey {
+        String organizationId;
+        YearMonth month;
+    }
+
+    /**
+     * Per-organization ranking guarded by a read/write lock. All-time rankings also keep
+     * the user version each standing was read at; monthly rankings hold authoritative
+     * totals and are written without one. A ranking replaced by its reload is retired and
+     * refuses further writes, so writers look the current one up again.
+     */
+    static final class OrganizationRanking {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Standing> byUserId = new HashMap<>();
+        private final Map<String, Long> versions = new HashMap<>();
+        private final OrderStatisticTree<Standing> tree = new OrderStatisticTree<>(BY_POINTS_DESC);
+        private final long loadedAt = System.nanoTime();
+        private final AtomicBoolean reloading = new AtomicBoolean();
+        private boolean retired;
+
+        /**
+         * Put the standing; {@code false} if this ranking was retired and nothing was written.
+         */
+        boolean put(Standing standing) {
+            lock.writeLock().lock();
+            try {
+                if (retired) {
+                    return false;
+                }
+                replace(standing);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Put the standing unless the indexed one was read at a newer version;
+         * {@code false} if this ranking was retired and nothing was written.
+         */
+        boolean put(Standing standing, long version) {
+            lock.writeLock().lock();
+            try {
+                if (retired) {
+                    return false;
+                }
+                Long indexed = versions.get(standing.getUserId());
+                if (indexed == null || indexed <= version) {
+                    versions.put(standing.getUserId(), version);
+                    replace(standing);
+                }
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void putIfHigher(Standing standing) {
+            lock.writeLock().lock();
+            try {
+                Standing current = byUserId.get(standing.getUserId());
+                if (current == null || current.getTotalPoints() < standing.getTotalPoints()) {
+                    replace(standing);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        boolean isExpired(Duration expireAfterWrite) {
+            return expireAfterWrite != null && System.nanoTime() - loadedAt >= expireAfterWrite.toNanos();
+        }
+
+        boolean claimReload() {
+            return reloading.compareAndSet(false, true);
+        }
+
+        void releaseReload() {
+            reloading.set(false);
+        }
+
+        /**
+         * Retire this ranking in favour of its reload, carrying over the writes the reload may
+         * have missed: standings at a newer version than the reloaded ones and users added
+         * meanwhile. Monthly totals only grow between repairs, so the higher one is kept.
+         */
+        void retireInto(OrganizationRanking reloaded) {
+            lock.writeLock().lock();
+            try {
+                retired = true;
+                for (Standing standing : byUserId.values()) {
+                    Long version = versions.get(standing.getUserId());
+                    if (version != null) {
+                        reloaded.put(standing, version);
+                    } else {
+                        reloaded.putIfHigher(standing);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void replace(Standing standing) {
+            Standing previous = byUserId.put(standing.getUserId(), standing);
+            if (previous != null) {
+                tree.remove(previous);
+            }
+            tree.add(standing);
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return tree.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Standing> range(int from, int count) {
+            lock.readLock().lock();
+            try {
+                return tree.range(from, count);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Optional<Standing> get(String userId) {
+            lock.readLock().lock();
+            try {
+                return Optional.ofNullable(byUserId.get(userId));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int indexOf(String userId) {
+            lock.readLock().lock();
+            try {
+                Standing standing = byUserId.get(userId);
+                return standing != null ? tree.rank(standing) : -1;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Optional<Neighbourhood<Standing>> neighbourhood(String userId, int range) {
+            lock.readLock().lock();
+            try {
+                Standing standing = byUserId.get(userId);
+                if (standing == null) {
+                    return Optional.empty();
+                }
+                int index = tree.rank(standing);
+                int firstIndex = Math.max(0, index - range);
+                int lastIndex = Math.min(tree.size() - 1, index + range);
+                return Optional.of(new Neighbourhood<>(
+                        standing,
+                        tree.rank(Standing.probe(standing.getTotalPoints())) + 1,
+                        tree.size(),
+                        firstIndex,
+                        tree.range(firstIndex, lastIndex - firstIndex + 1)));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int countAbove(int points) {
+            lock.readLock().lock();
+            try {
+                return tree.rank(Standing.probe(points));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
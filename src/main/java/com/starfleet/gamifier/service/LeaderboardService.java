@@ -4,6 +4,7 @@ import com.starfleet.gamifier.controller.dto.LeaderboardResponses.LeaderboardEnt
 import com.starfleet.gamifier.controller.dto.LeaderboardResponses.LeaderboardStatistics;
 import com.starfleet.gamifier.controller.dto.LeaderboardResponses.UserLeaderboardPosition;
 import com.starfleet.gamifier.controller.dto.LeaderboardResponses.DepartmentStats;
+import com.starfleet.gamifier.config.CacheReloader;
 import com.starfleet.gamifier.domain.Organization;
 import com.starfleet.gamifier.domain.User;
 import com.starfleet.gamifier.repository.UserRepository;
@@ -12,9 +13,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.YearMonth;
@@ -24,58 +23,74 @@ import java.util.stream.Collectors;
 /**
  * Service for Leaderboard operations and ranking calculations.
  * Provides monthly, all-time, and department-based leaderboards.
+ * Also reloads its cached leaderboards and statistics when they are refreshed in the background.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class LeaderboardService {
+public class LeaderboardService implements CacheReloader {
+
+    static final int DEFAULT_NEIGHBOURHOOD_RANGE = 5;
 
     private final UserRepository userRepository;
-    private final UserService userService;
-    private final OrganizationService organizationService;
+    private final OrganizationSnapshotCache organizationSnapshots;
+    private final LeaderboardIndex leaderboardIndex;
 
     /**
      * Get monthly leaderboard based on points earned in specific month.
-     * Note: Currently uses total points as monthly points aren't tracked separately.
-     * TODO: Implement monthly point tracking for accurate monthly leaderboards.
+     * Only users who earned points in the month are listed; served from the
+     * monthly rankings in {@link LeaderboardIndex}.
      */
-    @Cacheable(value = "monthlyLeaderboard", key = "#organizationId + '-' + #month + '-' + #pageable.pageNumber")
+    @Cacheable(value = "monthlyLeaderboard", key = "T(com.starfleet.gamifier.service.LeaderboardCacheKey).monthly(#organizationId, #month, #pageable)")
+    @TimedOperation
     public Page<LeaderboardEntry> getMonthlyLeaderboard(String organizationId, YearMonth month, Pageable pageable) {
         log.debug("Getting monthly leaderboard for organization {} and month {}", organizationId, month);
 
-        // For now, return all-time leaderboard as monthly points aren't tracked
-        // TODO: Implement monthly point tracking
-        return getAllTimeLeaderboard(organizationId, pageable);
+        List<LeaderboardIndex.MonthlyStanding> standings = leaderboardIndex.monthlyPage(
+            organizationId, month, pageable.getOffset(), pageable.getPageSize());
+        OrganizationSnapshot organization = organizationSnapshots.get(organizationId);
+
+        List<LeaderboardEntry> entries = new ArrayList<>(standings.size());
+        for (int i = 0; i < standings.size(); i++) {
+            LeaderboardIndex.MonthlyStanding standing = standings.get(i);
+            entries.add(createLeaderboardEntry(standing.getStanding(), standing.getMonthlyPoints(), organization,
+                (int) pageable.getOffset() + i + 1));
+        }
+
+        return new PageImpl<>(entries, pageable, leaderboardIndex.monthlySize(organizationId, month));
     }
 
     /**
      * Get all-time leaderboard based on total points.
+     * Served from the in-memory {@link LeaderboardIndex}, so deep pages cost O(log n) rather than a skip scan.
      */
-    @Cacheable(value = "allTimeLeaderboard", key = "#organizationId + '-' + #pageable.pageNumber")
+    @Cacheable(value = "allTimeLeaderboard", key = "T(com.starfleet.gamifier.service.LeaderboardCacheKey).allTime(#organizationId, #pageable)")
+    @TimedOperation
     public Page<LeaderboardEntry> getAllTimeLeaderboard(String organizationId, Pageable pageable) {
         log.debug("Getting all-time leaderboard for organization {}", organizationId);
 
-        // Create pageable with total points sorting
-        Pageable sortedPageable = PageRequest.of(
-            pageable.getPageNumber(),
-            pageable.getPageSize(),
-            Sort.by(Sort.Direction.DESC, "totalPoints")
-        );
+        List<LeaderboardIndex.Standing> standings = leaderboardIndex.page(
+            organizationId, pageable.getOffset(), pageable.getPageSize());
+        OrganizationSnapshot organization = organizationSnapshots.get(organizationId);
 
-        Page<User> users = userRepository.findByOrganizationId(organizationId, sortedPageable);
-        Organization organization = organizationService.getOrganization(organizationId);
+        YearMonth currentMonth = YearMonth.now();
 
-        List<LeaderboardEntry> entries = users.getContent().stream()
-            .map(user -> createLeaderboardEntry(user, organization, users.getContent().indexOf(user) + 1 + (pageable.getPageNumber() * pageable.getPageSize())))
-            .collect(Collectors.toList());
+        List<LeaderboardEntry> entries = new ArrayList<>(standings.size());
+        for (int i = 0; i < standings.size(); i++) {
+            LeaderboardIndex.Standing standing = standings.get(i);
+            int monthlyPoints = leaderboardIndex.monthlyPoints(organizationId, currentMonth, standing.getUserId());
+            entries.add(createLeaderboardEntry(standing, monthlyPoints, organization, (int) pageable.getOffset() + i + 1));
+        }
 
-        return new PageImpl<>(entries, pageable, users.getTotalElements());
+        return new PageImpl<>(entries, pageable, leaderboardIndex.size(organizationId));
     }
 
     /**
      * Get department-based monthly leaderboard.
      * Note: Department filtering not implemented as User doesn't have department field.
      */
+    @Cacheable(value = "monthlyLeaderboard",
+               key = "T(com.starfleet.gamifier.service.LeaderboardCacheKey).monthly(#organizationId, #month, #pageable).withDepartment(#department)")
     public Page<LeaderboardEntry> getDepartmentMonthlyLeaderboard(String organizationId, String department,
                                                                   YearMonth month, Pageable pageable) {
         log.warn("Department filtering not implemented - User entity lacks department field. Returning all users.");
@@ -86,6 +101,8 @@ public class LeaderboardService {
      * Get department-based all-time leaderboard.
      * Note: Department filtering not implemented as User doesn't have department field.
      */
+    @Cacheable(value = "allTimeLeaderboard",
+               key = "T(com.starfleet.gamifier.service.LeaderboardCacheKey).allTime(#organizationId, #pageable).withDepartment(#department)")
     public Page<LeaderboardEntry> getDepartmentAllTimeLeaderboard(String organizationId, String department,
                                                                   Pageable pageable) {
         log.warn("Department filtering not implemented - User entity lacks department field. Returning all users.");
@@ -93,43 +110,82 @@ public class LeaderboardService {
     }
 
     /**
-     * Get user's position in monthly leaderboard.
+     * Get user's position in monthly leaderboard with the default neighbourhood range.
      */
     public UserLeaderboardPosition getUserMonthlyPosition(String organizationId, String userId, YearMonth month) {
+        return getUserMonthlyPosition(organizationId, userId, month, DEFAULT_NEIGHBOURHOOD_RANGE);
+    }
+
+    /**
+     * Get user's position in monthly leaderboard together with the users
+     * {@code range} places above and below.
+     */
+    @TimedOperation
+    public UserLeaderboardPosition getUserMonthlyPosition(String organizationId, String userId, YearMonth month, int range) {
         log.debug("Getting monthly position for user {} in organization {}", userId, organizationId);
 
-        // For now, return all-time position as monthly points aren't tracked
-        return getUserAllTimePosition(organizationId, userId);
+        LeaderboardIndex.Neighbourhood<LeaderboardIndex.MonthlyStanding> neighbourhood = leaderboardIndex
+            .monthlyNeighbourhood(organizationId, month, userId, range)
+            .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+        OrganizationSnapshot organization = organizationSnapshots.get(organizationId);
+
+        List<LeaderboardEntry> nearbyUsers = new ArrayList<>(neighbourhood.getNeighbours().size());
+        for (int i = 0; i < neighbourhood.getNeighbours().size(); i++) {
+            LeaderboardIndex.MonthlyStanding standing = neighbourhood.getNeighbours().get(i);
+            nearbyUsers.add(createLeaderboardEntry(standing.getStanding(), standing.getMonthlyPoints(), organization,
+                neighbourhood.getFirstIndex() + i + 1));
+        }
+
+        LeaderboardIndex.Standing targetUser = neighbourhood.getStanding().getStanding();
+
+        UserLeaderboardPosition result = new UserLeaderboardPosition();
+        result.setUserId(userId);
+        result.setPosition(neighbourhood.getPosition());
+        result.setTotalUsers(neighbourhood.getTotalUsers());
+        result.setTotalPoints(targetUser.getTotalPoints());
+        result.setCurrentRank(getCurrentRankName(targetUser.getCurrentRankId(), organization));
+        result.setNearbyUsers(nearbyUsers);
+
+        return result;
     }
 
     /**
-     * Get user's position in all-time leaderboard.
+     * Get user's position in all-time leaderboard with the default neighbourhood range.
      */
     public UserLeaderboardPosition getUserAllTimePosition(String organizationId, String userId) {
-        log.debug("Getting all-time position for user {} in organization {}", userId, organizationId);
-
-        User targetUser = userService.getUser(userId);
-        Integer userPoints = targetUser.getTotalPoints();
-
-        // Count users with higher points
-        long higherRankedUsers = userRepository.countByOrganizationIdAndTotalPointsGreaterThan(organizationId, userPoints);
-        int position = (int) higherRankedUsers + 1;
+        return getUserAllTimePosition(organizationId, userId, DEFAULT_NEIGHBOURHOOD_RANGE);
+    }
 
-        // Get total users in organization
-        long totalUsers = userRepository.countByOrganizationId(organizationId);
+    /**
+     * Get user's position in all-time leaderboard together with the users
+     * {@code range} places above and below, answered by a single index lookup.
+     */
+    @TimedOperation
+    public UserLeaderboardPosition getUserAllTimePosition(String organizationId, String userId, int range) {
+        log.debug("Getting all-time position for user {} in organization {}", userId, organizationId);
 
-        // Get nearby users (5 above and 5 below)
-        List<LeaderboardEntry> nearbyUsers = getNearbyUsers(organizationId, position, 5);
+        LeaderboardIndex.Neighbourhood<LeaderboardIndex.Standing> neighbourhood = leaderboardIndex
+            .neighbourhood(organizationId, userId, range)
+            .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+        OrganizationSnapshot organization = organizationSnapshots.get(organizationId);
+        YearMonth currentMonth = YearMonth.now();
+
+        List<LeaderboardEntry> nearbyUsers = new ArrayList<>(neighbourhood.getNeighbours().size());
+        for (int i = 0; i < neighbourhood.getNeighbours().size(); i++) {
+            LeaderboardIndex.Standing standing = neighbourhood.getNeighbours().get(i);
+            int monthlyPoints = leaderboardIndex.monthlyPoints(organizationId, currentMonth, standing.getUserId());
+            nearbyUsers.add(createLeaderboardEntry(standing, monthlyPoints, organization,
+                neighbourhood.getFirstIndex() + i + 1));
+        }
 
-        Organization organization = organizationService.getOrganization(organizationId);
-        String currentRank = getCurrentRankName(targetUser, organization);
+        LeaderboardIndex.Standing targetUser = neighbourhood.getStanding();
 
         UserLeaderboardPosition result = new UserLeaderboardPosition();
         result.setUserId(userId);
-        result.setPosition(position);
-        result.setTotalUsers((int) totalUsers);
-        result.setTotalPoints(userPoints);
-        result.setCurrentRank(currentRank);
+        result.setPosition(neighbourhood.getPosition());
+        result.setTotalUsers(neighbourhood.getTotalUsers());
+        result.setTotalPoints(targetUser.getTotalPoints());
+        result.setCurrentRank(getCurrentRankName(targetUser.getCurrentRankId(), organization));
         result.setNearbyUsers(nearbyUsers);
 
         return result;
@@ -139,6 +195,7 @@ public class LeaderboardService {
      * Get comprehensive leaderboard statistics for an organization.
      */
     @Cacheable(value = "leaderboardStats", key = "#organizationId")
+    @TimedOperation
     public LeaderboardStatistics getLeaderboardStatistics(String organizationId) {
         log.debug("Calculating leaderboard statistics for organization {}", organizationId);
 
@@ -185,28 +242,56 @@ public class LeaderboardService {
         return stats;
     }
 
+    @Override
+    public Collection<String> reloadableCaches() {
+        return List.of("monthlyLeaderboard", "allTimeLeaderboard", "leaderboardStats");
+    }
+
     /**
-     * Helper method to create LeaderboardEntry from User.
+     * Recompute a cached leaderboard page or statistics entry from its key.
+     * Called on the cache's refresh thread, bypassing the cache proxy.
      */
-    private LeaderboardEntry createLeaderboardEntry(User user, Organization organization, int position) {
+    @Override
+    public Object reload(String cacheName, Object key) {
+        return switch (cacheName) {
+            case "monthlyLeaderboard" -> {
+                LeaderboardCacheKey page = (LeaderboardCacheKey) key;
+                yield page.getDepartment() != null
+                    ? getDepartmentMonthlyLeaderboard(page.getOrganizationId(), page.getDepartment(), page.getPeriod(), page.pageable())
+                    : getMonthlyLeaderboard(page.getOrganizationId(), page.getPeriod(), page.pageable());
+            }
+            case "allTimeLeaderboard" -> {
+                LeaderboardCacheKey page = (LeaderboardCacheKey) key;
+                yield page.getDepartment() != null
+                    ? getDepartmentAllTimeLeaderboard(page.getOrganizationId(), page.getDepartment(), page.pageable())
+                    : getAllTimeLeaderboard(page.getOrganizationId(), page.pageable());
+            }
+            case "leaderboardStats" -> getLeaderboardStatistics((String) key);
+            default -> throw new IllegalArgumentException("Cache not reloadable: " + cacheName);
+        };
+    }
+
+    /**
+     * Helper method to create LeaderboardEntry from an indexed standing.
+     */
+    static LeaderboardEntry createLeaderboardEntry(LeaderboardIndex.Standing standing, int monthlyPoints,
+                                                   OrganizationSnapshot organization, int position) {
         LeaderboardEntry entry = new LeaderboardEntry();
-        entry.setUserId(user.getId());
-        entry.setName(user.getName());
-        entry.setSurname(user.getSurname());
-        entry.setEmployeeId(user.getEmployeeId());
-        entry.setTotalPoints(user.getTotalPoints());
-        entry.setMonthlyPoints(user.getTotalPoints()); // TODO: Implement monthly points tracking
+        entry.setUserId(standing.getUserId());
+        entry.setName(standing.getName());
+        entry.setSurname(standing.getSurname());
+        entry.setEmployeeId(standing.getEmployeeId());
+        entry.setTotalPoints(standing.getTotalPoints());
+        entry.setMonthlyPoints(monthlyPoints);
         entry.setPosition(position);
         entry.setDepartment("General"); // TODO: Add department field to User
 
-        String currentRank = getCurrentRankName(user, organization);
+        String currentRank = getCurrentRankName(standing.getCurrentRankId(), organization);
         entry.setCurrentRank(currentRank);
 
         // Get rank insignia
-        String insignia = organization.getRankConfigurations().stream()
-            .filter(rank -> rank.getId().equals(user.getCurrentRankId()))
+        String insignia = organization.rank(standing.getCurrentRankId())
             .map(Organization.RankConfiguration::getInsignia)
-            .findFirst()
             .orElse("");
         entry.setInsignia(insignia);
 
@@ -216,32 +301,16 @@ public class LeaderboardService {
     /**
      * Helper method to get current rank name.
      */
-    private String getCurrentRankName(User user, Organization organization) {
-        if (user.getCurrentRankId() == null) {
+    private static String getCurrentRankName(String currentRankId, OrganizationSnapshot organization) {
+        if (currentRankId == null) {
             return "Unranked";
         }
 
-        return organization.getRankConfigurations().stream()
-            .filter(rank -> rank.getId().equals(user.getCurrentRankId()))
+        return organization.rank(currentRankId)
             .map(Organization.RankConfiguration::getName)
-            .findFirst()
             .orElse("Unknown Rank");
     }
 
-    /**
-     * Helper method to get nearby users around a specific position.
-     */
-    private List<LeaderboardEntry> getNearbyUsers(String organizationId, int position, int range) {
-        int startPosition = Math.max(1, position - range);
-        int pageSize = range * 2 + 1;
-        int pageNumber = Math.max(0, (startPosition - 1) / pageSize);
-
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(Sort.Direction.DESC, "totalPoints"));
-        Page<LeaderboardEntry> leaderboard = getAllTimeLeaderboard(organizationId, pageable);
-
-        return leaderboard.getContent();
-    }
-
     /**
      * Helper method to create empty statistics.
      */
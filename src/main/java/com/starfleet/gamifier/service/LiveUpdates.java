@@ -0,0 +1,319 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.config.LiveUpdateProperties;
+import com.starfleet.gamifier.domain.Event;
+import com.starfleet.gamifier.domain.EventType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes new feed events to their user and coalesced leaderboard changes to everyone in the
+ * organization over server-sent events, so connected clients need not poll.
+ * Stored events are picked up as they are saved. Each connection buffers what is waiting to
+ * be written: feed events up to a bound, dropping the oldest, and leaderboard changes merged
+ * per user. A connection that lost updates is sent a {@code resync} event naming the stream
+ * to refetch. Only events stored by this node are pushed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveUpdates extends AbstractMongoEventListener<Event> {
+
+    static final String FEED = "feed";
+    static final String LEADERBOARD = "leaderboard";
+    static final String RESYNC = "resync";
+
+    private static final Set<EventType> LEADERBOARD_EVENTS = Set.of(EventType.POINTS_AWARDED, EventType.RANK_PROMOTED);
+
+    private final LeaderboardIndex leaderboardIndex;
+    private final LiveUpdateProperties properties;
+
+    private final Map<String, Set<Subscriber>> byOrganization = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> changedUsers = new ConcurrentHashMap<>();
+    private ScheduledExecutorService ticker;
+    private ThreadPoolTaskExecutor sender;
+
+    @PostConstruct
+    void start() {
+        sender = new ThreadPoolTaskExecutor();
+        sender.setCorePoolSize(Math.max(1, properties.getSenderThreads()));
+        sender.setMaxPoolSize(Math.max(1, properties.getSenderThreads()));
+        sender.setThreadNamePrefix("live-send-");
+        sender.initialize();
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-updates");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long leaderboardMillis = Math.max(1, properties.getLeaderboardInterval().toMillis());
+        ticker.scheduleWithFixedDelay(this::pushLeaderboardChanges, leaderboardMillis, leaderboardMillis, TimeUnit.MILLISECONDS);
+        long heartbeatMillis = Math.max(1, properties.getHeartbeatInterval().toMillis());
+        ticker.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+        byOrganization.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        sender.shutdown();
+    }
+
+    /**
+     * Open a stream of the user's new feed events and the organization's leaderboard changes.
+     */
+    public SseEmitter subscribe(String organizationId, String userId) {
+        SseEmitter emitter = new SseEmitter(properties.getConnectionTimeout().toMillis());
+        register(new Subscriber(organizationId, userId, emitter,
+                properties.getBufferSize(), properties.getMaxLeaderboardChanges()));
+        return emitter;
+    }
+
+    void register(Subscriber subscriber) {
+        byOrganization.computeIfAbsent(subscriber.organizationId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        Runnable unregister = () -> unregister(subscriber);
+        subscriber.emitter.onCompletion(unregister);
+        subscriber.emitter.onTimeout(unregister);
+        subscriber.emitter.onError(error -> unregister.run());
+    }
+
+    private void unregister(Subscriber subscriber) {
+        byOrganization.computeIfPresent(subscriber.organizationId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    int connectionCount() {
+        return byOrganization.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Event> saved) {
+        Event event = saved.getSource();
+        Set<Subscriber> subscribers = event.getOrganizationId() == null ? null : byOrganization.get(event.getOrganizationId());
+        if (subscribers == null) {
+            return;
+        }
+
+        if (event.getUserId() != null) {
+            for (Subscriber subscriber : subscribers) {
+                if (event.getUserId().equals(subscriber.userId)) {
+                    subscriber.offer(event);
+                    schedule(subscriber);
+                }
+            }
+            if (LEADERBOARD_EVENTS.contains(event.getEventType())) {
+                // Added under compute, so the set cannot be taken by pushLeaderboardChanges mid-add
+                changedUsers.compute(event.getOrganizationId(), (id, userIds) -> {
+                    Set<String> changed = userIds != null ? userIds : new HashSet<>();
+                    changed.add(event.getUserId());
+                    return changed;
+                });
+            }
+        }
+    }
+
+    /**
+     * Turn the users whose points or rank changed since the last run into one delta per
+     * organization, read from the in-memory leaderboard, and queue it on every connection.
+     */
+    void pushLeaderboardChanges() {
+        try {
+            for (String organizationId : List.copyOf(changedUsers.keySet())) {
+                Set<String> userIds = changedUsers.remove(organizationId);
+                Set<Subscriber> subscribers = byOrganization.get(organizationId);
+                if (userIds == null || subscribers == null) {
+                    continue;
+                }
+
+                List<LeaderboardChange> changes = new ArrayList<>(userIds.size());
+                for (String userId : userIds) {
+                    leaderboardIndex.get(organizationId, userId).ifPresent(standing -> changes.add(new LeaderboardChange(
+                            standing.getUserId(), standing.getName(), standing.getSurname(), standing.getTotalPoints(),
+                            leaderboardIndex.countAbove(organizationId, standing.getTotalPoints()) + 1,
+                            standing.getCurrentRankId())));
+                }
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.offer(changes);
+                    schedule(subscriber);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to push leaderboard changes: {}", e.getMessage());
+        }
+    }
+
+    private void heartbeat() {
+        byOrganization.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            subscriber.requestHeartbeat();
+            schedule(subscriber);
+        }));
+    }
+
+    /**
+     * Write what is waiting on a connection, with at most one writer per connection at a time.
+     */
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Pending pending;
+            while (!(pending = subscriber.take()).isEmpty()) {
+                send(subscriber.emitter, pending);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Closing live connection of user {}: {}", subscriber.userId, e.getMessage());
+            unregister(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // Anything offered after the last take but before the flag was cleared
+        if (subscriber.hasPending()) {
+            schedule(subscriber);
+        }
+    }
+
+    private static void send(SseEmitter emitter, Pending pending) throws IOException {
+        if (pending.feedDropped) {
+            emitter.send(SseEmitter.event().name(RESYNC).data(FEED));
+        }
+        for (Event event : pending.events) {
+            emitter.send(SseEmitter.event().name(FEED).id(event.getId()).data(event));
+        }
+        if (pending.leaderboardOverflowed) {
+            emitter.send(SseEmitter.event().name(RESYNC).data(LEADERBOARD));
+        } else if (!pending.leaderboard.isEmpty()) {
+            emitter.send(SseEmitter.event().name(LEADERBOARD).data(pending.leaderboard));
+        }
+        if (pending.heartbeat) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    /**
+     * A user's new points total and position on the all-time leaderboard; tied users share a position.
+     */
+    @Value
+    public static class LeaderboardChange {
+        String userId;
+        String name;
+        String surname;
+        int totalPoints;
+        int position;
+        String currentRankId;
+    }
+
+    /**
+     * One connection and what is waiting to be written to it.
+     */
+    static final class Subscriber {
+        private final String organizationId;
+        private final String userId;
+        private final SseEmitter emitter;
+        private final int bufferSize;
+        private final int maxLeaderboardChanges;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private final ArrayDeque<Event> events = new ArrayDeque<>();
+        private boolean feedDropped;
+        private final Map<String, LeaderboardChange> leaderboard = new LinkedHashMap<>();
+        private boolean leaderboardOverflowed;
+        private boolean heartbeat;
+
+        Subscriber(String organizationId, String userId, SseEmitter emitter, int bufferSize, int maxLeaderboardChanges) {
+            this.organizationId = organizationId;
+            this.userId = userId;
+            this.emitter = emitter;
+            this.bufferSize = Math.max(1, bufferSize);
+            this.maxLeaderboardChanges = Math.max(1, maxLeaderboardChanges);
+        }
+
+        synchronized void offer(Event event) {
+            if (events.size() == bufferSize) {
+                events.pollFirst();
+                feedDropped = true;
+            }
+            events.addLast(event);
+        }
+
+        synchronized void offer(Collection<LeaderboardChange> changes) {
+            if (leaderboardOverflowed) {
+                return;
+            }
+            for (LeaderboardChange change : changes) {
+                leaderboard.put(change.getUserId(), change);
+            }
+            if (leaderboard.size() > maxLeaderboardChanges) {
+                leaderboard.clear();
+                leaderboardOverflowed = true;
+            }
+        }
+
+        synchronized void requestHeartbeat() {
+            heartbeat = true;
+        }
+
+        synchronized boolean hasPending() {
+            return !events.isEmpty() || feedDropped || !leaderboard.isEmpty() || leaderboardOverflowed || heartbeat;
+        }
+
+        synchronized Pending take() {
+            boolean anythingElse = !events.isEmpty() || feedDropped || !leaderboard.isEmpty() || leaderboardOverflowed;
+            Pending pending = new Pending(List.copyOf(events), feedDropped, List.copyOf(leaderboard.values()),
+                    leaderboardOverflowed, heartbeat && !anythingElse);
+            events.clear();
+            feedDropped = false;
+            leaderboard.clear();
+            leaderboardOverflowed = false;
+            heartbeat = false;
+            return pending;
+        }
+    }
+
+    /**
+     * Everything taken from a connection's buffers for one write. A heartbeat is only sent
+     * when nothing else is, since any write keeps the connection alive.
+     */
+    @Value
+    static class Pending {
+        List<Event> events;
+        boolean feedDropped;
+        List<LeaderboardChange> leaderboard;
+        boolean leaderboardOverflowed;
+        boolean heartbeat;
+
+        boolean isEmpty() {
+            return events.isEmpty() && !feedDropped && leaderboard.isEmpty() && !leaderboardOverflowed && !heartbeat;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.config.OptimisticRetryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Runs a read-modify-write against a versioned aggregate and repeats it, with a short jittered
+ * backoff, while a concurrent writer wins the version check. Every attempt must reload what it
+ * modifies and must not have side effects before its versioned write.
+ * Retries and conflicts that exhaust the attempts are counted as
+ * {@code gamifier.optimistic.retries} and {@code gamifier.optimistic.conflicts}, tagged by operation.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OptimisticRetry {
+
+    private final OptimisticRetryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param attempt receives the zero-based attempt number
+     */
+    public <T> T run(String operation, IntFunction<T> attempt) {
+        int maxAttempts = Math.max(1, properties.getMaxAttempts());
+        for (int i = 0; ; i++) {
+            try {
+                return attempt.apply(i);
+            } catch (OptimisticLockingFailureException e) {
+                if (i + 1 >= maxAttempts) {
+                    meterRegistry.counter("gamifier.optimistic.conflicts", "operation", operation).increment();
+                    log.warn("{} still conflicting after {} attempts", operation, maxAttempts);
+                    throw e;
+                }
+                meterRegistry.counter("gamifier.optimistic.retries", "operation", operation).increment();
+                log.debug("{} lost a version check, retrying: {}", operation, e.getMessage());
+                pause(i);
+            }
+        }
+    }
+
+    private void pause(int retry) {
+        long backoff = properties.getBackoff().toMillis() << Math.min(retry, 10);
+        if (backoff <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OptimisticLockingFailureException("Interrupted while waiting to retry", e);
+        }
+    }
+}
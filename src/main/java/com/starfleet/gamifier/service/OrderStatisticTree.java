@@ -0,0 +1,203 @@
+package com.starfleet.gamifier.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Order-statistic tree implemented as a size-augmented treap.
+ * Supports insert, delete, rank-of and select-by-index in O(log n) expected time,
+ * and range reads in O(log n + k). Not thread-safe; callers must synchronize.
+ */
+public final class OrderStatisticTree<E> {
+
+    private final Comparator<? super E> comparator;
+    private final SplittableRandom random = new SplittableRandom();
+    private Node<E> root;
+
+    public OrderStatisticTree(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Insert an element.
+     *
+     * @return false if an equal element is already present
+     */
+    public boolean add(E element) {
+        if (contains(element)) {
+            return false;
+        }
+        Node<E>[] parts = split(root, element, false);
+        root = merge(merge(parts[0], new Node<>(element, random.nextInt())), parts[1]);
+        return true;
+    }
+
+    /**
+     * Remove the element equal to the given one.
+     *
+     * @return false if no equal element was present
+     */
+    public boolean remove(E element) {
+        if (!contains(element)) {
+            return false;
+        }
+        Node<E>[] lower = split(root, element, false);
+        Node<E>[] upper = split(lower[1], element, true);
+        root = merge(lower[0], upper[1]);
+        return true;
+    }
+
+    public boolean contains(E element) {
+        Node<E> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(element, node.value);
+            if (cmp == 0) {
+                return true;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Number of elements strictly less than the given one. For a present element
+     * this is its zero-based index in sorted order.
+     */
+    public int rank(E element) {
+        int rank = 0;
+        Node<E> node = root;
+        while (node != null) {
+            if (comparator.compare(element, node.value) <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Element at the given zero-based index in sorted order.
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Up to {@code count} elements in sorted order starting at zero-based index {@code from}.
+     */
+    public List<E> range(int from, int count) {
+        int start = Math.max(0, from);
+        int end = (int) Math.min((long) start + Math.max(0, count), size());
+        List<E> result = new ArrayList<>(Math.max(0, end - start));
+        collect(root, start, end, result);
+        return result;
+    }
+
+    private void collect(Node<E> node, int from, int to, List<E> out) {
+        if (node == null || from >= to) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (from < leftSize) {
+            collect(node.left, from, Math.min(to, leftSize), out);
+        }
+        if (from <= leftSize && leftSize < to) {
+            out.add(node.value);
+        }
+        if (to > leftSize + 1) {
+            collect(node.right, Math.max(0, from - leftSize - 1), to - leftSize - 1, out);
+        }
+    }
+
+    /**
+     * Split into [elements &lt; key] and [elements &gt;= key], or with {@code inclusive}
+     * into [elements &lt;= key] and [elements &gt; key].
+     */
+    @SuppressWarnings("unchecked")
+    private Node<E>[] split(Node<E> node, E key, boolean inclusive) {
+        if (node == null) {
+            return (Node<E>[]) new Node<?>[]{null, null};
+        }
+        int cmp = comparator.compare(node.value, key);
+        if (cmp < 0 || (inclusive && cmp == 0)) {
+            Node<E>[] parts = split(node.right, key, inclusive);
+            node.right = parts[0];
+            node.update();
+            parts[0] = node;
+            return parts;
+        }
+        Node<E>[] parts = split(node.left, key, inclusive);
+        node.left = parts[1];
+        node.update();
+        parts[1] = node;
+        return parts;
+    }
+
+    private Node<E> merge(Node<E> lower, Node<E> upper) {
+        if (lower == null) {
+            return upper;
+        }
+        if (upper == null) {
+            return lower;
+        }
+        if (lower.priority > upper.priority) {
+            lower.right = merge(lower.right, upper);
+            lower.update();
+            return lower;
+        }
+        upper.left = merge(lower, upper.left);
+        upper.update();
+        return upper;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<E> {
+        private final E value;
+        private final int priority;
+        private int size = 1;
+        private Node<E> left;
+        private Node<E> right;
+
+        private Node(E value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + OrderStatisticTree.size(left) + OrderStatisticTree.size(right);
+        }
+    }
+}
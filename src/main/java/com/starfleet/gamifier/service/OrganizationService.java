@@ -7,6 +7,7 @@ import com.starfleet.gamifier.domain.User;
 import com.starfleet.gamifier.repository.OrganizationRepository;
 import com.starfleet.gamifier.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -26,6 +27,9 @@ public class OrganizationService {
 
     private final OrganizationRepository organizationRepository;
     private final UserRepository userRepository;
+    private final OrganizationSnapshotCache organizationSnapshots;
+    private final LeaderboardIndex leaderboardIndex;
+    private final LeaderboardCacheInvalidator leaderboardCacheInvalidator;
 
     // Organization CRUD operations
     public Organization createOrganization(String name, String federationId, String description) {
@@ -46,18 +50,24 @@ public class OrganizationService {
     }
 
     public Organization getOrganization(String orgId) {
-        return organizationRepository.findById(orgId)
+        Organization organization = organizationRepository.findById(orgId)
                 .orElseThrow(() -> new IllegalArgumentException("Organization not found: " + orgId));
+        // Pin progress bits before any edit can remove or reorder action types
+        organization.assignProgressBits();
+        return organization;
     }
 
     public Organization updateOrganization(String orgId, String name, String description) {
         Organization organization = getOrganization(orgId);
         organization.updateDetails(name, description);
-        return organizationRepository.save(organization);
+        return save(organization);
     }
 
     public void deleteOrganization(String orgId) {
         organizationRepository.deleteById(orgId);
+        organizationSnapshots.evict(orgId);
+        leaderboardIndex.evict(orgId);
+        leaderboardCacheInvalidator.evictOrganization(orgId);
     }
 
     public List<Organization> getAllActiveOrganizations() {
@@ -89,8 +99,8 @@ public class OrganizationService {
                 .build();
 
         organization.getActionTypes().add(actionType);
-        organization.setUpdatedAt(Instant.now());
-        organizationRepository.save(organization);
+        organization.markConfigurationChanged();
+        save(organization);
 
         return actionType;
     }
@@ -121,8 +131,8 @@ public class OrganizationService {
         actionType.setRequiresManagerApproval(requiresManagerApproval != null ? requiresManagerApproval : false);
         actionType.setUpdatedAt(Instant.now());
 
-        organization.setUpdatedAt(Instant.now());
-        organizationRepository.save(organization);
+        organization.markConfigurationChanged();
+        save(organization);
 
         return actionType;
     }
@@ -131,8 +141,8 @@ public class OrganizationService {
         Organization organization = getOrganization(orgId);
 
         organization.getActionTypes().removeIf(at -> at.getId().equals(actionTypeId));
-        organization.setUpdatedAt(Instant.now());
-        organizationRepository.save(organization);
+        organization.markConfigurationChanged();
+        save(organization);
     }
 
     // Mission Type operations
@@ -158,8 +168,8 @@ public class OrganizationService {
                 .build();
 
         organization.getMissionTypes().add(missionType);
-        organization.setUpdatedAt(Instant.now());
-        organizationRepository.save(organization);
+        organization.markConfigurationChanged();
+        save(organization);
 
         return missionType;
     }
@@ -188,8 +198,8 @@ public class OrganizationService {
         missionType.setCategory(category);
         missionType.setUpdatedAt(Instant.now());
 
-        organization.setUpdatedAt(Instant.now());
-        organizationRepository.save(organization);
+        organization.markConfigurationChanged();
+        save(organization);
 
         return missionType;
     }
@@ -198,8 +208,8 @@ public class OrganizationService {
         Organization organization = getOrganization(orgId);
 
         organization.getMissionTypes().removeIf(mt -> mt.getId().equals(missionTypeId));
-        organization.setUpdatedAt(Instant.now());
-        organizationRepository.save(organization);
+        organization.markConfigurationChanged();
+        save(organization);
     }
 
     // Rank Configuration operations
@@ -224,8 +234,8 @@ public class OrganizationService {
                 .build();
 
         organization.getRankConfigurations().add(rank);
-        organization.setUpdatedAt(Instant.now());
-        organizationRepository.save(organization);
+        organization.markConfigurationChanged();
+        save(organization);
 
         return rank;
     }
@@ -254,8 +264,8 @@ public class OrganizationService {
         rank.setOrder(order);
         rank.setUpdatedAt(Instant.now());
 
-        organization.setUpdatedAt(Instant.now());
-        organizationRepository.save(organization);
+        organization.markConfigurationChanged();
+        save(organization);
 
         return rank;
     }
@@ -264,8 +274,8 @@ public class OrganizationService {
         Organization organization = getOrganization(orgId);
 
         organization.getRankConfigurations().removeIf(rc -> rc.getId().equals(rankId));
-        organization.setUpdatedAt(Instant.now());
-        organizationRepository.save(organization);
+        organization.markConfigurationChanged();
+        save(organization);
     }
 
     // Ranking operations
@@ -289,14 +299,13 @@ public class OrganizationService {
     }
 
     /**
-     * Get organization rankings (leaderboard).
+     * Get organization rankings (leaderboard): the top users by total points, read with one
+     * sorted and limited query.
      */
     public List<UserRankSummary> getOrganizationRankings(String organizationId, int limit) {
-        return userRepository.findByOrganizationId(organizationId).stream()
-                .sorted((u1, u2) -> Integer.compare(u2.getTotalPoints(), u1.getTotalPoints()))
-                .limit(limit)
+        Organization organization = getOrganization(organizationId);
+        return userRepository.findByOrganizationIdOrderByTotalPointsDesc(organizationId, Limit.of(limit)).stream()
                 .map(user -> {
-                    Organization organization = getOrganization(user.getOrganizationId());
                     Optional<Organization.RankConfiguration> rank = getCurrentRankConfiguration(user, organization);
 
                     return UserRankSummary.builder()
@@ -350,6 +359,15 @@ public class OrganizationService {
                 .build();
     }
 
+    /**
+     * Persist a configuration change and evict the organization's cached snapshot.
+     */
+    private Organization save(Organization organization) {
+        Organization saved = organizationRepository.save(organization);
+        organizationSnapshots.evict(organization.getId());
+        return saved;
+    }
+
     private Optional<Organization.RankConfiguration> getCurrentRankConfiguration(User user, Organization organization) {
         if (user.getCurrentRankId() == null) {
             return Optional.empty();
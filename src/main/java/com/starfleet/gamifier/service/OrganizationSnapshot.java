@@ -0,0 +1,91 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.domain.Organization;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable view of an organization's configuration at one config version.
+ * Built once per configuration change and shared by every hot path, so resolving action types,
+ * missions and ranks costs a lookup in the organization's index and no MongoDB round trip.
+ * The embedded {@link Organization} is a private copy with unmodifiable lists; treat it as read-only.
+ */
+public final class OrganizationSnapshot {
+
+    @Getter
+    private final Organization organization;
+    @Getter
+    private final long version;
+
+    private OrganizationSnapshot(Organization organization) {
+        this.organization = organization;
+        this.version = organization.getConfigVersion() != null ? organization.getConfigVersion() : 0L;
+    }
+
+    /**
+     * Snapshot a copy of the organization, so later changes to the original are not visible.
+     */
+    public static OrganizationSnapshot of(Organization organization) {
+        return new OrganizationSnapshot(organization.toBuilder()
+                .actionTypes(organization.getActionTypes().stream()
+                        .map(actionType -> actionType.toBuilder()
+                                .captureMethods(copy(actionType.getCaptureMethods()))
+                                .allowedReporters(copy(actionType.getAllowedReporters()))
+                                .build())
+                        .toList())
+                .missionTypes(organization.getMissionTypes().stream()
+                        .map(missionType -> missionType.toBuilder()
+                                .requiredActionTypeIds(missionType.getRequiredActionTypeIds() != null
+                                        ? List.copyOf(missionType.getRequiredActionTypeIds()) : null)
+                                .build())
+                        .toList())
+                .rankConfigurations(organization.getRankConfigurations().stream()
+                        .map(rank -> rank.toBuilder().build())
+                        .toList())
+                .build());
+    }
+
+    public String getOrganizationId() {
+        return organization.getId();
+    }
+
+    public Optional<Organization.ActionType> actionType(String actionTypeId) {
+        return organization.getActionType(actionTypeId);
+    }
+
+    public Optional<Organization.MissionType> missionType(String missionTypeId) {
+        return organization.getMissionType(missionTypeId);
+    }
+
+    public Optional<Organization.RankConfiguration> rank(String rankId) {
+        return rankId != null ? organization.getRankConfiguration(rankId) : Optional.empty();
+    }
+
+    /**
+     * Active missions that require the given action type.
+     */
+    public List<Organization.MissionType> missionsWithActionType(String actionTypeId) {
+        return organization.getMissionTypesWithActionType(actionTypeId);
+    }
+
+    /**
+     * Highest active rank whose threshold the given points reach.
+     */
+    public Optional<Organization.RankConfiguration> eligibleRank(int points) {
+        return organization.getEligibleRank(points);
+    }
+
+    /**
+     * Lowest active rank whose threshold lies above the given points.
+     */
+    public Optional<Organization.RankConfiguration> nextRank(int points) {
+        return organization.getNextRank(points);
+    }
+
+    private static <T> Set<T> copy(Set<T> values) {
+        return values != null ? Set.copyOf(values) : null;
+    }
+}
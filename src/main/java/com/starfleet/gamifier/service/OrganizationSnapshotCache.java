@@ -0,0 +1,63 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.repository.OrganizationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Application-wide cache of {@link OrganizationSnapshot}s keyed by organization ID.
+ * A snapshot is loaded once and served to every caller until {@link OrganizationService}
+ * changes the configuration and evicts it; the next read loads the new config version.
+ * Works inside and outside HTTP requests, so background jobs can use it too.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrganizationSnapshotCache {
+
+    static final String CACHE_NAME = "organizationSnapshots";
+
+    private final OrganizationRepository organizationRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Snapshot of the organization's current configuration.
+     *
+     * @throws IllegalArgumentException if the organization does not exist
+     */
+    public OrganizationSnapshot get(String organizationId) {
+        try {
+            return cache().get(organizationId, () -> load(organizationId));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drop the organization's snapshot after its configuration changed or it was deleted.
+     */
+    public void evict(String organizationId) {
+        cache().evict(organizationId);
+    }
+
+    private OrganizationSnapshot load(String organizationId) {
+        OrganizationSnapshot snapshot = OrganizationSnapshot.of(organizationRepository.findById(organizationId)
+                .orElseThrow(() -> new IllegalArgumentException("Organization not found: " + organizationId)));
+        log.debug("Loaded configuration snapshot for organization {} (version {})", organizationId, snapshot.getVersion());
+        return snapshot;
+    }
+
+    private Cache cache() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            throw new IllegalStateException("Cache not configured: " + CACHE_NAME);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,82 @@
+package com.starfleet.gamifier.service;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ * Producers claim a sequence with a CAS on the tail and then publish their element into the
+ * slot; the consumer takes published slots in sequence order and stops at the first one
+ * still being filled.
+ */
+final class RingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // written only by the consumer
+
+    RingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Ring buffer capacity must be between 1 and 2^30");
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1; // next power of two
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    /**
+     * Append an element.
+     *
+     * @return its sequence number, or -1 if the buffer is full
+     */
+    long offer(E element) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head >= capacity) {
+                return -1;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.lazySet((int) sequence & mask, element);
+        return sequence;
+    }
+
+    /**
+     * Move up to {@code max} published elements to {@code sink}, oldest first. Consumer only.
+     *
+     * @return the sequence of the next element to be taken
+     */
+    long drainTo(Collection<? super E> sink, int max) {
+        long next = head;
+        for (int taken = 0; taken < max; taken++) {
+            int index = (int) next & mask;
+            E element = slots.get(index);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            sink.add(element);
+            next++;
+        }
+        head = next;
+        return next;
+    }
+
+    /**
+     * Sequence the next offered element will get.
+     */
+    long tail() {
+        return tail.get();
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -1,25 +1,44 @@
 package com.starfleet.gamifier.service;
 
+import com.starfleet.gamifier.config.ImportProperties;
+import com.starfleet.gamifier.config.OrganizationTags;
 import com.starfleet.gamifier.controller.dto.UserRequests.*;
 import com.starfleet.gamifier.domain.*;
-import com.starfleet.gamifier.repository.EventRepository;
-import com.starfleet.gamifier.repository.OrganizationRepository;
+import com.starfleet.gamifier.repository.PointsLedgerRepository;
 import com.starfleet.gamifier.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.bson.Document;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -32,8 +51,15 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final OrganizationRepository organizationRepository;
-    private final EventRepository eventRepository;
+    private final OrganizationSnapshotCache organizationSnapshots;
+    private final EventSink eventSink;
+    private final PointsLedgerRepository pointsLedgerRepository;
+    private final LeaderboardIndex leaderboardIndex;
+    private final LeaderboardCacheInvalidator leaderboardCacheInvalidator;
+    private final MongoTemplate mongoTemplate;
+    private final ImportProperties importProperties;
+    private final OptimisticRetry optimisticRetry;
+    private final OrganizationTags organizationTags;
 
     // User Management Operations
     public UserDashboardResponse getUserDashboard(String userId) {
@@ -68,9 +94,15 @@ public class UserService {
     }
 
     public User updateUser(String userId, String name, String surname, String managerEmployeeId) {
-        User user = getUser(userId);
-        user.updateProfile(name, surname, managerEmployeeId);
-        return userRepository.save(user);
+        // The save replaces the whole document, so it retries on a fresh copy if the user changed meanwhile
+        User saved = optimisticRetry.run("updateUser", attempt -> {
+            User user = getUser(userId);
+            user.updateProfile(name, surname, managerEmployeeId);
+            return userRepository.save(user);
+        });
+        leaderboardIndex.update(saved);
+        leaderboardCacheInvalidator.evictOrganization(saved.getOrganizationId());
+        return saved;
     }
 
     public Page<User> getAllUsers(String organizationId, Pageable pageable) {
@@ -86,46 +118,83 @@ public class UserService {
         // Verify organization exists
         getOrganization(organizationId);
 
-        List<String> errors = new ArrayList<>();
-        int totalRecords = 0;
-        int successfulImports = 0;
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-            String line;
-            boolean isHeader = true;
+        try (CsvReader reader = new CsvReader(file.getInputStream())) {
+            return importUsers(reader, organizationId,
+                    ImportErrors.capped(importProperties.getMaxReportedErrors()), ImportProgress.start());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to process CSV file: " + e.getMessage(), e);
+        }
+    }
 
-            while ((line = reader.readLine()) != null) {
-                if (isHeader) {
-                    isHeader = false;
-                    validateCsvHeader(line);
-                    continue;
-                }
+    /**
+     * Import users from a reader positioned either at the start of the file or at a
+     * checkpoint offset, in which case the header has already been validated.
+     * {@code progress} is checkpointed every import batch.
+     */
+    public ImportResult importUsers(CsvReader reader, String organizationId,
+                                    ImportErrors errors, ImportProgress progress) throws IOException {
+        if (reader.offset() == 0 && reader.next()) {
+            validateCsvHeader(reader);
+        }
 
-                totalRecords++;
-                try {
-                    User user = parseCsvLineToUser(line, organizationId);
-                    userRepository.save(user);
-                    successfulImports++;
-                } catch (Exception e) {
-                    errors.add("Line " + totalRecords + ": " + e.getMessage());
+        int batchSize = Math.max(1, importProperties.getBatchSize());
+        int rowsInBatch = 0;
+        FlightRecorderEvents.ImportBatch flightEvent = FlightRecorderEvents.ImportBatch.start(organizationId, "users", progress);
+        while (reader.next()) {
+            int lineNumber = progress.nextRecord();
+            try {
+                User user = userFromCsvRecord(reader, organizationId);
+                if (userRepository.existsByOrganizationIdAndEmployeeId(organizationId, user.getEmployeeId())) {
+                    throw new IllegalArgumentException("Employee ID already exists: " + user.getEmployeeId());
                 }
+                leaderboardIndex.update(userRepository.save(user));
+                progress.imported(1);
+            } catch (Exception e) {
+                errors.add(lineNumber, e.getMessage());
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to process CSV file: " + e.getMessage(), e);
+            if (++rowsInBatch == batchSize) {
+                progress.checkpoint(reader.offset());
+                flightEvent.finish(progress);
+                flightEvent = FlightRecorderEvents.ImportBatch.start(organizationId, "users", progress);
+                rowsInBatch = 0;
+            }
+        }
+        progress.checkpoint(reader.offset());
+        flightEvent.finish(progress);
+        if (progress.getSuccessfulImports() > 0) {
+            leaderboardCacheInvalidator.evictOrganization(organizationId);
         }
 
         return ImportResult.builder()
-                .totalRecords(totalRecords)
-                .successfulImports(successfulImports)
-                .failedImports(totalRecords - successfulImports)
-                .errors(errors)
+                .totalRecords(progress.getTotalRecords())
+                .successfulImports(progress.getSuccessfulImports())
+                .failedImports(progress.getFailedImports())
+                .errors(errors.messages())
                 .build();
     }
 
     // Leaderboard Operations
     public List<LeaderboardEntry> getMonthlyLeaderboard(String organizationId, int limit) {
-        // For now, return all-time leaderboard as monthly calculation needs action capture dates
-        return getAllTimeLeaderboard(organizationId, limit);
+        List<LeaderboardIndex.MonthlyStanding> standings =
+                leaderboardIndex.monthlyPage(organizationId, YearMonth.now(), 0, limit);
+        Organization organization = getOrganization(organizationId);
+
+        List<LeaderboardEntry> entries = new ArrayList<>(standings.size());
+        for (int i = 0; i < standings.size(); i++) {
+            LeaderboardIndex.Standing standing = standings.get(i).getStanding();
+            entries.add(LeaderboardEntry.builder()
+                    .userId(standing.getUserId())
+                    .name(standing.getName())
+                    .surname(standing.getSurname())
+                    .employeeId(standing.getEmployeeId())
+                    .totalPoints(standing.getTotalPoints())
+                    .monthlyPoints(standings.get(i).getMonthlyPoints())
+                    .currentRank(getCurrentRankName(standing.getCurrentRankId(), organization))
+                    .insignia(getCurrentRankInsignia(standing.getCurrentRankId(), organization))
+                    .position(i + 1)
+                    .build());
+        }
+        return entries;
     }
 
     public List<LeaderboardEntry> getAllTimeLeaderboard(String organizationId, int limit) {
@@ -151,85 +220,100 @@ public class UserService {
 
     /**
      * Update mission progress for a user after an action is completed.
-     * Checks all active missions to see if any are now complete.
+     * Checks all active missions to see if any are now complete. The progress is written against
+     * the version it was read at and bonuses are awarded only once that write has won, so
+     * concurrent updates retry instead of losing progress or awarding a bonus twice.
      */
+    @TimedOperation
     public void updateMissionProgress(String userId, String actionTypeId) {
-        User user = getUser(userId);
-        Organization organization = getOrganization(user.getOrganizationId());
+        optimisticRetry.run("updateMissionProgress", attempt -> {
+            User user = getUser(userId);
+            organizationTags.identify(user.getOrganizationId());
+            Organization organization = getOrganization(user.getOrganizationId());
+
+            // Find all missions that include this action type
+            List<Organization.MissionType> relevantMissions = organization.getMissionTypesWithActionType(actionTypeId);
+            int actionBit = organization.getActionTypeBit(actionTypeId);
+            if (relevantMissions.isEmpty() || actionBit < 0) {
+                return null;
+            }
 
-        // Find all missions that include this action type
-        List<Organization.MissionType> relevantMissions = organization.getMissionTypesWithActionType(actionTypeId);
+            List<Organization.MissionType> completedMissions = new ArrayList<>();
+            for (Organization.MissionType missionType : relevantMissions) {
+                if (advanceMissionProgress(user, organization, missionType, actionBit)) {
+                    completedMissions.add(missionType);
+                }
+            }
 
-        for (Organization.MissionType missionType : relevantMissions) {
-            updateSingleMissionProgress(user, missionType, actionTypeId);
-        }
+            // Persist only mission progress; totals and rank are maintained atomically by awardPoints
+            if (mongoTemplate.updateFirst(versionedQuery(user),
+                    new Update().set("missionProgress", user.getMissionProgress()).set("updatedAt", Instant.now()),
+                    User.class).getMatchedCount() == 0) {
+                throw versionConflict(user);
+            }
 
-        // Save updated user
-        userRepository.save(user);
+            completedMissions.forEach(missionType -> completeMission(user, missionType));
+            return null;
+        });
     }
 
     /**
-     * Check if a mission is completed and award badge/points if so.
+     * Record a completed action against a mission and mark the mission completed once
+     * all of its required actions are done. Sets one bit and compares against the mission's
+     * required mask, without allocating once the user's progress for the mission exists.
+     *
+     * @return true if this action completed the mission
      */
-    private void updateSingleMissionProgress(User user, Organization.MissionType missionType, String completedActionTypeId) {
-        // Find or create mission progress for this user
-        Optional<User.MissionProgress> existingProgress = user.getMissionProgress(missionType.getId());
-
-        User.MissionProgress progress;
-        if (existingProgress.isPresent()) {
-            progress = existingProgress.get();
+    static boolean advanceMissionProgress(User user, Organization organization, Organization.MissionType missionType, int actionBit) {
+        User.MissionProgress progress = user.startMissionProgress(missionType.getId());
 
-            // Skip if mission already completed
-            if (progress.getCompleted()) {
-                return;
-            }
-        } else {
-            // Create new mission progress
-            progress = User.MissionProgress.builder()
-                    .missionTypeId(missionType.getId())
-                    .completedActionTypeIds(new java.util.HashSet<>())
-                    .completed(false)
-                    .build();
-            user.getMissionProgress().add(progress);
+        // Skip if mission already completed
+        if (progress.getCompleted()) {
+            return false;
+        }
+        if (progress.hasLegacyActions()) {
+            progress.foldLegacyActions(organization::getActionTypeBit);
         }
 
-        // Add the completed action type if not already present
-        progress.getCompletedActionTypeIds().add(completedActionTypeId);
+        if (!progress.recordAction(actionBit)) {
+            return false;
+        }
 
         // Check if mission is now complete
-        java.util.Set<String> requiredActionTypes = new java.util.HashSet<>(missionType.getRequiredActionTypeIds());
-        boolean missionComplete = progress.getCompletedActionTypeIds().containsAll(requiredActionTypes);
-
-        if (missionComplete && !progress.getCompleted()) {
-            completeMission(user, missionType, progress);
+        boolean missionComplete = progress.covers(organization.getMissionMask(missionType.getId()));
+        if (missionComplete) {
+            progress.setCompleted(true);
+            progress.setCompletionDate(java.time.LocalDateTime.now());
         }
+        return missionComplete;
     }
 
     /**
-     * Complete a mission - award badge, bonus points, and generate events.
+     * Complete a mission - award bonus points and generate the completion event.
      */
-    private void completeMission(User user, Organization.MissionType missionType, User.MissionProgress progress) {
-        // Mark mission as completed
-        progress.setCompleted(true);
-        progress.setCompletionDate(java.time.LocalDateTime.now());
+    private void completeMission(User user, Organization.MissionType missionType) {
+        FlightRecorderEvents.MissionCompletion flightEvent = new FlightRecorderEvents.MissionCompletion();
+        flightEvent.begin();
 
         // Award bonus points via awardPoints (this handles rank promotion automatically)
         awardPoints(user.getId(), missionType.getBonusPoints(),
                 String.format("Mission completed: %s", missionType.getName()));
 
         // Generate mission completion event
-        Event missionEvent = Event.builder()
-                .organizationId(user.getOrganizationId())
-                .userId(user.getId())
-                .eventType(EventType.MISSION_COMPLETED)
-                .data(String.format("Mission '%s' completed! Earned badge: %s (+%d bonus points)",
-                        missionType.getName(), missionType.getBadge(), missionType.getBonusPoints()))
-                .build();
-
-        eventRepository.save(missionEvent);
+        eventSink.publish(missionCompletedEvent(user, missionType));
 
         log.info("Mission completed: {} for user {} - awarded {} bonus points",
                 missionType.getName(), user.getEmployeeId(), missionType.getBonusPoints());
+        commitMissionCompletion(flightEvent, user, missionType);
+    }
+
+    private static void commitMissionCompletion(FlightRecorderEvents.MissionCompletion flightEvent, User user,
+                                                Organization.MissionType missionType) {
+        flightEvent.organizationId = user.getOrganizationId();
+        flightEvent.userId = user.getId();
+        flightEvent.missionId = missionType.getId();
+        flightEvent.bonusPoints = missionType.getBonusPoints();
+        flightEvent.commit();
     }
 
     /**
@@ -242,14 +326,14 @@ public class UserService {
         Organization.MissionType missionType = organization.getMissionType(missionId)
                 .orElseThrow(() -> new IllegalArgumentException("Mission not found: " + missionId));
 
-        Optional<User.MissionProgress> userProgress = user.getMissionProgress(missionId);
+        Optional<User.MissionProgress> userProgress = missionProgress(user, organization, missionId);
 
         // Build action progress details
         List<ActionProgressDetail> actionDetails = missionType.getRequiredActionTypeIds().stream()
                 .map(actionTypeId -> {
                     Organization.ActionType actionType = getActionType(organization, actionTypeId);
                     boolean completed = userProgress.map(mp ->
-                                    mp.getCompletedActionTypeIds().contains(actionTypeId))
+                                    mp.hasAction(organization.getActionTypeBit(actionTypeId)))
                             .orElse(false);
 
                     return ActionProgressDetail.builder()
@@ -291,9 +375,9 @@ public class UserService {
 
         return organization.getActiveMissionTypes().stream()
                 .map(missionType -> {
-                    Optional<User.MissionProgress> progress = user.getMissionProgress(missionType.getId());
+                    Optional<User.MissionProgress> progress = missionProgress(user, organization, missionType.getId());
 
-                    int completedActions = progress.map(mp -> mp.getCompletedActionTypeIds().size()).orElse(0);
+                    int completedActions = progress.map(mp -> countCompletedActions(mp, organization, missionType)).orElse(0);
                     boolean completed = progress.map(User.MissionProgress::getCompleted).orElse(false);
 
                     return com.starfleet.gamifier.controller.dto.UserRequests.MissionProgressSummary.builder()
@@ -348,13 +432,13 @@ public class UserService {
         }
 
         Organization.MissionType mission = missionType.get();
-        Optional<User.MissionProgress> userProgress = user.getMissionProgress(missionId);
+        Optional<User.MissionProgress> userProgress = missionProgress(user, organization, missionId);
 
         List<ActionProgress> actionProgress = mission.getRequiredActionTypeIds().stream()
                 .map(actionTypeId -> {
                     String actionName = getActionTypeName(organization, actionTypeId);
                     boolean completed = userProgress.map(mp ->
-                                    mp.getCompletedActionTypeIds().contains(actionTypeId))
+                                    mp.hasAction(organization.getActionTypeBit(actionTypeId)))
                             .orElse(false);
 
                     return ActionProgress.builder()
@@ -421,73 +505,627 @@ public class UserService {
      * Award points to a user and check for rank promotion.
      * This is the single method that should be used for all point awarding.
      */
-    @CacheEvict(value = {"allTimeLeaderboard", "monthlyLeaderboard", "leaderboardStats"},
-                key = "#root.target.getUser(#userId).organizationId")
     public void awardPoints(String userId, Integer points, String reason) {
-        User user = getUser(userId);
-        user.addPoints(points);
+        awardPoints(userId, points, reason, null);
+    }
+
+    /**
+     * Award points for a specific action. The award is appended to the points ledger and
+     * applied to the user's total with a single atomic $inc, so concurrent awards for the
+     * same user never overwrite each other. The ledger entry goes in first, so the total never
+     * runs ahead of the ledger. Only the cached leaderboard pages between the user's old and
+     * new rank are evicted.
+     */
+    @TimedOperation
+    public void awardPoints(String userId, Integer points, String reason, String sourceActionId) {
+        FlightRecorderEvents.PointsAward flightEvent = new FlightRecorderEvents.PointsAward();
+        flightEvent.begin();
+        PointsLedgerEntry entry = pointsLedgerRepository.insert(
+                ledgerEntry(ledgerOwner(userId), points, reason, sourceActionId));
+        User user = incrementTotalPoints(userId, points);
+        if (user == null) {
+            pointsLedgerRepository.delete(entry);
+            throw new IllegalArgumentException("User not found: " + userId);
+        }
+        organizationTags.identify(user.getOrganizationId());
+        int previousIndex = leaderboardIndex.indexOf(user.getOrganizationId(), user.getId());
 
         // Check for rank promotion
         Organization organization = getOrganization(user.getOrganizationId());
-        boolean promoted = checkAndPromoteUserInternal(user, organization);
+        promoteIfEligible(user, organization);
 
-        userRepository.save(user);
+        leaderboardIndex.update(user);
+        leaderboardCacheInvalidator.allTimeRankChanged(user.getOrganizationId(), previousIndex,
+                leaderboardIndex.indexOf(user.getOrganizationId(), user.getId()));
+        recordMonthlyPoints(user, points);
 
         // Generate points awarded event
         generatePointsAwardedEvent(user, points, reason);
 
         log.info("Awarded {} points to user {} - {}", points, user.getEmployeeId(), reason);
+        commitPointsAward(flightEvent, user, points, sourceActionId);
+    }
+
+    /**
+     * Apply an approved, already-stored action to a user the caller has loaded. Points, mission
+     * progress, mission bonuses and rank are worked out in memory against the organization
+     * snapshot and committed with one ledger insert, one user update and one monthly $inc; its
+     * events and the caller's {@code events} go to the event sink as one batch. A rank promotion
+     * adds one conditional update. The user write is checked against the version the user was read
+     * at; if another write got there first, the action is re-applied to a freshly loaded user.
+     *
+     * @return the user with the stored total and rank
+     */
+    @TimedOperation
+    public User applyApprovedAction(User user, Organization organization, Action action,
+                                    String reasonPrefix, List<Event> events) {
+        return optimisticRetry.run("applyApprovedAction", attempt ->
+                applyApprovedActionOnce(attempt == 0 ? user : getUser(user.getId()), organization, action, reasonPrefix, events));
+    }
+
+    private User applyApprovedActionOnce(User user, Organization organization, Action action,
+                                         String reasonPrefix, List<Event> events) {
+        FlightRecorderEvents.PointsAward flightEvent = new FlightRecorderEvents.PointsAward();
+        flightEvent.begin();
+        Organization.ActionType actionType = getActionType(organization, action.getActionTypeId());
+        int previousIndex = leaderboardIndex.indexOf(user.getOrganizationId(), user.getId());
+
+        String reason = String.format("%s: %s", reasonPrefix, actionType.getName());
+        List<PointsLedgerEntry> ledgerEntries = new ArrayList<>();
+        List<Event> allEvents = new ArrayList<>(events);
+        ledgerEntries.add(ledgerEntry(user, actionType.getPoints(), reason, action.getId()));
+        allEvents.add(pointsAwardedEvent(user, actionType.getPoints(), reason));
+
+        int points = actionType.getPoints();
+        boolean missionProgressChanged = false;
+        List<Organization.MissionType> completedMissions = new ArrayList<>();
+        int actionBit = organization.getActionTypeBit(action.getActionTypeId());
+        for (Organization.MissionType missionType : organization.getMissionTypesWithActionType(action.getActionTypeId())) {
+            missionProgressChanged = true;
+            if (advanceMissionProgress(user, organization, missionType, actionBit)) {
+                completedMissions.add(missionType);
+                points += missionType.getBonusPoints();
+                ledgerEntries.add(ledgerEntry(user, missionType.getBonusPoints(),
+                        String.format("Mission completed: %s", missionType.getName()), null));
+                allEvents.add(missionCompletedEvent(user, missionType));
+                log.info("Mission completed: {} for user {} - awarded {} bonus points",
+                        missionType.getName(), user.getEmployeeId(), missionType.getBonusPoints());
+            }
+        }
+
+        // Totals and mission progress land in the same write, so neither can overwrite the other.
+        // The ledger entries go in first and are taken back if the write loses the version check.
+        Update update = new Update().inc("totalPoints", points).set("updatedAt", Instant.now());
+        if (missionProgressChanged) {
+            update.set("missionProgress", user.getMissionProgress());
+        }
+        List<PointsLedgerEntry> inserted = pointsLedgerRepository.insert(ledgerEntries);
+        User stored = modifyUser(versionedQuery(user), update);
+        if (stored == null) {
+            pointsLedgerRepository.deleteAll(inserted);
+            throw versionConflict(user);
+        }
+        user.setTotalPoints(stored.getTotalPoints());
+        user.setCurrentRankId(stored.getCurrentRankId());
+        user.setVersion(stored.getVersion());
+
+        promoteIfEligible(user, organization, allEvents::add);
+
+        leaderboardIndex.update(user);
+        leaderboardCacheInvalidator.allTimeRankChanged(user.getOrganizationId(), previousIndex,
+                leaderboardIndex.indexOf(user.getOrganizationId(), user.getId()));
+        recordMonthlyPoints(user, points);
+        eventSink.publishAll(allEvents);
+
+        log.info("Awarded {} points to user {} - {}", points, user.getEmployeeId(), reason);
+        // Missions count as completed only once the write has won, so these are instant events
+        completedMissions.forEach(missionType ->
+                commitMissionCompletion(new FlightRecorderEvents.MissionCompletion(), user, missionType));
+        commitPointsAward(flightEvent, user, points, action.getId());
+        return user;
+    }
+
+    private static void commitPointsAward(FlightRecorderEvents.PointsAward flightEvent, User user, int points,
+                                          String sourceActionId) {
+        flightEvent.organizationId = user.getOrganizationId();
+        flightEvent.userId = user.getId();
+        flightEvent.points = points;
+        flightEvent.sourceActionId = sourceActionId;
+        flightEvent.commit();
+    }
+
+    /**
+     * Award points for a batch of already-stored actions, e.g. from a bulk import.
+     * Each user's awards, mission progress and mission bonuses fold into one update; all users
+     * in the batch are written with unordered BulkOperations, ledger entries are inserted with
+     * one insertMany and events go to the event sink as one batch. Cached all-time pages
+     * spanning the batch's rank changes and the current month's cached pages are evicted.
+     * Users that changed since they were loaded are re-run on their own with fresh copies.
+     * Actions that already have a ledger entry were awarded before and are skipped, so a
+     * batch interrupted after its actions were stored can be awarded again.
+     *
+     * @return the actions awarded by this call
+     */
+    @TimedOperation
+    public List<Action> awardPointsForActions(Organization organization, List<Action> actions, String reasonPrefix) {
+        if (actions.isEmpty()) {
+            return List.of();
+        }
+
+        List<Action> unawarded = withoutLedgerEntries(actions);
+        if (unawarded.isEmpty()) {
+            return unawarded;
+        }
+        Map<String, List<Action>> remaining = unawarded.stream()
+                .collect(Collectors.groupingBy(Action::getUserId, LinkedHashMap::new, Collectors.toList()));
+        optimisticRetry.run("awardPointsForActions", attempt -> {
+            remaining.keySet().retainAll(awardPointsForUsers(organization, remaining, reasonPrefix));
+            if (!remaining.isEmpty()) {
+                throw new OptimisticLockingFailureException(remaining.size() + " users changed during the batch award");
+            }
+            return null;
+        });
+        return unawarded;
+    }
+
+    private List<Action> withoutLedgerEntries(List<Action> actions) {
+        Set<String> awarded = pointsLedgerRepository.findBySourceActionIdIn(actions.stream().map(Action::getId).toList())
+                .stream()
+                .map(PointsLedgerEntry::getSourceActionId)
+                .collect(Collectors.toSet());
+        return awarded.isEmpty() ? actions : actions.stream().filter(action -> !awarded.contains(action.getId())).toList();
+    }
+
+    /**
+     * One round of {@link #awardPointsForActions}. Each user update is a version-guarded
+     * updateOne, applied in one unordered bulk. When fewer updates matched than were sent, the
+     * users are re-read to find the ones that changed or were deleted since they were loaded.
+     * Ledger entries, monthly points, promotions and events are only written for users that
+     * were updated.
+     *
+     * @return IDs of the users whose update lost the version check
+     */
+    private Set<String> awardPointsForUsers(Organization organization, Map<String, List<Action>> actionsByUser,
+                                            String reasonPrefix) {
+        Map<String, User> users = new HashMap<>();
+        userRepository.findAllById(actionsByUser.keySet()).forEach(user -> users.put(user.getId(), user));
+        Map<String, Integer> previousIndexes = new HashMap<>();
+        users.keySet().forEach(userId -> previousIndexes.put(userId, leaderboardIndex.indexOf(organization.getId(), userId)));
+
+        YearMonth month = YearMonth.now();
+        List<PointsLedgerEntry> ledgerEntries = new ArrayList<>();
+        List<Event> events = new ArrayList<>();
+        Map<String, Integer> pointsByUser = new HashMap<>();
+        List<String> updatedUserIds = new ArrayList<>();
+        // Stored with millisecond precision; tells this batch's writes apart when some did not match
+        Instant updatedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        BulkOperations userUpdates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+
+        for (Map.Entry<String, List<Action>> entry : actionsByUser.entrySet()) {
+            User user = users.get(entry.getKey());
+            if (user == null) {
+                log.warn("Skipping awards for unknown user {}", entry.getKey());
+                continue;
+            }
+
+            int actionPoints = 0;
+            boolean missionProgressChanged = false;
+            List<Organization.MissionType> completedMissions = new ArrayList<>();
+            for (Action action : entry.getValue()) {
+                Organization.ActionType actionType = getActionType(organization, action.getActionTypeId());
+                actionPoints += actionType.getPoints();
+                ledgerEntries.add(ledgerEntry(user, actionType.getPoints(),
+                        String.format("%s: %s", reasonPrefix, actionType.getName()), action.getId()));
+
+                int actionBit = organization.getActionTypeBit(action.getActionTypeId());
+                for (Organization.MissionType missionType : organization.getMissionTypesWithActionType(action.getActionTypeId())) {
+                    missionProgressChanged = true;
+                    if (advanceMissionProgress(user, organization, missionType, actionBit)) {
+                        completedMissions.add(missionType);
+                    }
+                }
+            }
+
+            int points = actionPoints;
+            events.add(pointsAwardedEvent(user, actionPoints,
+                    String.format("%s: %d actions", reasonPrefix, entry.getValue().size())));
+            for (Organization.MissionType missionType : completedMissions) {
+                points += missionType.getBonusPoints();
+                ledgerEntries.add(ledgerEntry(user, missionType.getBonusPoints(),
+                        String.format("Mission completed: %s", missionType.getName()), null));
+                events.add(missionCompletedEvent(user, missionType));
+            }
+
+            user.addPoints(points);
+            pointsByUser.put(user.getId(), points);
+            // Bulk writes bypass the template's version handling, so the version is moved here
+            Update update = new Update().inc("totalPoints", points).inc("version", 1).set("updatedAt", updatedAt);
+            if (missionProgressChanged) {
+                update.set("missionProgress", user.getMissionProgress());
+            }
+            userUpdates.updateOne(versionedQuery(user), update);
+            user.setVersion(nextVersion(user));
+            updatedUserIds.add(user.getId());
+        }
+
+        if (ledgerEntries.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<String> conflicts = userUpdates.execute().getMatchedCount() == updatedUserIds.size()
+                ? Set.of()
+                : unmatchedUsers(users, updatedUserIds, updatedAt);
+        users.keySet().removeAll(conflicts);
+        previousIndexes.keySet().removeAll(conflicts);
+        if (users.isEmpty()) {
+            return conflicts;
+        }
+
+        BulkOperations monthlyUpdates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MonthlyPoints.class);
+        Map<String, Organization.RankConfiguration> eligibleRanks = new HashMap<>();
+        for (User user : users.values()) {
+            monthlyUpdates.upsert(monthlyPointsQuery(user, month), monthlyPointsUpdate(user, month, pointsByUser.get(user.getId())));
+
+            Optional<Organization.RankConfiguration> newRank = organization.getEligibleRank(user.getTotalPoints());
+            if (newRank.isPresent() && !newRank.get().getId().equals(user.getCurrentRankId())) {
+                eligibleRanks.put(user.getId(), newRank.get());
+            }
+        }
+
+        pointsLedgerRepository.insert(ledgerEntries.stream().filter(entry -> !conflicts.contains(entry.getUserId())).toList());
+        monthlyUpdates.execute();
+        List<Event> allEvents = new ArrayList<>(events.stream().filter(event -> !conflicts.contains(event.getUserId())).toList());
+        if (!eligibleRanks.isEmpty()) {
+            promoteUsers(users, eligibleRanks, organization, allEvents);
+        }
+        eventSink.publishAll(allEvents);
+
+        users.values().forEach(leaderboardIndex::update);
+        leaderboardIndex.evictMonthly(organization.getId(), month);
+        evictAllTimePages(organization.getId(), previousIndexes);
+        leaderboardCacheInvalidator.evictMonth(organization.getId(), month);
+
+        log.info("Awarded points for {} users in organization {}{}", users.size(), organization.getId(),
+                conflicts.isEmpty() ? "" : String.format(", %d changed concurrently", conflicts.size()));
+        return conflicts;
+    }
+
+    /**
+     * Promote the batch's users to the ranks their new totals qualify for with one unordered
+     * bulk of conditional updates. Only users whose own update applied get the new rank and
+     * version locally and a promotion event; when fewer updates matched than were sent, the
+     * users are re-read to tell this batch's promotions, by their updatedAt, from concurrent ones.
+     */
+    private void promoteUsers(Map<String, User> users, Map<String, Organization.RankConfiguration> eligibleRanks,
+                              Organization organization, List<Event> events) {
+        // Stored with millisecond precision, like the batch's user updates
+        Instant promotedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        BulkOperations promotions = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        eligibleRanks.forEach((userId, newRank) -> promotions.updateOne(
+                promotionQuery(users.get(userId), newRank, organization),
+                promotionUpdate(newRank).set("updatedAt", promotedAt).inc("version", 1)));
+        Set<String> promoted = new HashSet<>(eligibleRanks.keySet());
+        if (promotions.execute().getMatchedCount() < eligibleRanks.size()) {
+            Query query = new Query(Criteria.where("_id").in(eligibleRanks.keySet()));
+            query.fields().include("currentRankId", "version", "updatedAt");
+            Set<String> ours = new HashSet<>();
+            for (User stored : mongoTemplate.find(query, User.class)) {
+                if (promotedAt.equals(stored.getUpdatedAt())
+                        && eligibleRanks.get(stored.getId()).getId().equals(stored.getCurrentRankId())) {
+                    ours.add(stored.getId());
+                } else {
+                    // Promoted or changed concurrently; take the stored rank and version as they are
+                    User user = users.get(stored.getId());
+                    user.setCurrentRankId(stored.getCurrentRankId());
+                    user.setVersion(stored.getVersion());
+                }
+            }
+            promoted.retainAll(ours);
+        }
+
+        for (String userId : promoted) {
+            User user = users.get(userId);
+            user.updateRank(eligibleRanks.get(userId).getId());
+            user.setVersion(nextVersion(user));
+            events.add(rankPromotionEvent(user, eligibleRanks.get(userId)));
+        }
+    }
+
+    /**
+     * Recompute a user's total from the points ledger and store it, then promote the user if the
+     * total now qualifies and restate the current month's points from the ledger as well.
+     * Intended for audits and repairs; awards keep the total current on their own.
+     * A total that differs from the ledger is only overwritten with {@code force}: the difference
+     * may be an award in flight, whose ledger entry is written just before its total.
+     * The total is written only while the user is at the version it was read at, and
+     * recomputed on a fresh copy otherwise.
+     *
+     * @throws IllegalStateException if the totals differ and {@code force} is not set
+     */
+    public User recomputeTotalPoints(String userId, boolean force) {
+        return optimisticRetry.run("recomputeTotalPoints", attempt -> {
+            User user = getUser(userId);
+            int total = ledgerTotal(Criteria.where("userId").is(userId));
+            if (user.getTotalPoints() != null && user.getTotalPoints() == total) {
+                return user;
+            }
+            if (!force) {
+                throw new IllegalStateException(String.format(
+                        "Ledger total %d differs from stored total %d for user %s", total, user.getTotalPoints(), userId));
+            }
+
+            User stored = modifyUser(versionedQuery(user),
+                    new Update().set("totalPoints", total).set("updatedAt", Instant.now()));
+            if (stored == null) {
+                throw versionConflict(user);
+            }
+            int previousIndex = leaderboardIndex.indexOf(user.getOrganizationId(), user.getId());
+            user.setTotalPoints(stored.getTotalPoints());
+            user.setVersion(stored.getVersion());
+            promoteIfEligible(user, getOrganization(user.getOrganizationId()));
+            leaderboardIndex.update(user);
+            leaderboardCacheInvalidator.allTimeRankChanged(user.getOrganizationId(), previousIndex,
+                    leaderboardIndex.indexOf(user.getOrganizationId(), user.getId()));
+            recomputeMonthlyPoints(user);
+
+            log.info("Recomputed total points for user {} from ledger: {}", user.getEmployeeId(), total);
+            return user;
+        });
+    }
+
+    /**
+     * Restate the user's points for the current month as the sum of this month's ledger
+     * entries, leaving out the opening balance.
+     */
+    private void recomputeMonthlyPoints(User user) {
+        YearMonth month = YearMonth.now();
+        int points = ledgerTotal(Criteria.where("userId").is(user.getId())
+                .and("timestamp").gte(month.atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant())
+                .and("reason").ne(PointsLedgerEntry.OPENING_BALANCE));
+        mongoTemplate.upsert(monthlyPointsQuery(user, month), new Update()
+                .set("points", points)
+                .set("updatedAt", Instant.now())
+                .setOnInsert("organizationId", user.getOrganizationId())
+                .setOnInsert("userId", user.getId())
+                .setOnInsert("month", month.toString()), MonthlyPoints.class);
+
+        int previousIndex = leaderboardIndex.monthlyIndexOf(user.getOrganizationId(), month, user.getId());
+        leaderboardIndex.updateMonthly(user.getOrganizationId(), month, user.getId(), points);
+        leaderboardCacheInvalidator.monthlyRankChanged(user.getOrganizationId(), month, previousIndex,
+                leaderboardIndex.monthlyIndexOf(user.getOrganizationId(), month, user.getId()));
+    }
+
+    private int ledgerTotal(Criteria criteria) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group().sum("delta").as("total"));
+        Document result = mongoTemplate.aggregate(aggregation, PointsLedgerEntry.class, Document.class)
+                .getUniqueMappedResult();
+        return result != null ? ((Number) result.get("total")).intValue() : 0;
+    }
+
+    /**
+     * Evict the cached all-time pages spanning every old and new rank of the given users,
+     * or every page if one of them was not ranked before.
+     */
+    private void evictAllTimePages(String organizationId, Map<String, Integer> previousIndexes) {
+        int from = Integer.MAX_VALUE;
+        int to = -1;
+        for (Map.Entry<String, Integer> previous : previousIndexes.entrySet()) {
+            int index = leaderboardIndex.indexOf(organizationId, previous.getKey());
+            if (previous.getValue() < 0 || index < 0) {
+                leaderboardCacheInvalidator.allTimeRankChanged(organizationId, -1, index);
+                return;
+            }
+            from = Math.min(from, Math.min(previous.getValue(), index));
+            to = Math.max(to, Math.max(previous.getValue(), index));
+        }
+        if (to >= 0) {
+            leaderboardCacheInvalidator.allTimeRankChanged(organizationId, from, to);
+        }
+    }
+
+    private PointsLedgerEntry ledgerEntry(User user, Integer points, String reason, String sourceActionId) {
+        return PointsLedgerEntry.builder()
+                .organizationId(user.getOrganizationId())
+                .userId(user.getId())
+                .delta(points)
+                .reason(reason)
+                .sourceActionId(sourceActionId)
+                .build();
+    }
+
+    /**
+     * The user's ID and organization, enough to write a ledger entry for them.
+     */
+    private User ledgerOwner(String userId) {
+        Query query = new Query(Criteria.where("_id").is(userId));
+        query.fields().include("organizationId");
+        User user = mongoTemplate.findOne(query, User.class);
+        if (user == null) {
+            throw new IllegalArgumentException("User not found: " + userId);
+        }
+        return user;
+    }
+
+    /**
+     * Atomically add points to the stored total and return the updated user, or null if the
+     * user no longer exists. Mission progress is not read back, so the write cost does not grow
+     * with mission count.
+     */
+    private User incrementTotalPoints(String userId, Integer points) {
+        return modifyUser(new Query(Criteria.where("_id").is(userId)), new Update()
+                .inc("totalPoints", points)
+                .set("updatedAt", Instant.now()));
+    }
+
+    /**
+     * Apply the update to the matching user and return it, without its mission progress,
+     * or null if no user matched. The template also moves the user's version.
+     */
+    private User modifyUser(Query query, Update update) {
+        query.fields().exclude("missionProgress");
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), User.class);
+    }
+
+    /**
+     * Matches the user only while it is still at the version it was read at.
+     */
+    private Query versionedQuery(User user) {
+        Criteria version = Criteria.where("_id").is(user.getId()).and("version");
+        return new Query(user.getVersion() != null ? version.is(user.getVersion()) : version.exists(false));
+    }
+
+    /**
+     * Users whose bulk update did not match because they changed or were deleted since they
+     * were read. Re-reads the users: one the update reached is at the version it was moved to
+     * and carries the batch's updatedAt.
+     */
+    private Set<String> unmatchedUsers(Map<String, User> users, List<String> userIds, Instant updatedAt) {
+        Query query = new Query(Criteria.where("_id").in(userIds));
+        query.fields().include("version", "updatedAt");
+        Set<String> unmatched = new HashSet<>(userIds);
+        for (User stored : mongoTemplate.find(query, User.class)) {
+            Long updatedVersion = users.get(stored.getId()).getVersion();
+            if (updatedVersion.equals(stored.getVersion()) && updatedAt.equals(stored.getUpdatedAt())) {
+                unmatched.remove(stored.getId());
+            }
+        }
+        return unmatched;
+    }
+
+    private static long nextVersion(User user) {
+        return (user.getVersion() != null ? user.getVersion() : 0L) + 1;
+    }
+
+    private RuntimeException versionConflict(User user) {
+        if (!userRepository.existsById(user.getId())) {
+            return new IllegalArgumentException("User not found: " + user.getId());
+        }
+        return new OptimisticLockingFailureException("User " + user.getId() + " changed since version " + user.getVersion());
+    }
+
+    /**
+     * Add points to the user's aggregate for the current month with a single $inc upsert
+     * and publish the authoritative monthly total to the leaderboard index.
+     */
+    private void recordMonthlyPoints(User user, Integer points) {
+        YearMonth month = YearMonth.now();
+        MonthlyPoints monthly = mongoTemplate.findAndModify(monthlyPointsQuery(user, month),
+                monthlyPointsUpdate(user, month, points),
+                FindAndModifyOptions.options().upsert(true).returnNew(true), MonthlyPoints.class);
+
+        if (monthly != null) {
+            int previousIndex = leaderboardIndex.monthlyIndexOf(user.getOrganizationId(), month, user.getId());
+            leaderboardIndex.updateMonthly(user.getOrganizationId(), month, user.getId(), monthly.getPoints());
+            leaderboardCacheInvalidator.monthlyRankChanged(user.getOrganizationId(), month, previousIndex,
+                    leaderboardIndex.monthlyIndexOf(user.getOrganizationId(), month, user.getId()));
+        }
+    }
+
+    private Query monthlyPointsQuery(User user, YearMonth month) {
+        return new Query(Criteria.where("_id").is(MonthlyPoints.idFor(user.getId(), month)));
+    }
+
+    private Update monthlyPointsUpdate(User user, YearMonth month, int points) {
+        return new Update()
+                .inc("points", points)
+                .set("updatedAt", Instant.now())
+                .setOnInsert("organizationId", user.getOrganizationId())
+                .setOnInsert("userId", user.getId())
+                .setOnInsert("month", month.toString());
     }
 
     /**
-     * Check if user is eligible for rank promotion and promote if necessary.
-     * Generates rank promotion event if promoted.
+     * Promote the user if their new total qualifies for a higher rank.
+     * The update only applies while the stored rank is below the new one, so concurrent
+     * awards can neither demote the user nor emit duplicate promotion events.
      *
      * @return true if user was promoted, false otherwise
      */
-    private boolean checkAndPromoteUserInternal(User user, Organization organization) {
-        Optional<Organization.RankConfiguration> newRank = organization.getEligibleRank(user.getTotalPoints());
+    private boolean promoteIfEligible(User user, Organization organization) {
+        return promoteIfEligible(user, organization, eventSink::publish);
+    }
 
-        if (newRank.isPresent() && !newRank.get().getId().equals(user.getCurrentRankId())) {
-            String oldRankId = user.getCurrentRankId();
-            user.updateRank(newRank.get().getId());
+    /**
+     * Promote the user if eligible, handing the promotion event to {@code events}.
+     */
+    private boolean promoteIfEligible(User user, Organization organization, Consumer<Event> events) {
+        Optional<Organization.RankConfiguration> newRank = organization.getEligibleRank(user.getTotalPoints());
 
-            // Generate rank promotion event
-            generateRankPromotionEvent(user, oldRankId, newRank.get());
+        if (newRank.isEmpty() || newRank.get().getId().equals(user.getCurrentRankId())) {
+            return false;
+        }
 
-            log.info("User {} promoted from rank {} to rank: {}",
-                    user.getEmployeeId(), oldRankId, newRank.get().getName());
-            return true;
+        if (mongoTemplate.updateFirst(promotionQuery(user, newRank.get(), organization),
+                promotionUpdate(newRank.get()), User.class).getModifiedCount() == 0) {
+            return false;
         }
-        return false;
+
+        String oldRankId = user.getCurrentRankId();
+        user.updateRank(newRank.get().getId());
+        // The template moved the stored version with the promotion
+        user.setVersion(nextVersion(user));
+
+        // Generate rank promotion event
+        events.accept(rankPromotionEvent(user, newRank.get()));
+
+        log.info("User {} promoted from rank {} to rank: {}",
+                user.getEmployeeId(), oldRankId, newRank.get().getName());
+        return true;
+    }
+
+    /**
+     * Matches the user only while their stored rank is below the given rank.
+     */
+    private Query promotionQuery(User user, Organization.RankConfiguration newRank, Organization organization) {
+        List<String> notLowerRankIds = organization.getRankConfigurations().stream()
+                .filter(rank -> rank.getPointsThreshold() >= newRank.getPointsThreshold())
+                .map(Organization.RankConfiguration::getId)
+                .toList();
+        return new Query(Criteria.where("_id").is(user.getId()).and("currentRankId").nin(notLowerRankIds));
+    }
+
+    private Update promotionUpdate(Organization.RankConfiguration newRank) {
+        return new Update()
+                .set("currentRankId", newRank.getId())
+                .set("updatedAt", Instant.now());
     }
 
     /**
      * Generate event for points being awarded to user
      */
     private void generatePointsAwardedEvent(User user, Integer points, String reason) {
-        Event pointsEvent = Event.builder()
+        eventSink.publish(pointsAwardedEvent(user, points, reason));
+    }
+
+    private Event pointsAwardedEvent(User user, Integer points, String reason) {
+        return Event.builder()
                 .organizationId(user.getOrganizationId())
                 .userId(user.getId())
                 .eventType(EventType.POINTS_AWARDED)
                 .data(String.format("Awarded %d points - %s", points, reason))
                 .build();
-
-        eventRepository.save(pointsEvent);
     }
 
-    /**
-     * Generate event for rank promotion
-     */
-    private void generateRankPromotionEvent(User user, String oldRankId, Organization.RankConfiguration newRank) {
-        Event rankEvent = Event.builder()
+    private Event rankPromotionEvent(User user, Organization.RankConfiguration newRank) {
+        return Event.builder()
                 .organizationId(user.getOrganizationId())
                 .userId(user.getId())
                 .eventType(EventType.RANK_PROMOTED)
                 .data(String.format("Promoted to rank: %s %s", newRank.getName(), newRank.getInsignia()))
                 .build();
+    }
 
-        eventRepository.save(rankEvent);
+    private Event missionCompletedEvent(User user, Organization.MissionType missionType) {
+        return Event.builder()
+                .organizationId(user.getOrganizationId())
+                .userId(user.getId())
+                .eventType(EventType.MISSION_COMPLETED)
+                .data(String.format("Mission '%s' completed! Earned badge: %s (+%d bonus points)",
+                        missionType.getName(), missionType.getBadge(), missionType.getBonusPoints()))
+                .build();
     }
 
 
@@ -498,27 +1136,36 @@ public class UserService {
     }
 
     public User saveUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        leaderboardIndex.update(saved);
+        return saved;
     }
 
     // Helper Methods
     private Organization getOrganization(String organizationId) {
-        return organizationRepository.findById(organizationId)
-                .orElseThrow(() -> new IllegalArgumentException("Organization not found: " + organizationId));
+        return organizationSnapshots.get(organizationId).getOrganization();
     }
 
     private String getCurrentRankName(User user, Organization organization) {
-        if (user.getCurrentRankId() == null) return "Unranked";
+        return getCurrentRankName(user.getCurrentRankId(), organization);
+    }
 
-        return organization.getRankConfiguration(user.getCurrentRankId())
+    private String getCurrentRankName(String currentRankId, Organization organization) {
+        if (currentRankId == null) return "Unranked";
+
+        return organization.getRankConfiguration(currentRankId)
                 .map(Organization.RankConfiguration::getName)
                 .orElse("Unknown Rank");
     }
 
     private String getCurrentRankInsignia(User user, Organization organization) {
-        if (user.getCurrentRankId() == null) return "🔸";
+        return getCurrentRankInsignia(user.getCurrentRankId(), organization);
+    }
 
-        return organization.getRankConfiguration(user.getCurrentRankId())
+    private String getCurrentRankInsignia(String currentRankId, Organization organization) {
+        if (currentRankId == null) return "🔸";
+
+        return organization.getRankConfiguration(currentRankId)
                 .map(Organization.RankConfiguration::getInsignia)
                 .orElse("🔸");
     }
@@ -535,12 +1182,31 @@ public class UserService {
                 .orElse(0); // No next rank
     }
 
+    /**
+     * A user's progress on a mission, with legacy action type IDs converted to bits for reading.
+     */
+    private Optional<User.MissionProgress> missionProgress(User user, Organization organization, String missionTypeId) {
+        Optional<User.MissionProgress> progress = user.getMissionProgress(missionTypeId);
+        progress.ifPresent(mp -> mp.foldLegacyActions(organization::getActionTypeBit));
+        return progress;
+    }
+
+    private int countCompletedActions(User.MissionProgress progress, Organization organization, Organization.MissionType missionType) {
+        int completed = 0;
+        for (String actionTypeId : missionType.getRequiredActionTypeIds() != null ? missionType.getRequiredActionTypeIds() : List.<String>of()) {
+            if (progress.hasAction(organization.getActionTypeBit(actionTypeId))) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+
     private List<com.starfleet.gamifier.controller.dto.UserRequests.MissionProgressSummary> getMissionProgressSummaries(User user, Organization organization) {
         return organization.getActiveMissionTypes().stream()
                 .map(missionType -> {
-                    Optional<User.MissionProgress> progress = user.getMissionProgress(missionType.getId());
+                    Optional<User.MissionProgress> progress = missionProgress(user, organization, missionType.getId());
 
-                    int completedActions = progress.map(mp -> mp.getCompletedActionTypeIds().size()).orElse(0);
+                    int completedActions = progress.map(mp -> countCompletedActions(mp, organization, missionType)).orElse(0);
                     boolean completed = progress.map(User.MissionProgress::getCompleted).orElse(false);
 
                     return com.starfleet.gamifier.controller.dto.UserRequests.MissionProgressSummary.builder()
@@ -587,32 +1253,27 @@ public class UserService {
                 .orElse("Unknown Action");
     }
 
-    private void validateCsvHeader(String headerLine) {
-        String[] expectedHeaders = {"employee_id", "name", "surname", "manager_employee_id", "role"};
-        String[] actualHeaders = headerLine.toLowerCase().split(",");
-
-        if (actualHeaders.length < 4) {
+    private void validateCsvHeader(CsvReader header) {
+        header.requireWellFormed();
+        if (header.fieldCount() < 4) {
             throw new IllegalArgumentException("CSV must have at least 4 columns: employee_id, name, surname, manager_employee_id");
         }
     }
 
-    private User parseCsvLineToUser(String line, String organizationId) {
-        String[] values = line.split(",");
-
-        if (values.length < 4) {
+    /**
+     * Build a new user from a CSV record of {@code employee_id,name,surname,manager_employee_id[,role]}.
+     */
+    static User userFromCsvRecord(CsvReader record, String organizationId) {
+        record.requireWellFormed();
+        if (record.fieldCount() < 4) {
             throw new IllegalArgumentException("Invalid CSV line format");
         }
 
-        String employeeId = values[0].trim();
-        String name = values[1].trim();
-        String surname = values[2].trim();
-        String managerEmployeeId = values[3].trim().isEmpty() ? null : values[3].trim();
-        UserRole role = values.length > 4 && "admin".equalsIgnoreCase(values[4].trim()) ? UserRole.ADMIN : UserRole.USER;
-
-        // Check for duplicate employee ID
-        if (userRepository.existsByOrganizationIdAndEmployeeId(organizationId, employeeId)) {
-            throw new IllegalArgumentException("Employee ID already exists: " + employeeId);
-        }
+        String employeeId = record.field(0).trim();
+        String name = record.field(1).trim();
+        String surname = record.field(2).trim();
+        String managerEmployeeId = record.field(3).trim().isEmpty() ? null : record.field(3).trim();
+        UserRole role = record.fieldCount() > 4 && "admin".equalsIgnoreCase(record.field(4).trim()) ? UserRole.ADMIN : UserRole.USER;
 
         return User.builder()
                 .organizationId(organizationId)
@@ -657,6 +1318,14 @@ public class UserService {
                 manager.getEmployeeId());
     }
 
+    /**
+     * Those of the given users who report directly to the manager, found with one query.
+     */
+    public List<User> getDirectReports(User manager, Collection<String> userIds) {
+        return userRepository.findByIdInAndOrganizationIdAndManagerEmployeeId(
+                userIds, manager.getOrganizationId(), manager.getEmployeeId());
+    }
+
     private Organization.ActionType getActionType(Organization organization, String actionTypeId) {
         return organization.getActionType(actionTypeId)
                 .orElseThrow(() -> new IllegalArgumentException("Action type not found: " + actionTypeId));
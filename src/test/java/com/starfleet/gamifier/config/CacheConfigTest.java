@@ -0,0 +1,131 @@
+package com.starfleet.gamifier.config;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the cache managers built by CacheConfig.
+ */
+class CacheConfigTest {
+
+    private final CacheConfig cacheConfig = new CacheConfig();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void applicationCacheManager_ShouldApplyPerCachePolicyAndRecordStats() {
+        // Given
+        CachePolicyProperties properties = new CachePolicyProperties();
+        CachePolicyProperties.Policy policy = new CachePolicyProperties.Policy();
+        policy.setMaximumSize(2);
+        properties.getCaches().put("allTimeLeaderboard", policy);
+
+        // When
+        CacheManager cacheManager = cacheConfig.applicationCacheManager(properties, reloaders());
+        Cache cache = cacheManager.getCache("allTimeLeaderboard");
+        cache.put("key", "value");
+        cache.get("key");
+        cache.get("missing");
+
+        // Then
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+        assertEquals(2L, nativeCache.policy().eviction().orElseThrow().getMaximum());
+        assertEquals(1L, nativeCache.stats().hitCount());
+        assertEquals(1L, nativeCache.stats().missCount());
+        assertTrue(cacheManager.getCacheNames().containsAll(CacheConfig.APPLICATION_CACHES));
+    }
+
+    @Test
+    void applicationCacheManager_ShouldRefreshThroughReloaderAndLeaveMissesToCaller() {
+        // Given
+        CachePolicyProperties properties = new CachePolicyProperties();
+        CachePolicyProperties.Policy policy = new CachePolicyProperties.Policy();
+        policy.setRefreshAfterWrite(Duration.ofSeconds(30));
+        properties.getCaches().put("leaderboardStats", policy);
+        CacheManager cacheManager = cacheConfig.applicationCacheManager(properties, reloaders(new CacheReloader() {
+            @Override
+            public Collection<String> reloadableCaches() {
+                return List.of("leaderboardStats");
+            }
+
+            @Override
+            public Object reload(String cacheName, Object key) {
+                return "reloaded-" + key;
+            }
+        }));
+        Cache cache = cacheManager.getCache("leaderboardStats");
+        cache.put("org-1", "stale");
+
+        // When
+        @SuppressWarnings("unchecked")
+        LoadingCache<Object, Object> nativeCache = (LoadingCache<Object, Object>) cache.getNativeCache();
+        nativeCache.refresh("org-1").join();
+
+        // Then
+        // The refreshed value is swapped in by a completion stage that may run after join() returns
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while ("stale".equals(cache.get("org-1").get()) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals("reloaded-org-1", cache.get("org-1").get());
+        assertNull(cache.get("org-2"));
+    }
+
+    @Test
+    void applicationCacheManager_ShouldRejectRefreshNotShorterThanExpiry() {
+        // Given
+        CachePolicyProperties properties = new CachePolicyProperties();
+        CachePolicyProperties.Policy policy = new CachePolicyProperties.Policy();
+        policy.setRefreshAfterWrite(policy.getExpireAfterWrite());
+        properties.getCaches().put("monthlyLeaderboard", policy);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> cacheConfig.applicationCacheManager(properties, reloaders()));
+    }
+
+    @Test
+    void requestScopedCacheManager_ShouldCachePerRequestAndSkipCachingOutsideRequests() {
+        // Given
+        CacheManager cacheManager = cacheConfig.requestScopedCacheManager();
+
+        // When
+        Cache outsideRequest = cacheManager.getCache("organizationById");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        cacheManager.getCache("organizationById").put("org-1", "organization");
+        Cache sameRequest = cacheManager.getCache("organizationById");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        Cache nextRequest = cacheManager.getCache("organizationById");
+
+        // Then
+        assertInstanceOf(NoOpCache.class, outsideRequest);
+        assertEquals("organization", sameRequest.get("org-1").get());
+        assertNull(nextRequest.get("org-1"));
+    }
+
+    private static ObjectProvider<CacheReloader> reloaders(CacheReloader... reloaders) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        for (int i = 0; i < reloaders.length; i++) {
+            beanFactory.addBean("reloader" + i, reloaders[i]);
+        }
+        return beanFactory.getBeanProvider(CacheReloader.class);
+    }
+}
@@ -0,0 +1,121 @@
+package com.starfleet.gamifier.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEndpointTest {
+
+    private FlightRecorderEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        FlightRecorderProperties properties = new FlightRecorderProperties();
+        properties.setMaxDuration(Duration.ofMinutes(5));
+        properties.setMaxRecordings(2);
+        endpoint = new FlightRecorderEndpoint(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.recordings().forEach(recording -> endpoint.close(recording.getId()));
+    }
+
+    @Test
+    void start_ShouldCapDurationAndListRunningRecording() throws Exception {
+        // When
+        FlightRecorderEndpoint.RecordingInfo started = endpoint.start(null, Duration.ofHours(1)).getBody();
+
+        // Then
+        assertEquals("RUNNING", started.getState());
+        assertEquals(Duration.ofMinutes(5), started.getDuration());
+        assertEquals(1, endpoint.recordings().size());
+    }
+
+    @Test
+    void stopAndDownload_ShouldReturnRecordingAndDeleteDumpOnceRead() throws Exception {
+        // Given
+        long id = endpoint.start("default", null).getBody().getId();
+
+        // When
+        WebEndpointResponse<FlightRecorderEndpoint.RecordingInfo> stopped = endpoint.stop(id);
+        WebEndpointResponse<Resource> download = endpoint.download(id);
+
+        // Then
+        assertEquals("STOPPED", stopped.getBody().getState());
+        assertEquals(WebEndpointResponse.STATUS_OK, download.getStatus());
+        Path dump = download.getBody().getFile().toPath();
+        try (InputStream input = download.getBody().getInputStream()) {
+            byte[] magic = input.readNBytes(4);
+            assertArrayEquals(new byte[]{'F', 'L', 'R', 0}, magic);
+        }
+        assertFalse(Files.exists(dump));
+    }
+
+    @Test
+    void unknownRecording_ShouldBeNotFound() throws Exception {
+        // When & Then
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.stop(42L).getStatus());
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.download(42L).getStatus());
+    }
+
+    @Test
+    void close_ShouldDiscardRecording() throws Exception {
+        // Given
+        long id = endpoint.start(null, null).getBody().getId();
+
+        // When
+        endpoint.close(id);
+
+        // Then
+        assertTrue(endpoint.recordings().isEmpty());
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.download(id).getStatus());
+    }
+
+    @Test
+    void start_WhileRecording_ShouldBeRejected() throws Exception {
+        // Given
+        endpoint.start(null, null);
+
+        // When
+        WebEndpointResponse<FlightRecorderEndpoint.RecordingInfo> second = endpoint.start(null, null);
+
+        // Then
+        assertEquals(409, second.getStatus());
+        assertEquals(1, endpoint.recordings().size());
+    }
+
+    @Test
+    void start_ShouldDiscardOldestStoppedRecordingsBeyondLimit() throws Exception {
+        // Given
+        long first = endpoint.start(null, null).getBody().getId();
+        endpoint.stop(first);
+        long second = endpoint.start(null, null).getBody().getId();
+        endpoint.stop(second);
+
+        // When
+        long third = endpoint.start(null, null).getBody().getId();
+
+        // Then
+        assertEquals(List.of(second, third), endpoint.recordings().stream()
+                .map(FlightRecorderEndpoint.RecordingInfo::getId).sorted().toList());
+    }
+
+    @Test
+    void start_WithUnknownSettings_ShouldBeRejected() {
+        // When & Then
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.start("no-such-settings", null));
+        assertTrue(endpoint.recordings().isEmpty());
+    }
+}
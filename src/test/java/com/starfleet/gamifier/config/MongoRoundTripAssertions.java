@@ -0,0 +1,59 @@
+package com.starfleet.gamifier.config;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Assertions on the MongoDB round trips of a piece of work run on the test thread, to lock in
+ * how many commands an endpoint or service call needs. Requires the application's
+ * {@link MongoRoundTrips} listener on the Mongo client, as in a Spring Boot test.
+ */
+public final class MongoRoundTripAssertions {
+
+    private MongoRoundTripAssertions() {
+    }
+
+    /**
+     * Work run by an assertion; may throw, like MockMvc calls.
+     */
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+
+    public static MongoRoundTrips.Stats assertCommandsAtMost(int max, Work work) throws Exception {
+        MongoRoundTrips.Stats stats = record(work);
+        assertTrue(stats.getCommandCount() <= max,
+                () -> "Expected at most " + max + " MongoDB commands but got " + describe(stats));
+        return stats;
+    }
+
+    public static MongoRoundTrips.Stats assertCommandsAtMost(String collection, int max, Work work) throws Exception {
+        MongoRoundTrips.Stats stats = record(work);
+        assertTrue(stats.getCommandCount(collection) <= max,
+                () -> "Expected at most " + max + " MongoDB commands on " + collection + " but got " + describe(stats));
+        return stats;
+    }
+
+    public static MongoRoundTrips.Stats assertNoRepeatedCommands(int maxRepeats, Work work) throws Exception {
+        MongoRoundTrips.Stats stats = record(work);
+        assertTrue(stats.getRepeated(maxRepeats).isEmpty(),
+                () -> "Expected no command shape repeated more than " + maxRepeats + " times but got "
+                        + stats.getRepeated(maxRepeats) + " in " + describe(stats));
+        return stats;
+    }
+
+    private static MongoRoundTrips.Stats record(Work work) throws Exception {
+        try (MongoRoundTrips.Recording recording = MongoRoundTrips.start()) {
+            work.run();
+            return recording.stats();
+        }
+    }
+
+    private static String describe(MongoRoundTrips.Stats stats) {
+        return stats + stats.getCommands().stream()
+                .map(command -> "\n  " + command.getShape())
+                .collect(Collectors.joining());
+    }
+}
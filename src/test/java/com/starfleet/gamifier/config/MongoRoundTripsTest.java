@@ -0,0 +1,153 @@
+package com.starfleet.gamifier.config;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDocument;
+import org.bson.ByteBufNIO;
+import org.bson.RawBsonDocument;
+import org.bson.io.ByteBufferBsonInput;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoRoundTripsTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private final MongoRoundTrips listener = new MongoRoundTrips();
+    private int requestId;
+
+    @Test
+    void record_ShouldCountCommandsTimeAndBytesPerCollection() {
+        // When
+        MongoRoundTrips.Stats stats = MongoRoundTrips.record(() -> {
+            succeed("find", "{find: 'users', filter: {_id: 'u1'}}", 5);
+            succeed("find", "{find: 'organizations', filter: {_id: 'org-1'}}", 3);
+            fail("update", "{update: 'users', updates: [{q: {_id: 'u1'}, u: {$inc: {totalPoints: 5}}}]}", 2);
+        });
+
+        // Then
+        assertEquals(3, stats.getCommandCount());
+        assertEquals(2, stats.getCommandCount("users"));
+        assertEquals(1, stats.getCommandCount("organizations"));
+        assertEquals(Duration.ofMillis(10), stats.getTotals().getTime());
+        assertEquals(Duration.ofMillis(7), stats.getByCollection().get("users").getTime());
+        assertTrue(stats.getTotals().getBytes() > 0);
+        assertEquals("find users {_id}", stats.getCommands().get(0).getShape());
+        assertEquals("update users {_id}", stats.getCommands().get(2).getShape());
+    }
+
+    @Test
+    void record_WithoutMeasuringBytes_ShouldCountNoBytes() {
+        // Given
+        MongoRoundTrips withoutBytes = new MongoRoundTrips(false);
+
+        // When
+        MongoRoundTrips.Stats stats = MongoRoundTrips.record(() -> {
+            withoutBytes.commandStarted(new CommandStartedEvent(null, 1, 1, CONNECTION, "gamifier", "find",
+                    BsonDocument.parse("{find: 'users', filter: {_id: 'u1'}}")));
+            withoutBytes.commandSucceeded(new CommandSucceededEvent(null, 1, 1, CONNECTION, "gamifier", "find",
+                    BsonDocument.parse("{ok: 1}"), TimeUnit.MILLISECONDS.toNanos(2)));
+        });
+
+        // Then
+        assertEquals(1, stats.getCommandCount());
+        assertEquals(0, stats.getTotals().getBytes());
+    }
+
+    @Test
+    void sizeOf_ShouldReadTheLengthOfAByteBackedDocument() {
+        // Given
+        RawBsonDocument encoded = RawBsonDocument.parse("{find: 'users', filter: {_id: 'u1'}}");
+        BsonDocument byteBacked = new BsonDocument() {
+            @Override
+            public BsonBinaryReader asBsonReader() {
+                return new BsonBinaryReader(new ByteBufferBsonInput(new ByteBufNIO(encoded.getByteBuffer().asNIO())));
+            }
+        };
+
+        // When
+        long size = MongoRoundTrips.sizeOf(byteBacked);
+
+        // Then
+        assertEquals(encoded.getByteBuffer().remaining(), size);
+        assertEquals(encoded.getByteBuffer().remaining(), MongoRoundTrips.sizeOf(encoded));
+    }
+
+    @Test
+    void commandsOutsideRecording_ShouldNotBeCounted() {
+        // Given
+        succeed("find", "{find: 'users', filter: {}}", 1);
+
+        // When
+        MongoRoundTrips.Stats stats = MongoRoundTrips.record(() -> { });
+
+        // Then
+        assertEquals(0, stats.getCommandCount());
+    }
+
+    @Test
+    void getRepeated_ShouldReportShapesIssuedMoreThanAllowed() {
+        // When
+        MongoRoundTrips.Stats stats = MongoRoundTrips.record(() -> {
+            for (int i = 0; i < 6; i++) {
+                succeed("find", "{find: 'organizations', filter: {_id: 'org-" + i + "'}}", 1);
+            }
+            succeed("find", "{find: 'users', filter: {organizationId: 'org-1'}}", 1);
+            succeed("aggregate", "{aggregate: 'users', pipeline: [{$match: {organizationId: 'org-1'}}]}", 1);
+        });
+
+        // Then
+        assertEquals(Map.of("find organizations {_id}", 6L), stats.getRepeated(5));
+        assertTrue(stats.getRepeated(6).isEmpty());
+    }
+
+    @Test
+    void nestedRecordings_ShouldCountTowardsEveryOpenRecording() {
+        // When
+        MongoRoundTrips.Stats inner;
+        MongoRoundTrips.Stats outer;
+        try (MongoRoundTrips.Recording recording = MongoRoundTrips.start()) {
+            succeed("find", "{find: 'users', filter: {}}", 1);
+            inner = MongoRoundTrips.record(() -> succeed("find", "{find: 'events', filter: {}}", 1));
+            succeed("getMore", "{getMore: {$numberLong: '7'}, collection: 'users'}", 1);
+            outer = recording.stats();
+        }
+
+        // Then
+        assertEquals(1, inner.getCommandCount());
+        assertEquals(3, outer.getCommandCount());
+        assertEquals(2, outer.getCommandCount("users"));
+        assertEquals(0, MongoRoundTrips.record(() -> { }).getCommandCount());
+    }
+
+    private void succeed(String commandName, String command, long millis) {
+        int id = start(commandName, command);
+        listener.commandSucceeded(new CommandSucceededEvent(null, id, id, CONNECTION, "gamifier", commandName,
+                BsonDocument.parse("{ok: 1}"), TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+
+    private void fail(String commandName, String command, long millis) {
+        int id = start(commandName, command);
+        listener.commandFailed(new CommandFailedEvent(null, id, id, CONNECTION, "gamifier", commandName,
+                TimeUnit.MILLISECONDS.toNanos(millis), new IllegalStateException("write conflict")));
+    }
+
+    private int start(String commandName, String command) {
+        int id = ++requestId;
+        listener.commandStarted(new CommandStartedEvent(null, id, id, CONNECTION, "gamifier", commandName,
+                BsonDocument.parse(command)));
+        return id;
+    }
+}
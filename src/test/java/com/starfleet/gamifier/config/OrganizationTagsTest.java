@@ -0,0 +1,65 @@
+package com.starfleet.gamifier.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrganizationTagsTest {
+
+    private OrganizationTags organizationTags;
+
+    @BeforeEach
+    void setUp() {
+        OrganizationMetricsProperties properties = new OrganizationMetricsProperties();
+        properties.setMaxOrganizations(2);
+        organizationTags = new OrganizationTags(properties);
+    }
+
+    @Test
+    void admit_ShouldTagOrganizationsBeyondTheLimitAsOther() {
+        // When
+        String first = organizationTags.admit("org-1");
+        String second = organizationTags.admit("org-2");
+        String third = organizationTags.admit("org-3");
+
+        // Then
+        assertEquals("org-1", first);
+        assertEquals("org-2", second);
+        assertEquals(OrganizationTags.OTHER, third);
+        assertEquals("org-1", organizationTags.admit("org-1"));
+        assertEquals(OrganizationTags.NONE, organizationTags.admit(null));
+    }
+
+    @Test
+    void tag_ShouldNotAdmitOrganizations() {
+        // When
+        String tag = organizationTags.tag("org-1");
+
+        // Then
+        assertEquals(OrganizationTags.OTHER, tag);
+        assertEquals("org-1", organizationTags.admit("org-1"));
+        assertEquals("org-1", organizationTags.tag("org-1"));
+    }
+
+    @Test
+    void scopes_ShouldTrackTheOrganizationOfTheCurrentThread() {
+        // Given
+        organizationTags.admit("org-1");
+
+        // When & Then
+        assertEquals(OrganizationTags.NONE, organizationTags.current());
+        try (OrganizationTags.Scope outer = organizationTags.open(null)) {
+            assertEquals(OrganizationTags.NONE, organizationTags.current());
+            organizationTags.identify("org-1");
+            assertEquals("org-1", organizationTags.current());
+
+            try (OrganizationTags.Scope inner = organizationTags.open(null)) {
+                organizationTags.identify("org-2");
+                assertEquals("org-1", inner.getOrganizationId());
+            }
+            assertEquals("org-1", outer.getOrganizationId());
+        }
+        assertEquals(OrganizationTags.NONE, organizationTags.current());
+    }
+}
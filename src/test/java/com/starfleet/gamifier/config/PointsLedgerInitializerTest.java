@@ -0,0 +1,88 @@
+package com.starfleet.gamifier.config;
+
+import com.starfleet.gamifier.domain.PointsLedgerEntry;
+import com.starfleet.gamifier.domain.User;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PointsLedgerInitializerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations inserts;
+
+    @Mock
+    private ApplicationArguments applicationArguments;
+
+    @InjectMocks
+    private PointsLedgerInitializer pointsLedgerInitializer;
+
+    @Test
+    void run_ShouldOpenBalanceAsStoredTotalLessLedgerOnlyForUnopenedUsers() {
+        // Given
+        User seeded = User.builder().id("user-1").organizationId("org-1").totalPoints(1500).build();
+        User awardedSince = User.builder().id("user-2").organizationId("org-1").totalPoints(900).build();
+        User opened = User.builder().id("user-3").organizationId("org-1").totalPoints(300).build();
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenReturn(Stream.of(seeded, awardedSince, opened));
+        when(mongoTemplate.find(any(Query.class), eq(PointsLedgerEntry.class))).thenReturn(List.of(
+                PointsLedgerEntry.builder().id(PointsLedgerEntry.openingBalanceId("user-3")).build()));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(PointsLedgerEntry.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(new Document("_id", "user-2").append("total", 100)), new Document()));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PointsLedgerEntry.class)).thenReturn(inserts);
+        List<PointsLedgerEntry> entries = new ArrayList<>();
+        when(inserts.insert(any(Object.class))).thenAnswer(invocation -> {
+            entries.add(invocation.getArgument(0));
+            return inserts;
+        });
+
+        // When
+        pointsLedgerInitializer.run(applicationArguments);
+
+        // Then
+        assertEquals(2, entries.size());
+        PointsLedgerEntry seededBalance = entries.stream().filter(entry -> entry.getUserId().equals("user-1")).findFirst().orElseThrow();
+        PointsLedgerEntry awardedSinceBalance = entries.stream().filter(entry -> entry.getUserId().equals("user-2")).findFirst().orElseThrow();
+        assertEquals(1500, seededBalance.getDelta());
+        assertEquals("opening-user-1", seededBalance.getId());
+        assertEquals(PointsLedgerEntry.OPENING_BALANCE, seededBalance.getReason());
+        assertEquals(800, awardedSinceBalance.getDelta());
+        verify(inserts).execute();
+    }
+
+    @Test
+    void run_WhenEveryBalanceIsOpen_ShouldNotWrite() {
+        // Given
+        when(mongoTemplate.stream(any(Query.class), eq(User.class)))
+                .thenReturn(Stream.of(User.builder().id("user-1").totalPoints(300).build()));
+        when(mongoTemplate.find(any(Query.class), eq(PointsLedgerEntry.class))).thenReturn(List.of(
+                PointsLedgerEntry.builder().id(PointsLedgerEntry.openingBalanceId("user-1")).build()));
+
+        // When
+        pointsLedgerInitializer.run(applicationArguments);
+
+        // Then
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(PointsLedgerEntry.class));
+    }
+}
@@ -1,6 +1,7 @@
 package com.starfleet.gamifier.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starfleet.gamifier.controller.dto.LeaderboardResponses.UserLeaderboardPosition;
 import com.starfleet.gamifier.service.LeaderboardService;
 import com.starfleet.gamifier.service.OrganizationService;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,6 +33,42 @@ class LeaderboardControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Test
+    void getUserPosition_ShouldReturnNeighbourhoodForRequestedRange() throws Exception {
+        UserLeaderboardPosition position = new UserLeaderboardPosition();
+        position.setUserId("user-1");
+        position.setPosition(7);
+        position.setTotalUsers(120);
+        position.setNearbyUsers(List.of());
+
+        when(leaderboardService.getUserAllTimePosition("org-1", "user-1", 3)).thenReturn(position);
+
+        mockMvc.perform(get("/api/leaderboards/user-position?organizationId=org-1&userId=user-1&range=3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position").value(7))
+                .andExpect(jsonPath("$.totalUsers").value(120));
+    }
+
+    @Test
+    void getUserPosition_WithExcessiveRange_ShouldCapAt50() throws Exception {
+        when(leaderboardService.getUserAllTimePosition("org-1", "user-1", 50)).thenReturn(new UserLeaderboardPosition());
+
+        mockMvc.perform(get("/api/leaderboards/user-position?organizationId=org-1&userId=user-1&range=500"))
+                .andExpect(status().isOk());
+
+        verify(leaderboardService).getUserAllTimePosition("org-1", "user-1", 50);
+    }
+
+    @Test
+    void getUserPosition_WithNegativeRange_ShouldReturnOnlyOwnPosition() throws Exception {
+        when(leaderboardService.getUserAllTimePosition("org-1", "user-1", 0)).thenReturn(new UserLeaderboardPosition());
+
+        mockMvc.perform(get("/api/leaderboards/user-position?organizationId=org-1&userId=user-1&range=-3"))
+                .andExpect(status().isOk());
+
+        verify(leaderboardService).getUserAllTimePosition("org-1", "user-1", 0);
+    }
+
     // Tests for ranking-based leaderboard methods moved from RankingController
 
     @Test
@@ -0,0 +1,112 @@
+package com.starfleet.gamifier.controller;
+
+import com.starfleet.gamifier.domain.Organization;
+import com.starfleet.gamifier.domain.User;
+import com.starfleet.gamifier.repository.OrganizationRepository;
+import com.starfleet.gamifier.repository.UserRepository;
+import com.starfleet.gamifier.service.LeaderboardIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.starfleet.gamifier.config.MongoRoundTripAssertions.assertCommandsAtMost;
+import static com.starfleet.gamifier.config.MongoRoundTripAssertions.assertNoRepeatedCommands;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Locks in the number of MongoDB round trips of the leaderboard endpoints, so they stay
+ * independent of the page size and the number of users.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class LeaderboardRoundTripBudgetTest {
+
+    private static final String ORGANIZATION_ID = "budget-org";
+    private static final int USERS = 30;
+
+    @Container
+    static MongoDBContainer mongodb = new MongoDBContainer("mongo:7.0")
+            .withExposedPorts(27017);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongodb::getReplicaSetUrl);
+    }
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        organizationRepository.deleteAll();
+
+        organizationRepository.save(Organization.builder()
+                .id(ORGANIZATION_ID)
+                .name("Budget Federation")
+                .federationId("BUDGET-001")
+                .rankConfigurations(new ArrayList<>(List.of(
+                        Organization.RankConfiguration.builder().id("ensign").name("Ensign").insignia("*")
+                                .pointsThreshold(0).order(1).build(),
+                        Organization.RankConfiguration.builder().id("captain").name("Captain").insignia("****")
+                                .pointsThreshold(1000).order(2).build())))
+                .build());
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .id("budget-user-" + i)
+                    .organizationId(ORGANIZATION_ID)
+                    .employeeId("B" + i)
+                    .name("Crew")
+                    .surname("Member " + i)
+                    .totalPoints(i * 100)
+                    .currentRankId(i * 100 >= 1000 ? "captain" : "ensign")
+                    .build());
+        }
+        userRepository.saveAll(users);
+        leaderboardIndex.evict(ORGANIZATION_ID);
+        leaderboardIndex.size(ORGANIZATION_ID);
+    }
+
+    @Test
+    void allTimeLeaderboardPage_ShouldNeedAtMostTwoCommands() throws Exception {
+        assertCommandsAtMost(2, () -> mockMvc
+                .perform(get("/api/leaderboards/all-time?organizationId=" + ORGANIZATION_ID + "&page=0&size=20"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void rankings_ShouldLoadOrganizationOnceRegardlessOfUsers() throws Exception {
+        assertCommandsAtMost(2, () -> mockMvc
+                .perform(get("/api/leaderboards/rankings?organizationId=" + ORGANIZATION_ID + "&limit=" + USERS))
+                .andExpect(status().isOk()));
+        assertNoRepeatedCommands(1, () -> mockMvc
+                .perform(get("/api/leaderboards/rankings?organizationId=" + ORGANIZATION_ID + "&limit=" + USERS))
+                .andExpect(status().isOk()));
+    }
+}
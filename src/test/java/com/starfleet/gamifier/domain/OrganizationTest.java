@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -230,4 +231,71 @@ class OrganizationTest {
         assertFalse(rank.isEligibleForPoints(100));
         assertFalse(rank.isHigherThan(Organization.RankConfiguration.builder().pointsThreshold(50).build()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldResolveConfigurationThroughIndex() {
+        organization.setActionTypes(new ArrayList<>(List.of(
+                Organization.ActionType.builder().id("action-1").name("Away Mission").build())));
+        organization.setMissionTypes(List.of(
+                Organization.MissionType.builder().id("mission-1").requiredActionTypeIds(List.of("action-1")).build(),
+                Organization.MissionType.builder().id("mission-2").requiredActionTypeIds(List.of("action-1")).active(false).build()));
+        organization.setRankConfigurations(List.of(
+                Organization.RankConfiguration.builder().id("captain").pointsThreshold(500).build(),
+                Organization.RankConfiguration.builder().id("ensign").pointsThreshold(100).build(),
+                Organization.RankConfiguration.builder().id("retired").pointsThreshold(300).active(false).build(),
+                Organization.RankConfiguration.builder().id("cadet").pointsThreshold(0).build()));
+
+        assertEquals("action-1", organization.getActionTypeByName("away MISSION").orElseThrow().getId());
+        assertEquals(List.of("mission-1"), organization.getMissionTypesWithActionType("action-1").stream()
+                .map(Organization.MissionType::getId).toList());
+        assertTrue(organization.getMissionTypesWithActionType("unknown").isEmpty());
+        assertTrue(organization.getEligibleRank(-1).isEmpty());
+        assertEquals("cadet", organization.getEligibleRank(99).orElseThrow().getId());
+        assertEquals("ensign", organization.getEligibleRank(499).orElseThrow().getId());
+        assertEquals("captain", organization.getEligibleRank(500).orElseThrow().getId());
+        assertEquals("ensign", organization.getNextRank(0).orElseThrow().getId());
+        assertTrue(organization.getNextRank(500).isEmpty());
+    }
+
+    @Test
+    void shouldRebuildIndexWhenConfigurationChanges() {
+        organization.setActionTypes(new ArrayList<>(List.of(
+                Organization.ActionType.builder().id("action-1").name("Away Mission").build())));
+        assertTrue(organization.getActionType("action-2").isEmpty());
+
+        // List grown in place
+        organization.getActionTypes().add(Organization.ActionType.builder().id("action-2").name("Diplomacy").build());
+        assertEquals("Diplomacy", organization.getActionType("action-2").orElseThrow().getName());
+
+        // Entry edited in place, followed by a configuration change
+        organization.getActionTypes().get(0).setName("Shore Leave");
+        organization.markConfigurationChanged();
+        assertEquals("action-1", organization.getActionTypeByName("shore leave").orElseThrow().getId());
+        assertEquals(1L, organization.getConfigVersion());
+    }
+
+    @Test
+    void shouldKeepProgressBitsStableWhenActionTypesAreRemoved() {
+        organization.setActionTypes(new ArrayList<>(List.of(
+                Organization.ActionType.builder().id("action-1").build(),
+                Organization.ActionType.builder().id("action-2").build(),
+                Organization.ActionType.builder().id("action-3").build())));
+        organization.setMissionTypes(List.of(
+                Organization.MissionType.builder().id("mission-1").requiredActionTypeIds(List.of("action-1", "action-3")).build(),
+                Organization.MissionType.builder().id("mission-2").requiredActionTypeIds(List.of("unknown")).build()));
+        assertEquals(2, organization.getActionTypeBit("action-3"));
+        assertArrayEquals(new long[]{0b101}, organization.getMissionMask("mission-1"));
+        assertNull(organization.getMissionMask("mission-2"));
+
+        // Bits pinned before the edit survive removal, and freed bits are not reused
+        organization.assignProgressBits();
+        organization.getActionTypes().removeIf(actionType -> actionType.getId().equals("action-2"));
+        organization.getActionTypes().add(Organization.ActionType.builder().id("action-4").build());
+        organization.markConfigurationChanged();
+
+        assertEquals(2, organization.getActionTypeBit("action-3"));
+        assertEquals(3, organization.getActionTypeBit("action-4"));
+        assertEquals(-1, organization.getActionTypeBit("action-2"));
+        assertEquals(4, organization.getNextProgressBit());
+    }
+}
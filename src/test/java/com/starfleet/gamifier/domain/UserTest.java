@@ -137,4 +137,37 @@ class UserTest {
         assertTrue(progress.getCompleted());
         assertNotNull(progress.getCompletionDate());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldTrackMissionActionsAsBitset() {
+        User.MissionProgress progress = user.startMissionProgress("mission123");
+        long[] mask = new long[2];
+        mask[0] |= 1L << 3;
+        mask[1] |= 1L << (70 - 64);
+
+        assertSame(progress, user.startMissionProgress("mission123"));
+        assertTrue(progress.recordAction(3));
+        assertFalse(progress.recordAction(3));
+        assertFalse(progress.covers(mask));
+        assertTrue(progress.recordAction(70));
+        assertTrue(progress.covers(mask));
+        assertTrue(progress.hasAction(70));
+        assertFalse(progress.hasAction(4));
+        assertFalse(progress.hasAction(-1));
+        assertFalse(progress.covers(null));
+    }
+
+    @Test
+    void shouldFoldLegacyActionTypeIdsIntoBits() {
+        User.MissionProgress progress = User.MissionProgress.builder()
+                .missionTypeId("mission123")
+                .completedActionTypeIds(Set.of("action1", "deleted"))
+                .build();
+
+        progress.foldLegacyActions(actionTypeId -> "action1".equals(actionTypeId) ? 5 : -1);
+
+        assertFalse(progress.hasLegacyActions());
+        assertTrue(progress.hasAction(5));
+        assertEquals(1, progress.getCompletedActions().length);
+    }
+}
@@ -0,0 +1,208 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.config.ImportProperties;
+import com.starfleet.gamifier.controller.dto.ActionRequests.ImportResult;
+import com.starfleet.gamifier.domain.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActionImportEngineTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private UserService userService;
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private ImportProperties importProperties;
+    private ActionImportEngine engine;
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        importProperties = new ImportProperties();
+        engine = new ActionImportEngine(mongoTemplate, userService, importProperties);
+
+        organization = Organization.builder()
+                .id("org-1")
+                .name("Test Organization")
+                .actionTypes(List.of(Organization.ActionType.builder()
+                        .id("action-1")
+                        .name("Training")
+                        .points(25)
+                        .captureMethods(Set.of(CaptureMethod.IMPORT))
+                        .build()))
+                .build();
+
+        lenient().when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Action.class)).thenReturn(bulkOperations);
+    }
+
+    @Test
+    void importActions_ShouldResolveUsersAndDuplicatesOncePerBatch() throws Exception {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(
+                User.builder().id("user-1").employeeId("EMP-001").build(),
+                User.builder().id("user-2").employeeId("EMP-002").build()));
+        when(mongoTemplate.find(any(Query.class), eq(Action.class))).thenReturn(List.of(
+                Action.builder().userId("user-2").actionTypeId("action-1").actionDate(LocalDate.of(2026, 1, 5)).build()));
+
+        String csv = """
+                employee_id,action_type,date
+                EMP-001,Training,2026-01-05
+                EMP-002,Training,2026-01-05
+                EMP-001,Training,2026-01-05
+                EMP-404,Training,2026-01-05
+                EMP-001,Unknown,2026-01-05
+                EMP-001,Training,05/01/2026
+                EMP-002,Training,2026-01-06
+                """;
+
+        // When
+        ImportResult result = engine.importActions(stream(csv), organization);
+
+        // Then
+        assertEquals(7, result.getTotalRecords());
+        assertEquals(2, result.getSuccessfulImports());
+        assertEquals(5, result.getFailedImports());
+        assertEquals(List.of(
+                "Line 2: Duplicate action for employee EMP-002 on 2026-01-05",
+                "Line 3: Duplicate action for employee EMP-001 on 2026-01-05",
+                "Line 4: User not found with employee ID: EMP-404 in organization: org-1",
+                "Line 5: Action type not found: Unknown",
+                "Line 6: Invalid date format. Expected YYYY-MM-DD: 05/01/2026"), result.getErrors());
+
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(User.class));
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Action.class));
+        verify(bulkOperations, times(1)).execute();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Action>> awarded = ArgumentCaptor.forClass(List.class);
+        verify(userService).awardPointsForActions(eq(organization), awarded.capture(), eq("CSV import"));
+        assertEquals(List.of("user-1", "user-2"), awarded.getValue().stream().map(Action::getUserId).toList());
+        assertTrue(awarded.getValue().stream().allMatch(action -> action.getId() != null));
+    }
+
+    @Test
+    void importActions_ShouldReuseResolvedUsersAcrossBatches() throws Exception {
+        // Given
+        importProperties.setBatchSize(2);
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(
+                User.builder().id("user-1").employeeId("EMP-001").build()));
+        when(mongoTemplate.find(any(Query.class), eq(Action.class))).thenReturn(List.of());
+
+        String csv = """
+                employee_id,action_type,date
+                EMP-001,Training,2026-01-01
+                EMP-001,Training,2026-01-02
+                EMP-001,Training,2026-01-03
+                """;
+
+        // When
+        ImportResult result = engine.importActions(stream(csv), organization);
+
+        // Then
+        assertEquals(3, result.getSuccessfulImports());
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(User.class));
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Action.class));
+        verify(userService, times(2)).awardPointsForActions(eq(organization), anyList(), eq("CSV import"));
+    }
+
+    @Test
+    void importActions_ShouldAwardStoredImportsThatWereNeverAwarded() throws Exception {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(
+                User.builder().id("user-1").employeeId("EMP-001").build()));
+        Action unawarded = Action.builder().id("stored-1").userId("user-1").actionTypeId("action-1")
+                .actionDate(LocalDate.of(2026, 1, 1)).captureMethod(CaptureMethod.IMPORT).build();
+        Action awarded = Action.builder().id("stored-2").userId("user-1").actionTypeId("action-1")
+                .actionDate(LocalDate.of(2026, 1, 2)).captureMethod(CaptureMethod.IMPORT).build();
+        when(mongoTemplate.find(any(Query.class), eq(Action.class))).thenReturn(List.of(unawarded, awarded));
+        when(userService.awardPointsForActions(eq(organization), anyList(), eq("CSV import"))).thenReturn(List.of(unawarded));
+
+        String csv = """
+                employee_id,action_type,date
+                EMP-001,Training,2026-01-01
+                EMP-001,Training,2026-01-02
+                """;
+
+        // When
+        ImportResult result = engine.importActions(stream(csv), organization);
+
+        // Then
+        assertEquals(1, result.getSuccessfulImports());
+        assertEquals(List.of("Line 2: Duplicate action for employee EMP-001 on 2026-01-02"), result.getErrors());
+        verify(userService).awardPointsForActions(organization, List.of(unawarded, awarded), "CSV import");
+        verifyNoInteractions(bulkOperations);
+    }
+
+    @Test
+    void importActions_ShouldCapReportedErrors() throws Exception {
+        // Given
+        importProperties.setMaxReportedErrors(2);
+
+        String csv = """
+                employee_id,action_type,date
+                EMP-001,Unknown,2026-01-01
+                EMP-001,Unknown,2026-01-02
+                EMP-001,Unknown,2026-01-03
+                EMP-001,Unknown,2026-01-04
+                """;
+
+        // When
+        ImportResult result = engine.importActions(stream(csv), organization);
+
+        // Then
+        assertEquals(4, result.getFailedImports());
+        assertEquals(List.of(
+                "Line 1: Action type not found: Unknown",
+                "Line 2: Action type not found: Unknown",
+                "... 2 more errors not shown"), result.getErrors());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void importActions_WithUnterminatedQuote_ShouldReportRowAndKeepEarlierRows() throws Exception {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(
+                User.builder().id("user-1").employeeId("EMP-001").build()));
+        when(mongoTemplate.find(any(Query.class), eq(Action.class))).thenReturn(List.of());
+
+        String csv = """
+                employee_id,action_type,date,evidence
+                EMP-001,Training,2026-01-01
+                EMP-001,Training,2026-01-02,"never closed
+                EMP-001,Training,2026-01-03
+                """;
+
+        // When
+        ImportResult result = engine.importActions(stream(csv), organization);
+
+        // Then
+        assertEquals(2, result.getTotalRecords());
+        assertEquals(1, result.getSuccessfulImports());
+        assertEquals(List.of("Line 2: Unterminated quoted field in CSV record 3"), result.getErrors());
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
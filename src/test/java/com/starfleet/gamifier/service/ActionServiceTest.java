@@ -1,10 +1,15 @@
 package com.starfleet.gamifier.service;
 
+import com.mongodb.client.result.UpdateResult;
+import com.starfleet.gamifier.config.OrganizationMetricsProperties;
+import com.starfleet.gamifier.config.OrganizationTags;
+import com.starfleet.gamifier.controller.dto.ActionRequests.BulkDecisionItem;
+import com.starfleet.gamifier.controller.dto.ActionRequests.BulkDecisionRequest;
+import com.starfleet.gamifier.controller.dto.ActionRequests.BulkDecisionResult;
 import com.starfleet.gamifier.controller.dto.ActionRequests.CaptureActionRequest;
+import com.starfleet.gamifier.controller.dto.ActionRequests.Decision;
 import com.starfleet.gamifier.domain.*;
 import com.starfleet.gamifier.repository.ActionCaptureRepository;
-import com.starfleet.gamifier.repository.EventRepository;
-import com.starfleet.gamifier.repository.OrganizationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +18,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 import java.time.LocalDate;
 import java.util.Collections;
@@ -30,13 +38,17 @@ class ActionServiceTest {
     @Mock
     private ActionCaptureRepository actionCaptureRepository;
     @Mock
-    private EventRepository eventRepository;
+    private EventSink eventSink;
     @Mock
-    private OrganizationRepository organizationRepository;
+    private OrganizationSnapshotCache organizationSnapshots;
     @Mock
     private UserService userService;
     @Mock
     private AuthenticationService authenticationService;
+    @Mock
+    private ActionImportEngine actionImportEngine;
+    @Mock
+    private MongoTemplate mongoTemplate;
 
     private ActionService actionService;
 
@@ -47,8 +59,9 @@ class ActionServiceTest {
     @BeforeEach
     void setUp() {
         actionService = new ActionService(
-                actionCaptureRepository, eventRepository, organizationRepository,
-                userService, authenticationService);
+                actionCaptureRepository, eventSink, organizationSnapshots,
+                userService, authenticationService, actionImportEngine, mongoTemplate,
+                new OrganizationTags(new OrganizationMetricsProperties()));
 
         currentUser = User.builder()
                 .id("user-1")
@@ -87,7 +100,7 @@ class ActionServiceTest {
 
         when(authenticationService.getCurrentUserId()).thenReturn("user-1");
         when(userService.getUser("user-1")).thenReturn(currentUser);
-        when(organizationRepository.findById("org-1")).thenReturn(Optional.of(organization));
+        when(organizationSnapshots.get("org-1")).thenReturn(OrganizationSnapshot.of(organization));
         when(actionCaptureRepository.existsByUserIdAndActionTypeIdAndActionDate(
                 anyString(), anyString(), any(LocalDate.class))).thenReturn(false);
         when(actionCaptureRepository.save(any(Action.class))).thenAnswer(invocation -> {
@@ -108,9 +121,35 @@ class ActionServiceTest {
         assertEquals(CaptureStatus.APPROVED, result.getStatus());
 
         verify(actionCaptureRepository).save(any(Action.class));
-        verify(eventRepository).save(any(Event.class));
-        verify(userService).awardPoints("user-1", 50, "Action completed: Test Action");
-        verify(userService).updateMissionProgress("user-1", "action-1");
+        verify(userService).applyApprovedAction(eq(currentUser), eq(organization), eq(result), eq("Action completed"),
+                argThat(events -> events.size() == 1 && events.get(0).getEventType() == EventType.ACTION_CAPTURED));
+        verify(userService, never()).getUser("user-2");
+        verify(userService, never()).awardPoints(anyString(), any(Integer.class), anyString(), any());
+        verify(userService, never()).updateMissionProgress(anyString(), anyString());
+        verify(eventSink, never()).publish(any(Event.class));
+    }
+
+    @Test
+    void captureAction_ForAnotherUser_ShouldApplyActionToTargetUser() {
+        // Given
+        CaptureActionRequest request = new CaptureActionRequest();
+        request.setActionTypeId("action-1");
+        request.setActionDate(LocalDate.now());
+        request.setTargetUserId("user-2");
+        User targetUser = User.builder().id("user-2").organizationId("org-1").build();
+
+        when(authenticationService.getCurrentUserId()).thenReturn("user-1");
+        when(userService.getUser("user-1")).thenReturn(currentUser);
+        when(userService.getUser("user-2")).thenReturn(targetUser);
+        when(organizationSnapshots.get("org-1")).thenReturn(OrganizationSnapshot.of(organization));
+        when(actionCaptureRepository.save(any(Action.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Action result = actionService.captureAction(request);
+
+        // Then
+        assertEquals("user-2", result.getUserId());
+        verify(userService).applyApprovedAction(eq(targetUser), eq(organization), eq(result), eq("Action completed"), anyList());
     }
 
     @Test
@@ -125,7 +164,7 @@ class ActionServiceTest {
 
         when(authenticationService.getCurrentUserId()).thenReturn("user-1");
         when(userService.getUser("user-1")).thenReturn(currentUser);
-        when(organizationRepository.findById("org-1")).thenReturn(Optional.of(organization));
+        when(organizationSnapshots.get("org-1")).thenReturn(OrganizationSnapshot.of(organization));
         when(actionCaptureRepository.existsByUserIdAndActionTypeIdAndActionDate(
                 anyString(), anyString(), any(LocalDate.class))).thenReturn(false);
         when(actionCaptureRepository.save(any(Action.class))).thenAnswer(invocation -> {
@@ -139,8 +178,8 @@ class ActionServiceTest {
 
         // Then
         assertEquals(CaptureStatus.PENDING_APPROVAL, result.getStatus());
-        verify(userService, never()).awardPoints(anyString(), any(Integer.class), anyString());
-        verify(userService, never()).updateMissionProgress(anyString(), anyString());
+        verify(userService, never()).applyApprovedAction(any(), any(), any(), anyString(), anyList());
+        verify(eventSink).publish(argThat(event -> event.getEventType() == EventType.ACTION_CAPTURED));
     }
 
     @Test
@@ -152,7 +191,7 @@ class ActionServiceTest {
 
         when(authenticationService.getCurrentUserId()).thenReturn("user-1");
         when(userService.getUser("user-1")).thenReturn(currentUser);
-        when(organizationRepository.findById("org-1")).thenReturn(Optional.of(organization));
+        when(organizationSnapshots.get("org-1")).thenReturn(OrganizationSnapshot.of(organization));
         when(actionCaptureRepository.existsByUserIdAndActionTypeIdAndActionDate(
                 anyString(), anyString(), any(LocalDate.class))).thenReturn(true);
 
@@ -174,7 +213,7 @@ class ActionServiceTest {
 
         when(authenticationService.getCurrentUserId()).thenReturn("user-1");
         when(userService.getUser("user-1")).thenReturn(currentUser);
-        when(organizationRepository.findById("org-1")).thenReturn(Optional.of(organization));
+        when(organizationSnapshots.get("org-1")).thenReturn(OrganizationSnapshot.of(organization));
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
@@ -196,8 +235,10 @@ class ActionServiceTest {
         when(actionCaptureRepository.findById("action-1")).thenReturn(Optional.of(pendingAction));
         when(authenticationService.getCurrentUserId()).thenReturn("manager-1");
         when(userService.isDirectManager("manager-1", "user-1")).thenReturn(true);
-        when(actionCaptureRepository.save(any(Action.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(organizationRepository.findById("org-1")).thenReturn(Optional.of(organization));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Action.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(organizationSnapshots.get("org-1")).thenReturn(OrganizationSnapshot.of(organization));
+        when(userService.getUser("user-1")).thenReturn(currentUser);
 
         // When
         Action result = actionService.approveAction("action-1");
@@ -205,9 +246,9 @@ class ActionServiceTest {
         // Then
         assertEquals(CaptureStatus.APPROVED, result.getStatus());
         assertEquals("manager-1", result.getApprovedBy());
-        verify(userService).awardPoints("user-1", 50, "Action approved: Test Action");
-        verify(userService).updateMissionProgress("user-1", "action-1");
-        verify(eventRepository).save(any(Event.class));
+        verify(userService).applyApprovedAction(eq(currentUser), eq(organization), eq(result), eq("Action approved"),
+                argThat(events -> events.size() == 1 && events.get(0).getEventType() == EventType.ACTION_APPROVED));
+        verify(eventSink, never()).publish(any(Event.class));
     }
 
     @Test
@@ -229,8 +270,34 @@ class ActionServiceTest {
         SecurityException exception = assertThrows(SecurityException.class,
                 () -> actionService.approveAction("action-1"));
         assertEquals("Only the direct manager can approve this action", exception.getMessage());
-        verify(actionCaptureRepository, never()).save(any(Action.class));
-        verify(userService, never()).awardPoints(anyString(), any(Integer.class), anyString());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Action.class));
+        verify(userService, never()).applyApprovedAction(any(), any(), any(), anyString(), anyList());
+    }
+
+    @Test
+    void approveAction_WhenDecidedConcurrently_ShouldNotAward() {
+        // Given
+        Action pendingAction = Action.builder()
+                .id("action-1")
+                .organizationId("org-1")
+                .userId("user-1")
+                .actionTypeId("action-1")
+                .status(CaptureStatus.PENDING_APPROVAL)
+                .build();
+
+        when(actionCaptureRepository.findById("action-1")).thenReturn(Optional.of(pendingAction));
+        when(authenticationService.getCurrentUserId()).thenReturn("manager-1");
+        when(userService.isDirectManager("manager-1", "user-1")).thenReturn(true);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Action.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> actionService.approveAction("action-1"));
+        assertEquals("Action is not pending approval", exception.getMessage());
+        verify(mongoTemplate).updateFirst(argThat((Query query) ->
+                CaptureStatus.PENDING_APPROVAL.equals(query.getQueryObject().get("status"))), any(Update.class), eq(Action.class));
+        verify(userService, never()).applyApprovedAction(any(), any(), any(), anyString(), anyList());
     }
 
     @Test
@@ -247,7 +314,8 @@ class ActionServiceTest {
         when(actionCaptureRepository.findById("action-1")).thenReturn(Optional.of(pendingAction));
         when(authenticationService.getCurrentUserId()).thenReturn("manager-1");
         when(userService.isDirectManager("manager-1", "user-1")).thenReturn(true);
-        when(actionCaptureRepository.save(any(Action.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Action.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
 
         // When
         Action result = actionService.rejectAction("action-1", "Invalid evidence");
@@ -256,8 +324,8 @@ class ActionServiceTest {
         assertEquals(CaptureStatus.REJECTED, result.getStatus());
         assertEquals("manager-1", result.getApprovedBy());
         assertEquals("Invalid evidence", result.getRejectionReason());
-        verify(eventRepository).save(any(Event.class));
-        verify(userService, never()).awardPoints(anyString(), any(Integer.class), anyString());
+        verify(eventSink).publish(any(Event.class));
+        verify(userService, never()).applyApprovedAction(any(), any(), any(), anyString(), anyList());
     }
 
     @Test
@@ -279,9 +347,113 @@ class ActionServiceTest {
         SecurityException exception = assertThrows(SecurityException.class,
                 () -> actionService.rejectAction("action-1", "Invalid evidence"));
         assertEquals("Only the direct manager can reject this action", exception.getMessage());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Action.class));
+    }
+
+    @Test
+    void decideActions_ShouldApproveDirectReportsInOneUpdateAndReportEachItem() {
+        // Given
+        User manager = User.builder().id("manager-1").organizationId("org-1").employeeId("MGR-001").build();
+        Action mine = pendingAction("capture-1", "user-1");
+        Action otherTeam = pendingAction("capture-2", "user-2");
+        Action approved = pendingAction("capture-3", "user-1");
+        approved.approve("manager-1");
+
+        BulkDecisionRequest request = new BulkDecisionRequest();
+        request.setActionIds(List.of("capture-1", "capture-2", "capture-3", "missing", "capture-1"));
+        request.setDecision(Decision.APPROVE);
+
+        when(authenticationService.getCurrentUserId()).thenReturn("manager-1");
+        when(userService.getUser("manager-1")).thenReturn(manager);
+        when(actionCaptureRepository.findAllById(anyIterable())).thenReturn(List.of(mine, otherTeam, approved));
+        when(userService.getDirectReports(eq(manager), anyCollection())).thenReturn(List.of(currentUser));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Action.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(organizationSnapshots.get("org-1")).thenReturn(OrganizationSnapshot.of(organization));
+
+        // When
+        BulkDecisionResult result = actionService.decideActions(request);
+
+        // Then
+        assertEquals(1, result.getApproved());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of("capture-1", "capture-2", "capture-3", "missing"),
+                result.getResults().stream().map(BulkDecisionItem::getActionId).toList());
+        assertTrue(result.getResults().get(0).getSuccess());
+        assertEquals(CaptureStatus.APPROVED, result.getResults().get(0).getStatus());
+        assertEquals("Only the direct manager can approve this action", result.getResults().get(1).getError());
+        assertEquals("Action is not pending approval", result.getResults().get(2).getError());
+        assertEquals("Action capture not found: missing", result.getResults().get(3).getError());
+
+        verify(mongoTemplate, times(1)).updateMulti(any(Query.class), any(Update.class), eq(Action.class));
+        verify(userService).awardPointsForActions(organization, List.of(mine), "Action approved");
+        verify(eventSink).publishAll(argThat((List<Event> events) -> events.size() == 1));
+        verify(userService, never()).isDirectManager(anyString(), anyString());
         verify(actionCaptureRepository, never()).save(any(Action.class));
     }
 
+    @Test
+    void decideActions_ShouldSkipActionsDecidedConcurrently() {
+        // Given
+        User manager = User.builder().id("manager-1").organizationId("org-1").employeeId("MGR-001").build();
+        BulkDecisionRequest request = new BulkDecisionRequest();
+        request.setActionIds(List.of("capture-1", "capture-2"));
+        request.setDecision(Decision.REJECT);
+        request.setRejectionReason("No evidence");
+
+        when(authenticationService.getCurrentUserId()).thenReturn("manager-1");
+        when(userService.getUser("manager-1")).thenReturn(manager);
+        when(actionCaptureRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(pendingAction("capture-1", "user-1"), pendingAction("capture-2", "user-1")));
+        when(userService.getDirectReports(eq(manager), anyCollection())).thenReturn(List.of(currentUser));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Action.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(mongoTemplate.find(any(Query.class), eq(Action.class)))
+                .thenReturn(List.of(Action.builder().id("capture-2").build()));
+
+        // When
+        BulkDecisionResult result = actionService.decideActions(request);
+
+        // Then
+        assertEquals(1, result.getRejected());
+        assertFalse(result.getResults().get(0).getSuccess());
+        assertNull(result.getResults().get(0).getStatus());
+        assertEquals(CaptureStatus.REJECTED, result.getResults().get(1).getStatus());
+        verify(eventSink).publishAll(argThat((List<Event> events) -> events.size() == 1
+                && events.get(0).getEventType() == EventType.ACTION_REJECTED));
+        verify(userService, never()).awardPointsForActions(any(), anyList(), anyString());
+    }
+
+    @Test
+    void decideActions_RejectWithoutReason_ShouldThrowException() {
+        // Given
+        BulkDecisionRequest request = new BulkDecisionRequest();
+        request.setActionIds(List.of("capture-1"));
+        request.setDecision(Decision.REJECT);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> actionService.decideActions(request));
+        assertEquals("Rejection reason is required", exception.getMessage());
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(Action.class));
+    }
+
+    @Test
+    void scrollUserActionHistory_ShouldOnlyReadCallersOrganization() {
+        // Given
+        when(authenticationService.getCurrentOrganizationId()).thenReturn("org-1");
+        when(mongoTemplate.find(any(Query.class), eq(Action.class))).thenReturn(List.of());
+
+        // When
+        actionService.scrollUserActionHistory("user-2", null, 10);
+
+        // Then
+        verify(authenticationService).requireOrganizationAccess("org-1");
+        verify(mongoTemplate).find(argThat((Query query) ->
+                "user-2".equals(query.getQueryObject().get("userId"))
+                        && "org-1".equals(query.getQueryObject().get("organizationId"))), eq(Action.class));
+    }
+
     @Test
     void getPendingApprovals_WithDirectReports_ShouldReturnFilteredActions() {
         // Given
@@ -321,4 +493,14 @@ class ActionServiceTest {
         assertTrue(result.isEmpty());
         verify(actionCaptureRepository, never()).findByStatusAndUserIdIn(any(), any(), any());
     }
+
+    private static Action pendingAction(String id, String userId) {
+        return Action.builder()
+                .id(id)
+                .organizationId("org-1")
+                .userId(userId)
+                .actionTypeId("action-1")
+                .status(CaptureStatus.PENDING_APPROVAL)
+                .build();
+    }
 }
\ No newline at end of file
@@ -7,8 +7,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -61,6 +65,26 @@ class AuthenticationServiceTest {
         verify(userService).getUser("dev-user-001");
     }
 
+    @Test
+    void getCurrentUser_WithinRequest_LoadsUserOnce() {
+        // Given
+        when(userService.getUser("dev-user-001")).thenReturn(currentUser);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        try {
+            // When
+            authenticationService.requireOrganizationAccess("org-1");
+            authenticationService.requireAdminAccess("org-1");
+            String organizationId = authenticationService.getCurrentOrganizationId();
+
+            // Then
+            assertEquals("org-1", organizationId);
+            verify(userService, times(1)).getUser("dev-user-001");
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
     @Test
     void getCurrentUserId_ReturnsHardcodedDevUserId() {
         // When
@@ -0,0 +1,123 @@
+package com.starfleet.gamifier.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the streaming RFC 4180 CSV reader.
+ */
+class CsvReaderTest {
+
+    @Test
+    void shouldSplitSimpleRecords() throws IOException {
+        List<List<String>> records = readAll("a,b,c\n1,2,3\n");
+
+        assertEquals(List.of(List.of("a", "b", "c"), List.of("1", "2", "3")), records);
+    }
+
+    @Test
+    void shouldHonourQuotedCommasQuotesAndLineBreaks() throws IOException {
+        List<List<String>> records = readAll("EMP-1,\"Smith, John\",\"He said \"\"hi\"\"\",\"line one\r\nline two\"\r\n");
+
+        assertEquals(List.of(List.of("EMP-1", "Smith, John", "He said \"hi\"", "line one\r\nline two")), records);
+    }
+
+    @Test
+    void shouldKeepEmptyFieldsAndSkipBlankLines() throws IOException {
+        List<List<String>> records = readAll("a,,c,\n\n\r\n\"\"\nlast");
+
+        assertEquals(List.of(List.of("a", "", "c", ""), List.of(""), List.of("last")), records);
+    }
+
+    @Test
+    void shouldDecodeUtf8AndSkipByteOrderMark() throws IOException {
+        List<List<String>> records = readAll("﻿name,insignia\nPicard,⭐⭐\n");
+
+        assertEquals(List.of(List.of("name", "insignia"), List.of("Picard", "⭐⭐")), records);
+    }
+
+    @Test
+    void shouldReportOffsetsThatResumeAtTheNextRecord() throws IOException {
+        byte[] csv = "h1,h2\n\"x,1\",y\nlast,row\n".getBytes(StandardCharsets.UTF_8);
+        long offset;
+        try (CsvReader reader = reader(csv)) {
+            reader.next();
+            reader.next();
+            offset = reader.offset();
+        }
+
+        try (CsvReader resumed = new CsvReader(
+                new ByteArrayInputStream(Arrays.copyOfRange(csv, (int) offset, csv.length)),
+                offset, CsvReader.DEFAULT_MAX_RECORD_BYTES)) {
+            assertTrue(resumed.next());
+            assertEquals("last", resumed.field(0));
+            assertEquals(csv.length, resumed.offset());
+            assertFalse(resumed.next());
+        }
+    }
+
+    @Test
+    void shouldReportUnterminatedQuoteAsLastRecord() throws IOException {
+        try (CsvReader reader = reader("a,b\nc,\"open\nd,e\n".getBytes(StandardCharsets.UTF_8))) {
+            assertTrue(reader.next());
+            assertNull(reader.malformedReason());
+
+            assertTrue(reader.next());
+            assertEquals("Unterminated quoted field in CSV record 2", reader.malformedReason());
+            assertEquals(0, reader.fieldCount());
+            assertThrows(IllegalArgumentException.class, reader::requireWellFormed);
+
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void shouldSkipOversizedRecordAndResumeAtTheNextOne() throws IOException {
+        String csv = "x".repeat(100) + ",\"" + "y\n".repeat(20) + "\"\nnext,row\n";
+        try (CsvReader reader = new CsvReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), 0, 16)) {
+            assertTrue(reader.next());
+            assertEquals("CSV record 1 exceeds 16 bytes", reader.malformedReason());
+
+            assertTrue(reader.next());
+            assertNull(reader.malformedReason());
+            assertEquals("next", reader.field(0));
+            assertEquals("row", reader.field(1));
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void shouldReturnNullForMissingFields() throws IOException {
+        try (CsvReader reader = reader("a,b".getBytes(StandardCharsets.UTF_8))) {
+            assertTrue(reader.next());
+            assertEquals(2, reader.fieldCount());
+            assertNull(reader.field(2));
+        }
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = reader(csv.getBytes(StandardCharsets.UTF_8))) {
+            while (reader.next()) {
+                List<String> fields = new ArrayList<>();
+                for (int i = 0; i < reader.fieldCount(); i++) {
+                    fields.add(reader.field(i));
+                }
+                records.add(fields);
+            }
+        }
+        return records;
+    }
+
+    private static CsvReader reader(byte[] csv) {
+        return new CsvReader(new ByteArrayInputStream(csv));
+    }
+}
@@ -0,0 +1,144 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.config.EventCounterProperties;
+import com.starfleet.gamifier.domain.Event;
+import com.starfleet.gamifier.domain.EventCounter;
+import com.starfleet.gamifier.domain.EventType;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EventCounters using Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class EventCountersTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private EventCounters eventCounters;
+
+    private final String today = LocalDate.now(ZoneOffset.UTC).toString();
+
+    @BeforeEach
+    void setUp() {
+        eventCounters = new EventCounters(mongoTemplate, new EventCounterProperties());
+    }
+
+    @Test
+    void countsByDay_ShouldAddUnflushedCountsToStoredCounters() {
+        // Given
+        eventCounters.record(event("org123", EventType.ACTION_CAPTURED));
+        eventCounters.record(event("org123", EventType.POINTS_AWARDED));
+        eventCounters.record(event("org456", EventType.ACTION_CAPTURED));
+        when(mongoTemplate.find(any(Query.class), eq(EventCounter.class))).thenReturn(List.of(
+                EventCounter.builder().organizationId("org123").day(today).eventType(EventType.ACTION_CAPTURED).count(5L).build(),
+                EventCounter.builder().organizationId("org123").day(EventCounter.ALL_TIME).eventType(EventType.ACTION_CAPTURED).count(40L).build()));
+
+        // When
+        Map<String, Long> counts = eventCounters.countsByDay("org123", List.of(today, EventCounter.ALL_TIME));
+
+        // Then
+        assertEquals(7L, counts.get(today));
+        assertEquals(42L, counts.get(EventCounter.ALL_TIME));
+    }
+
+    @Test
+    void flush_ShouldIncrementStoredCountersOnlyByNewCounts() {
+        // Given
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, EventCounter.class)).thenReturn(bulkOperations);
+        eventCounters.record(event("org123", EventType.ACTION_CAPTURED));
+        eventCounters.record(event("org123", EventType.ACTION_CAPTURED));
+
+        // When
+        eventCounters.flush();
+        eventCounters.record(event("org123", EventType.ACTION_CAPTURED));
+        eventCounters.flush();
+
+        // Then
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(4)).upsert(queries.capture(), updates.capture());
+        verify(bulkOperations, times(2)).execute();
+        assertEquals(EventCounter.idFor("org123", today, EventType.ACTION_CAPTURED),
+                queries.getAllValues().stream()
+                        .map(query -> query.getQueryObject().getString("_id"))
+                        .filter(id -> !id.contains(EventCounter.ALL_TIME))
+                        .findFirst().orElseThrow());
+        List<Object> increments = updates.getAllValues().stream()
+                .map(update -> update.getUpdateObject().get("$inc", Document.class).get("count"))
+                .toList();
+        assertEquals(List.of(2L, 2L, 1L, 1L), increments);
+    }
+
+    @Test
+    void start_ShouldCountEventsSavedDuringBackfillOnce() {
+        // Given
+        Event backfilled = event("org123", EventType.ACTION_CAPTURED);
+        backfilled.setTimestamp(Instant.now().minusSeconds(60));
+        Event savedDuringBackfill = event("org123", EventType.ACTION_CAPTURED);
+        savedDuringBackfill.setTimestamp(Instant.now().plusSeconds(60));
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        when(mongoTemplate.exists(any(Query.class), eq(EventCounter.class))).thenReturn(false);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, EventCounter.class)).thenReturn(bulkOperations);
+        when(mongoTemplate.aggregate(aggregation.capture(), eq(Event.class), eq(Document.class))).thenAnswer(invocation -> {
+            eventCounters.record(backfilled);
+            eventCounters.record(savedDuringBackfill);
+            return new AggregationResults<>(List.of(), new Document());
+        });
+
+        // When
+        eventCounters.start();
+        Map<String, Long> counts = eventCounters.countsByDay("org123", List.of(EventCounter.ALL_TIME));
+
+        // Then
+        assertTrue(aggregation.getValue().toString().contains("timestamp"));
+        assertEquals(1L, counts.get(EventCounter.ALL_TIME));
+        eventCounters.stop();
+    }
+
+    @Test
+    void flush_ShouldSkipWriteWhenNothingWasRecorded() {
+        // Given
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, EventCounter.class)).thenReturn(bulkOperations);
+
+        // When
+        eventCounters.flush();
+
+        // Then
+        verify(bulkOperations, never()).execute();
+    }
+
+    private static Event event(String organizationId, EventType eventType) {
+        return Event.builder()
+                .organizationId(organizationId)
+                .eventType(eventType)
+                .timestamp(Instant.now())
+                .build();
+    }
+}
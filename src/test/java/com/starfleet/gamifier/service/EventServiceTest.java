@@ -0,0 +1,120 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.controller.EventController.EventStatistics;
+import com.starfleet.gamifier.domain.Event;
+import com.starfleet.gamifier.domain.EventCounter;
+import com.starfleet.gamifier.repository.EventRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EventService using Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class EventServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private EventCounters eventCounters;
+
+    @InjectMocks
+    private EventService eventService;
+
+    @Test
+    void getUserEvents_ShouldPageSinceQueryInDatabaseWithCappedSize() {
+        // Given
+        Instant since = Instant.parse("2025-01-01T00:00:00Z");
+        when(eventRepository.findByOrganizationIdAndUserIdAndTimestampAfter(
+                eq("org123"), eq("user123"), eq(since), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<Event>(List.of(), invocation.getArgument(3), 0));
+
+        // When
+        Page<Event> page = eventService.getUserEvents("user123", "org123", since, PageRequest.of(2, 5000));
+
+        // Then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(eventRepository).findByOrganizationIdAndUserIdAndTimestampAfter(
+                eq("org123"), eq("user123"), eq(since), pageable.capture());
+        assertEquals(2, pageable.getValue().getPageNumber());
+        assertEquals(KeysetPager.MAX_SIZE, pageable.getValue().getPageSize());
+        assertEquals(Sort.Direction.DESC, pageable.getValue().getSort().getOrderFor("timestamp").getDirection());
+        assertEquals(KeysetPager.MAX_SIZE, page.getSize());
+        verify(eventRepository, never()).findByOrganizationIdAndUserIdAndTimestampAfter(any(), any(), any());
+    }
+
+    @Test
+    void streamUserEvents_ShouldHandEventsToSinkOldestFirst() {
+        // Given
+        Instant since = Instant.parse("2025-01-01T00:00:00Z");
+        Event first = Event.builder().id("e1").timestamp(since.plusSeconds(1)).build();
+        Event second = Event.builder().id("e2").timestamp(since.plusSeconds(2)).build();
+        when(mongoTemplate.stream(any(Query.class), eq(Event.class))).thenReturn(Stream.of(first, second));
+
+        // When
+        List<Event> received = new ArrayList<>();
+        eventService.streamUserEvents("user123", "org123", since, received::add);
+
+        // Then
+        assertEquals(List.of(first, second), received);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(Event.class));
+        assertEquals(since, query.getValue().getQueryObject().get("timestamp", Document.class).get("$gt"));
+        assertEquals(1, query.getValue().getSortObject().get("timestamp"));
+    }
+
+    @Test
+    void getEventStatistics_ShouldSumDailyCountersWithoutCountingEvents() {
+        // Given
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        when(eventCounters.countsByDay(eq("org123"), anyCollection())).thenReturn(Map.of(
+                today.toString(), 3L,
+                today.minusDays(6).toString(), 4L,
+                today.minusDays(7).toString(), 5L,
+                today.minusDays(29).toString(), 6L,
+                EventCounter.ALL_TIME, 100L));
+
+        // When
+        EventStatistics statistics = eventService.getEventStatistics("org123");
+
+        // Then
+        assertEquals(100L, statistics.getTotalEvents());
+        assertEquals(3L, statistics.getTodayEvents());
+        assertEquals(7L, statistics.getWeekEvents());
+        assertEquals(18L, statistics.getMonthEvents());
+        verify(mongoTemplate, never()).count(any(Query.class), eq(Event.class));
+    }
+}
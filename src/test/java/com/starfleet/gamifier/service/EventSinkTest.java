@@ -0,0 +1,159 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.config.EventSinkProperties;
+import com.starfleet.gamifier.config.EventSinkProperties.Durability;
+import com.starfleet.gamifier.domain.Event;
+import com.starfleet.gamifier.domain.EventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EventSink using Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class EventSinkTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @TempDir
+    Path tempDir;
+
+    private EventSink eventSink;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (eventSink != null) {
+            eventSink.stop();
+        }
+    }
+
+    @Test
+    void publish_ShouldInsertFullBatchWithOneInsertMany() {
+        // Given
+        EventSinkProperties properties = properties(Durability.FIRE_AND_FORGET);
+        properties.setBatchSize(2);
+        properties.setFlushInterval(Duration.ofMinutes(1));
+        eventSink = start(properties);
+        Event first = event("user1");
+        Event second = event("user2");
+
+        // When
+        eventSink.publish(first);
+        eventSink.publish(second);
+
+        // Then
+        verify(mongoTemplate, timeout(5000)).insert(argThat((Collection<Event> batch) -> batch.equals(List.of(first, second))), eq(Event.class));
+        assertNotNull(first.getId());
+        assertNotNull(second.getId());
+    }
+
+    @Test
+    void publish_ShouldWriteBeforeReturningWhenFlushingBeforeResponse() {
+        // Given
+        eventSink = start(properties(Durability.FLUSH_BEFORE_RESPONSE));
+        Event event = event("user1");
+
+        // When
+        eventSink.publishAll(List.of(event));
+
+        // Then
+        verify(mongoTemplate).insert(argThat((Collection<Event> batch) -> batch.contains(event)), eq(Event.class));
+    }
+
+    @Test
+    void publish_ShouldInsertOnCallerThreadWhenQueueIsFull() {
+        // Given
+        EventSinkProperties properties = properties(Durability.FIRE_AND_FORGET);
+        properties.setCapacity(1);
+        properties.setBatchSize(10);
+        properties.setFlushInterval(Duration.ofMinutes(1));
+        eventSink = start(properties);
+
+        // When
+        eventSink.publishAll(List.of(event("user1"), event("user2"), event("user3")));
+
+        // Then
+        verify(mongoTemplate).insert(argThat((Collection<Event> batch) -> batch.size() == 2), eq(Event.class));
+    }
+
+    @Test
+    void start_ShouldReplayEventsLeftInAppendLog() throws IOException {
+        // Given
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        EventSinkProperties properties = properties(Durability.WRITE_AHEAD);
+        properties.setAppendLogPath(tempDir.resolve("events.log").toString());
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(mongoTemplate).insert(anyCollection(), eq(Event.class));
+        EventSink crashed = start(properties);
+        Event event = event("user1");
+        crashed.publish(event);
+        crashed.stop();
+
+        // When
+        reset(mongoTemplate);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        eventSink = start(properties);
+
+        // Then
+        verify(mongoTemplate).insert(argThat((Collection<Event> batch) -> batch.size() == 1
+                && batch.iterator().next().getId().equals(event.getId())
+                && batch.iterator().next().getTimestamp().equals(event.getTimestamp())), eq(Event.class));
+        assertEquals(0L, tempDir.resolve("events.log").toFile().length());
+        assertTrue(Files.exists(tempDir.resolve("events.log")));
+    }
+
+    private EventSink start(EventSinkProperties properties) {
+        EventSink sink = new EventSink(mongoTemplate, properties);
+        sink.start();
+        return sink;
+    }
+
+    private static EventSinkProperties properties(Durability durability) {
+        EventSinkProperties properties = new EventSinkProperties();
+        properties.setDurability(durability);
+        properties.setFlushInterval(Duration.ofMillis(10));
+        properties.setFlushTimeout(Duration.ofSeconds(5));
+        return properties;
+    }
+
+    private static Event event(String userId) {
+        return Event.builder()
+                .organizationId("org123")
+                .userId(userId)
+                .eventType(EventType.POINTS_AWARDED)
+                .data("10 points")
+                .timestamp(Instant.parse("2025-01-01T00:00:00Z"))
+                .build();
+    }
+}
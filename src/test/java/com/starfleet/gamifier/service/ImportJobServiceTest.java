@@ -0,0 +1,174 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.config.ImportProperties;
+import com.starfleet.gamifier.domain.ImportJob;
+import com.starfleet.gamifier.domain.Organization;
+import com.starfleet.gamifier.repository.ImportJobRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+    @Mock
+    private ActionImportEngine actionImportEngine;
+    @Mock
+    private UserService userService;
+    @Mock
+    private AuthenticationService authenticationService;
+    @Mock
+    private OrganizationSnapshotCache organizationSnapshots;
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @TempDir
+    Path spoolDirectory;
+
+    private ImportJobService importJobService;
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        ImportProperties importProperties = new ImportProperties();
+        importProperties.setSpoolDirectory(spoolDirectory.toString());
+        importProperties.setNodeId("node-1");
+        importJobService = new ImportJobService(importJobRepository, actionImportEngine, userService,
+                authenticationService, organizationSnapshots, mongoTemplate, importProperties);
+        importJobService.start();
+
+        organization = Organization.builder().id("org-1").name("Test Organization").build();
+    }
+
+    @Test
+    void run_ShouldResumeFromCheckpointOffset() throws Exception {
+        // Given
+        String header = "employee_id,action_type,date\n";
+        String firstRow = "EMP-001,Training,2026-01-01\n";
+        Path spoolFile = spoolDirectory.resolve("job-1.csv");
+        Files.writeString(spoolFile, header + firstRow + "EMP-002,Training,2026-01-02\n", StandardCharsets.UTF_8);
+        long checkpoint = (header + firstRow).getBytes(StandardCharsets.UTF_8).length;
+
+        ImportJob job = ImportJob.builder()
+                .id("job-1")
+                .organizationId("org-1")
+                .type(ImportJob.Type.ACTIONS)
+                .status(ImportJob.Status.RUNNING)
+                .spoolPath(spoolFile.toString())
+                .offset(checkpoint)
+                .rowsRead(1)
+                .imported(1)
+                .build();
+        when(importJobRepository.findById("job-1")).thenReturn(Optional.of(job));
+        when(organizationSnapshots.get("org-1")).thenReturn(OrganizationSnapshot.of(organization));
+
+        ArgumentCaptor<CsvReader> reader = ArgumentCaptor.forClass(CsvReader.class);
+        ArgumentCaptor<ImportProgress> progress = ArgumentCaptor.forClass(ImportProgress.class);
+        when(actionImportEngine.importActions(reader.capture(), eq(organization), any(ImportErrors.class), progress.capture()))
+                .thenAnswer(invocation -> {
+                    CsvReader csv = invocation.getArgument(0);
+                    assertEquals(checkpoint, csv.offset());
+                    assertTrue(csv.next());
+                    assertEquals("EMP-002", csv.field(0));
+                    return null;
+                });
+
+        // When
+        importJobService.run("job-1");
+
+        // Then
+        assertEquals(1, progress.getValue().getTotalRecords());
+        assertEquals(1, progress.getValue().getSuccessfulImports());
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, atLeastOnce()).updateFirst(any(Query.class), updates.capture(), eq(ImportJob.class));
+        assertEquals(ImportJob.Status.COMPLETED, updates.getValue().getUpdateObject().get("$set", Document.class).get("status"));
+        assertFalse(Files.exists(spoolFile));
+    }
+
+    @Test
+    void run_ShouldFlushErrorsBeforeEachCheckpoint() throws Exception {
+        // Given
+        Path spoolFile = spoolDirectory.resolve("job-1.csv");
+        Files.writeString(spoolFile, "employee_id,action_type,date\nEMP-404,Training,2026-01-01\n", StandardCharsets.UTF_8);
+        ImportJob job = ImportJob.builder()
+                .id("job-1")
+                .organizationId("org-1")
+                .type(ImportJob.Type.ACTIONS)
+                .status(ImportJob.Status.QUEUED)
+                .spoolPath(spoolFile.toString())
+                .build();
+        when(importJobRepository.findById("job-1")).thenReturn(Optional.of(job));
+        when(organizationSnapshots.get("org-1")).thenReturn(OrganizationSnapshot.of(organization));
+        when(actionImportEngine.importActions(any(CsvReader.class), eq(organization), any(ImportErrors.class), any(ImportProgress.class)))
+                .thenAnswer(invocation -> {
+                    ImportErrors errors = invocation.getArgument(2);
+                    ImportProgress progress = invocation.getArgument(3);
+                    errors.add(progress.nextRecord(), "User not found with employee ID: EMP-404");
+                    progress.checkpoint(64);
+                    return null;
+                });
+        List<String> errorsAtCheckpoint = new ArrayList<>();
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ImportJob.class))).thenAnswer(invocation -> {
+            Update update = invocation.getArgument(1);
+            if (update.getUpdateObject().get("$set", Document.class).containsKey("offset")) {
+                errorsAtCheckpoint.addAll(Files.readAllLines(spoolDirectory.resolve("job-1.errors.txt")));
+            }
+            return null;
+        });
+
+        // When
+        importJobService.run("job-1");
+
+        // Then
+        assertEquals(List.of("Line 1: User not found with employee ID: EMP-404"), errorsAtCheckpoint);
+    }
+
+    @Test
+    void run_ShouldSkipFinishedJobs() {
+        // Given
+        when(importJobRepository.findById("job-1")).thenReturn(Optional.of(
+                ImportJob.builder().id("job-1").status(ImportJob.Status.COMPLETED).build()));
+
+        // When
+        importJobService.run("job-1");
+
+        // Then
+        verifyNoInteractions(actionImportEngine, userService, mongoTemplate);
+    }
+
+    @Test
+    void resumeInterruptedJobs_ShouldFailJobsWithoutSpooledFile() {
+        // Given
+        when(importJobRepository.findByNodeIdAndStatusIn(eq("node-1"), anyCollection())).thenReturn(List.of(
+                ImportJob.builder().id("job-2").spoolPath(spoolDirectory.resolve("missing.csv").toString()).build()));
+
+        // When
+        importJobService.resumeInterruptedJobs();
+
+        // Then
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(ImportJob.class));
+        assertEquals(ImportJob.Status.FAILED, update.getValue().getUpdateObject().get("$set", Document.class).get("status"));
+    }
+}
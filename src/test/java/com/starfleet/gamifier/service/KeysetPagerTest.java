@@ -0,0 +1,83 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.controller.dto.CursorPage;
+import com.starfleet.gamifier.domain.Event;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KeysetPagerTest {
+
+    private final KeysetPager<Event> pager =
+            new KeysetPager<>(Event.class, "timestamp", Instant::parse, Event::getTimestamp, Event::getId);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void find_ShouldFetchOneExtraRowToDecideOnNextCursor() {
+        // Given
+        Instant now = Instant.parse("2026-03-01T10:15:30Z");
+        when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(
+                event("e3", now), event("e2", now), event("e1", now.minusSeconds(1))));
+
+        // When
+        CursorPage<Event> page = pager.find(mongoTemplate, new Query(Criteria.where("organizationId").is("org-1")), null, 2);
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Event.class));
+        assertEquals(3, query.getValue().getLimit());
+        assertEquals(new Document("timestamp", -1).append("_id", -1), query.getValue().getSortObject());
+        assertEquals(List.of("e3", "e2"), page.getItems().stream().map(Event::getId).toList());
+        assertEquals(pager.encode(event("e2", now)), page.getNextCursor());
+        assertNull(page.getTotalElements());
+    }
+
+    @Test
+    void find_ShouldContinueStrictlyAfterCursorRow() {
+        // Given
+        Instant now = Instant.parse("2026-03-01T10:15:30Z");
+        String cursor = pager.encode(event("e2", now));
+        when(mongoTemplate.find(any(Query.class), eq(Event.class))).thenReturn(List.of(event("e1", now)));
+
+        // When
+        CursorPage<Event> page = pager.find(mongoTemplate, new Query(), cursor, 500);
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Event.class));
+        assertEquals(KeysetPager.MAX_SIZE + 1, query.getValue().getLimit());
+        assertEquals(List.of(new Document("timestamp", new Document("$lt", now)),
+                        new Document("timestamp", now).append("_id", new Document("$lt", "e2"))),
+                query.getValue().getQueryObject().get("$or"));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void find_WithMalformedCursor_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> pager.find(mongoTemplate, new Query(), "not-a-cursor", 10));
+        assertEquals("Invalid cursor: not-a-cursor", exception.getMessage());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private static Event event(String id, Instant timestamp) {
+        return Event.builder().id(id).timestamp(timestamp).build();
+    }
+}
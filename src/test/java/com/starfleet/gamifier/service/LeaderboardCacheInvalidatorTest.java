@@ -0,0 +1,95 @@
+package com.starfleet.gamifier.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for selective leaderboard cache eviction.
+ */
+class LeaderboardCacheInvalidatorTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 10);
+
+    private Cache allTime;
+    private Cache monthly;
+    private Cache statistics;
+    private LeaderboardCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+                LeaderboardCacheInvalidator.ALL_TIME, LeaderboardCacheInvalidator.MONTHLY, LeaderboardCacheInvalidator.STATISTICS);
+        allTime = cacheManager.getCache(LeaderboardCacheInvalidator.ALL_TIME);
+        monthly = cacheManager.getCache(LeaderboardCacheInvalidator.MONTHLY);
+        statistics = cacheManager.getCache(LeaderboardCacheInvalidator.STATISTICS);
+        invalidator = new LeaderboardCacheInvalidator(cacheManager);
+
+        for (int page = 0; page < 5; page++) {
+            allTime.put(allTime("org-1", page, 10), "page");
+            monthly.put(monthly("org-1", page, 10), "page");
+        }
+        allTime.put(allTime("org-1", 0, 50), "page");
+        allTime.put(allTime("org-2", 1, 10), "page");
+        statistics.put("org-1", "stats");
+    }
+
+    @Test
+    void allTimeRankChanged_ShouldEvictOnlyPagesCoveringTheRankRange() {
+        // When - user moved from rank 35 up to rank 12
+        invalidator.allTimeRankChanged("org-1", 35, 12);
+
+        // Then
+        assertNotNull(allTime.get(allTime("org-1", 0, 10)));
+        assertNull(allTime.get(allTime("org-1", 1, 10)));
+        assertNull(allTime.get(allTime("org-1", 2, 10)));
+        assertNull(allTime.get(allTime("org-1", 3, 10)));
+        assertNotNull(allTime.get(allTime("org-1", 4, 10)));
+        assertNull(allTime.get(allTime("org-1", 0, 50)));
+        assertNotNull(allTime.get(allTime("org-2", 1, 10)));
+        assertNull(statistics.get("org-1"));
+        assertNotNull(monthly.get(monthly("org-1", 1, 10)));
+    }
+
+    @Test
+    void allTimeRankChanged_ShouldEvictEveryPageWhenUserWasNotRanked() {
+        // When
+        invalidator.allTimeRankChanged("org-1", -1, 48);
+
+        // Then
+        for (int page = 0; page < 5; page++) {
+            assertNull(allTime.get(allTime("org-1", page, 10)));
+        }
+        assertNotNull(allTime.get(allTime("org-2", 1, 10)));
+    }
+
+    @Test
+    void monthlyRankChanged_ShouldEvictOnlyThatMonthsPages() {
+        // Given
+        LeaderboardCacheKey otherMonth = LeaderboardCacheKey.monthly("org-1", MONTH.minusMonths(1), PageRequest.of(0, 10));
+        monthly.put(otherMonth, "page");
+
+        // When
+        invalidator.monthlyRankChanged("org-1", MONTH, 3, 5);
+
+        // Then
+        assertNull(monthly.get(monthly("org-1", 0, 10)));
+        assertNotNull(monthly.get(monthly("org-1", 1, 10)));
+        assertNotNull(monthly.get(otherMonth));
+        assertNotNull(allTime.get(allTime("org-1", 0, 10)));
+    }
+
+    private static LeaderboardCacheKey allTime(String organizationId, int page, int size) {
+        return LeaderboardCacheKey.allTime(organizationId, PageRequest.of(page, size));
+    }
+
+    private static LeaderboardCacheKey monthly(String organizationId, int page, int size) {
+        return LeaderboardCacheKey.monthly(organizationId, MONTH, PageRequest.of(page, size));
+    }
+}
@@ -0,0 +1,261 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.config.CachePolicyProperties;
+import com.starfleet.gamifier.domain.MonthlyPoints;
+import com.starfleet.gamifier.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the in-memory leaderboard index.
+ */
+@ExtendWith(MockitoExtension.class)
+class LeaderboardIndexTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private final CachePolicyProperties cachePolicies = new CachePolicyProperties();
+
+    private LeaderboardIndex leaderboardIndex;
+
+    @BeforeEach
+    void setUp() {
+        leaderboardIndex = new LeaderboardIndex(mongoTemplate, cachePolicies);
+
+        // Ten users: user-0 has 1000 points, user-9 has 100 points
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(user("user-" + i, 1000 - i * 100));
+        }
+        lenient().when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenReturn(users.stream());
+    }
+
+    @Test
+    void page_ShouldReturnUsersOrderedByPointsDescending() {
+        List<LeaderboardIndex.Standing> page = leaderboardIndex.page("org-1", 3, 3);
+
+        assertEquals(List.of("user-3", "user-4", "user-5"), page.stream().map(LeaderboardIndex.Standing::getUserId).toList());
+        assertEquals(10, leaderboardIndex.size("org-1"));
+    }
+
+    @Test
+    void update_ShouldMoveUserToNewRank() {
+        leaderboardIndex.update(user("user-9", 950));
+
+        assertEquals(1, leaderboardIndex.indexOf("org-1", "user-9"));
+        assertEquals(2, leaderboardIndex.indexOf("org-1", "user-1"));
+        assertEquals(10, leaderboardIndex.size("org-1"));
+    }
+
+    @Test
+    void update_WithOlderVersion_ShouldKeepNewerStanding() {
+        User newer = user("user-9", 950);
+        newer.setVersion(3L);
+        User older = user("user-9", 900);
+        older.setVersion(2L);
+
+        leaderboardIndex.update(newer);
+        leaderboardIndex.update(older);
+
+        assertEquals(950, leaderboardIndex.get("org-1", "user-9").orElseThrow().getTotalPoints());
+        assertEquals(1, leaderboardIndex.indexOf("org-1", "user-9"));
+    }
+
+    @Test
+    void size_ForOrganizationWithoutUsers_ShouldKeepTheEmptyRanking() {
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenAnswer(invocation -> Stream.empty());
+
+        assertEquals(0, leaderboardIndex.size("new-org"));
+        assertEquals(0, leaderboardIndex.size("new-org"));
+        User firstUser = user("user-new", 100);
+        firstUser.setOrganizationId("new-org");
+        leaderboardIndex.update(firstUser);
+
+        assertEquals(1, leaderboardIndex.size("new-org"));
+        verify(mongoTemplate, times(1)).stream(any(Query.class), eq(User.class));
+    }
+
+    @Test
+    void monthlyPoints_ForMonthWithoutPoints_ShouldLoadTheMonthOnce() {
+        YearMonth month = YearMonth.now();
+        when(mongoTemplate.stream(any(Query.class), eq(MonthlyPoints.class))).thenAnswer(invocation -> Stream.empty());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, leaderboardIndex.monthlyPoints("org-1", month, "user-" + i));
+        }
+
+        verify(mongoTemplate, times(1)).stream(any(Query.class), eq(MonthlyPoints.class));
+    }
+
+    @Test
+    void size_WhenExpired_ShouldReloadAndKeepNewerLocalWrites() {
+        // Given
+        User reloadedUser9 = user("user-9", 2000);
+        reloadedUser9.setVersion(1L);
+        User reloadedUser1 = user("user-1", 900);
+        reloadedUser1.setVersion(1L);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(user("user-" + i, 1000 - i * 100));
+        }
+        when(mongoTemplate.stream(any(Query.class), eq(User.class)))
+                .thenReturn(users.stream(), Stream.of(reloadedUser9, reloadedUser1, user("user-new", 50)));
+        assertEquals(10, leaderboardIndex.size("org-1"));
+        User localWrite = user("user-1", 5000);
+        localWrite.setVersion(2L);
+        leaderboardIndex.update(localWrite);
+
+        // When
+        expireAfterWrite(Duration.ZERO);
+        int size = leaderboardIndex.size("org-1");
+        expireAfterWrite(Duration.ofHours(1));
+
+        // Then
+        assertEquals(11, size);
+        assertEquals(0, leaderboardIndex.indexOf("org-1", "user-1"));
+        assertEquals(1, leaderboardIndex.indexOf("org-1", "user-9"));
+        assertEquals(5000, leaderboardIndex.get("org-1", "user-1").orElseThrow().getTotalPoints());
+        verify(mongoTemplate, times(2)).stream(any(Query.class), eq(User.class));
+    }
+
+    @Test
+    void size_WhenReloadFails_ShouldKeepExpiredRanking() {
+        // Given
+        assertEquals(10, leaderboardIndex.size("org-1"));
+        when(mongoTemplate.stream(any(Query.class), eq(User.class)))
+                .thenThrow(new DataAccessResourceFailureException("unreachable"));
+
+        // When
+        expireAfterWrite(Duration.ZERO);
+
+        // Then
+        assertEquals(10, leaderboardIndex.size("org-1"));
+    }
+
+    @Test
+    void countAbove_ShouldIgnoreTiedUsers() {
+        leaderboardIndex.update(user("user-new", 500));
+
+        assertEquals(5, leaderboardIndex.countAbove("org-1", 500));
+        assertEquals(0, leaderboardIndex.countAbove("org-1", 1000));
+    }
+
+    @Test
+    void neighbourhood_ShouldCentreOnUser() {
+        LeaderboardIndex.Neighbourhood<LeaderboardIndex.Standing> neighbourhood = leaderboardIndex.neighbourhood("org-1", "user-5", 2).orElseThrow();
+
+        assertEquals(6, neighbourhood.getPosition());
+        assertEquals(10, neighbourhood.getTotalUsers());
+        assertEquals(3, neighbourhood.getFirstIndex());
+        assertEquals(List.of("user-3", "user-4", "user-5", "user-6", "user-7"),
+                neighbourhood.getNeighbours().stream().map(LeaderboardIndex.Standing::getUserId).toList());
+    }
+
+    @Test
+    void neighbourhood_ShouldClipAtLeaderboardBoundaries() {
+        LeaderboardIndex.Neighbourhood<LeaderboardIndex.Standing> top = leaderboardIndex.neighbourhood("org-1", "user-0", 3).orElseThrow();
+        LeaderboardIndex.Neighbourhood<LeaderboardIndex.Standing> bottom = leaderboardIndex.neighbourhood("org-1", "user-9", 3).orElseThrow();
+
+        assertEquals(0, top.getFirstIndex());
+        assertEquals(4, top.getNeighbours().size());
+        assertEquals(6, bottom.getFirstIndex());
+        assertEquals(List.of("user-6", "user-7", "user-8", "user-9"),
+                bottom.getNeighbours().stream().map(LeaderboardIndex.Standing::getUserId).toList());
+    }
+
+    @Test
+    void neighbourhood_ShouldBeEmptyForUnknownUser() {
+        assertTrue(leaderboardIndex.neighbourhood("org-1", "missing", 5).isEmpty());
+    }
+
+    @Test
+    void monthlyPage_ShouldRankByMonthlyPointsAndKeepAllTimeTotals() {
+        YearMonth month = YearMonth.now();
+        when(mongoTemplate.stream(any(Query.class), eq(MonthlyPoints.class))).thenReturn(Stream.of(
+                monthly("user-9", month, 300),
+                monthly("user-0", month, 50)));
+
+        leaderboardIndex.updateMonthly("org-1", month, "user-5", 120);
+        List<LeaderboardIndex.MonthlyStanding> page = leaderboardIndex.monthlyPage("org-1", month, 0, 10);
+
+        assertEquals(List.of("user-9", "user-5", "user-0"),
+                page.stream().map(standing -> standing.getStanding().getUserId()).toList());
+        assertEquals(300, page.get(0).getMonthlyPoints());
+        assertEquals(100, page.get(0).getStanding().getTotalPoints());
+        assertEquals(3, leaderboardIndex.monthlySize("org-1", month));
+    }
+
+    @Test
+    void monthlyNeighbourhood_ShouldPlaceNonParticipantsAfterParticipants() {
+        YearMonth month = YearMonth.now();
+        when(mongoTemplate.stream(any(Query.class), eq(MonthlyPoints.class))).thenReturn(Stream.of(
+                monthly("user-9", month, 300),
+                monthly("user-0", month, 50)));
+
+        LeaderboardIndex.Neighbourhood<LeaderboardIndex.MonthlyStanding> neighbourhood =
+                leaderboardIndex.monthlyNeighbourhood("org-1", month, "user-4", 1).orElseThrow();
+
+        assertEquals(3, neighbourhood.getPosition());
+        assertEquals(10, neighbourhood.getTotalUsers());
+        assertEquals(0, neighbourhood.getStanding().getMonthlyPoints());
+        assertEquals(List.of("user-0"),
+                neighbourhood.getNeighbours().stream().map(standing -> standing.getStanding().getUserId()).toList());
+    }
+
+    @Test
+    void monthlySize_ForMonthBeforePrevious_ShouldReadThroughWithoutKeepingIt() {
+        YearMonth month = YearMonth.now().minusMonths(2);
+        when(mongoTemplate.stream(any(Query.class), eq(MonthlyPoints.class)))
+                .thenAnswer(invocation -> Stream.of(monthly("user-9", month, 300)));
+
+        assertEquals(1, leaderboardIndex.monthlySize("org-1", month));
+        assertEquals(1, leaderboardIndex.monthlySize("org-1", month));
+
+        verify(mongoTemplate, times(2)).stream(any(Query.class), eq(MonthlyPoints.class));
+    }
+
+    private void expireAfterWrite(Duration expireAfterWrite) {
+        CachePolicyProperties.Policy policy = new CachePolicyProperties.Policy();
+        policy.setExpireAfterWrite(expireAfterWrite);
+        cachePolicies.getCaches().put(LeaderboardIndex.POLICY_NAME, policy);
+    }
+
+    private static MonthlyPoints monthly(String userId, YearMonth month, int points) {
+        return MonthlyPoints.builder()
+                .id(MonthlyPoints.idFor(userId, month))
+                .organizationId("org-1")
+                .userId(userId)
+                .month(month.toString())
+                .points(points)
+                .build();
+    }
+
+    private static User user(String id, int points) {
+        return User.builder()
+                .id(id)
+                .organizationId("org-1")
+                .employeeId("EMP-" + id)
+                .name("Name")
+                .surname("Surname")
+                .totalPoints(points)
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.config.LiveUpdateProperties;
+import com.starfleet.gamifier.domain.Event;
+import com.starfleet.gamifier.domain.EventType;
+import com.starfleet.gamifier.service.LiveUpdates.LeaderboardChange;
+import com.starfleet.gamifier.service.LiveUpdates.Pending;
+import com.starfleet.gamifier.service.LiveUpdates.Subscriber;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LiveUpdates using Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+class LiveUpdatesTest {
+
+    @Mock
+    private LeaderboardIndex leaderboardIndex;
+
+    @Mock
+    private SseEmitter emitter;
+
+    private LiveUpdates liveUpdates;
+
+    @BeforeEach
+    void setUp() {
+        LiveUpdateProperties properties = new LiveUpdateProperties();
+        properties.setLeaderboardInterval(Duration.ofHours(1));
+        properties.setHeartbeatInterval(Duration.ofHours(1));
+        liveUpdates = new LiveUpdates(leaderboardIndex, properties);
+        liveUpdates.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        liveUpdates.stop();
+    }
+
+    @Test
+    void subscriber_ShouldDropOldestFeedEventsAndFlagResyncWhenFull() {
+        // Given
+        Subscriber subscriber = new Subscriber("org123", "user1", emitter, 2, 10);
+        Event first = event("user1", EventType.ACTION_CAPTURED);
+        Event second = event("user1", EventType.ACTION_APPROVED);
+        Event third = event("user1", EventType.POINTS_AWARDED);
+
+        // When
+        subscriber.offer(first);
+        subscriber.offer(second);
+        subscriber.offer(third);
+        Pending pending = subscriber.take();
+
+        // Then
+        assertEquals(List.of(second, third), pending.getEvents());
+        assertTrue(pending.isFeedDropped());
+        assertFalse(subscriber.hasPending());
+    }
+
+    @Test
+    void subscriber_ShouldCoalesceLeaderboardChangesPerUserAndOverflowToResync() {
+        // Given
+        Subscriber subscriber = new Subscriber("org123", "user1", emitter, 10, 2);
+
+        // When
+        subscriber.offer(List.of(change("user1", 10, 3)));
+        subscriber.offer(List.of(change("user1", 20, 1), change("user2", 15, 2)));
+        Pending coalesced = subscriber.take();
+        subscriber.offer(List.of(change("user1", 30, 1), change("user2", 25, 2), change("user3", 5, 3)));
+        Pending overflowed = subscriber.take();
+
+        // Then
+        assertEquals(List.of(change("user1", 20, 1), change("user2", 15, 2)), coalesced.getLeaderboard());
+        assertFalse(coalesced.isLeaderboardOverflowed());
+        assertTrue(overflowed.getLeaderboard().isEmpty());
+        assertTrue(overflowed.isLeaderboardOverflowed());
+    }
+
+    @Test
+    void onAfterSave_ShouldPushEventsOnlyToTheirUser() throws IOException {
+        // Given
+        SseEmitter otherEmitter = mock(SseEmitter.class);
+        liveUpdates.register(new Subscriber("org123", "user1", emitter, 10, 10));
+        liveUpdates.register(new Subscriber("org123", "user2", otherEmitter, 10, 10));
+
+        // When
+        liveUpdates.onAfterSave(saved(event("user1", EventType.ACTION_CAPTURED)));
+
+        // Then
+        ArgumentCaptor<SseEmitter.SseEventBuilder> sent = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, timeout(5000)).send(sent.capture());
+        assertTrue(text(sent.getValue()).contains("event:" + LiveUpdates.FEED));
+        verify(otherEmitter, after(200).never()).send(any(SseEmitter.SseEventBuilder.class));
+        assertEquals(2, liveUpdates.connectionCount());
+    }
+
+    @Test
+    void pushLeaderboardChanges_ShouldSendOneDeltaPerChangedUser() throws IOException {
+        // Given
+        liveUpdates.register(new Subscriber("org123", "viewer", emitter, 10, 10));
+        when(leaderboardIndex.get("org123", "user1"))
+                .thenReturn(Optional.of(new LeaderboardIndex.Standing("user1", 120, null, null, null, null)));
+        when(leaderboardIndex.countAbove("org123", 120)).thenReturn(2);
+
+        // When
+        liveUpdates.onAfterSave(saved(event("user1", EventType.POINTS_AWARDED)));
+        liveUpdates.onAfterSave(saved(event("user1", EventType.RANK_PROMOTED)));
+        liveUpdates.pushLeaderboardChanges();
+
+        // Then
+        ArgumentCaptor<SseEmitter.SseEventBuilder> sent = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, timeout(5000)).send(sent.capture());
+        assertTrue(text(sent.getValue()).contains("event:" + LiveUpdates.LEADERBOARD));
+        List<?> changes = (List<?>) sent.getValue().build().stream()
+                .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                .filter(List.class::isInstance)
+                .findFirst().orElseThrow();
+        assertEquals(List.of(new LeaderboardChange("user1", null, null, 120, 3, null)), changes);
+        verify(leaderboardIndex, times(1)).get("org123", "user1");
+    }
+
+    private static AfterSaveEvent<Event> saved(Event event) {
+        return new AfterSaveEvent<>(event, new Document(), "events");
+    }
+
+    private static String text(SseEmitter.SseEventBuilder builder) {
+        return builder.build().stream()
+                .map(data -> String.valueOf(data.getData()))
+                .collect(Collectors.joining());
+    }
+
+    private static LeaderboardChange change(String userId, int points, int position) {
+        return new LeaderboardChange(userId, null, null, points, position, null);
+    }
+
+    private static Event event(String userId, EventType eventType) {
+        return Event.builder()
+                .id(userId + "-" + eventType)
+                .organizationId("org123")
+                .userId(userId)
+                .eventType(eventType)
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.config.OptimisticRetryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticRetryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetry optimisticRetry;
+
+    @BeforeEach
+    void setUp() {
+        OptimisticRetryProperties properties = new OptimisticRetryProperties();
+        properties.setMaxAttempts(3);
+        properties.setBackoff(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        optimisticRetry = new OptimisticRetry(properties, meterRegistry);
+    }
+
+    @Test
+    void run_ShouldRetryUntilVersionCheckWins() {
+        // When
+        String result = optimisticRetry.run("award", attempt -> {
+            if (attempt < 2) {
+                throw new OptimisticLockingFailureException("version moved");
+            }
+            return "attempt-" + attempt;
+        });
+
+        // Then
+        assertEquals("attempt-2", result);
+        assertEquals(2.0, meterRegistry.counter("gamifier.optimistic.retries", "operation", "award").count());
+        assertEquals(0.0, meterRegistry.counter("gamifier.optimistic.conflicts", "operation", "award").count());
+    }
+
+    @Test
+    void run_ShouldRethrowConflictAfterLastAttempt() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> optimisticRetry.run("award", attempt -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("version moved");
+        }));
+        assertEquals(3, attempts.get());
+        assertEquals(1.0, meterRegistry.counter("gamifier.optimistic.conflicts", "operation", "award").count());
+    }
+
+    @Test
+    void run_ShouldNotRetryOtherFailures() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> optimisticRetry.run("award", attempt -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("User not found: user-1");
+        }));
+        assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,97 @@
+package com.starfleet.gamifier.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the size-augmented treap backing the leaderboard index.
+ */
+class OrderStatisticTreeTest {
+
+    private OrderStatisticTree<Integer> tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+    }
+
+    @Test
+    void shouldStartEmpty() {
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.rank(42));
+        assertTrue(tree.range(0, 10).isEmpty());
+    }
+
+    @Test
+    void shouldRejectDuplicates() {
+        assertTrue(tree.add(5));
+        assertFalse(tree.add(5));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    void shouldAnswerRankAndSelect() {
+        List.of(50, 10, 40, 20, 30).forEach(tree::add);
+
+        assertEquals(0, tree.rank(10));
+        assertEquals(2, tree.rank(30));
+        assertEquals(3, tree.rank(35));
+        assertEquals(5, tree.rank(99));
+        assertEquals(10, tree.get(0));
+        assertEquals(50, tree.get(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(5));
+    }
+
+    @Test
+    void shouldReturnRangesClippedToSize() {
+        for (int i = 0; i < 20; i++) {
+            tree.add(i);
+        }
+
+        assertEquals(List.of(5, 6, 7), tree.range(5, 3));
+        assertEquals(List.of(18, 19), tree.range(18, 10));
+        assertTrue(tree.range(25, 5).isEmpty());
+    }
+
+    @Test
+    void shouldRemoveElements() {
+        List.of(3, 1, 2).forEach(tree::add);
+
+        assertTrue(tree.remove(2));
+        assertFalse(tree.remove(2));
+        assertFalse(tree.contains(2));
+        assertEquals(List.of(1, 3), tree.range(0, 10));
+    }
+
+    @Test
+    void shouldMatchSortedSetUnderRandomOperations() {
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(1_000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), tree.add(value));
+            } else {
+                assertEquals(expected.remove(value), tree.remove(value));
+            }
+        }
+
+        List<Integer> sorted = new ArrayList<>(expected);
+        assertEquals(sorted.size(), tree.size());
+        assertEquals(sorted, tree.range(0, sorted.size()));
+        for (int i = 0; i < sorted.size(); i += 37) {
+            assertEquals(sorted.get(i), tree.get(i));
+            assertEquals(i, tree.rank(sorted.get(i)));
+        }
+    }
+}
@@ -3,13 +3,16 @@ package com.starfleet.gamifier.service;
 import com.starfleet.gamifier.domain.CaptureMethod;
 import com.starfleet.gamifier.domain.Organization;
 import com.starfleet.gamifier.domain.ReporterType;
+import com.starfleet.gamifier.domain.User;
 import com.starfleet.gamifier.repository.OrganizationRepository;
+import com.starfleet.gamifier.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,6 +32,18 @@ class OrganizationServiceTest {
     @Mock
     private OrganizationRepository organizationRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OrganizationSnapshotCache organizationSnapshots;
+
+    @Mock
+    private LeaderboardIndex leaderboardIndex;
+
+    @Mock
+    private LeaderboardCacheInvalidator leaderboardCacheInvalidator;
+
     @InjectMocks
     private OrganizationService organizationService;
 
@@ -113,7 +128,9 @@ class OrganizationServiceTest {
         Organization result = organizationService.updateOrganization("org123", "Updated Name", "Updated Description");
 
         assertNotNull(result);
+        assertEquals(1L, result.getConfigVersion());
         verify(organizationRepository).save(testOrganization);
+        verify(organizationSnapshots).evict("org123");
     }
 
     @Test
@@ -121,6 +138,9 @@ class OrganizationServiceTest {
         organizationService.deleteOrganization("org123");
 
         verify(organizationRepository).deleteById("org123");
+        verify(organizationSnapshots).evict("org123");
+        verify(leaderboardIndex).evict("org123");
+        verify(leaderboardCacheInvalidator).evictOrganization("org123");
     }
 
     @Test
@@ -359,4 +379,31 @@ class OrganizationServiceTest {
         assertEquals("First Rank", result.get(0).getName());
         assertEquals("Second Rank", result.get(1).getName());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldLoadOrganizationOnceForRankings() {
+        Organization.RankConfiguration captain = Organization.RankConfiguration.builder()
+                .id("rank-captain")
+                .name("Captain")
+                .insignia("****")
+                .pointsThreshold(1000)
+                .order(1)
+                .build();
+        testOrganization.getRankConfigurations().add(captain);
+        List<User> topUsers = List.of(
+                User.builder().id("u1").organizationId("org123").name("Jean-Luc").surname("Picard")
+                        .totalPoints(2000).currentRankId("rank-captain").build(),
+                User.builder().id("u2").organizationId("org123").name("William").surname("Riker")
+                        .totalPoints(900).build());
+        when(organizationRepository.findById("org123")).thenReturn(Optional.of(testOrganization));
+        when(userRepository.findByOrganizationIdOrderByTotalPointsDesc("org123", Limit.of(2))).thenReturn(topUsers);
+
+        List<OrganizationService.UserRankSummary> result = organizationService.getOrganizationRankings("org123", 2);
+
+        assertEquals(2, result.size());
+        assertEquals("Captain", result.get(0).getCurrentRankName());
+        assertEquals("No Rank", result.get(1).getCurrentRankName());
+        verify(organizationRepository, times(1)).findById("org123");
+        verify(userRepository, never()).findByOrganizationId("org123");
+    }
+}
@@ -0,0 +1,113 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.domain.Organization;
+import com.starfleet.gamifier.repository.OrganizationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for organization configuration snapshots and their cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrganizationSnapshotTest {
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        organization = Organization.builder()
+                .id("org-1")
+                .name("Test Organization")
+                .configVersion(3L)
+                .actionTypes(new ArrayList<>(List.of(
+                        Organization.ActionType.builder().id("action-1").name("Training").points(10).build(),
+                        Organization.ActionType.builder().id("action-2").name("Mentoring").points(20).build())))
+                .missionTypes(new ArrayList<>(List.of(
+                        Organization.MissionType.builder().id("mission-1").name("Learner")
+                                .requiredActionTypeIds(List.of("action-1", "action-2")).build(),
+                        Organization.MissionType.builder().id("mission-2").name("Retired").active(false)
+                                .requiredActionTypeIds(List.of("action-1")).build())))
+                .rankConfigurations(new ArrayList<>(List.of(
+                        Organization.RankConfiguration.builder().id("rank-2").name("Ensign").pointsThreshold(100).build(),
+                        Organization.RankConfiguration.builder().id("rank-1").name("Cadet").pointsThreshold(0).build(),
+                        Organization.RankConfiguration.builder().id("rank-3").name("Captain").pointsThreshold(500).build())))
+                .build();
+    }
+
+    @Test
+    void shouldResolveConfigurationThroughLookupMaps() {
+        // When
+        OrganizationSnapshot snapshot = OrganizationSnapshot.of(organization);
+
+        // Then
+        assertEquals(3L, snapshot.getVersion());
+        assertEquals("Mentoring", snapshot.actionType("action-2").orElseThrow().getName());
+        assertEquals("Cadet", snapshot.rank("rank-1").orElseThrow().getName());
+        assertTrue(snapshot.actionType("missing").isEmpty());
+        assertEquals(List.of("mission-1"), snapshot.missionsWithActionType("action-1").stream()
+                .map(Organization.MissionType::getId).toList());
+        assertEquals("rank-2", snapshot.eligibleRank(499).orElseThrow().getId());
+        assertEquals("rank-3", snapshot.nextRank(100).orElseThrow().getId());
+        assertTrue(snapshot.nextRank(500).isEmpty());
+    }
+
+    @Test
+    void shouldBeIsolatedFromLaterChangesToTheOrganization() {
+        // Given
+        OrganizationSnapshot snapshot = OrganizationSnapshot.of(organization);
+
+        // When
+        organization.getActionTypes().get(0).setName("Renamed");
+        organization.getRankConfigurations().clear();
+
+        // Then
+        assertEquals("Training", snapshot.actionType("action-1").orElseThrow().getName());
+        assertEquals(3, snapshot.getOrganization().getRankConfigurations().size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getOrganization().getActionTypes().clear());
+    }
+
+    @Test
+    void cache_ShouldLoadOnceUntilEvicted() {
+        // Given
+        OrganizationSnapshotCache cache = new OrganizationSnapshotCache(organizationRepository,
+                new ConcurrentMapCacheManager(OrganizationSnapshotCache.CACHE_NAME));
+        when(organizationRepository.findById("org-1")).thenReturn(Optional.of(organization));
+
+        // When
+        OrganizationSnapshot first = cache.get("org-1");
+        OrganizationSnapshot second = cache.get("org-1");
+        cache.evict("org-1");
+        OrganizationSnapshot reloaded = cache.get("org-1");
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, reloaded);
+        verify(organizationRepository, times(2)).findById("org-1");
+    }
+
+    @Test
+    void cache_ShouldRejectUnknownOrganization() {
+        // Given
+        OrganizationSnapshotCache cache = new OrganizationSnapshotCache(organizationRepository,
+                new ConcurrentMapCacheManager(OrganizationSnapshotCache.CACHE_NAME));
+        when(organizationRepository.findById("missing")).thenReturn(Optional.empty());
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> cache.get("missing"));
+        assertEquals("Organization not found: missing", exception.getMessage());
+    }
+}
@@ -0,0 +1,80 @@
+package com.starfleet.gamifier.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RingBuffer.
+ */
+class RingBufferTest {
+
+    @Test
+    void offer_ShouldRejectWhenFullAndAcceptAfterDrain() {
+        // Given
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+
+        // When
+        List<Long> sequences = List.of(buffer.offer(1), buffer.offer(2), buffer.offer(3), buffer.offer(4));
+        long rejected = buffer.offer(5);
+        List<Integer> drained = new ArrayList<>();
+        long next = buffer.drainTo(drained, 2);
+
+        // Then
+        assertEquals(4, buffer.capacity());
+        assertEquals(List.of(0L, 1L, 2L, 3L), sequences);
+        assertEquals(-1L, rejected);
+        assertEquals(List.of(1, 2), drained);
+        assertEquals(2L, next);
+        assertEquals(4L, buffer.offer(5));
+        assertEquals(3, buffer.size());
+    }
+
+    @Test
+    void drainTo_ShouldDeliverEveryElementOnceUnderConcurrentProducers() throws InterruptedException {
+        // Given
+        int producers = 4;
+        int perProducer = 5_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (buffer.offer(base + i) < 0) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            });
+        }
+
+        // When
+        start.countDown();
+        List<Integer> drained = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (drained.size() < producers * perProducer && System.nanoTime() < deadline) {
+            if (buffer.drainTo(drained, 16) == buffer.tail()) {
+                Thread.yield();
+            }
+        }
+        executor.shutdown();
+
+        // Then
+        Set<Integer> unique = new HashSet<>(drained);
+        assertEquals(producers * perProducer, drained.size());
+        assertEquals(producers * perProducer, unique.size());
+        assertEquals(0, buffer.size());
+    }
+}
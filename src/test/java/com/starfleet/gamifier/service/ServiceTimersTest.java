@@ -0,0 +1,121 @@
+package com.starfleet.gamifier.service;
+
+import com.starfleet.gamifier.config.OrganizationMetricsProperties;
+import com.starfleet.gamifier.config.OrganizationTags;
+import com.starfleet.gamifier.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceTimersTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrganizationTags organizationTags;
+    private Operations operations;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        organizationTags = new OrganizationTags(new OrganizationMetricsProperties());
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new Operations(organizationTags));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ServiceTimers(meterRegistry, organizationTags));
+        operations = proxyFactory.getProxy();
+    }
+
+    @Test
+    void time_ShouldTagOrganizationIdentifiedOnTheWay() {
+        // When
+        String result = operations.capture("org-1");
+
+        // Then
+        assertEquals("done", result);
+        assertEquals(1, meterRegistry.get(ServiceTimers.TIMER)
+                .tags("class", "Operations", "method", "capture", "organization", "org-1", "exception", "none")
+                .timer().count());
+    }
+
+    @Test
+    void time_ShouldTagOrganizationFromArguments() {
+        // When
+        operations.statistics("org-1");
+        operations.award(User.builder().id("user-1").organizationId("org-2").build());
+
+        // Then
+        assertEquals(1, meterRegistry.get(ServiceTimers.TIMER)
+                .tags("method", "statistics", "organization", "org-1").timer().count());
+        assertEquals(1, meterRegistry.get(ServiceTimers.TIMER)
+                .tags("method", "award", "organization", "org-2").timer().count());
+    }
+
+    @Test
+    void time_WhenOperationFails_ShouldTagExceptionWithoutAdmittingOrganization() {
+        // When
+        assertThrows(IllegalArgumentException.class, () -> operations.leaderboard("no-such-org"));
+
+        // Then
+        assertEquals(1, meterRegistry.get(ServiceTimers.TIMER)
+                .tags("method", "leaderboard", "organization", OrganizationTags.OTHER,
+                        "exception", "IllegalArgumentException")
+                .timer().count());
+    }
+
+    @Test
+    void time_NestedOperation_ShouldInheritOrganization() {
+        // When
+        operations.approve("org-1", () -> operations.award(null));
+
+        // Then
+        assertEquals(1, meterRegistry.get(ServiceTimers.TIMER)
+                .tags("method", "award", "organization", "org-1")
+                .timer().count());
+    }
+
+    @Test
+    void untimedOperation_ShouldNotBeTimed() {
+        // When
+        operations.untimed("org-1");
+
+        // Then
+        assertNull(meterRegistry.find(ServiceTimers.TIMER).timer());
+    }
+
+    static class Operations {
+
+        private final OrganizationTags organizationTags;
+
+        Operations(OrganizationTags organizationTags) {
+            this.organizationTags = organizationTags;
+        }
+
+        @TimedOperation
+        public String capture(String actionCaptureId) {
+            organizationTags.identify("org-1");
+            return "done";
+        }
+
+        @TimedOperation
+        public void statistics(String organizationId) {
+        }
+
+        @TimedOperation
+        public void award(User user) {
+        }
+
+        @TimedOperation
+        public void leaderboard(String organizationId) {
+            throw new IllegalArgumentException("Organization not found");
+        }
+
+        @TimedOperation
+        public void approve(String organizationId, Runnable then) {
+            then.run();
+        }
+
+        public void untimed(String organizationId) {
+        }
+    }
+}
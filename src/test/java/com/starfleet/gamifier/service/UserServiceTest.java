@@ -0,0 +1,538 @@
+package com.starfleet.gamifier.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.starfleet.gamifier.config.ImportProperties;
+import com.starfleet.gamifier.config.OptimisticRetryProperties;
+import com.starfleet.gamifier.config.OrganizationMetricsProperties;
+import com.starfleet.gamifier.config.OrganizationTags;
+import com.starfleet.gamifier.domain.*;
+import com.starfleet.gamifier.repository.PointsLedgerRepository;
+import com.starfleet.gamifier.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.bson.Document;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private OrganizationSnapshotCache organizationSnapshots;
+    @Mock
+    private EventSink eventSink;
+    @Mock
+    private PointsLedgerRepository pointsLedgerRepository;
+    @Mock
+    private LeaderboardIndex leaderboardIndex;
+    @Mock
+    private LeaderboardCacheInvalidator leaderboardCacheInvalidator;
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private UserService userService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        OptimisticRetryProperties retryProperties = new OptimisticRetryProperties();
+        retryProperties.setBackoff(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        userService = new UserService(userRepository, organizationSnapshots, eventSink,
+                pointsLedgerRepository, leaderboardIndex, leaderboardCacheInvalidator, mongoTemplate, new ImportProperties(),
+                new OptimisticRetry(retryProperties, meterRegistry),
+                new OrganizationTags(new OrganizationMetricsProperties()));
+
+        organization = Organization.builder()
+                .id("org-1")
+                .name("Test Organization")
+                .rankConfigurations(List.of(
+                        Organization.RankConfiguration.builder().id("rank-1").name("Ensign").pointsThreshold(0).build(),
+                        Organization.RankConfiguration.builder().id("rank-2").name("Lieutenant").pointsThreshold(100).build()))
+                .build();
+
+        lenient().when(organizationSnapshots.get("org-1")).thenReturn(OrganizationSnapshot.of(organization));
+        lenient().when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(MonthlyPoints.class)))
+                .thenReturn(MonthlyPoints.builder().points(50).build());
+        lenient().when(mongoTemplate.findOne(any(Query.class), eq(User.class)))
+                .thenReturn(User.builder().id("user-1").organizationId("org-1").build());
+    }
+
+    @Test
+    void awardPoints_ShouldIncrementTotalAndAppendLedgerEntry() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(user(80, "rank-1"));
+
+        // When
+        userService.awardPoints("user-1", 50, "Action approved: Test Action", "action-9");
+
+        // Then
+        verify(pointsLedgerRepository).insert(argThat((PointsLedgerEntry entry) ->
+                entry.getDelta() == 50 && "action-9".equals(entry.getSourceActionId()) && "user-1".equals(entry.getUserId())));
+        verify(leaderboardIndex).update(argThat(user -> user.getTotalPoints() == 80));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void awardPoints_ShouldEmitFlightRecorderEvent() throws Exception {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(user(80, "rank-1"));
+        Path file = Files.createTempFile("points-award-", ".jfr");
+
+        // When
+        try (Recording recording = new Recording()) {
+            recording.enable("com.starfleet.gamifier.PointsAward");
+            recording.start();
+            userService.awardPoints("user-1", 50, "Action approved: Test Action", "action-9");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Then
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.starfleet.gamifier.PointsAward"))
+                    .toList();
+            assertEquals(1, events.size());
+            assertEquals("org-1", events.get(0).getString("organizationId"));
+            assertEquals("user-1", events.get(0).getString("userId"));
+            assertEquals(50, events.get(0).getInt("points"));
+            assertEquals("action-9", events.get(0).getString("sourceActionId"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void awardPoints_ShouldEvictOnlyCachedPagesBetweenOldAndNewRank() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(user(80, "rank-1"));
+        when(leaderboardIndex.indexOf("org-1", "user-1")).thenReturn(42, 7);
+        when(leaderboardIndex.monthlyIndexOf(eq("org-1"), any(), eq("user-1"))).thenReturn(-1, 3);
+
+        // When
+        userService.awardPoints("user-1", 50, "Action approved: Test Action", "action-9");
+
+        // Then
+        verify(leaderboardCacheInvalidator).allTimeRankChanged("org-1", 42, 7);
+        verify(leaderboardCacheInvalidator).monthlyRankChanged(eq("org-1"), any(), eq(-1), eq(3));
+        verify(leaderboardCacheInvalidator, never()).evictOrganization(any());
+    }
+
+    @Test
+    void awardPoints_ShouldPromoteWhenRankUpdateApplies() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(user(120, "rank-1"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(User.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // When
+        userService.awardPoints("user-1", 50, "Action approved: Test Action", "action-9");
+
+        // Then
+        verify(leaderboardIndex).update(argThat(user -> "rank-2".equals(user.getCurrentRankId())));
+        verify(eventSink, times(2)).publish(any(Event.class));
+    }
+
+    @Test
+    void awardPoints_ShouldSkipPromotionEventWhenConcurrentAwardAlreadyPromoted() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(user(120, "rank-1"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(User.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        // When
+        userService.awardPoints("user-1", 50, "Action approved: Test Action", "action-9");
+
+        // Then
+        verify(eventSink, times(1)).publish(any(Event.class));
+    }
+
+    @Test
+    void awardPoints_WithUnknownUser_ShouldThrowWithoutLedgerEntry() {
+        // Given
+        when(mongoTemplate.findOne(any(Query.class), eq(User.class))).thenReturn(null);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> userService.awardPoints("missing", 50, "Action approved: Test Action", null));
+        assertEquals("User not found: missing", exception.getMessage());
+        verify(pointsLedgerRepository, never()).insert(any(PointsLedgerEntry.class));
+    }
+
+    @Test
+    void awardPoints_ShouldWriteLedgerEntryBeforeTotalAndTakeItBackIfUserIsGone() {
+        // Given
+        PointsLedgerEntry entry = PointsLedgerEntry.builder().id("entry-1").userId("user-1").delta(50).build();
+        when(pointsLedgerRepository.insert(any(PointsLedgerEntry.class))).thenReturn(entry);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(null);
+
+        // When
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.awardPoints("user-1", 50, "Action approved: Test Action", "action-9"));
+
+        // Then
+        InOrder inOrder = inOrder(pointsLedgerRepository, mongoTemplate);
+        inOrder.verify(pointsLedgerRepository).insert(any(PointsLedgerEntry.class));
+        inOrder.verify(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class));
+        inOrder.verify(pointsLedgerRepository).delete(entry);
+        verify(eventSink, never()).publish(any(Event.class));
+    }
+
+    @Test
+    void updateMissionProgress_ShouldCompleteMissionWhenLastRequiredBitIsSet() {
+        // Given
+        organization.setActionTypes(new ArrayList<>(List.of(
+                Organization.ActionType.builder().id("action-1").name("Away Mission").points(10).build(),
+                Organization.ActionType.builder().id("action-2").name("Diplomacy").points(10).build())));
+        organization.setMissionTypes(List.of(Organization.MissionType.builder()
+                .id("mission-1").name("First Contact").bonusPoints(25)
+                .requiredActionTypeIds(List.of("action-1", "action-2")).build()));
+        when(organizationSnapshots.get("org-1")).thenReturn(OrganizationSnapshot.of(organization));
+
+        User user = user(0, "rank-1");
+        user.getMissionProgress().add(User.MissionProgress.builder()
+                .missionTypeId("mission-1")
+                .completedActionTypeIds(new HashSet<>(Set.of("action-1")))
+                .build());
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(user(25, "rank-1"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(User.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // When
+        userService.updateMissionProgress("user-1", "action-2");
+
+        // Then
+        User.MissionProgress progress = user.getMissionProgress("mission-1").orElseThrow();
+        assertTrue(progress.getCompleted());
+        assertFalse(progress.hasLegacyActions());
+        assertArrayEquals(new long[]{0b11}, progress.getCompletedActions());
+        verify(eventSink).publish(argThat(event -> event.getEventType() == EventType.MISSION_COMPLETED));
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(User.class));
+    }
+
+    @Test
+    void applyApprovedAction_ShouldCommitPointsAndMissionProgressInOneUserWrite() {
+        // Given
+        organization.setActionTypes(new ArrayList<>(List.of(
+                Organization.ActionType.builder().id("action-1").name("Away Mission").points(50).build())));
+        organization.setMissionTypes(List.of(Organization.MissionType.builder()
+                .id("mission-1").name("First Contact").bonusPoints(25)
+                .requiredActionTypeIds(List.of("action-1")).build()));
+        User user = user(30, "rank-1");
+        Action action = Action.builder().id("capture-1").userId("user-1").actionTypeId("action-1").build();
+        Event captureEvent = Event.builder().eventType(EventType.ACTION_CAPTURED).build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(user(105, "rank-1"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(User.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // When
+        User result = userService.applyApprovedAction(user, organization, action, "Action completed", List.of(captureEvent));
+
+        // Then
+        assertEquals(105, result.getTotalPoints());
+        assertEquals("rank-2", result.getCurrentRankId());
+        assertTrue(result.getMissionProgress("mission-1").orElseThrow().getCompleted());
+        verify(mongoTemplate).findAndModify(any(Query.class),
+                argThat(update -> update.modifies("missionProgress")
+                        && Integer.valueOf(75).equals(((org.bson.Document) update.getUpdateObject().get("$inc")).get("totalPoints"))),
+                any(FindAndModifyOptions.class), eq(User.class));
+        verify(pointsLedgerRepository).insert(argThat((List<PointsLedgerEntry> entries) -> entries.size() == 2));
+        verify(eventSink).publishAll(argThat((List<Event> events) -> events.stream().map(Event::getEventType).toList().equals(List.of(
+                EventType.ACTION_CAPTURED, EventType.POINTS_AWARDED, EventType.MISSION_COMPLETED, EventType.RANK_PROMOTED))));
+        verify(eventSink, never()).publish(any(Event.class));
+        verify(userRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void updateMissionProgress_ShouldRetryOnFreshUserAndAwardBonusOnlyOnceProgressIsStored() {
+        // Given
+        organization.setActionTypes(new ArrayList<>(List.of(
+                Organization.ActionType.builder().id("action-1").name("Away Mission").points(10).build())));
+        organization.setMissionTypes(List.of(Organization.MissionType.builder()
+                .id("mission-1").name("First Contact").bonusPoints(25)
+                .requiredActionTypeIds(List.of("action-1")).build()));
+        when(organizationSnapshots.get("org-1")).thenReturn(OrganizationSnapshot.of(organization));
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user(0, "rank-1"))).thenReturn(Optional.of(user(0, "rank-1")));
+        when(userRepository.existsById("user-1")).thenReturn(true);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(User.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null), UpdateResult.acknowledged(1, 1L, null));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(user(25, "rank-1"));
+
+        // When
+        userService.updateMissionProgress("user-1", "action-1");
+
+        // Then
+        verify(userRepository, times(2)).findById("user-1");
+        verify(pointsLedgerRepository, times(1)).insert(any(PointsLedgerEntry.class));
+        verify(eventSink, times(1)).publish(argThat(event -> event.getEventType() == EventType.MISSION_COMPLETED));
+        assertEquals(1.0, meterRegistry.counter("gamifier.optimistic.retries", "operation", "updateMissionProgress").count());
+    }
+
+    @Test
+    void applyApprovedAction_ShouldReapplyToFreshUserWhenVersionMoved() {
+        // Given
+        organization.setActionTypes(new ArrayList<>(List.of(
+                Organization.ActionType.builder().id("action-1").name("Away Mission").points(50).build())));
+        Action action = Action.builder().id("capture-1").userId("user-1").actionTypeId("action-1").build();
+        User stale = user(30, "rank-1");
+        stale.setVersion(3L);
+        User fresh = user(60, "rank-1");
+        fresh.setVersion(4L);
+        User stored = user(110, "rank-1");
+        stored.setVersion(5L);
+        when(userRepository.existsById("user-1")).thenReturn(true);
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(fresh));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(null, stored);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(User.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // When
+        User result = userService.applyApprovedAction(stale, organization, action, "Action approved", List.of());
+
+        // Then
+        assertSame(fresh, result);
+        assertEquals(110, result.getTotalPoints());
+        // Stored at version 5, then promoted past the Lieutenant threshold
+        assertEquals(6L, result.getVersion());
+        assertEquals("rank-2", result.getCurrentRankId());
+        verify(mongoTemplate).findAndModify(argThat(query -> Long.valueOf(4L).equals(query.getQueryObject().get("version"))),
+                any(Update.class), any(FindAndModifyOptions.class), eq(User.class));
+        // The first attempt's ledger entries are taken back when its write loses
+        verify(pointsLedgerRepository, times(2)).insert(anyList());
+        verify(pointsLedgerRepository, times(1)).deleteAll(anyList());
+        verify(eventSink, times(1)).publishAll(anyList());
+    }
+
+    @Test
+    void applyApprovedAction_WithUnknownUser_ShouldThrowWithoutRetrying() {
+        // Given
+        organization.setActionTypes(new ArrayList<>(List.of(
+                Organization.ActionType.builder().id("action-1").name("Away Mission").points(50).build())));
+        Action action = Action.builder().id("capture-1").userId("user-1").actionTypeId("action-1").build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(null);
+        when(userRepository.existsById("user-1")).thenReturn(false);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> userService.applyApprovedAction(user(0, "rank-1"), organization, action, "Action approved", List.of()));
+        assertEquals("User not found: user-1", exception.getMessage());
+        verify(pointsLedgerRepository).deleteAll(anyList());
+        verify(eventSink, never()).publishAll(anyList());
+    }
+
+    @Test
+    void awardPointsForActions_WithUserDeletedMidBatch_ShouldNotRecreateOrAwardIt() {
+        // Given
+        organization.setActionTypes(new ArrayList<>(List.of(
+                Organization.ActionType.builder().id("action-1").name("Away Mission").points(10).build())));
+        User kept = user(0, "rank-1");
+        User deleted = user(0, "rank-1").toBuilder().id("user-2").employeeId("EMP-002").build();
+        BulkOperations userBulk = mock(BulkOperations.class);
+        BulkOperations monthlyBulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(User.class))).thenReturn(userBulk);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(MonthlyPoints.class))).thenReturn(monthlyBulk);
+        when(userRepository.findAllById(any())).thenReturn(List.of(kept, deleted)).thenReturn(List.of());
+        when(userBulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+        List<Update> updates = new ArrayList<>();
+        when(userBulk.updateOne(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+            updates.add(invocation.getArgument(1));
+            return userBulk;
+        });
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenAnswer(invocation -> {
+            Document set = (Document) updates.get(0).getUpdateObject().get("$set");
+            return List.of(User.builder().id("user-1").version(1L).updatedAt((Instant) set.get("updatedAt")).build());
+        });
+
+        // When
+        userService.awardPointsForActions(organization, List.of(
+                Action.builder().id("action-a").userId("user-1").actionTypeId("action-1").build(),
+                Action.builder().id("action-b").userId("user-2").actionTypeId("action-1").build()), "Import");
+
+        // Then
+        assertEquals(2, updates.size());
+        verify(userBulk, never()).upsert(any(Query.class), any(Update.class));
+        verify(pointsLedgerRepository).insert(argThat((List<PointsLedgerEntry> entries) ->
+                entries.size() == 1 && entries.get(0).getUserId().equals("user-1")));
+        verify(leaderboardIndex, never()).update(argThat(user -> user.getId().equals("user-2")));
+    }
+
+    @Test
+    void awardPointsForActions_ShouldOnlyPromoteUsersWhosePromotionApplied() {
+        // Given
+        organization.setActionTypes(new ArrayList<>(List.of(
+                Organization.ActionType.builder().id("action-1").name("Away Mission").points(150).build())));
+        User ours = user(0, "rank-1");
+        ours.setVersion(1L);
+        User concurrent = user(0, "rank-1").toBuilder().id("user-2").employeeId("EMP-002").version(1L).build();
+        BulkOperations userBulk = mock(BulkOperations.class);
+        BulkOperations promotionBulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(User.class))).thenReturn(userBulk, promotionBulk);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(MonthlyPoints.class))).thenReturn(mock(BulkOperations.class));
+        when(userRepository.findAllById(any())).thenReturn(List.of(ours, concurrent));
+        when(userBulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 2, 0, 2, List.of(), List.of()));
+        List<Update> promotions = new ArrayList<>();
+        when(promotionBulk.updateOne(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+            promotions.add(invocation.getArgument(1));
+            return promotionBulk;
+        });
+        when(promotionBulk.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenAnswer(invocation -> {
+            Instant promotedAt = (Instant) ((Document) promotions.get(0).getUpdateObject().get("$set")).get("updatedAt");
+            return List.of(
+                    User.builder().id("user-1").currentRankId("rank-2").version(3L).updatedAt(promotedAt).build(),
+                    User.builder().id("user-2").currentRankId("rank-2").version(4L).updatedAt(promotedAt.minusSeconds(1)).build());
+        });
+
+        // When
+        userService.awardPointsForActions(organization, List.of(
+                Action.builder().id("action-a").userId("user-1").actionTypeId("action-1").build(),
+                Action.builder().id("action-b").userId("user-2").actionTypeId("action-1").build()), "Import");
+
+        // Then
+        verify(eventSink).publishAll(argThat((List<Event> events) -> events.stream()
+                .filter(event -> event.getEventType() == EventType.RANK_PROMOTED)
+                .map(Event::getUserId)
+                .toList().equals(List.of("user-1"))));
+        // Moved once by the award and once by the promotion
+        assertEquals(3L, ours.getVersion());
+        assertEquals("rank-2", ours.getCurrentRankId());
+        assertEquals(4L, concurrent.getVersion());
+        assertEquals("rank-2", concurrent.getCurrentRankId());
+    }
+
+    @Test
+    void awardPointsForActions_ShouldSkipActionsAlreadyInLedger() {
+        // Given
+        Action awarded = Action.builder().id("action-a").userId("user-1").actionTypeId("action-1").build();
+        when(pointsLedgerRepository.findBySourceActionIdIn(List.of("action-a"))).thenReturn(List.of(
+                PointsLedgerEntry.builder().userId("user-1").delta(10).sourceActionId("action-a").build()));
+
+        // When
+        List<Action> result = userService.awardPointsForActions(organization, List.of(awarded), "Import");
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(userRepository, never()).findAllById(any());
+        verify(pointsLedgerRepository, never()).insert(anyList());
+    }
+
+    @Test
+    void recomputeTotalPoints_WithForce_ShouldWriteLedgerTotalOnlyAtReadVersion() {
+        // Given
+        User user = user(90, "rank-1");
+        user.setVersion(2L);
+        User stored = user(75, "rank-1");
+        stored.setVersion(3L);
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(PointsLedgerEntry.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(new Document("total", 75)), new Document()));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(stored);
+
+        // When
+        User result = userService.recomputeTotalPoints("user-1", true);
+
+        // Then
+        assertEquals(75, result.getTotalPoints());
+        assertEquals(3L, result.getVersion());
+        verify(mongoTemplate).findAndModify(argThat(query -> Long.valueOf(2L).equals(query.getQueryObject().get("version"))),
+                argThat(update -> Integer.valueOf(75).equals(update.getUpdateObject().get("$set", Document.class).get("totalPoints"))),
+                any(FindAndModifyOptions.class), eq(User.class));
+        verify(leaderboardIndex).update(result);
+        verify(mongoTemplate).upsert(any(Query.class),
+                argThat(update -> Integer.valueOf(75).equals(update.getUpdateObject().get("$set", Document.class).get("points"))),
+                eq(MonthlyPoints.class));
+    }
+
+    @Test
+    void recomputeTotalPoints_WithoutForce_ShouldRefuseWhenLedgerDiffers() {
+        // Given
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user(1500, "rank-2")));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(PointsLedgerEntry.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> userService.recomputeTotalPoints("user-1", false));
+        assertEquals("Ledger total 0 differs from stored total 1500 for user user-1", exception.getMessage());
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class));
+    }
+
+    @Test
+    void recomputeTotalPoints_ShouldPromoteWhenForcedTotalQualifies() {
+        // Given
+        User user = user(90, "rank-1");
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(PointsLedgerEntry.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(new Document("total", 120)), new Document()));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(user(120, "rank-1"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(User.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // When
+        User result = userService.recomputeTotalPoints("user-1", true);
+
+        // Then
+        assertEquals("rank-2", result.getCurrentRankId());
+        verify(eventSink).publish(argThat(event -> event.getEventType() == EventType.RANK_PROMOTED));
+    }
+
+    private static User user(int totalPoints, String rankId) {
+        return User.builder()
+                .id("user-1")
+                .organizationId("org-1")
+                .employeeId("EMP-001")
+                .name("Test")
+                .surname("User")
+                .totalPoints(totalPoints)
+                .currentRankId(rankId)
+                .build();
+    }
+}